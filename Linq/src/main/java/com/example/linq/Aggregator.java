@@ -0,0 +1,36 @@
+package com.example.linq;
+
+/**
+ * Agregación incremental de los elementos de un grupo para {@link Linq#groupByAggregate}. Cada grupo guarda
+ * sólo un estado mutable pequeño creado por {@link #create()}, al que se le suman los elementos con
+ * {@link #accumulate}; al terminar, {@link #finish} lo convierte en el resultado del grupo. Así no se guardan
+ * los elementos en listas, como hace {@link Linq#groupBy}.
+ *
+ * <p>{@link Aggregators} ofrece las agregaciones habituales (count, sum, min, max, average, stats, first,
+ * last) con estados primitivos, y las combina con {@link Aggregators#teeing} y {@link Aggregators#allOf}.</p>
+ *
+ * @param <T> El tipo de los elementos.
+ * @param <A> El tipo del estado de cada grupo.
+ * @param <R> El tipo del resultado de cada grupo.
+ */
+public interface Aggregator<T, A, R> {
+
+    /**
+     * @return Un estado nuevo para un grupo; se llama una vez por clave.
+     */
+    A create();
+
+    /**
+     * Suma un elemento al estado de su grupo.
+     *
+     * @param state   El estado del grupo, creado por {@link #create()}.
+     * @param element El elemento que se agrega al grupo.
+     */
+    void accumulate(A state, T element);
+
+    /**
+     * @param state El estado final del grupo; no se vuelve a usar después.
+     * @return El resultado del grupo a partir de su estado final.
+     */
+    R finish(A state);
+}
@@ -0,0 +1,356 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Agregaciones predefinidas para {@link Linq#groupByAggregate}. Las numéricas guardan por grupo un único
+ * {@link State} con campos primitivos, sin cajas por elemento.
+ *
+ * <pre>
+ *     Map&lt;String, Double&gt; totalPorCliente =
+ *             Linq.groupByAggregate(transacciones, Transaccion::getCliente, Aggregators.sum(Transaccion::getImporte));
+ * </pre>
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    /**
+     * Estado común de las agregaciones predefinidas: un contador, un acumulador {@code double} y un valor.
+     */
+    static final class State {
+        long count;
+        double number;
+        Object value;
+    }
+
+    /**
+     * Crea una agregación a partir de sus tres funciones.
+     *
+     * @param <T>        El tipo de los elementos.
+     * @param <A>        El tipo del estado de cada grupo.
+     * @param <R>        El tipo del resultado.
+     * @param create     Crea el estado de un grupo.
+     * @param accumulate Suma un elemento al estado.
+     * @param finish     Convierte el estado final en el resultado.
+     * @return La agregación.
+     */
+    public static <T, A, R> Aggregator<T, A, R> of(Supplier<A> create, BiConsumer<A, ? super T> accumulate,
+                                                   Function<A, R> finish) {
+        Checks.requireNonNull(create, "La función create no puede ser null");
+        Checks.requireNonNull(accumulate, "La función accumulate no puede ser null");
+        Checks.requireNonNull(finish, "La función finish no puede ser null");
+        return new Aggregator<T, A, R>() {
+            @Override
+            public A create() {
+                return create.get();
+            }
+
+            @Override
+            public void accumulate(A state, T element) {
+                accumulate.accept(state, element);
+            }
+
+            @Override
+            public R finish(A state) {
+                return finish.apply(state);
+            }
+        };
+    }
+
+    /**
+     * @param <T> El tipo de los elementos.
+     * @return Una agregación que cuenta los elementos de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, Long> count() {
+        return new Builtin<T, Long>() {
+            @Override
+            public void accumulate(State state, T element) {
+                state.count++;
+            }
+
+            @Override
+            public Long finish(State state) {
+                return state.count;
+            }
+        };
+    }
+
+    /**
+     * @param <T>      El tipo de los elementos.
+     * @param selector Función que obtiene el valor a sumar.
+     * @return Una agregación que suma los valores {@code double} de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, Double> sum(ToDoubleFunction<? super T> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new Builtin<T, Double>() {
+            @Override
+            public void accumulate(State state, T element) {
+                state.number += selector.applyAsDouble(element);
+            }
+
+            @Override
+            public Double finish(State state) {
+                return state.number;
+            }
+        };
+    }
+
+    /**
+     * @param <T>      El tipo de los elementos.
+     * @param selector Función que obtiene el valor a sumar.
+     * @return Una agregación que suma los valores {@code long} de cada grupo sin pérdida de precisión.
+     */
+    public static <T> Aggregator<T, ?, Long> sumLong(ToLongFunction<? super T> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new Builtin<T, Long>() {
+            @Override
+            public void accumulate(State state, T element) {
+                state.count += selector.applyAsLong(element);
+            }
+
+            @Override
+            public Long finish(State state) {
+                return state.count;
+            }
+        };
+    }
+
+    /**
+     * @param <T>      El tipo de los elementos.
+     * @param selector Función que obtiene el valor a comparar.
+     * @return Una agregación con el valor mínimo de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, Double> min(ToDoubleFunction<? super T> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new Builtin<T, Double>() {
+            @Override
+            public void accumulate(State state, T element) {
+                double value = selector.applyAsDouble(element);
+                state.number = state.count++ == 0 ? value : Math.min(state.number, value);
+            }
+
+            @Override
+            public Double finish(State state) {
+                return state.number;
+            }
+        };
+    }
+
+    /**
+     * @param <T>      El tipo de los elementos.
+     * @param selector Función que obtiene el valor a comparar.
+     * @return Una agregación con el valor máximo de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, Double> max(ToDoubleFunction<? super T> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new Builtin<T, Double>() {
+            @Override
+            public void accumulate(State state, T element) {
+                double value = selector.applyAsDouble(element);
+                state.number = state.count++ == 0 ? value : Math.max(state.number, value);
+            }
+
+            @Override
+            public Double finish(State state) {
+                return state.number;
+            }
+        };
+    }
+
+    /**
+     * @param <T>      El tipo de los elementos.
+     * @param selector Función que obtiene el valor a promediar.
+     * @return Una agregación con el promedio de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, Double> average(ToDoubleFunction<? super T> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new Builtin<T, Double>() {
+            @Override
+            public void accumulate(State state, T element) {
+                state.number += selector.applyAsDouble(element);
+                state.count++;
+            }
+
+            @Override
+            public Double finish(State state) {
+                return state.count == 0 ? 0.0 : state.number / state.count;
+            }
+        };
+    }
+
+    /**
+     * @param <T>      El tipo de los elementos.
+     * @param selector Función que obtiene el valor de cada elemento.
+     * @return Una agregación con la cantidad, suma, mínimo, máximo y promedio de cada grupo, como
+     *         {@link Linq#aggregateStats(Iterable)}.
+     */
+    public static <T> Aggregator<T, ?, Stats> stats(ToDoubleFunction<? super T> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new Aggregator<T, double[], Stats>() {
+            // {cantidad, suma, mínimo, máximo}
+            @Override
+            public double[] create() {
+                return new double[]{0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            }
+
+            @Override
+            public void accumulate(double[] state, T element) {
+                double value = selector.applyAsDouble(element);
+                state[0]++;
+                state[1] += value;
+                state[2] = Math.min(state[2], value);
+                state[3] = Math.max(state[3], value);
+            }
+
+            @Override
+            public Stats finish(double[] state) {
+                return new Stats((long) state[0], state[1], state[2], state[3]);
+            }
+        };
+    }
+
+    /**
+     * @param <T> El tipo de los elementos.
+     * @return Una agregación con el primer elemento de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, T> first() {
+        return new Builtin<T, T>() {
+            @Override
+            public void accumulate(State state, T element) {
+                if (state.count++ == 0) {
+                    state.value = element;
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T finish(State state) {
+                return (T) state.value;
+            }
+        };
+    }
+
+    /**
+     * @param <T> El tipo de los elementos.
+     * @return Una agregación con el último elemento de cada grupo.
+     */
+    public static <T> Aggregator<T, ?, T> last() {
+        return new Builtin<T, T>() {
+            @Override
+            public void accumulate(State state, T element) {
+                state.value = element;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T finish(State state) {
+                return (T) state.value;
+            }
+        };
+    }
+
+    /**
+     * Combina dos agregaciones que se calculan en la misma pasada.
+     *
+     * @param <T>    El tipo de los elementos.
+     * @param <R1>   El tipo del resultado de la primera agregación.
+     * @param <R2>   El tipo del resultado de la segunda agregación.
+     * @param <R>    El tipo del resultado combinado.
+     * @param first  La primera agregación.
+     * @param second La segunda agregación.
+     * @param merger Función que combina los dos resultados de cada grupo.
+     * @return Una agregación cuyo estado contiene los estados de ambas.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R1, R2, R> Aggregator<T, ?, R> teeing(Aggregator<? super T, ?, R1> first,
+                                                             Aggregator<? super T, ?, R2> second,
+                                                             BiFunction<? super R1, ? super R2, ? extends R> merger) {
+        Checks.requireNonNull(first, "La primera agregación no puede ser null");
+        Checks.requireNonNull(second, "La segunda agregación no puede ser null");
+        Checks.requireNonNull(merger, "La función de combinación no puede ser null");
+        Aggregator<T, Object, R1> a = (Aggregator<T, Object, R1>) first;
+        Aggregator<T, Object, R2> b = (Aggregator<T, Object, R2>) second;
+        return new Aggregator<T, Object[], R>() {
+            @Override
+            public Object[] create() {
+                return new Object[]{a.create(), b.create()};
+            }
+
+            @Override
+            public void accumulate(Object[] state, T element) {
+                a.accumulate(state[0], element);
+                b.accumulate(state[1], element);
+            }
+
+            @Override
+            public R finish(Object[] state) {
+                return merger.apply(a.finish(state[0]), b.finish(state[1]));
+            }
+        };
+    }
+
+    /**
+     * Combina varias agregaciones que se calculan en la misma pasada.
+     *
+     * @param <T>         El tipo de los elementos.
+     * @param aggregators Las agregaciones a calcular.
+     * @return Una agregación cuyo resultado es una lista inmutable con el resultado de cada agregación, en el
+     *         orden de los argumentos.
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public static <T> Aggregator<T, ?, List<Object>> allOf(Aggregator<? super T, ?, ?>... aggregators) {
+        if (aggregators == null) {
+            throw new IllegalArgumentException("Las agregaciones no pueden ser null");
+        }
+        List<Aggregator<T, Object, Object>> parts = new ArrayList<>(aggregators.length);
+        for (Aggregator<? super T, ?, ?> aggregator : aggregators) {
+            Checks.requireNonNull(aggregator, "Las agregaciones no pueden ser null");
+            parts.add((Aggregator<T, Object, Object>) aggregator);
+        }
+        int count = parts.size();
+        return new Aggregator<T, Object[], List<Object>>() {
+            @Override
+            public Object[] create() {
+                Object[] states = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    states[i] = parts.get(i).create();
+                }
+                return states;
+            }
+
+            @Override
+            public void accumulate(Object[] states, T element) {
+                for (int i = 0; i < count; i++) {
+                    parts.get(i).accumulate(states[i], element);
+                }
+            }
+
+            @Override
+            public List<Object> finish(Object[] states) {
+                List<Object> results = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    results.add(parts.get(i).finish(states[i]));
+                }
+                return Collections.unmodifiableList(results);
+            }
+        };
+    }
+
+    private abstract static class Builtin<T, R> implements Aggregator<T, State, R> {
+        @Override
+        public State create() {
+            return new State();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.linq;
+
+import java.lang.reflect.Method;
+
+/**
+ * Lee los bytes asignados por el hilo actual mediante {@code com.sun.management.ThreadMXBean}. Se accede por
+ * reflexión porque {@code java.lang.management} no existe en Android; allí {@link #isSupported()} devuelve false.
+ */
+final class AllocationCounter {
+
+    private static final Object BEAN;
+    private static final Method ALLOCATED_BYTES;
+
+    static {
+        Object bean = null;
+        Method method = null;
+        try {
+            Class<?> factory = Class.forName("java.lang.management.ManagementFactory");
+            bean = factory.getMethod("getThreadMXBean").invoke(null);
+            Class<?> extended = Class.forName("com.sun.management.ThreadMXBean");
+            if (extended.isInstance(bean)
+                    && (Boolean) extended.getMethod("isThreadAllocatedMemorySupported").invoke(bean)) {
+                extended.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(bean, true);
+                method = extended.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (Throwable e) {
+            // No disponible en esta plataforma
+            method = null;
+        }
+        BEAN = bean;
+        ALLOCATED_BYTES = method;
+    }
+
+    private AllocationCounter() {
+    }
+
+    static boolean isSupported() {
+        return ALLOCATED_BYTES != null;
+    }
+
+    /**
+     * @return Los bytes asignados por el hilo actual desde que empezó, o -1 si no se pueden medir.
+     */
+    static long currentThreadAllocatedBytes() {
+        if (ALLOCATED_BYTES == null) {
+            return -1;
+        }
+        try {
+            return (Long) ALLOCATED_BYTES.invoke(BEAN, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
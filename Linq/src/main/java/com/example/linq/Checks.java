@@ -0,0 +1,22 @@
+package com.example.linq;
+
+/**
+ * Validaciones de argumentos compartidas por las clases del paquete. Los operadores de {@link Linq} devuelven
+ * un resultado vacío ante argumentos null; este ayudante sólo se usa donde no hay un resultado vacío posible,
+ * como al construir consultas, secuencias o agregaciones, y allí el argumento que falta se informa con
+ * {@link IllegalArgumentException}.
+ */
+final class Checks {
+
+    private Checks() {
+    }
+
+    /**
+     * @throws IllegalArgumentException con el mensaje indicado si {@code value} es null.
+     */
+    static void requireNonNull(Object value, String message) {
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
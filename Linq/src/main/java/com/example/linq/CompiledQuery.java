@@ -0,0 +1,331 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Consulta precompilada y parametrizada. Se define una sola vez con {@link Linq#compile()}: sus etapas quedan
+ * fijas y el plan se optimiza con {@link QueryPlanner} al crearla, no en cada ejecución. Los valores que cambian
+ * entre llamadas (umbrales, límites, ...) se reciben como parámetros en {@link #run(Iterable, Object)}.
+ *
+ * <p>Las instancias son inmutables y pueden ejecutarse desde varios hilos a la vez. Cada hilo conserva sus
+ * propias estructuras auxiliares (el búfer de {@code orderBy}, el conjunto de {@code distinct} y la tabla de
+ * {@code groupBy}) y las reutiliza en las siguientes ejecuciones; esas estructuras conservan la capacidad
+ * alcanzada mientras la consulta siga viva.</p>
+ *
+ * <pre>
+ *     CompiledQuery&lt;Integer, Persona, List&lt;Persona&gt;&gt; mayores = Linq.&lt;Integer, Persona&gt;compile()
+ *             .where((p, edadMinima) -&gt; p.getEdad() &gt;= edadMinima)
+ *             .orderBy(Persona::getEdad)
+ *             .take(10)
+ *             .toList();
+ *
+ *     List&lt;Persona&gt; resultado = mayores.run(personas, 18);
+ * </pre>
+ *
+ * @param <P> El tipo de los parámetros de la ejecución.
+ * @param <T> El tipo de los elementos de la secuencia de origen.
+ * @param <R> El tipo del resultado.
+ */
+public final class CompiledQuery<P, T, R> {
+
+    private final QueryPlanner.Plan plan;
+    private final Query.Terminal terminal;
+    private final Supplier<QueryExecutor.Sink> sinkFactory;
+    private final ThreadLocal<QueryExecutor.Scratch> scratch = new ThreadLocal<QueryExecutor.Scratch>() {
+        @Override
+        protected QueryExecutor.Scratch initialValue() {
+            return new QueryExecutor.Scratch(plan.stages.size());
+        }
+    };
+
+    private CompiledQuery(List<QueryStage> stages, Query.Terminal terminal, Supplier<QueryExecutor.Sink> sinkFactory) {
+        this.plan = QueryPlanner.optimize(stages, terminal);
+        this.terminal = terminal;
+        this.sinkFactory = sinkFactory;
+    }
+
+    /**
+     * Ejecuta la consulta sobre una secuencia con los parámetros indicados. Una llamada reentrante desde las
+     * propias funciones de la consulta usa estructuras nuevas en lugar de las del hilo.
+     *
+     * @param source La secuencia de origen; si es null se trata como vacía.
+     * @param params Los parámetros que reciben las etapas parametrizadas.
+     * @return El resultado del terminal con el que se compiló la consulta.
+     */
+    @SuppressWarnings("unchecked")
+    public R run(Iterable<? extends T> source, P params) {
+        Iterable<?> input = source == null ? Collections.emptyList() : source;
+        QueryExecutor.Scratch local = scratch.get();
+        if (!local.acquire()) {
+            return (R) QueryExecutor.run(input, plan.stages, sinkFactory.get(), params, null).result();
+        }
+        try {
+            return (R) QueryExecutor.run(input, plan.stages, sinkFactory.get(), params, local).result();
+        } finally {
+            local.release();
+        }
+    }
+
+    /**
+     * Describe el plan físico que se ejecuta en cada llamada. Los límites que dependen de los parámetros
+     * aparecen como {@code parámetro}.
+     *
+     * @return El plan como árbol de texto, desde el terminal hasta la fuente, seguido de las reglas aplicadas.
+     */
+    public String explain() {
+        return Query.render(terminal, plan, "Scan(fuente)");
+    }
+
+    /**
+     * Define las etapas de un {@link CompiledQuery}. Cada llamada devuelve un constructor nuevo, por lo que un
+     * mismo prefijo puede compartirse entre varias consultas; los terminales compilan la consulta.
+     *
+     * @param <P> El tipo de los parámetros de la ejecución.
+     * @param <S> El tipo de los elementos de la secuencia de origen.
+     * @param <T> El tipo de los elementos en este punto de la consulta.
+     */
+    public static final class Builder<P, S, T> {
+
+        private final List<QueryStage> stages;
+
+        Builder(List<QueryStage> stages) {
+            this.stages = stages;
+        }
+
+        /**
+         * Filtra los elementos según un predicado que recibe los parámetros de la ejecución.
+         *
+         * @param predicate Predicado que recibe el elemento y los parámetros.
+         * @return Un nuevo constructor con el filtro añadido.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<P, S, T> where(BiPredicate<? super T, ? super P> predicate) {
+            Checks.requireNonNull(predicate, "El predicado no puede ser null");
+            return append(QueryStage.where(nextId(), (BiPredicate<Object, Object>) predicate));
+        }
+
+        /**
+         * Proyecta cada elemento en un nuevo valor con una función que recibe los parámetros de la ejecución.
+         *
+         * @param <U>      El tipo del valor proyectado.
+         * @param selector Función que recibe el elemento y los parámetros.
+         * @return Un nuevo constructor sobre los valores proyectados.
+         */
+        @SuppressWarnings("unchecked")
+        public <U> Builder<P, S, U> select(BiFunction<? super T, ? super P, ? extends U> selector) {
+            Checks.requireNonNull(selector, "El selector no puede ser null");
+            return append(QueryStage.select(nextId(), (BiFunction<Object, Object, Object>) selector));
+        }
+
+        /**
+         * Ordena los elementos en orden ascendente según una clave. La ordenación es estable.
+         *
+         * @param <U>         El tipo de la clave de ordenación.
+         * @param keySelector Función para extraer la clave de un elemento.
+         * @return Un nuevo constructor con la ordenación añadida.
+         */
+        public <U extends Comparable<? super U>> Builder<P, S, T> orderBy(Function<? super T, ? extends U> keySelector) {
+            Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+            return orderBy(Comparator.comparing(keySelector), "orderBy");
+        }
+
+        /**
+         * Ordena los elementos en orden descendente según una clave. La ordenación es estable.
+         *
+         * @param <U>         El tipo de la clave de ordenación.
+         * @param keySelector Función para extraer la clave de un elemento.
+         * @return Un nuevo constructor con la ordenación añadida.
+         */
+        public <U extends Comparable<? super U>> Builder<P, S, T> orderByDescending(Function<? super T, ? extends U> keySelector) {
+            Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+            Comparator<T> ascending = Comparator.comparing(keySelector);
+            return orderBy(ascending.reversed(), "orderByDescending");
+        }
+
+        /**
+         * Ordena los elementos con un comparador. La ordenación es estable.
+         *
+         * @param comparator El comparador que define el orden.
+         * @return Un nuevo constructor con la ordenación añadida.
+         */
+        public Builder<P, S, T> orderBy(Comparator<? super T> comparator) {
+            Checks.requireNonNull(comparator, "El comparador no puede ser null");
+            return orderBy(comparator, "orderBy");
+        }
+
+        /**
+         * Devuelve como máximo el número indicado de elementos desde el inicio de la secuencia.
+         *
+         * @param count El número de elementos a devolver; si es menor o igual a 0 el resultado queda vacío.
+         * @return Un nuevo constructor con el límite añadido.
+         */
+        public Builder<P, S, T> take(int count) {
+            return append(QueryStage.take(nextId(), count));
+        }
+
+        /**
+         * Devuelve como máximo el número de elementos que indican los parámetros de la ejecución.
+         *
+         * @param count Función que obtiene el límite a partir de los parámetros.
+         * @return Un nuevo constructor con el límite añadido.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<P, S, T> take(ToIntFunction<? super P> count) {
+            Checks.requireNonNull(count, "La función del límite no puede ser null");
+            return append(QueryStage.take(nextId(), (ToIntFunction<Object>) count));
+        }
+
+        /**
+         * Omite el número indicado de elementos desde el inicio de la secuencia.
+         *
+         * @param count El número de elementos a omitir; si es menor o igual a 0 no se omite nada.
+         * @return Un nuevo constructor con el desplazamiento añadido.
+         */
+        public Builder<P, S, T> skip(int count) {
+            return append(QueryStage.skip(nextId(), count));
+        }
+
+        /**
+         * Omite el número de elementos que indican los parámetros de la ejecución.
+         *
+         * @param count Función que obtiene el desplazamiento a partir de los parámetros.
+         * @return Un nuevo constructor con el desplazamiento añadido.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<P, S, T> skip(ToIntFunction<? super P> count) {
+            Checks.requireNonNull(count, "La función del desplazamiento no puede ser null");
+            return append(QueryStage.skip(nextId(), (ToIntFunction<Object>) count));
+        }
+
+        /**
+         * Elimina los elementos repetidos conservando la primera aparición.
+         *
+         * @return Un nuevo constructor sin duplicados.
+         */
+        public Builder<P, S, T> distinct() {
+            return append(QueryStage.distinct(nextId()));
+        }
+
+        /**
+         * Agrupa los elementos según una clave, igual que {@link Query#groupBy}: los grupos se emiten en el orden
+         * de la primera aparición de su clave y los elementos con clave null se omiten.
+         *
+         * @param <K>         El tipo de la clave de agrupación.
+         * @param keySelector Función para extraer la clave de cada elemento.
+         * @return Un nuevo constructor con un par clave-lista por grupo.
+         */
+        @SuppressWarnings("unchecked")
+        public <K> Builder<P, S, Map.Entry<K, List<T>>> groupBy(Function<? super T, ? extends K> keySelector) {
+            Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+            return append(QueryStage.groupBy(nextId(), (Function<Object, Object>) keySelector));
+        }
+
+        /**
+         * Compila la consulta para devolver sus elementos.
+         *
+         * @return Una consulta compilada cuyo resultado es una nueva lista en cada ejecución.
+         */
+        public CompiledQuery<P, S, List<T>> toList() {
+            return new CompiledQuery<>(stages, Query.Terminal.TO_LIST, QueryExecutor.ToListSink::new);
+        }
+
+        /**
+         * Compila la consulta para contar sus elementos.
+         *
+         * @return Una consulta compilada que devuelve la cantidad de elementos.
+         */
+        public CompiledQuery<P, S, Integer> count() {
+            return new CompiledQuery<>(stages, Query.Terminal.COUNT, QueryExecutor.CountSink::new);
+        }
+
+        /**
+         * Compila la consulta para determinar si produce algún elemento.
+         *
+         * @return Una consulta compilada que se detiene en el primer elemento encontrado.
+         */
+        public CompiledQuery<P, S, Boolean> any() {
+            return new CompiledQuery<>(stages, Query.Terminal.ANY, QueryExecutor.AnySink::new);
+        }
+
+        /**
+         * Compila la consulta para devolver su primer elemento.
+         *
+         * @return Una consulta compilada que devuelve el primer elemento, o null si no hay ninguno.
+         */
+        public CompiledQuery<P, S, T> firstOrDefault() {
+            return new CompiledQuery<>(stages, Query.Terminal.FIRST, QueryExecutor.FirstSink::new);
+        }
+
+        /**
+         * Compila la consulta para sumar los valores proyectados, igual que {@link Query#sum}.
+         *
+         * @param selector Función que obtiene el valor a sumar.
+         * @return Una consulta compilada que devuelve la suma; 0.0 si el resultado está vacío.
+         */
+        public CompiledQuery<P, S, Double> sum(Function<? super T, ?> selector) {
+            return aggregate(Query.Terminal.SUM, selector);
+        }
+
+        /**
+         * Compila la consulta para obtener el mínimo de los valores proyectados.
+         *
+         * @param selector Función que obtiene el valor a comparar.
+         * @return Una consulta compilada que devuelve el mínimo; 0.0 si el resultado está vacío.
+         */
+        public CompiledQuery<P, S, Double> min(Function<? super T, ?> selector) {
+            return aggregate(Query.Terminal.MIN, selector);
+        }
+
+        /**
+         * Compila la consulta para obtener el máximo de los valores proyectados.
+         *
+         * @param selector Función que obtiene el valor a comparar.
+         * @return Una consulta compilada que devuelve el máximo; 0.0 si el resultado está vacío.
+         */
+        public CompiledQuery<P, S, Double> max(Function<? super T, ?> selector) {
+            return aggregate(Query.Terminal.MAX, selector);
+        }
+
+        /**
+         * Compila la consulta para promediar los valores proyectados.
+         *
+         * @param selector Función que obtiene el valor a promediar.
+         * @return Una consulta compilada que devuelve el promedio; 0.0 si el resultado está vacío.
+         */
+        public CompiledQuery<P, S, Double> average(Function<? super T, ?> selector) {
+            return aggregate(Query.Terminal.AVERAGE, selector);
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompiledQuery<P, S, Double> aggregate(Query.Terminal terminal, Function<? super T, ?> selector) {
+            Checks.requireNonNull(selector, "El selector no puede ser null");
+            Function<Object, ?> values = (Function<Object, ?>) selector;
+            return new CompiledQuery<>(stages, terminal, () -> new QueryExecutor.AggregateSink(terminal, values));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder<P, S, T> orderBy(Comparator<? super T> comparator, String label) {
+            return append(QueryStage.sort(nextId(), (Comparator<Object>) comparator, label));
+        }
+
+        private <U> Builder<P, S, U> append(QueryStage stage) {
+            List<QueryStage> next = new ArrayList<>(stages.size() + 1);
+            next.addAll(stages);
+            next.add(stage);
+            return new Builder<>(next);
+        }
+
+        private int nextId() {
+            return stages.size() + 1;
+        }
+    }
+}
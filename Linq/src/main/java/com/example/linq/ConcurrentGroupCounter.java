@@ -0,0 +1,102 @@
+package com.example.linq;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Conteo por clave que pueden alimentar muchos hilos a la vez sin bloqueos: un {@link ConcurrentHashMap} con
+ * un {@link LongAdder} por clave. Una clave ya vista sólo hace una lectura del mapa y un incremento de su
+ * contador; {@link #snapshot()} devuelve el mismo resultado que
+ * {@code Linq.groupByAggregate(fuente, clave, Aggregators.count())} sobre todos los elementos sumados.
+ *
+ * <p>La clave null se admite y forma su propio grupo, como en {@link Linq#groupByAggregate}.</p>
+ *
+ * @param <K> El tipo de la clave.
+ */
+public final class ConcurrentGroupCounter<K> {
+
+    // ConcurrentHashMap no admite claves null
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentHashMap<Object, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Suma uno al contador de una clave.
+     */
+    public void increment(K key) {
+        counter(key).increment();
+    }
+
+    /**
+     * Suma una cantidad al contador de una clave.
+     */
+    public void add(K key, long amount) {
+        counter(key).add(amount);
+    }
+
+    /**
+     * Cuenta las claves de un lote.
+     *
+     * @param <T>         El tipo de los elementos.
+     * @param source      Los elementos; null se ignora.
+     * @param keySelector Función para extraer la clave de cada elemento; null se ignora.
+     */
+    public <T> void addAll(Iterable<T> source, Function<? super T, ? extends K> keySelector) {
+        if (source == null || keySelector == null) {
+            return;
+        }
+        for (T item : source) {
+            counter(keySelector.apply(item)).increment();
+        }
+    }
+
+    /**
+     * @return El contador actual de una clave; 0 si no se ha visto.
+     */
+    public long count(K key) {
+        LongAdder counter = counters.get(key == null ? NULL_KEY : key);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @return El número de claves distintas vistas.
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Lee todos los contadores. Los incrementos que otros hilos hacen en ese momento pueden aparecer o no.
+     *
+     * @return Un mapa nuevo con el contador de cada clave.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<K, Long> snapshot() {
+        Map<K, Long> result = new HashMap<>();
+        for (Map.Entry<Object, LongAdder> entry : counters.entrySet()) {
+            Object key = entry.getKey();
+            result.put(key == NULL_KEY ? null : (K) key, entry.getValue().sum());
+        }
+        return result;
+    }
+
+    /**
+     * Descarta todos los contadores. No debe llamarse mientras otros hilos cuentan: un hilo que ya obtuvo el
+     * contador de una clave antes de vaciar el mapa lo sigue incrementando, y ese conteo se pierde.
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    private LongAdder counter(K key) {
+        Object mapKey = key == null ? NULL_KEY : key;
+        LongAdder counter = counters.get(mapKey);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(mapKey, k -> new LongAdder());
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.linq;
+
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Acumulador de {@link Stats} que pueden alimentar muchos hilos a la vez sin bloqueos. La cantidad y la suma
+ * usan celdas repartidas ({@link LongAdder}, {@link DoubleAdder}) y el mínimo y el máximo
+ * {@link DoubleAccumulator}, de modo que los productores casi nunca compiten por la misma celda; el costo se
+ * paga al leer, que suma las celdas.
+ *
+ * <pre>
+ * ConcurrentStats latencias = new ConcurrentStats();
+ * // en cada hilo productor
+ * latencias.addAll(lote, Peticion::getMillis);
+ * // en cualquier hilo
+ * Stats resumen = latencias.snapshot();
+ * </pre>
+ *
+ * <p>La suma de {@code double} puede diferir en los últimos bits de la de {@link Linq#sum}, porque el orden de
+ * las sumas depende de las celdas.</p>
+ */
+public final class ConcurrentStats {
+
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+    /**
+     * Suma un valor.
+     */
+    public void add(double value) {
+        min.accumulate(value);
+        max.accumulate(value);
+        sum.add(value);
+        // La cantidad se actualiza al final para que una instantánea que la ve no vea aún el mínimo inicial
+        count.increment();
+    }
+
+    /**
+     * Suma los valores de un lote, resumiéndolo antes en el hilo que llama para tocar las celdas compartidas
+     * una sola vez.
+     *
+     * @param <T>      El tipo de los elementos.
+     * @param source   Los elementos; null se ignora.
+     * @param selector Función que obtiene el valor de cada elemento; null se ignora.
+     */
+    public <T> void addAll(Iterable<T> source, ToDoubleFunction<? super T> selector) {
+        if (source == null || selector == null) {
+            return;
+        }
+        long batchCount = 0;
+        double batchSum = 0.0;
+        double batchMin = Double.POSITIVE_INFINITY;
+        double batchMax = Double.NEGATIVE_INFINITY;
+        for (T item : source) {
+            double value = selector.applyAsDouble(item);
+            batchCount++;
+            batchSum += value;
+            batchMin = Math.min(batchMin, value);
+            batchMax = Math.max(batchMax, value);
+        }
+        if (batchCount > 0) {
+            add(new Stats(batchCount, batchSum, batchMin, batchMax));
+        }
+    }
+
+    /**
+     * Suma un resumen parcial, por ejemplo el de {@link Linq#aggregateStats(Iterable)} sobre un lote.
+     *
+     * @param stats El resumen; null o vacío se ignora.
+     */
+    public void add(Stats stats) {
+        if (stats == null || stats.count() == 0) {
+            return;
+        }
+        min.accumulate(stats.min());
+        max.accumulate(stats.max());
+        sum.add(stats.sum());
+        count.add(stats.count());
+    }
+
+    /**
+     * Lee el estado actual. Los valores que otros hilos están sumando en ese momento pueden aparecer en unos
+     * campos y no en otros.
+     *
+     * @return El resumen de los valores sumados hasta ahora.
+     */
+    public Stats snapshot() {
+        long n = count.sum();
+        return n == 0 ? Stats.empty() : new Stats(n, sum.sum(), min.get(), max.get());
+    }
+
+    /**
+     * Descarta los valores sumados. No debe llamarse mientras otros hilos suman.
+     */
+    public void reset() {
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+}
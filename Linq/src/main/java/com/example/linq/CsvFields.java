@@ -0,0 +1,194 @@
+package com.example.linq;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Utilidades para localizar y decodificar campos CSV directamente sobre un rango de bytes,
+ * sin crear un String por línea ni por campo numérico.
+ */
+final class CsvFields {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private CsvFields() {
+    }
+
+    /**
+     * Localiza los límites de los campos indicados en una sola pasada.
+     *
+     * @param bytes     Bytes de la línea.
+     * @param start     Inicio de la línea.
+     * @param end       Fin (exclusivo) de la línea.
+     * @param delimiter Separador de campos.
+     * @param positions Posiciones de los campos buscados.
+     * @param bounds    Arreglo de salida de tamaño 2 * positions.length con pares [inicio, fin); -1 si el campo no existe.
+     */
+    static void locate(byte[] bytes, int start, int end, char delimiter, int[] positions, int[] bounds) {
+        Arrays.fill(bounds, -1);
+        int maxPosition = -1;
+        for (int position : positions) {
+            maxPosition = Math.max(maxPosition, position);
+        }
+        int field = 0;
+        int fieldStart = start;
+        boolean quoted = false;
+        for (int i = start; i <= end && field <= maxPosition; i++) {
+            if (i < end) {
+                byte b = bytes[i];
+                if (b == '"') {
+                    quoted = !quoted;
+                    continue;
+                }
+                if (quoted || b != delimiter) {
+                    continue;
+                }
+            }
+            for (int c = 0; c < positions.length; c++) {
+                if (positions[c] == field) {
+                    bounds[2 * c] = fieldStart;
+                    bounds[2 * c + 1] = i;
+                }
+            }
+            field++;
+            fieldStart = i + 1;
+        }
+    }
+
+    /**
+     * Localiza un único campo.
+     *
+     * @return El inicio del campo en los 32 bits altos y el fin en los bajos, o -1 si no existe.
+     */
+    static long locate(byte[] bytes, int start, int end, char delimiter, int position) {
+        int field = 0;
+        int fieldStart = start;
+        boolean quoted = false;
+        for (int i = start; i <= end; i++) {
+            if (i < end) {
+                byte b = bytes[i];
+                if (b == '"') {
+                    quoted = !quoted;
+                    continue;
+                }
+                if (quoted || b != delimiter) {
+                    continue;
+                }
+            }
+            if (field == position) {
+                return ((long) fieldStart << 32) | (i & 0xFFFFFFFFL);
+            }
+            field++;
+            fieldStart = i + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Decodifica un campo como texto UTF-8, quitando las comillas exteriores y desescapando "".
+     */
+    static String decodeString(byte[] bytes, int from, int to) {
+        if (to - from >= 2 && bytes[from] == '"' && bytes[to - 1] == '"') {
+            String inner = new String(bytes, from + 1, to - from - 2, StandardCharsets.UTF_8);
+            return inner.indexOf('"') < 0 ? inner : inner.replace("\"\"", "\"");
+        }
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Interpreta un campo como entero. Ignora espacios, comillas, '$' y ',' igual que los agregados de {@link Linq}.
+     *
+     * @return El valor, o 0 si el campo está vacío o no es numérico.
+     */
+    static long parseLong(byte[] bytes, int from, int to) {
+        long value = 0;
+        boolean negative = false;
+        boolean digits = false;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits = true;
+            } else if (b == '-' && !digits) {
+                negative = true;
+            } else if (b == '+' && !digits) {
+                // signo explícito
+            } else if (b == ' ' || b == '"' || b == '$' || b == ',') {
+                // caracteres ignorados
+            } else {
+                return (long) parseDouble(bytes, from, to);
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Interpreta un campo como double sin crear un String en el caso común (dígitos con punto decimal).
+     * Ignora espacios, comillas, '$' y ',' igual que los agregados de {@link Linq}; los exponentes y las
+     * mantisas largas se delegan a {@link Double#parseDouble}.
+     *
+     * @return El valor, o 0 si el campo está vacío o no es numérico.
+     */
+    static double parseDouble(byte[] bytes, int from, int to) {
+        long mantissa = 0;
+        int significant = 0;
+        int fractionDigits = 0;
+        boolean negative = false;
+        boolean digits = false;
+        boolean fraction = false;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                digits = true;
+                if (mantissa == 0 && b == '0') {
+                    if (fraction) {
+                        fractionDigits++;
+                    }
+                    continue;
+                }
+                if (++significant > 18) {
+                    return slowParse(bytes, from, to);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b == '-' && !digits && !negative) {
+                negative = true;
+            } else if (b == '+' && !digits) {
+                // signo explícito
+            } else if (b == ' ' || b == '"' || b == '$' || b == ',') {
+                // caracteres ignorados
+            } else {
+                return slowParse(bytes, from, to);
+            }
+        }
+        if (!digits) {
+            return 0.0;
+        }
+        if (mantissa > (1L << 53) || fractionDigits >= POWERS_OF_TEN.length) {
+            return slowParse(bytes, from, to);
+        }
+        // Mantisa y potencia exactas en double: una sola división da el resultado correctamente redondeado.
+        double value = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private static double slowParse(byte[] bytes, int from, int to) {
+        String text = new String(bytes, from, to - from, StandardCharsets.UTF_8)
+                .trim()
+                .replace("\"", "")
+                .replace("$", "")
+                .replace(",", "");
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.linq;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fila de un archivo CSV leída por {@link Linq#csv}. Conserva los bytes de la línea y sólo localiza
+ * y decodifica los campos cuando se consultan; los campos numéricos se interpretan directamente desde
+ * los bytes sin pasar por String.
+ */
+public final class CsvRow {
+
+    private final CsvSchema schema;
+    private final byte[] bytes;
+    private int[] bounds;
+
+    CsvRow(CsvSchema schema, byte[] bytes) {
+        this.schema = schema;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Devuelve el valor de una columna convertido según el tipo declarado en el esquema.
+     *
+     * @param column Nombre de la columna.
+     * @return Un String, Integer, Long o Double; null si el campo no existe en la línea.
+     */
+    public Object get(String column) {
+        int index = schema.indexOf(column);
+        if (fieldStart(index) < 0) {
+            return null;
+        }
+        switch (schema.type(index)) {
+            case INT:
+                return getInt(column);
+            case LONG:
+                return getLong(column);
+            case DOUBLE:
+                return getDouble(column);
+            default:
+                return getString(column);
+        }
+    }
+
+    /**
+     * Devuelve el texto de una columna.
+     *
+     * @param column Nombre de la columna.
+     * @return El texto sin comillas exteriores; null si el campo no existe en la línea.
+     */
+    public String getString(String column) {
+        int index = schema.indexOf(column);
+        int from = fieldStart(index);
+        return from < 0 ? null : CsvFields.decodeString(bytes, from, bounds[2 * index + 1]);
+    }
+
+    /**
+     * Devuelve el valor int de una columna.
+     *
+     * @param column Nombre de la columna.
+     * @return El valor; 0 si el campo no existe o no es numérico.
+     * @throws ArithmeticException Si el valor no cabe en un int.
+     */
+    public int getInt(String column) {
+        return Math.toIntExact(getLong(column));
+    }
+
+    /**
+     * Devuelve el valor long de una columna.
+     *
+     * @param column Nombre de la columna.
+     * @return El valor; 0 si el campo no existe o no es numérico.
+     */
+    public long getLong(String column) {
+        int index = schema.indexOf(column);
+        int from = fieldStart(index);
+        return from < 0 ? 0L : CsvFields.parseLong(bytes, from, bounds[2 * index + 1]);
+    }
+
+    /**
+     * Devuelve el valor double de una columna.
+     *
+     * @param column Nombre de la columna.
+     * @return El valor; 0 si el campo no existe o no es numérico.
+     */
+    public double getDouble(String column) {
+        int index = schema.indexOf(column);
+        int from = fieldStart(index);
+        return from < 0 ? 0.0 : CsvFields.parseDouble(bytes, from, bounds[2 * index + 1]);
+    }
+
+    private int fieldStart(int index) {
+        if (bounds == null) {
+            int count = schema.columnCount();
+            int[] positions = new int[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = schema.position(i);
+            }
+            bounds = new int[2 * count];
+            CsvFields.locate(bytes, 0, bytes.length, schema.delimiter(), positions, bounds);
+        }
+        return bounds[2 * index];
+    }
+
+    /**
+     * @return La línea tal como está en el archivo, con comillas y separadores.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
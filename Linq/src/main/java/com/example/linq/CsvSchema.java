@@ -0,0 +1,184 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describe las columnas de un archivo CSV que se leerán con {@link Linq#csv}. Sólo es necesario declarar
+ * las columnas que usa la consulta; las demás se ignoran sin decodificarse.
+ *
+ * <pre>
+ * CsvSchema esquema = CsvSchema.builder()
+ *         .skipHeader(true)
+ *         .column("nombre", CsvSchema.Type.STRING)
+ *         .column("precio", 3, CsvSchema.Type.DOUBLE)
+ *         .build();
+ * </pre>
+ */
+public final class CsvSchema {
+
+    /**
+     * Tipos de columna admitidos.
+     */
+    public enum Type {
+        STRING,
+        INT,
+        LONG,
+        DOUBLE
+    }
+
+    private final char delimiter;
+    private final boolean skipHeader;
+    private final List<String> names;
+    private final int[] positions;
+    private final Type[] types;
+    private final Map<String, Integer> indexByName;
+
+    private CsvSchema(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.skipHeader = builder.skipHeader;
+        this.names = Collections.unmodifiableList(new ArrayList<>(builder.names));
+        this.positions = new int[builder.positions.size()];
+        this.types = builder.types.toArray(new Type[0]);
+        this.indexByName = new HashMap<>();
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = builder.positions.get(i);
+            indexByName.put(names.get(i), i);
+        }
+    }
+
+    /**
+     * Crea un constructor de esquemas con separador ',' y sin encabezado.
+     *
+     * @return Un nuevo constructor.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public char delimiter() {
+        return delimiter;
+    }
+
+    public boolean skipHeader() {
+        return skipHeader;
+    }
+
+    /**
+     * Devuelve los nombres de las columnas declaradas.
+     *
+     * @return Una lista inmutable con los nombres en orden de declaración.
+     */
+    public List<String> columnNames() {
+        return names;
+    }
+
+    /**
+     * Devuelve el índice de declaración de una columna.
+     *
+     * @param name Nombre de la columna.
+     * @return El índice de la columna dentro del esquema.
+     * @throws IllegalArgumentException Si la columna no está declarada.
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("La columna '" + name + "' no está declarada en el esquema");
+        }
+        return index;
+    }
+
+    int position(int column) {
+        return positions[column];
+    }
+
+    Type type(int column) {
+        return types[column];
+    }
+
+    int columnCount() {
+        return positions.length;
+    }
+
+    /**
+     * Constructor de {@link CsvSchema}.
+     */
+    public static final class Builder {
+        private char delimiter = ',';
+        private boolean skipHeader;
+        private final List<String> names = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private final List<Type> types = new ArrayList<>();
+        private int nextPosition;
+
+        private Builder() {
+        }
+
+        /**
+         * Establece el carácter separador de campos.
+         *
+         * @param delimiter El separador (por ejemplo ',' o ';').
+         * @return Este constructor.
+         */
+        public Builder delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Indica si la primera línea del archivo es un encabezado que debe omitirse.
+         *
+         * @param skipHeader true para omitir la primera línea.
+         * @return Este constructor.
+         */
+        public Builder skipHeader(boolean skipHeader) {
+            this.skipHeader = skipHeader;
+            return this;
+        }
+
+        /**
+         * Declara una columna en la posición siguiente a la última declarada.
+         *
+         * @param name Nombre de la columna.
+         * @param type Tipo de la columna.
+         * @return Este constructor.
+         */
+        public Builder column(String name, Type type) {
+            return column(name, nextPosition, type);
+        }
+
+        /**
+         * Declara una columna en una posición explícita del registro (basada en 0).
+         *
+         * @param name     Nombre de la columna.
+         * @param position Posición del campo dentro de cada línea.
+         * @param type     Tipo de la columna.
+         * @return Este constructor.
+         */
+        public Builder column(String name, int position, Type type) {
+            if (name == null || type == null || position < 0) {
+                throw new IllegalArgumentException("La columna requiere nombre, tipo y una posición no negativa");
+            }
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("La columna '" + name + "' ya fue declarada");
+            }
+            names.add(name);
+            positions.add(position);
+            types.add(type);
+            nextPosition = position + 1;
+            return this;
+        }
+
+        /**
+         * Construye el esquema.
+         *
+         * @return Un esquema inmutable.
+         */
+        public CsvSchema build() {
+            return new CsvSchema(this);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.linq;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Secuencia perezosa de filas de un archivo CSV. Cada llamada a {@link #iterator()} abre el archivo y lo
+ * lee por bloques, por lo que la memoria usada no depende del tamaño del archivo.
+ *
+ * <p>Los agregados {@link #sum}, {@link #average}, {@link #min} y {@link #max} localizan sólo la columna
+ * pedida en cada línea e interpretan el número directamente desde los bytes, sin crear filas ni Strings.
+ * Las filas también pueden pasarse a cualquier operador de {@link Linq}.</p>
+ *
+ * <p>Un campo entre comillas puede contener saltos de línea; la fila incluye entonces varias líneas del
+ * archivo y el valor conserva los saltos.</p>
+ *
+ * <p>Los agregados cierran el archivo al terminar. Los iteradores lo cierran al agotarse o si falla la lectura;
+ * si el recorrido termina antes, el archivo sigue abierto hasta llamar a {@link #close()}, por lo que conviene
+ * usar la fuente con try-with-resources.</p>
+ */
+public final class CsvSource implements Iterable<CsvRow>, Closeable {
+
+    private final File file;
+    private final CsvSchema schema;
+    private final OpenCursors cursors = new OpenCursors();
+
+    CsvSource(File file, CsvSchema schema) {
+        this.file = file;
+        this.schema = schema;
+    }
+
+    /**
+     * Devuelve el esquema con el que se interpretan las líneas.
+     *
+     * @return El esquema de la fuente.
+     */
+    public CsvSchema schema() {
+        return schema;
+    }
+
+    @Override
+    public Iterator<CsvRow> iterator() {
+        final LineCursor cursor;
+        try {
+            cursor = open(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Iterator<CsvRow>() {
+            private CsvRow next;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) {
+                    return true;
+                }
+                if (done) {
+                    return false;
+                }
+                if (!cursor.isOpen()) {
+                    throw new IllegalStateException("La fuente se cerró durante el recorrido");
+                }
+                try {
+                    while (cursor.next()) {
+                        if (cursor.end() > cursor.start()) {
+                            next = new CsvRow(schema, Arrays.copyOfRange(cursor.bytes(), cursor.start(), cursor.end()));
+                            return true;
+                        }
+                    }
+                    done = true;
+                    cursors.release(cursor);
+                    return false;
+                } catch (IOException e) {
+                    done = true;
+                    cursors.release(cursor, e);
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public CsvRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                CsvRow row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Cuenta las filas de datos (sin encabezado ni líneas vacías) sin decodificarlas.
+     *
+     * @return La cantidad de filas.
+     */
+    public long count() {
+        long count = 0;
+        try (LineCursor cursor = open(false)) {
+            while (cursor.next()) {
+                if (cursor.end() > cursor.start()) {
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Suma una columna numérica.
+     *
+     * @param column Nombre de la columna.
+     * @return La suma; 0 si el archivo no tiene filas.
+     */
+    public double sum(String column) {
+        return aggregate(column)[1];
+    }
+
+    /**
+     * Calcula el promedio de una columna numérica.
+     *
+     * @param column Nombre de la columna.
+     * @return El promedio; 0 si el archivo no tiene filas.
+     */
+    public double average(String column) {
+        double[] stats = aggregate(column);
+        return stats[0] == 0 ? 0.0 : stats[1] / stats[0];
+    }
+
+    /**
+     * Encuentra el mínimo de una columna numérica.
+     *
+     * @param column Nombre de la columna.
+     * @return El mínimo; 0 si el archivo no tiene filas.
+     */
+    public double min(String column) {
+        double[] stats = aggregate(column);
+        return stats[0] == 0 ? 0.0 : stats[2];
+    }
+
+    /**
+     * Encuentra el máximo de una columna numérica.
+     *
+     * @param column Nombre de la columna.
+     * @return El máximo; 0 si el archivo no tiene filas.
+     */
+    public double max(String column) {
+        double[] stats = aggregate(column);
+        return stats[0] == 0 ? 0.0 : stats[3];
+    }
+
+    // Devuelve {cantidad, suma, mínimo, máximo} de la columna en una sola pasada.
+    private double[] aggregate(String column) {
+        int index = schema.indexOf(column);
+        int position = schema.position(index);
+        char delimiter = schema.delimiter();
+        long count = 0;
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        try (LineCursor cursor = open(false)) {
+            while (cursor.next()) {
+                byte[] bytes = cursor.bytes();
+                int start = cursor.start();
+                int end = cursor.end();
+                if (end == start) {
+                    continue;
+                }
+                long bounds = CsvFields.locate(bytes, start, end, delimiter, position);
+                double value = bounds < 0 ? 0.0 : CsvFields.parseDouble(bytes, (int) (bounds >>> 32), (int) bounds);
+                count++;
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new double[]{count, sum, min, max};
+    }
+
+    /**
+     * Cierra los archivos que dejaron abiertos los recorridos no terminados. La fuente puede volver a
+     * recorrerse después; los iteradores cerrados lanzan {@link IllegalStateException} si se siguen usando.
+     *
+     * @throws UncheckedIOException Si falla el cierre de algún archivo.
+     */
+    @Override
+    public void close() {
+        cursors.close();
+    }
+
+    int openCursors() {
+        return cursors.size();
+    }
+
+    // Abre un cursor de registros CSV (registrado si lo usará un iterador) y, si el esquema lo indica, descarta
+    // la línea de encabezado. Si la lectura del encabezado falla, el cursor se cierra antes de propagar el error.
+    private LineCursor open(boolean tracked) throws IOException {
+        LineCursor cursor = tracked ? cursors.open(file, true) : new LineCursor(file, true);
+        try {
+            if (schema.skipHeader()) {
+                cursor.next();
+            }
+            return cursor;
+        } catch (IOException | RuntimeException e) {
+            if (tracked) {
+                cursors.release(cursor, e);
+            } else {
+                OpenCursors.closeAfter(cursor, e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * Secuencia perezosa de valores {@code double} sin cajas. Igual que {@link IntSequence}, cada terminal recorre la
+ * secuencia desde el origen y los valores sólo se convierten a {@link Double} al pasar por {@link #boxed()} o
+ * {@link #toList()}.
+ *
+ * <pre>
+ *     double media = Linq.generateDouble(100_000, i -&gt; Math.sin(i * 0.01)).where(x -&gt; x &gt; 0).average();
+ * </pre>
+ */
+public final class DoubleSequence {
+
+    private final Supplier<DoubleStream> source;
+
+    DoubleSequence(Supplier<DoubleStream> source) {
+        this.source = source;
+    }
+
+    /**
+     * Filtra los valores según un predicado.
+     *
+     * @param predicate Predicado que define la condición a cumplir.
+     * @return Una nueva secuencia con los valores que cumplen la condición.
+     */
+    public DoubleSequence where(DoublePredicate predicate) {
+        Checks.requireNonNull(predicate, "El predicado no puede ser null");
+        return new DoubleSequence(() -> source.get().filter(predicate));
+    }
+
+    /**
+     * Transforma cada valor.
+     *
+     * @param selector Función de transformación que se va a aplicar a cada valor.
+     * @return Una nueva secuencia con los valores transformados.
+     */
+    public DoubleSequence select(DoubleUnaryOperator selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new DoubleSequence(() -> source.get().map(selector));
+    }
+
+    /**
+     * Devuelve como máximo el número indicado de valores desde el inicio.
+     *
+     * @param count El número de valores a devolver; si es menor o igual a 0 la secuencia queda vacía.
+     * @return Una nueva secuencia con el límite aplicado.
+     */
+    public DoubleSequence take(long count) {
+        if (count <= 0) {
+            return new DoubleSequence(DoubleStream::empty);
+        }
+        return new DoubleSequence(() -> source.get().limit(count));
+    }
+
+    /**
+     * Omite el número indicado de valores desde el inicio.
+     *
+     * @param count El número de valores a omitir; si es menor o igual a 0 no se omite nada.
+     * @return Una nueva secuencia sin los primeros valores.
+     */
+    public DoubleSequence skip(long count) {
+        if (count <= 0) {
+            return this;
+        }
+        return new DoubleSequence(() -> source.get().skip(count));
+    }
+
+    /**
+     * Cuenta los valores de la secuencia.
+     *
+     * @return La cantidad de valores.
+     */
+    public long count() {
+        return source.get().count();
+    }
+
+    /**
+     * Calcula la suma de los valores con compensación de Kahan, igual que {@link DoubleStream#sum()}.
+     *
+     * @return La suma; 0.0 si la secuencia está vacía.
+     */
+    public double sum() {
+        return source.get().sum();
+    }
+
+    /**
+     * Encuentra el valor mínimo.
+     *
+     * @return El mínimo; 0.0 si la secuencia está vacía.
+     */
+    public double min() {
+        return source.get().min().orElse(0.0);
+    }
+
+    /**
+     * Encuentra el valor máximo.
+     *
+     * @return El máximo; 0.0 si la secuencia está vacía.
+     */
+    public double max() {
+        return source.get().max().orElse(0.0);
+    }
+
+    /**
+     * Calcula el promedio de los valores.
+     *
+     * @return El promedio; 0.0 si la secuencia está vacía.
+     */
+    public double average() {
+        return source.get().average().orElse(0.0);
+    }
+
+    /**
+     * Ejecuta una acción por cada valor, en orden.
+     *
+     * @param action La acción a ejecutar; si es null no se recorre la secuencia.
+     */
+    public void forEach(DoubleConsumer action) {
+        if (action != null) {
+            source.get().forEach(action);
+        }
+    }
+
+    /**
+     * @return Un nuevo arreglo con los valores de la secuencia.
+     */
+    public double[] toArray() {
+        return source.get().toArray();
+    }
+
+    /**
+     * Convierte los valores a {@link Double} a medida que se recorren, para usarlos con los operadores de
+     * {@link Linq}. Cada recorrido vuelve a evaluar la secuencia.
+     *
+     * @return Una secuencia perezosa de objetos.
+     */
+    public Iterable<Double> boxed() {
+        return () -> source.get().iterator();
+    }
+
+    /**
+     * @return Una nueva lista con los valores convertidos a {@link Double}.
+     */
+    public List<Double> toList() {
+        List<Double> result = new ArrayList<>();
+        source.get().forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.linq;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Estado de {@link Linq#groupByWindow} y {@link LinqFlow#groupByWindow}: ventanas fijas de tiempo de evento
+ * abiertas, ordenadas por inicio, con el estado de agregación de cada clave.
+ *
+ * <p>La marca de agua es la mayor marca de tiempo vista menos el retraso permitido. Una ventana se cierra, se
+ * emite y se descarta cuando su fin no supera la marca de agua, de modo que sólo quedan en memoria las
+ * ventanas que aún pueden recibir elementos. Los elementos de una ventana ya cerrada se descartan.</p>
+ */
+final class EventTimeWindows<T, K, A, R> {
+
+    private final Function<? super T, ? extends K> keySelector;
+    private final ToLongFunction<? super T> timestampSelector;
+    private final Aggregator<T, A, R> aggregator;
+    private final long size;
+    private final long lateness;
+    private final TreeMap<Long, Map<K, A>> open = new TreeMap<>();
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    EventTimeWindows(Function<? super T, ? extends K> keySelector, ToLongFunction<? super T> timestampSelector,
+                     Aggregator<T, A, R> aggregator, long size, long lateness) {
+        this.keySelector = keySelector;
+        this.timestampSelector = timestampSelector;
+        this.aggregator = aggregator;
+        this.size = size;
+        this.lateness = lateness;
+    }
+
+    /**
+     * Suma un elemento a su ventana y agrega a {@code closed} las ventanas que su marca de tiempo cierra.
+     */
+    void add(T item, Queue<TimeWindow<K, R>> closed) {
+        long timestamp = timestampSelector.applyAsLong(item);
+        long start = Math.floorDiv(timestamp, size) * size;
+        if (start + size <= watermark()) {
+            return;
+        }
+        Map<K, A> groups = open.get(start);
+        if (groups == null) {
+            groups = new HashMap<>();
+            open.put(start, groups);
+        }
+        K key = keySelector.apply(item);
+        A state = groups.get(key);
+        if (state == null && !groups.containsKey(key)) {
+            state = aggregator.create();
+            groups.put(key, state);
+        }
+        aggregator.accumulate(state, item);
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+            long watermark = watermark();
+            while (!open.isEmpty() && open.firstKey() + size <= watermark) {
+                closed.add(close(open.pollFirstEntry()));
+            }
+        }
+    }
+
+    /**
+     * Cierra todas las ventanas abiertas, al terminar una fuente finita.
+     */
+    void flush(Queue<TimeWindow<K, R>> closed) {
+        while (!open.isEmpty()) {
+            closed.add(close(open.pollFirstEntry()));
+        }
+    }
+
+    boolean hasOpenWindows() {
+        return !open.isEmpty();
+    }
+
+    private long watermark() {
+        return maxTimestamp < Long.MIN_VALUE + lateness ? Long.MIN_VALUE : maxTimestamp - lateness;
+    }
+
+    private TimeWindow<K, R> close(Map.Entry<Long, Map<K, A>> window) {
+        Map<K, A> groups = window.getValue();
+        Map<K, R> results = new HashMap<>(groups.size() * 4 / 3 + 1);
+        for (Map.Entry<K, A> group : groups.entrySet()) {
+            results.put(group.getKey(), aggregator.finish(group.getValue()));
+        }
+        long start = window.getKey();
+        return new TimeWindow<>(start, start + size, results);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Índice hash secundario que resuelve filtros de igualdad sobre una clave en O(coincidencias)
+ * en lugar de recorrer toda la secuencia. Se crea con {@link Linq#index}.
+ *
+ * <p>Si la fuente es una {@link ObservableList}, el índice se suscribe a sus cambios y se actualiza
+ * de forma incremental; en otro caso es una instantánea del contenido al momento de crearse.
+ * Dentro de cada clave los elementos se conservan en el orden de la fuente, como los devolvería un recorrido:
+ * los agregados al final y las eliminaciones se aplican en O(1) y O(grupo), y tras una inserción en medio de la
+ * lista o un {@link ObservableList#set} que no sea sobre el último elemento, el índice reordena sus grupos
+ * recorriendo la fuente una vez en la siguiente consulta.</p>
+ *
+ * @param <K> El tipo de la clave indexada.
+ * @param <T> El tipo de los elementos.
+ */
+public final class HashIndex<K, T> {
+
+    private final Function<? super T, ? extends K> keySelector;
+    private final Map<K, List<T>> buckets = new HashMap<>();
+    // Privado para que sólo la lista observada pueda modificar el índice
+    private final ObservableList.Listener<T> tracker = new ObservableList.Listener<T>() {
+        @Override
+        public void onAdded(int index, T item) {
+            if (index != size) {
+                ordered = false;
+            }
+            add(item);
+        }
+
+        @Override
+        public void onRemoved(int index, T item) {
+            remove(item);
+        }
+    };
+    private ObservableList<T> observed;
+    private int size;
+    // false si algún grupo dejó de estar en el orden de la fuente
+    private boolean ordered = true;
+
+    HashIndex(Iterable<T> source, Function<? super T, ? extends K> keySelector) {
+        this.keySelector = keySelector;
+        if (source != null) {
+            for (T item : source) {
+                add(item);
+            }
+        }
+        if (source instanceof ObservableList) {
+            observed = (ObservableList<T>) source;
+            observed.addListener(tracker);
+            observed.addIndex(this);
+        }
+    }
+
+    /**
+     * Devuelve el selector de clave con el que se construyó el índice.
+     *
+     * @return El selector de clave.
+     */
+    public Function<? super T, ? extends K> keySelector() {
+        return keySelector;
+    }
+
+    /**
+     * Devuelve los elementos cuya clave es igual al valor indicado.
+     *
+     * @param key La clave a buscar (puede ser null).
+     * @return Una vista de sólo lectura de los elementos con esa clave, en el orden de la fuente; lista vacía
+     *         si no hay coincidencias.
+     */
+    public List<T> get(K key) {
+        reorder();
+        List<T> bucket = buckets.get(key);
+        return bucket == null ? Collections.<T>emptyList() : Collections.unmodifiableList(bucket);
+    }
+
+    /**
+     * Indica si existe algún elemento con la clave.
+     *
+     * @param key La clave a buscar.
+     * @return true si hay al menos un elemento con esa clave.
+     */
+    public boolean containsKey(K key) {
+        return buckets.containsKey(key);
+    }
+
+    /**
+     * Devuelve el número de elementos con la clave.
+     *
+     * @param key La clave a buscar.
+     * @return La cantidad de elementos; 0 si no existe.
+     */
+    public int count(K key) {
+        List<T> bucket = buckets.get(key);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * Devuelve las claves indexadas.
+     *
+     * @return Un conjunto de sólo lectura con las claves distintas.
+     */
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(buckets.keySet());
+    }
+
+    /**
+     * Devuelve el número total de elementos indexados.
+     *
+     * @return La cantidad de elementos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Deja de observar la fuente. A partir de aquí el índice conserva su contenido pero ya no se actualiza
+     * ni es elegido automáticamente por {@link Linq#where}.
+     */
+    public void detach() {
+        if (observed != null) {
+            reorder();
+            observed.removeListener(tracker);
+            observed.removeIndex(this);
+            observed = null;
+        }
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    private void add(T item) {
+        K key = keySelector.apply(item);
+        List<T> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<>(2);
+            buckets.put(key, bucket);
+        }
+        bucket.add(item);
+        size++;
+    }
+
+    // La lista notifica la misma instancia que eliminó, así que se busca por identidad: con elementos iguales
+    // pero distintos se quita el que corresponde y el resto conserva su orden.
+    private void remove(T item) {
+        K key = keySelector.apply(item);
+        List<T> bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == item) {
+                bucket.remove(i);
+                size--;
+                break;
+            }
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    // Vuelve a llenar cada grupo en el orden de la fuente. Se vacían y rellenan las mismas listas para que las
+    // vistas ya devueltas por get sigan reflejando el índice.
+    private void reorder() {
+        if (ordered || observed == null) {
+            return;
+        }
+        for (List<T> bucket : buckets.values()) {
+            bucket.clear();
+        }
+        for (int i = 0, n = observed.size(); i < n; i++) {
+            T item = observed.get(i);
+            K key = keySelector.apply(item);
+            List<T> bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new ArrayList<>(2);
+                buckets.put(key, bucket);
+            }
+            bucket.add(item);
+        }
+        ordered = true;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Secuencia perezosa de valores {@code int} sin cajas. Las operaciones intermedias ({@link #where}, {@link #select},
+ * {@link #take}, ...) sólo componen la secuencia; cada terminal ({@link #sum()}, {@link #toArray()}, ...) la recorre
+ * desde el origen, por lo que una misma instancia puede consultarse varias veces. Los valores sólo se convierten
+ * a {@link Integer} al pasar por {@link #boxed()} o {@link #toList()}.
+ *
+ * <pre>
+ *     long sumaDePares = Linq.range(0, 1_000_000).where(i -&gt; i % 2 == 0).sum();
+ * </pre>
+ */
+public final class IntSequence {
+
+    private final Supplier<IntStream> source;
+
+    IntSequence(Supplier<IntStream> source) {
+        this.source = source;
+    }
+
+    /**
+     * Filtra los valores según un predicado.
+     *
+     * @param predicate Predicado que define la condición a cumplir.
+     * @return Una nueva secuencia con los valores que cumplen la condición.
+     */
+    public IntSequence where(IntPredicate predicate) {
+        Checks.requireNonNull(predicate, "El predicado no puede ser null");
+        return new IntSequence(() -> source.get().filter(predicate));
+    }
+
+    /**
+     * Transforma cada valor.
+     *
+     * @param selector Función de transformación que se va a aplicar a cada valor.
+     * @return Una nueva secuencia con los valores transformados.
+     */
+    public IntSequence select(IntUnaryOperator selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new IntSequence(() -> source.get().map(selector));
+    }
+
+    /**
+     * Transforma cada valor en un {@code long}.
+     *
+     * @param selector Función de transformación que se va a aplicar a cada valor.
+     * @return Una nueva secuencia de valores long.
+     */
+    public LongSequence selectLong(IntToLongFunction selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new LongSequence(() -> source.get().mapToLong(selector));
+    }
+
+    /**
+     * Transforma cada valor en un {@code double}.
+     *
+     * @param selector Función de transformación que se va a aplicar a cada valor.
+     * @return Una nueva secuencia de valores double.
+     */
+    public DoubleSequence selectDouble(IntToDoubleFunction selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new DoubleSequence(() -> source.get().mapToDouble(selector));
+    }
+
+    /**
+     * Devuelve como máximo el número indicado de valores desde el inicio.
+     *
+     * @param count El número de valores a devolver; si es menor o igual a 0 la secuencia queda vacía.
+     * @return Una nueva secuencia con el límite aplicado.
+     */
+    public IntSequence take(int count) {
+        if (count <= 0) {
+            return new IntSequence(IntStream::empty);
+        }
+        return new IntSequence(() -> source.get().limit(count));
+    }
+
+    /**
+     * Omite el número indicado de valores desde el inicio.
+     *
+     * @param count El número de valores a omitir; si es menor o igual a 0 no se omite nada.
+     * @return Una nueva secuencia sin los primeros valores.
+     */
+    public IntSequence skip(int count) {
+        if (count <= 0) {
+            return this;
+        }
+        return new IntSequence(() -> source.get().skip(count));
+    }
+
+    /**
+     * @return La secuencia convertida a valores {@code long}.
+     */
+    public LongSequence asLongSequence() {
+        return new LongSequence(() -> source.get().asLongStream());
+    }
+
+    /**
+     * @return La secuencia convertida a valores {@code double}.
+     */
+    public DoubleSequence asDoubleSequence() {
+        return new DoubleSequence(() -> source.get().asDoubleStream());
+    }
+
+    /**
+     * Cuenta los valores de la secuencia.
+     *
+     * @return La cantidad de valores.
+     */
+    public long count() {
+        return source.get().count();
+    }
+
+    /**
+     * Calcula la suma de los valores. Se acumula en {@code long} para no desbordar con secuencias largas.
+     *
+     * @return La suma; 0 si la secuencia está vacía.
+     */
+    public long sum() {
+        return source.get().asLongStream().sum();
+    }
+
+    /**
+     * Encuentra el valor mínimo.
+     *
+     * @return El mínimo; 0 si la secuencia está vacía.
+     */
+    public int min() {
+        return source.get().min().orElse(0);
+    }
+
+    /**
+     * Encuentra el valor máximo.
+     *
+     * @return El máximo; 0 si la secuencia está vacía.
+     */
+    public int max() {
+        return source.get().max().orElse(0);
+    }
+
+    /**
+     * Calcula el promedio de los valores.
+     *
+     * @return El promedio; 0.0 si la secuencia está vacía.
+     */
+    public double average() {
+        return source.get().average().orElse(0.0);
+    }
+
+    /**
+     * Ejecuta una acción por cada valor, en orden.
+     *
+     * @param action La acción a ejecutar; si es null no se recorre la secuencia.
+     */
+    public void forEach(IntConsumer action) {
+        if (action != null) {
+            source.get().forEach(action);
+        }
+    }
+
+    /**
+     * @return Un nuevo arreglo con los valores de la secuencia.
+     */
+    public int[] toArray() {
+        return source.get().toArray();
+    }
+
+    /**
+     * Convierte los valores a {@link Integer} a medida que se recorren, para usarlos con los operadores de
+     * {@link Linq}. Cada recorrido vuelve a evaluar la secuencia.
+     *
+     * @return Una secuencia perezosa de objetos.
+     */
+    public Iterable<Integer> boxed() {
+        return () -> source.get().iterator();
+    }
+
+    /**
+     * @return Una nueva lista con los valores convertidos a {@link Integer}.
+     */
+    public List<Integer> toList() {
+        List<Integer> result = new ArrayList<>();
+        source.get().forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.linq;
+
+import java.util.Iterator;
+
+/**
+ * Adapta un {@link Iterator} a un {@link Iterable} de un solo recorrido. El segundo recorrido falla en lugar
+ * de devolver silenciosamente una secuencia vacía, para detectar los operadores que recorren la fuente dos veces.
+ */
+final class IteratorSource<T> implements Iterable<T> {
+
+    private Iterator<T> iterator;
+
+    IteratorSource(Iterator<T> iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public synchronized Iterator<T> iterator() {
+        if (iterator == null) {
+            throw new IllegalStateException("La secuencia sólo puede recorrerse una vez");
+        }
+        Iterator<T> result = iterator;
+        iterator = null;
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.linq;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Predicado de igualdad sobre una clave que conserva su selector y su valor, de modo que
+ * {@link Linq#where} pueda resolverlo con un {@link HashIndex} en lugar de recorrer la fuente.
+ * Se crea con {@link Linq#keyEquals}.
+ */
+final class KeyEqualsPredicate<T, K> implements Predicate<T> {
+
+    final Function<? super T, ? extends K> keySelector;
+    final K value;
+
+    KeyEqualsPredicate(Function<? super T, ? extends K> keySelector, K value) {
+        this.keySelector = keySelector;
+        this.value = value;
+    }
+
+    @Override
+    public boolean test(T item) {
+        return Objects.equals(keySelector.apply(item), value);
+    }
+}
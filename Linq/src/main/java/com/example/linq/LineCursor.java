@@ -0,0 +1,148 @@
+package com.example.linq;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Cursor de líneas sobre un archivo que lee bloques con un {@link ByteBuffer} reutilizable.
+ * La línea actual se expone como un rango de bytes ({@link #bytes()}, {@link #start()}, {@link #end()})
+ * que sólo es válido hasta la siguiente llamada a {@link #next()}; así quien sólo necesita un campo
+ * no paga la decodificación de la línea completa.
+ *
+ * <p>Los separadores son '\n' y "\r\n". Sólo admite codificaciones compatibles con ASCII (UTF-8, ISO-8859-1).
+ * En modo CSV un separador dentro de un campo entre comillas no termina la línea, así que cada línea es un
+ * registro completo aunque tenga valores de varias líneas.</p>
+ */
+final class LineCursor implements Closeable {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final FileInputStream input;
+    private final FileChannel channel;
+    private final boolean csvRecords;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    // Acumula los fragmentos de una línea que cruza el límite entre bloques.
+    private byte[] carry = new byte[256];
+    private int carryLength;
+
+    private byte[] lineBytes;
+    private int lineStart;
+    private int lineEnd;
+
+    /**
+     * @param csvRecords true para no cortar la línea en los saltos de línea que están entre comillas.
+     */
+    LineCursor(File file, boolean csvRecords) throws IOException {
+        this.input = new FileInputStream(file);
+        this.channel = input.getChannel();
+        this.csvRecords = csvRecords;
+    }
+
+    /**
+     * Avanza a la siguiente línea.
+     *
+     * @return true si hay una línea disponible; false al llegar al final del archivo.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    boolean next() throws IOException {
+        carryLength = 0;
+        boolean quoted = false;
+        while (true) {
+            for (int i = position; i < limit; i++) {
+                byte b = chunk[i];
+                if (b == '"' && csvRecords) {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    if (carryLength == 0) {
+                        setLine(chunk, position, i);
+                    } else {
+                        append(position, i);
+                        setLine(carry, 0, carryLength);
+                    }
+                    position = i + 1;
+                    return true;
+                }
+            }
+            append(position, limit);
+            position = limit;
+            if (eof || !fill()) {
+                eof = true;
+                if (carryLength > 0) {
+                    setLine(carry, 0, carryLength);
+                    carryLength = 0;
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    byte[] bytes() {
+        return lineBytes;
+    }
+
+    int start() {
+        return lineStart;
+    }
+
+    int end() {
+        return lineEnd;
+    }
+
+    /**
+     * @return false si el cursor ya se cerró.
+     */
+    boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private void append(int from, int to) {
+        int length = to - from;
+        if (length <= 0) {
+            return;
+        }
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carry.length << 1, carryLength + length));
+        }
+        System.arraycopy(chunk, from, carry, carryLength, length);
+        carryLength += length;
+    }
+
+    private void setLine(byte[] bytes, int from, int to) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        lineBytes = bytes;
+        lineStart = from;
+        lineEnd = to;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.linq;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Secuencia perezosa de las líneas de un archivo UTF-8. Cada llamada a {@link #iterator()} abre el archivo
+ * y lo lee por bloques; sólo se mantiene en memoria la línea actual.
+ *
+ * <p>El archivo se cierra al agotar el iterador o si falla la lectura. Si el recorrido termina antes, como en
+ * {@link Linq#firstOrDefault(Iterable)}, {@link Linq#take} o un {@code break}, el archivo sigue abierto hasta
+ * llamar a {@link #close()}, por lo que conviene usar la fuente con try-with-resources:</p>
+ *
+ * <pre>
+ * try (LineSource lineas = Linq.lines(archivo)) {
+ *     String encabezado = Linq.firstOrDefault(lineas);
+ * }
+ * </pre>
+ */
+public final class LineSource implements Iterable<String>, Closeable {
+
+    private final File file;
+    private final OpenCursors cursors = new OpenCursors();
+
+    LineSource(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        if (file == null) {
+            return Collections.emptyIterator();
+        }
+        final LineCursor cursor;
+        try {
+            cursor = cursors.open(file, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Iterator<String>() {
+            private String next;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) {
+                    return true;
+                }
+                if (done) {
+                    return false;
+                }
+                if (!cursor.isOpen()) {
+                    throw new IllegalStateException("La fuente se cerró durante el recorrido");
+                }
+                try {
+                    if (cursor.next()) {
+                        next = new String(cursor.bytes(), cursor.start(), cursor.end() - cursor.start(),
+                                StandardCharsets.UTF_8);
+                        return true;
+                    }
+                    done = true;
+                    cursors.release(cursor);
+                    return false;
+                } catch (IOException e) {
+                    done = true;
+                    cursors.release(cursor, e);
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String line = next;
+                next = null;
+                return line;
+            }
+        };
+    }
+
+    /**
+     * Cierra los archivos que dejaron abiertos los recorridos no terminados. La fuente puede volver a
+     * recorrerse después; los iteradores cerrados lanzan {@link IllegalStateException} si se siguen usando.
+     *
+     * @throws UncheckedIOException Si falla el cierre de algún archivo.
+     */
+    @Override
+    public void close() {
+        cursors.close();
+    }
+
+    int openCursors() {
+        return cursors.size();
+    }
+}
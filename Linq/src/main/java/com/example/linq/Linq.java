@@ -1,18 +1,41 @@
 package com.example.linq;
 
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
 
 public class Linq {
@@ -28,13 +51,14 @@ public class Linq {
      * o null si no se encuentra dicho elemento o la fuente es null.
      */
     public static <T> T firstOrDefault(Iterable<T> source, Predicate<T> predicate) {
-        if (!any(source))
-            return null;
+        LinqMetrics.Call call = LinqMetrics.start("firstOrDefault", source);
+        if (source == null || predicate == null)
+            return LinqMetrics.end(call, null);
 
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .filter(predicate)
                 .findFirst()
-                .orElse(null);
+                .orElse(null));
     }
 
     /**
@@ -46,11 +70,11 @@ public class Linq {
      * @return El primer elemento de la secuencia de entrada, o null si la secuencia está vacía o la fuente es null.
      */
     public static <T> T firstOrDefault(Iterable<T> source) {
-        if (!any(source))
-            return null;
-        return StreamSupport.stream(source.spliterator(), false)
-                .findFirst()
-                .orElse(null);
+        LinqMetrics.Call call = LinqMetrics.start("firstOrDefault", source);
+        if (source == null)
+            return LinqMetrics.end(call, null);
+        Iterator<T> iterator = source.iterator();
+        return LinqMetrics.end(call, iterator.hasNext() ? iterator.next() : null);
     }
 
     /**
@@ -63,18 +87,19 @@ public class Linq {
      * o si la secuencia está vacía; de lo contrario, false. Devuelve true si la fuente es null.
      */
     public static <T> boolean all(Iterable<T> source, Predicate<T> predicate) {
+        LinqMetrics.Call call = LinqMetrics.start("all", source);
         if (source == null) {
-            return true;
+            return LinqMetrics.end(call, true);
         }
         if (predicate == null) {
-            return false;
+            return LinqMetrics.end(call, false);
         }
         for (T item : source) {
             if (!predicate.test(item)) {
-                return false;
+                return LinqMetrics.end(call, false);
             }
         }
-        return true;
+        return LinqMetrics.end(call, true);
     }
 
     /**
@@ -87,11 +112,12 @@ public class Linq {
      * de lo contrario, false. Devuelve false si la fuente es null.
      */
     public static <T> boolean any(Iterable<T> source, Predicate<T> predicate) {
-        if (!any(source))
-            return false;
+        LinqMetrics.Call call = LinqMetrics.start("any", source);
+        if (source == null || predicate == null)
+            return LinqMetrics.end(call, false);
 
-        return StreamSupport.stream(source.spliterator(), false)
-                .anyMatch(predicate);
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
+                .anyMatch(predicate));
     }
 
     /**
@@ -103,14 +129,14 @@ public class Linq {
      * Devuelve false si la fuente es null.
      */
     public static <T> boolean any(Iterable<T> source) {
-        if (source == null) {
-            return false;
-        }
-        // Para un Iterable, la forma más directa de saber si tiene al menos un elemento
-        // es intentar obtener su iterador y ver si tiene un siguiente elemento.
-        // StreamSupport.stream(...).findAny().isPresent() también funcionaría pero es un poco más pesado.
-        Iterator<T> iterator = source.iterator();
-        return iterator.hasNext();
+        LinqMetrics.Call call = LinqMetrics.start("any", source);
+        return LinqMetrics.end(call, hasAny(source));
+    }
+
+    // Abre un único iterador: los operadores no comprueban antes si la fuente está vacía para que las
+    // fuentes de un solo recorrido (cursores, generadores, archivos) se lean una sola vez.
+    private static boolean hasAny(Iterable<?> source) {
+        return source != null && source.iterator().hasNext();
     }
 
     /**
@@ -122,15 +148,29 @@ public class Linq {
      * @param predicate Una función para probar cada elemento en busca de una condición.
      * @return Un nuevo List<T> que contiene elementos de la secuencia de entrada que satisfacen la condición.
      *         Devuelve una lista vacía si la fuente es null o no hay elementos que coincidan.
+     *         Si la fuente es una {@link ObservableList} con un {@link HashIndex} y el predicado se creó con
+     *         {@link #keyEquals} sobre el mismo selector, el resultado se obtiene del índice sin recorrer la fuente
+     *         y en el mismo orden que un recorrido.
      */
+    @SuppressWarnings("unchecked")
     public static <T> List<T> where(Iterable<T> source, Predicate<T> predicate) {
-        if (!any(source) || predicate == null)
-            return Collections.emptyList();
+        LinqMetrics.Call call = LinqMetrics.start("where", source);
+        if (source == null || predicate == null)
+            return LinqMetrics.end(call, Collections.emptyList());
+
+        // Un filtro de igualdad sobre una clave indexada se resuelve con el índice en O(coincidencias)
+        if (source instanceof ObservableList && predicate instanceof KeyEqualsPredicate) {
+            KeyEqualsPredicate<T, Object> keyPredicate = (KeyEqualsPredicate<T, Object>) predicate;
+            HashIndex<Object, T> index = ((ObservableList<T>) source).indexFor(keyPredicate.keySelector);
+            if (index != null) {
+                return LinqMetrics.end(call, new ArrayList<>(index.get(keyPredicate.value)));
+            }
+        }
 
 
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .filter(predicate)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -145,13 +185,83 @@ public class Linq {
      * @return          Un nuevo List<R> con los resultados de aplicar el selector a cada elemento.
      */
     public static <T, R> List<R> select(Iterable<T> source, Function<T, R> selector) {
-        if (!any(source) || selector == null) {
-            return Collections.emptyList();
+        LinqMetrics.Call call = LinqMetrics.start("select", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
         }
 
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .map(selector)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Proyecta cada elemento de una secuencia en un valor int sin cajas. El resultado ocupa 4 bytes por valor
+     * en lugar de una referencia más un {@link Integer}, y puede agregarse u ordenarse directamente.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param source   La colección Iterable<T> a transformar. Si es una {@link Collection}, el resultado
+     *                 se reserva con su tamaño.
+     * @param selector Función que obtiene el valor int de cada elemento.
+     * @return Una nueva {@link IntList} con los valores proyectados; vacía si la fuente o el selector son null.
+     */
+    public static <T> IntList selectInt(Iterable<T> source, ToIntFunction<? super T> selector) {
+        LinqMetrics.Call call = LinqMetrics.start("selectInt", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, new IntList(0));
+        }
+        IntList result = new IntList(initialCapacity(source));
+        for (T item : source) {
+            result.add(selector.applyAsInt(item));
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Proyecta cada elemento de una secuencia en un valor long sin cajas.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que obtiene el valor long de cada elemento.
+     * @return Una nueva {@link LongList} con los valores proyectados; vacía si la fuente o el selector son null.
+     * @see #selectInt(Iterable, ToIntFunction)
+     */
+    public static <T> LongList selectLong(Iterable<T> source, ToLongFunction<? super T> selector) {
+        LinqMetrics.Call call = LinqMetrics.start("selectLong", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, new LongList(0));
+        }
+        LongList result = new LongList(initialCapacity(source));
+        for (T item : source) {
+            result.add(selector.applyAsLong(item));
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Proyecta cada elemento de una secuencia en un valor double sin cajas.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que obtiene el valor double de cada elemento.
+     * @return Una nueva {@link DoubleList} con los valores proyectados; vacía si la fuente o el selector son null.
+     * @see #selectInt(Iterable, ToIntFunction)
+     */
+    public static <T> DoubleList selectDouble(Iterable<T> source, ToDoubleFunction<? super T> selector) {
+        LinqMetrics.Call call = LinqMetrics.start("selectDouble", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, new DoubleList(0));
+        }
+        DoubleList result = new DoubleList(initialCapacity(source));
+        for (T item : source) {
+            result.add(selector.applyAsDouble(item));
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    // Capacidad inicial de un resultado primitivo: el tamaño de la fuente si se conoce sin recorrerla.
+    private static int initialCapacity(Iterable<?> source) {
+        return source instanceof Collection ? ((Collection<?>) source).size() : 16;
     }
 
     /**
@@ -165,15 +275,16 @@ public class Linq {
      * @return          Un nuevo List<R> con todos los elementos aplanados.
      */
     public static <T, R> List<R> selectMany(Iterable<T> source, Function<T, ? extends Iterable<R>> selector) {
-        if (!any(source) || selector == null) {
-            return Collections.emptyList();
+        LinqMetrics.Call call = LinqMetrics.start("selectMany", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
         }
 
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .map(selector)
                 .filter(Objects::nonNull)
                 .flatMap(iterable -> StreamSupport.stream(iterable.spliterator(), false))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -186,18 +297,19 @@ public class Linq {
      *                  o si la fuente o el predicado son null.
      */
     public static <T> int findIndex(Iterable<T> source, Predicate<T> predicate) {
-        if (!any(source) || predicate == null) {
-            return -1;
+        LinqMetrics.Call call = LinqMetrics.start("findIndex", source);
+        if (source == null || predicate == null) {
+            return LinqMetrics.end(call, -1);
         }
 
         int index = 0;
         for (T item : source) {
             if (predicate.test(item)) {
-                return index;
+                return LinqMetrics.end(call, index);
             }
             index++;
         }
-        return -1;
+        return LinqMetrics.end(call, -1);
     }
 
     /**
@@ -208,13 +320,272 @@ public class Linq {
      * @return       Un nuevo List<T> con elementos distintos; lista vacía si la fuente es null o no tiene elementos.
      */
     public static <T> List<T> distinct(Iterable<T> source) {
-        if (!any(source)) {
-            return Collections.emptyList();
+        LinqMetrics.Call call = LinqMetrics.start("distinct", source);
+        if (source == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
         }
 
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .distinct()
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Declara que una secuencia está ordenada según un comparador, sin recorrerla ni copiarla. Cuando las dos
+     * entradas de {@link #union}, {@link #intersect} o {@link #except} están declaradas con el mismo comparador
+     * se combinan con una mezcla en un solo recorrido y memoria adicional O(1), y el resultado sale ordenado.
+     *
+     * <p>"El mismo comparador" significa iguales según {@code equals}, que para casi todos los comparadores es
+     * la misma instancia: dos llamadas a {@code Comparator.comparing(Producto::getId)} crean comparadores
+     * distintos, y con ellos los operadores usan silenciosamente la tabla hash. Guarde el comparador en una
+     * constante y páselo a ambas llamadas. {@code null}, {@link Comparator#naturalOrder()} y
+     * {@link Comparator#reverseOrder()} siempre coinciden consigo mismos.</p>
+     *
+     * <pre>
+     * static final Comparator&lt;Producto&gt; POR_ID = Comparator.comparing(Producto::getId);
+     * ...
+     * Linq.union(Linq.asSorted(hoy, POR_ID), Linq.asSorted(ayer, POR_ID));
+     * </pre>
+     *
+     * @param <T>        Tipo de los elementos de la fuente.
+     * @param source     La secuencia ordenada; si es null se trata como vacía.
+     * @param comparator El comparador de la ordenación; si es null se usa el orden natural.
+     * @return           La misma secuencia marcada como ordenada.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> SortedSequence<T> asSorted(Iterable<T> source, Comparator<? super T> comparator) {
+        return new SortedSequence<>(source == null ? Collections.<T>emptyList() : source,
+                comparator != null ? comparator : (Comparator) Comparator.naturalOrder());
+    }
+
+    /**
+     * Devuelve los elementos distintos de dos secuencias: primero los de {@code first} y después los de
+     * {@code second} que no aparecieron antes, en orden de primera aparición. Si ambas están declaradas
+     * ordenadas con la misma instancia de comparador ({@link #asSorted}) se mezclan y el resultado sale ordenado;
+     * con comparadores distintos, aunque ordenen igual, se usa la tabla hash.
+     *
+     * @param <T>    Tipo de los elementos.
+     * @param first  La primera secuencia; null se trata como vacía.
+     * @param second La segunda secuencia; null se trata como vacía.
+     * @return       Un nuevo List<T> con la unión sin repetidos.
+     */
+    public static <T> List<T> union(Iterable<T> first, Iterable<T> second) {
+        LinqMetrics.Call call = LinqMetrics.start("union", first, second);
+        List<T> result = new ArrayList<>();
+        if (first != null && second != null) {
+            Comparator<? super T> order = SortedSequence.commonOrder(first, second);
+            if (order != null) {
+                SortedSequence.union(first, second, order, result);
+                return LinqMetrics.end(call, result);
+            }
+        }
+        Set<T> seen = new HashSet<>();
+        for (Iterable<T> source : Arrays.asList(first, second)) {
+            if (source != null) {
+                for (T item : source) {
+                    if (seen.add(item)) {
+                        result.add(item);
+                    }
+                }
+            }
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Devuelve los elementos distintos de {@code first} que también están en {@code second}, en el orden de
+     * {@code first}. Construye una tabla hash con {@code second}, salvo que ambas estén declaradas ordenadas con
+     * la misma instancia de comparador ({@link #asSorted}), en cuyo caso se mezclan sin memoria adicional.
+     *
+     * @param <T>    Tipo de los elementos.
+     * @param first  La secuencia cuyos elementos se conservan.
+     * @param second La secuencia con la que se compara.
+     * @return       Un nuevo List<T> con la intersección; lista vacía si alguna secuencia es null.
+     */
+    public static <T> List<T> intersect(Iterable<T> first, Iterable<T> second) {
+        LinqMetrics.Call call = LinqMetrics.start("intersect", first, second);
+        if (first == null || second == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        List<T> result = new ArrayList<>();
+        Comparator<? super T> order = SortedSequence.commonOrder(first, second);
+        if (order != null) {
+            SortedSequence.intersect(first, second, order, result);
+            return LinqMetrics.end(call, result);
+        }
+        Set<T> remaining = toHashSet(second);
+        for (T item : first) {
+            if (remaining.remove(item)) {
+                result.add(item);
+            }
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Devuelve los elementos distintos de {@code first} que no están en {@code second}, en el orden de
+     * {@code first}. Construye una tabla hash con {@code second}, salvo que ambas estén declaradas ordenadas con
+     * la misma instancia de comparador ({@link #asSorted}), en cuyo caso se mezclan sin memoria adicional.
+     *
+     * @param <T>    Tipo de los elementos.
+     * @param first  La secuencia cuyos elementos se conservan; si es null el resultado está vacío.
+     * @param second La secuencia de elementos a excluir; null no excluye nada.
+     * @return       Un nuevo List<T> con la diferencia sin repetidos.
+     */
+    public static <T> List<T> except(Iterable<T> first, Iterable<T> second) {
+        LinqMetrics.Call call = LinqMetrics.start("except", first, second);
+        if (first == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        List<T> result = new ArrayList<>();
+        Comparator<? super T> order = second == null ? null : SortedSequence.commonOrder(first, second);
+        if (order != null) {
+            SortedSequence.except(first, second, order, result);
+            return LinqMetrics.end(call, result);
+        }
+        Set<T> seen = second == null ? new HashSet<>() : toHashSet(second);
+        for (T item : first) {
+            if (seen.add(item)) {
+                result.add(item);
+            }
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Devuelve los elementos de {@code first} cuya clave está en {@code keys}, conservando sólo el primero de
+     * cada clave, en el orden de {@code first}.
+     *
+     * @param <T>         Tipo de los elementos.
+     * @param <K>         Tipo de la clave.
+     * @param first       La secuencia cuyos elementos se conservan.
+     * @param keys        Las claves buscadas.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @return            Un nuevo List<T>; lista vacía si algún argumento es null.
+     */
+    public static <T, K> List<T> intersectBy(Iterable<T> first, Iterable<K> keys,
+                                             Function<? super T, ? extends K> keySelector) {
+        LinqMetrics.Call call = LinqMetrics.start("intersectBy", first, keys);
+        if (first == null || keys == null || keySelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        Set<K> remaining = toHashSet(keys);
+        List<T> result = new ArrayList<>();
+        for (T item : first) {
+            if (remaining.remove(keySelector.apply(item))) {
+                result.add(item);
+            }
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Devuelve los elementos de {@code first} cuya clave no está en {@code keys}, conservando sólo el primero
+     * de cada clave, en el orden de {@code first}.
+     *
+     * @param <T>         Tipo de los elementos.
+     * @param <K>         Tipo de la clave.
+     * @param first       La secuencia cuyos elementos se conservan.
+     * @param keys        Las claves a excluir; null no excluye nada.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @return            Un nuevo List<T>; lista vacía si {@code first} o el selector son null.
+     */
+    public static <T, K> List<T> exceptBy(Iterable<T> first, Iterable<K> keys,
+                                          Function<? super T, ? extends K> keySelector) {
+        LinqMetrics.Call call = LinqMetrics.start("exceptBy", first, keys);
+        if (first == null || keySelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        Set<K> seen = keys == null ? new HashSet<>() : toHashSet(keys);
+        List<T> result = new ArrayList<>();
+        for (T item : first) {
+            if (seen.add(keySelector.apply(item))) {
+                result.add(item);
+            }
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Concatena dos secuencias de forma perezosa: no copia elementos y cada recorrido abre un iterador de
+     * {@code first} y, al agotarlo, uno de {@code second}.
+     *
+     * @param <T>    Tipo de los elementos.
+     * @param first  La primera secuencia; null se trata como vacía.
+     * @param second La segunda secuencia; null se trata como vacía.
+     * @return       Una secuencia perezosa con los elementos de ambas.
+     */
+    public static <T> Iterable<T> concat(Iterable<? extends T> first, Iterable<? extends T> second) {
+        return () -> new Iterator<T>() {
+            private Iterator<? extends T> current = first == null ? Collections.<T>emptyIterator() : first.iterator();
+            private boolean onSecond;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext()) {
+                    if (onSecond || second == null) {
+                        return false;
+                    }
+                    current = second.iterator();
+                    onSecond = true;
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Combina las dos secuencias elemento a elemento de forma perezosa, hasta agotar la más corta.
+     *
+     * @param <A>            Tipo de los elementos de la primera secuencia.
+     * @param <B>            Tipo de los elementos de la segunda secuencia.
+     * @param <R>            Tipo de los elementos del resultado.
+     * @param first          La primera secuencia.
+     * @param second         La segunda secuencia.
+     * @param resultSelector Función que combina cada par de elementos.
+     * @return               Una secuencia perezosa de pares combinados; vacía si algún argumento es null.
+     */
+    public static <A, B, R> Iterable<R> zip(Iterable<A> first, Iterable<B> second,
+                                            BiFunction<? super A, ? super B, ? extends R> resultSelector) {
+        if (first == null || second == null || resultSelector == null) {
+            return Collections.emptyList();
+        }
+        return () -> new Iterator<R>() {
+            private final Iterator<A> left = first.iterator();
+            private final Iterator<B> right = second.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return left.hasNext() && right.hasNext();
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return resultSelector.apply(left.next(), right.next());
+            }
+        };
+    }
+
+    private static <E> Set<E> toHashSet(Iterable<E> source) {
+        if (source instanceof Collection) {
+            return new HashSet<>((Collection<E>) source);
+        }
+        Set<E> set = new HashSet<>();
+        for (E item : source) {
+            set.add(item);
+        }
+        return set;
     }
 
     /**
@@ -225,10 +596,11 @@ public class Linq {
      * @return       La cantidad de elementos; 0 si la fuente es null o está vacía.
      */
     public static <T> int count(Iterable<T> source) {
-        if (!any(source)) {
-            return 0;
+        LinqMetrics.Call call = LinqMetrics.start("count", source);
+        if (source == null) {
+            return LinqMetrics.end(call, 0);
         }
-        return (int) StreamSupport.stream(source.spliterator(), false).count();
+        return LinqMetrics.end(call, (int) StreamSupport.stream(source.spliterator(), false).count());
     }
 
     /**
@@ -240,12 +612,13 @@ public class Linq {
      * @return          La cantidad de elementos que cumplen; 0 si la fuente es null/está vacía o el predicado es null.
      */
     public static <T> int count(Iterable<T> source, Predicate<T> predicate) {
-        if (!any(source) || predicate == null) {
-            return 0;
+        LinqMetrics.Call call = LinqMetrics.start("count", source);
+        if (source == null || predicate == null) {
+            return LinqMetrics.end(call, 0);
         }
-        return (int) StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, (int) StreamSupport.stream(source.spliterator(), false)
                 .filter(predicate)
-                .count();
+                .count());
     }
 
     /**
@@ -254,7 +627,7 @@ public class Linq {
      * @param obj El objeto a convertir.
      * @return El valor numérico como double, o 0.0 si no se puede convertir.
      */
-    private static double safeToDouble(Object obj) {
+    static double safeToDouble(Object obj) {
         if (obj == null) {
             return 0.0;
         }
@@ -288,12 +661,13 @@ public class Linq {
      * @return La suma de los valores convertidos a double; 0 si la fuente es null o está vacía.
      */
     public static <T> double sum(Iterable<T> source) {
-        if (!any(source)) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("sum", source);
+        if (source == null) {
+            return LinqMetrics.end(call, 0.0);
         }
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .mapToDouble(Linq::safeToDouble)
-                .sum();
+                .sum());
     }
 
     /**
@@ -307,13 +681,14 @@ public class Linq {
      * @return La suma de los valores proyectados; 0 si la fuente es null/está vacía o el selector es null.
      */
     public static <T> double sum(Iterable<T> source, Function<T, ?> selector) {
-        if (!any(source) || selector == null) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("sum", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, 0.0);
         }
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .map(selector)
                 .mapToDouble(Linq::safeToDouble)
-                .sum();
+                .sum());
     }
 
     /**
@@ -324,13 +699,14 @@ public class Linq {
      * @return El valor mínimo o 0.0 si la secuencia está vacía o es null.
      */
     public static <T> double min(Iterable<T> source) {
-        if (!any(source)) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("min", source);
+        if (source == null) {
+            return LinqMetrics.end(call, 0.0);
         }
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .mapToDouble(Linq::safeToDouble)
                 .min()
-                .orElse(0.0);
+                .orElse(0.0));
     }
 
     /**
@@ -342,14 +718,15 @@ public class Linq {
      * @return El valor mínimo o 0.0 si la secuencia está vacía o el selector es null.
      */
     public static <T> double min(Iterable<T> source, Function<T, ?> selector) {
-        if (!any(source) || selector == null) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("min", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, 0.0);
         }
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .map(selector)
                 .mapToDouble(Linq::safeToDouble)
                 .min()
-                .orElse(0.0);
+                .orElse(0.0));
     }
 
     /**
@@ -360,13 +737,14 @@ public class Linq {
      * @return El valor máximo o 0.0 si la secuencia está vacía o es null.
      */
     public static <T> double max(Iterable<T> source) {
-        if (!any(source)) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("max", source);
+        if (source == null) {
+            return LinqMetrics.end(call, 0.0);
         }
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .mapToDouble(Linq::safeToDouble)
                 .max()
-                .orElse(0.0);
+                .orElse(0.0));
     }
 
     /**
@@ -378,14 +756,15 @@ public class Linq {
      * @return El valor máximo o 0.0 si la secuencia está vacía o el selector es null.
      */
     public static <T> double max(Iterable<T> source, Function<T, ?> selector) {
-        if (!any(source) || selector == null) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("max", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, 0.0);
         }
-        return StreamSupport.stream(source.spliterator(), false)
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
                 .map(selector)
                 .mapToDouble(Linq::safeToDouble)
                 .max()
-                .orElse(0.0);
+                .orElse(0.0));
     }
 
     /**
@@ -396,13 +775,14 @@ public class Linq {
      * @return El promedio de los valores o 0.0 si la secuencia está vacía o es null.
      */
     public static <T> double average(Iterable<T> source) {
-        if (!any(source)) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("average", source);
+        if (source == null) {
+            return LinqMetrics.end(call, 0.0);
         }
         DoubleSummaryStatistics stats = StreamSupport.stream(source.spliterator(), false)
                 .mapToDouble(Linq::safeToDouble)
                 .summaryStatistics();
-        return stats.getAverage();
+        return LinqMetrics.end(call, stats.getAverage());
     }
 
     /**
@@ -414,350 +794,2123 @@ public class Linq {
      * @return El promedio de los valores transformados o 0.0 si la secuencia está vacía o el selector es null.
      */
     public static <T> double average(Iterable<T> source, Function<T, ?> selector) {
-        if (!any(source) || selector == null) {
-            return 0.0;
+        LinqMetrics.Call call = LinqMetrics.start("average", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, 0.0);
         }
         DoubleSummaryStatistics stats = StreamSupport.stream(source.spliterator(), false)
                 .map(selector)
                 .mapToDouble(Linq::safeToDouble)
                 .summaryStatistics();
-        return stats.getAverage();
+        return LinqMetrics.end(call, stats.getAverage());
     }
 
     /**
-     * Devuelve un número especificado de elementos contiguos desde el inicio de una secuencia.
+     * Calcula en una sola pasada la cantidad, la suma, el mínimo, el máximo y el promedio de una secuencia.
+     * Los valores se convierten a double como en {@link #sum(Iterable)}.
      *
-     * @param <T> El tipo de los elementos de la fuente.
-     * @param source La colección Iterable<T> de la que se devolverán los elementos.
-     * @param count El número de elementos a devolver.
-     * @return Un nuevo List<T> que contiene el número especificado de elementos desde el inicio de la secuencia de entrada.
-     *         Devuelve una lista vacía si la fuente es null, count es menor o igual a 0, o la fuente tiene menos elementos que count.
+     * @param source La secuencia de valores.
+     * @return El resumen; {@link Stats#empty()} si la secuencia está vacía o es null. Los resúmenes de varias
+     *         partes se combinan con {@link Stats#merge} o con {@link ConcurrentStats#add(Stats)}.
      */
-    public static <T> List<T> take(Iterable<T> source, int count) {
-        if (!any(source) || count <= 0) {
-            return Collections.emptyList();
-        }
-        return StreamSupport.stream(source.spliterator(), false)
-                .limit(count)
-                .collect(Collectors.toList());
+    public static <T> Stats aggregateStats(Iterable<T> source) {
+        return aggregateStats(source, Function.identity());
     }
 
     /**
-     * Omite un número especificado de elementos en una secuencia y luego devuelve los elementos restantes.
+     * Calcula en una sola pasada la cantidad, la suma, el mínimo, el máximo y el promedio de los valores
+     * transformados de una secuencia.
      *
-     * @param <T> El tipo de los elementos de la fuente.
-     * @param source La colección Iterable<T> de la que se devolverán los elementos.
-     * @param count El número de elementos a omitir antes de devolver los elementos restantes.
-     * @return Un nuevo List<T> que contiene los elementos que quedan después de omitir el número especificado
-     *         de elementos en la secuencia de entrada.
-     *         Devuelve una lista vacía si la fuente es null. Si count es menor o igual a 0, devuelve todos los elementos.
-     *         Si count es mayor que el número de elementos, devuelve una lista vacía.
+     * @param <T>      El tipo de los elementos de la fuente.
+     * @param source   La secuencia de valores.
+     * @param selector Función de transformación que se aplica a cada elemento.
+     * @return El resumen; {@link Stats#empty()} si la secuencia está vacía o alguno de los argumentos es null.
      */
-    public static <T> List<T> skip(Iterable<T> source, int count) {
-        if (!any(source)) {
-            return Collections.emptyList();
+    public static <T> Stats aggregateStats(Iterable<T> source, Function<T, ?> selector) {
+        LinqMetrics.Call call = LinqMetrics.start("aggregateStats", source);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, Stats.empty());
         }
-        if (count <= 0) {
-            // Si count es 0 o negativo, no se omite nada, se devuelven todos los elementos.
-            return StreamSupport.stream(source.spliterator(), false)
-                    .collect(Collectors.toList());
+        long count = 0;
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (T item : source) {
+            double value = safeToDouble(selector.apply(item));
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
         }
-        return StreamSupport.stream(source.spliterator(), false)
-                .skip(count)
-                .collect(Collectors.toList());
+        return LinqMetrics.end(call, count == 0 ? Stats.empty() : new Stats(count, sum, min, max));
     }
 
     /**
-     * Ordena los elementos de una secuencia en orden ascendente según una clave.
+     * Devuelve el elemento con la menor clave en una sola pasada, sin ordenar ni copiar la secuencia.
+     * Los elementos cuya clave es null se ignoran.
      *
      * @param <T>         El tipo de los elementos de la fuente.
-     * @param <U>         El tipo de la clave de ordenación.
-     * @param source      La secuencia de valores que se va a ordenar.
-     * @param keySelector Función para extraer la clave de un elemento.
-     * @return Una nueva lista ordenada en orden ascendente según la clave especificada.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la menor clave; null si la secuencia está vacía, ningún elemento tiene
+     *         clave o algún argumento es null.
      */
-    public static <T, U extends Comparable<? super U>> List<T> orderBy(
-            Iterable<T> source, 
-            Function<T, U> keySelector) {
-        return orderBy(source, keySelector, true);
+    public static <T, K extends Comparable<? super K>> T minBy(Iterable<T> source,
+                                                              Function<? super T, ? extends K> keySelector) {
+        return extremeBy("minBy", source, keySelector, Comparator.<K>naturalOrder(), false);
     }
 
     /**
-     * Ordena los elementos de una secuencia en orden ascendente o descendente según una clave.
+     * Devuelve el elemento con la menor clave según un comparador, en una sola pasada.
+     * Los elementos cuya clave es null se ignoran.
      *
      * @param <T>         El tipo de los elementos de la fuente.
-     * @param <U>         El tipo de la clave de ordenación.
-     * @param source      La secuencia de valores que se va a ordenar.
-     * @param keySelector Función para extraer la clave de un elemento.
-     * @param ascending   true para orden ascendente, false para orden descendente.
-     * @return Una nueva lista ordenada según la clave especificada.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @param comparator  El comparador de claves.
+     * @return El primer elemento con la menor clave; null si la secuencia está vacía o algún argumento es null.
      */
-    public static <T, U extends Comparable<? super U>> List<T> orderBy(
-            Iterable<T> source, 
-            Function<T, U> keySelector, 
-            boolean ascending) {
-        
-        if (!any(source) || keySelector == null) {
-            return new ArrayList<>();
-        }
+    public static <T, K> T minBy(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                 Comparator<? super K> comparator) {
+        return extremeBy("minBy", source, keySelector, comparator, false);
+    }
 
-        List<T> result = new ArrayList<>();
-        source.forEach(result::add);
+    /**
+     * Devuelve el elemento con la mayor clave en una sola pasada, sin ordenar ni copiar la secuencia.
+     * Los elementos cuya clave es null se ignoran.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la mayor clave; null si la secuencia está vacía, ningún elemento tiene
+     *         clave o algún argumento es null.
+     */
+    public static <T, K extends Comparable<? super K>> T maxBy(Iterable<T> source,
+                                                              Function<? super T, ? extends K> keySelector) {
+        return extremeBy("maxBy", source, keySelector, Comparator.<K>naturalOrder(), true);
+    }
 
-        if (ascending) {
-            result.sort(Comparator.comparing(keySelector));
-        } else {
-            result.sort(Comparator.comparing(keySelector).reversed());
-        }
+    /**
+     * Devuelve el elemento con la mayor clave según un comparador, en una sola pasada.
+     * Los elementos cuya clave es null se ignoran.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @param comparator  El comparador de claves.
+     * @return El primer elemento con la mayor clave; null si la secuencia está vacía o algún argumento es null.
+     */
+    public static <T, K> T maxBy(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                 Comparator<? super K> comparator) {
+        return extremeBy("maxBy", source, keySelector, comparator, true);
+    }
 
-        return result;
+    /**
+     * Devuelve todos los elementos empatados en la menor clave, en una sola pasada.
+     * Los elementos cuya clave es null se ignoran.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return Una nueva lista con los elementos de menor clave en el orden de la fuente; vacía si la secuencia
+     *         está vacía o algún argumento es null.
+     */
+    public static <T, K extends Comparable<? super K>> List<T> minByAll(Iterable<T> source,
+                                                                       Function<? super T, ? extends K> keySelector) {
+        return extremeByAll("minByAll", source, keySelector, Comparator.<K>naturalOrder(), false);
     }
 
     /**
-     * Ordena los elementos de una secuencia en orden descendente según una clave.
+     * Devuelve todos los elementos empatados en la menor clave según un comparador.
      *
      * @param <T>         El tipo de los elementos de la fuente.
-     * @param <U>         El tipo de la clave de ordenación.
-     * @param source      La secuencia de valores que se va a ordenar.
-     * @param keySelector Función para extraer la clave de un elemento.
-     * @return Una nueva lista ordenada en orden descendente según la clave especificada.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @param comparator  El comparador de claves.
+     * @return Una nueva lista con los elementos de menor clave en el orden de la fuente.
+     * @see #minByAll(Iterable, Function)
      */
-    public static <T, U extends Comparable<? super U>> List<T> orderByDescending(
-            Iterable<T> source, 
-            Function<T, U> keySelector) {
-        return orderBy(source, keySelector, false);
+    public static <T, K> List<T> minByAll(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                          Comparator<? super K> comparator) {
+        return extremeByAll("minByAll", source, keySelector, comparator, false);
     }
 
     /**
-     * Ordena los elementos de una secuencia en orden ascendente según su orden natural.
+     * Devuelve todos los elementos empatados en la mayor clave, en una sola pasada.
+     * Los elementos cuya clave es null se ignoran.
      *
-     * @param <T>    El tipo de los elementos de la fuente (debe implementar Comparable).
-     * @param source La secuencia de valores que se va a ordenar.
-     * @return Una nueva lista ordenada en orden ascendente.
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return Una nueva lista con los elementos de mayor clave en el orden de la fuente; vacía si la secuencia
+     *         está vacía o algún argumento es null.
      */
-    public static <T extends Comparable<? super T>> List<T> orderBy(Iterable<T> source) {
-        return orderBy(source, Function.identity(), true);
+    public static <T, K extends Comparable<? super K>> List<T> maxByAll(Iterable<T> source,
+                                                                       Function<? super T, ? extends K> keySelector) {
+        return extremeByAll("maxByAll", source, keySelector, Comparator.<K>naturalOrder(), true);
     }
 
     /**
-     * Ordena los elementos de una secuencia en orden descendente según su orden natural.
+     * Devuelve todos los elementos empatados en la mayor clave según un comparador.
      *
-     * @param <T>    El tipo de los elementos de la fuente (debe implementar Comparable).
-     * @param source La secuencia de valores que se va a ordenar.
-     * @return Una nueva lista ordenada en orden descendente.
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @param comparator  El comparador de claves.
+     * @return Una nueva lista con los elementos de mayor clave en el orden de la fuente.
+     * @see #maxByAll(Iterable, Function)
      */
-    public static <T extends Comparable<? super T>> List<T> orderByDescending(Iterable<T> source) {
-        return orderBy(source, Function.identity(), false);
+    public static <T, K> List<T> maxByAll(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                          Comparator<? super K> comparator) {
+        return extremeByAll("maxByAll", source, keySelector, comparator, true);
     }
 
     /**
-     * Agrupa los elementos de una secuencia según una clave especificada.
+     * Devuelve el elemento con la menor clave {@code int}, sin cajas por elemento.
      *
      * @param <T>         El tipo de los elementos de la fuente.
-     * @param <K>         El tipo de la clave de agrupación.
-     * @param source      La secuencia de valores que se va a agrupar.
-     * @param keySelector Función para extraer la clave de cada elemento.
-     * @return Un Map donde las claves son los valores devueltos por keySelector
-     *         y los valores son listas de elementos que tienen cada clave.
-     *         Devuelve un mapa vacío si la fuente es null.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la menor clave; null si la secuencia está vacía o algún argumento es null.
      */
-    public static <T, K> Map<K, List<T>> groupBy(
-            Iterable<T> source,
-            Function<T, K> keySelector) {
-        if (!any(source) || keySelector == null) {
-            return new HashMap<>();
-        }
+    public static <T> T minByInt(Iterable<T> source, ToIntFunction<? super T> keySelector) {
+        return extremeByInt("minByInt", source, keySelector, false);
+    }
 
-        return StreamSupport.stream(source.spliterator(), false)
-                .collect(Collectors.groupingBy(
-                        keySelector,
-                        HashMap::new,
-                        Collectors.toList()
-                ));
+    /**
+     * Devuelve el elemento con la mayor clave {@code int}, sin cajas por elemento.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la mayor clave; null si la secuencia está vacía o algún argumento es null.
+     */
+    public static <T> T maxByInt(Iterable<T> source, ToIntFunction<? super T> keySelector) {
+        return extremeByInt("maxByInt", source, keySelector, true);
     }
 
     /**
-     * Agrupa los elementos de una secuencia según una clave especificada
-     * y aplica una función de transformación a cada elemento del grupo.
+     * Devuelve el elemento con la menor clave {@code long}, sin cajas por elemento.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la menor clave; null si la secuencia está vacía o algún argumento es null.
+     */
+    public static <T> T minByLong(Iterable<T> source, ToLongFunction<? super T> keySelector) {
+        return extremeByLong("minByLong", source, keySelector, false);
+    }
+
+    /**
+     * Devuelve el elemento con la mayor clave {@code long}, sin cajas por elemento.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la mayor clave; null si la secuencia está vacía o algún argumento es null.
+     */
+    public static <T> T maxByLong(Iterable<T> source, ToLongFunction<? super T> keySelector) {
+        return extremeByLong("maxByLong", source, keySelector, true);
+    }
+
+    /**
+     * Devuelve el elemento con la menor clave {@code double}, sin cajas por elemento. Las claves se
+     * comparan como {@link Double#compare}, por lo que NaN es mayor que cualquier otra clave.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la menor clave; null si la secuencia está vacía o algún argumento es null.
+     */
+    public static <T> T minByDouble(Iterable<T> source, ToDoubleFunction<? super T> keySelector) {
+        return extremeByDouble("minByDouble", source, keySelector, false);
+    }
+
+    /**
+     * Devuelve el elemento con la mayor clave {@code double}, sin cajas por elemento. Las claves se
+     * comparan como {@link Double#compare}, por lo que NaN es mayor que cualquier otra clave.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param source      La secuencia de valores.
+     * @param keySelector Función que obtiene la clave de cada elemento.
+     * @return El primer elemento con la mayor clave; null si la secuencia está vacía o algún argumento es null.
+     */
+    public static <T> T maxByDouble(Iterable<T> source, ToDoubleFunction<? super T> keySelector) {
+        return extremeByDouble("maxByDouble", source, keySelector, true);
+    }
+
+    private static <T, K> T extremeBy(String operator, Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                      Comparator<? super K> comparator, boolean max) {
+        LinqMetrics.Call call = LinqMetrics.start(operator, source);
+        if (source == null || keySelector == null || comparator == null) {
+            return LinqMetrics.end(call, null);
+        }
+        T best = null;
+        K bestKey = null;
+        for (T item : source) {
+            K key = keySelector.apply(item);
+            if (key != null && (bestKey == null || isBetter(comparator.compare(key, bestKey), max))) {
+                best = item;
+                bestKey = key;
+            }
+        }
+        return LinqMetrics.end(call, best);
+    }
+
+    private static <T, K> List<T> extremeByAll(String operator, Iterable<T> source,
+                                               Function<? super T, ? extends K> keySelector,
+                                               Comparator<? super K> comparator, boolean max) {
+        LinqMetrics.Call call = LinqMetrics.start(operator, source);
+        List<T> result = new ArrayList<>();
+        if (source == null || keySelector == null || comparator == null) {
+            return LinqMetrics.end(call, result);
+        }
+        K bestKey = null;
+        for (T item : source) {
+            K key = keySelector.apply(item);
+            if (key == null) {
+                continue;
+            }
+            int order = bestKey == null ? -1 : comparator.compare(key, bestKey);
+            if (bestKey == null || isBetter(order, max)) {
+                result.clear();
+                bestKey = key;
+                result.add(item);
+            } else if (order == 0) {
+                result.add(item);
+            }
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    private static boolean isBetter(int order, boolean max) {
+        return max ? order > 0 : order < 0;
+    }
+
+    private static <T> T extremeByInt(String operator, Iterable<T> source, ToIntFunction<? super T> keySelector,
+                                      boolean max) {
+        LinqMetrics.Call call = LinqMetrics.start(operator, source);
+        if (source == null || keySelector == null) {
+            return LinqMetrics.end(call, null);
+        }
+        T best = null;
+        int bestKey = 0;
+        boolean found = false;
+        for (T item : source) {
+            int key = keySelector.applyAsInt(item);
+            if (!found || (max ? key > bestKey : key < bestKey)) {
+                best = item;
+                bestKey = key;
+                found = true;
+            }
+        }
+        return LinqMetrics.end(call, best);
+    }
+
+    private static <T> T extremeByLong(String operator, Iterable<T> source, ToLongFunction<? super T> keySelector,
+                                      boolean max) {
+        LinqMetrics.Call call = LinqMetrics.start(operator, source);
+        if (source == null || keySelector == null) {
+            return LinqMetrics.end(call, null);
+        }
+        T best = null;
+        long bestKey = 0;
+        boolean found = false;
+        for (T item : source) {
+            long key = keySelector.applyAsLong(item);
+            if (!found || (max ? key > bestKey : key < bestKey)) {
+                best = item;
+                bestKey = key;
+                found = true;
+            }
+        }
+        return LinqMetrics.end(call, best);
+    }
+
+    private static <T> T extremeByDouble(String operator, Iterable<T> source, ToDoubleFunction<? super T> keySelector,
+                                      boolean max) {
+        LinqMetrics.Call call = LinqMetrics.start(operator, source);
+        if (source == null || keySelector == null) {
+            return LinqMetrics.end(call, null);
+        }
+        T best = null;
+        double bestKey = 0;
+        boolean found = false;
+        for (T item : source) {
+            double key = keySelector.applyAsDouble(item);
+            if (!found || (max ? Double.compare(key, bestKey) > 0 : Double.compare(key, bestKey) < 0)) {
+                best = item;
+                bestKey = key;
+                found = true;
+            }
+        }
+        return LinqMetrics.end(call, best);
+    }
+
+    /**
+     * Devuelve un número especificado de elementos contiguos desde el inicio de una secuencia.
+     *
+     * @param <T> El tipo de los elementos de la fuente.
+     * @param source La colección Iterable<T> de la que se devolverán los elementos.
+     * @param count El número de elementos a devolver.
+     * @return Un nuevo List<T> que contiene el número especificado de elementos desde el inicio de la secuencia de entrada.
+     *         Devuelve una lista vacía si la fuente es null, count es menor o igual a 0, o la fuente tiene menos elementos que count.
+     */
+    public static <T> List<T> take(Iterable<T> source, int count) {
+        LinqMetrics.Call call = LinqMetrics.start("take", source);
+        if (source == null || count <= 0) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
+                .limit(count)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Omite un número especificado de elementos en una secuencia y luego devuelve los elementos restantes.
+     *
+     * @param <T> El tipo de los elementos de la fuente.
+     * @param source La colección Iterable<T> de la que se devolverán los elementos.
+     * @param count El número de elementos a omitir antes de devolver los elementos restantes.
+     * @return Un nuevo List<T> que contiene los elementos que quedan después de omitir el número especificado
+     *         de elementos en la secuencia de entrada.
+     *         Devuelve una lista vacía si la fuente es null. Si count es menor o igual a 0, devuelve todos los elementos.
+     *         Si count es mayor que el número de elementos, devuelve una lista vacía.
+     */
+    public static <T> List<T> skip(Iterable<T> source, int count) {
+        LinqMetrics.Call call = LinqMetrics.start("skip", source);
+        if (source == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        if (count <= 0) {
+            // Si count es 0 o negativo, no se omite nada, se devuelven todos los elementos.
+            return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
+                    .collect(Collectors.toList()));
+        }
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
+                .skip(count)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Ordena los elementos de una secuencia en orden ascendente según una clave.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <U>         El tipo de la clave de ordenación.
+     * @param source      La secuencia de valores que se va a ordenar.
+     * @param keySelector Función para extraer la clave de un elemento.
+     * @return Una nueva lista ordenada en orden ascendente según la clave especificada.
+     */
+    public static <T, U extends Comparable<? super U>> List<T> orderBy(
+            Iterable<T> source, 
+            Function<T, U> keySelector) {
+        return orderBy(source, keySelector, true);
+    }
+
+    /**
+     * Ordena los elementos de una secuencia en orden ascendente o descendente según una clave.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <U>         El tipo de la clave de ordenación.
+     * @param source      La secuencia de valores que se va a ordenar.
+     * @param keySelector Función para extraer la clave de un elemento.
+     * @param ascending   true para orden ascendente, false para orden descendente.
+     * @return Una nueva lista ordenada según la clave especificada.
+     */
+    public static <T, U extends Comparable<? super U>> List<T> orderBy(
+            Iterable<T> source, 
+            Function<T, U> keySelector, 
+            boolean ascending) {
+        LinqMetrics.Call call = LinqMetrics.start(ascending ? "orderBy" : "orderByDescending", source);
+        
+        if (source == null || keySelector == null) {
+            return LinqMetrics.end(call, new ArrayList<>());
+        }
+
+        List<T> result = new ArrayList<>();
+        source.forEach(result::add);
+
+        if (ascending) {
+            result.sort(Comparator.comparing(keySelector));
+        } else {
+            result.sort(Comparator.comparing(keySelector).reversed());
+        }
+
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Ordena los elementos de una secuencia en orden descendente según una clave.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <U>         El tipo de la clave de ordenación.
+     * @param source      La secuencia de valores que se va a ordenar.
+     * @param keySelector Función para extraer la clave de un elemento.
+     * @return Una nueva lista ordenada en orden descendente según la clave especificada.
+     */
+    public static <T, U extends Comparable<? super U>> List<T> orderByDescending(
+            Iterable<T> source, 
+            Function<T, U> keySelector) {
+        return orderBy(source, keySelector, false);
+    }
+
+    /**
+     * Ordena los elementos de una secuencia en orden ascendente según su orden natural.
+     *
+     * @param <T>    El tipo de los elementos de la fuente (debe implementar Comparable).
+     * @param source La secuencia de valores que se va a ordenar.
+     * @return Una nueva lista ordenada en orden ascendente.
+     */
+    public static <T extends Comparable<? super T>> List<T> orderBy(Iterable<T> source) {
+        return orderBy(source, Function.identity(), true);
+    }
+
+    /**
+     * Ordena los elementos de una secuencia en orden descendente según su orden natural.
+     *
+     * @param <T>    El tipo de los elementos de la fuente (debe implementar Comparable).
+     * @param source La secuencia de valores que se va a ordenar.
+     * @return Una nueva lista ordenada en orden descendente.
+     */
+    public static <T extends Comparable<? super T>> List<T> orderByDescending(Iterable<T> source) {
+        return orderBy(source, Function.identity(), false);
+    }
+
+    /**
+     * Agrupa los elementos de una secuencia según una clave especificada.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param source      La secuencia de valores que se va a agrupar.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @return Un Map donde las claves son los valores devueltos por keySelector
+     *         y los valores son listas de elementos que tienen cada clave.
+     *         Devuelve un mapa vacío si la fuente es null.
+     */
+    public static <T, K> Map<K, List<T>> groupBy(
+            Iterable<T> source,
+            Function<T, K> keySelector) {
+        LinqMetrics.Call call = LinqMetrics.start("groupBy", source);
+        if (source == null || keySelector == null) {
+            return LinqMetrics.end(call, new HashMap<>());
+        }
+
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
+                .collect(Collectors.groupingBy(
+                        keySelector,
+                        HashMap::new,
+                        Collectors.toList()
+                )));
+    }
+
+    /**
+     * Agrupa los elementos de una secuencia según una clave especificada
+     * y aplica una función de transformación a cada elemento del grupo.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param <V>         El tipo de los elementos resultantes en cada grupo.
+     * @param source      La secuencia de valores que se va a agrupar.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @param elementSelector Función para transformar cada elemento en el grupo.
+     * @return Un Map donde las claves son los valores devueltos por keySelector
+     *         y los valores son listas de elementos transformados que tienen cada clave.
+     *         Devuelve un mapa vacío si la fuente o algún selector es null.
+     */
+    public static <T, K, V> Map<K, List<V>> groupBy(
+            Iterable<T> source,
+            Function<T, K> keySelector,
+            Function<T, V> elementSelector) {
+        LinqMetrics.Call call = LinqMetrics.start("groupBy", source);
+        if (source == null || keySelector == null || elementSelector == null) {
+            return LinqMetrics.end(call, new HashMap<>());
+        }
+
+        return LinqMetrics.end(call, StreamSupport.stream(source.spliterator(), false)
+            .collect(Collectors.groupingBy(
+                    keySelector,
+                    HashMap::new,
+                    Collectors.mapping(elementSelector, Collectors.toList())
+            )));
+}
+
+    /**
+     * Agrupa los elementos de una secuencia según una clave sin construir los grupos hasta que se consultan.
+     * Equivale a {@code groupByLazy(source, keySelector, Lookup.Mode.INDEXED)}.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param source      La secuencia de valores que se va a agrupar; no se recorre hasta la primera consulta.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @return Un {@link Lookup} perezoso; vacío si la fuente o el selector son null.
+     */
+    public static <T, K> Lookup<K, T> groupByLazy(Iterable<T> source, Function<? super T, ? extends K> keySelector) {
+        return groupByLazy(source, keySelector, Lookup.Mode.INDEXED);
+    }
+
+    /**
+     * Agrupa los elementos de una secuencia según una clave sin construir los grupos hasta que se consultan.
+     * Con {@link Lookup.Mode#INDEXED} la primera consulta construye una tabla de clave a índices de fila; con
+     * {@link Lookup.Mode#DEFERRED} cada clave se busca recorriendo la fuente, lo que sólo se hace si la fuente es
+     * una {@link Collection}; las demás secuencias se indexan en la primera consulta. Ver {@link Lookup}.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param source      La secuencia de valores que se va a agrupar; no se recorre hasta la primera consulta.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @param mode        Cuánto se construye antes de la primera consulta de una clave.
+     * @return Un {@link Lookup} perezoso; vacío si la fuente o el selector son null.
+     * @throws IllegalArgumentException Si el modo es null.
+     */
+    public static <T, K> Lookup<K, T> groupByLazy(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                                  Lookup.Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("El modo no puede ser null");
+        }
+        if (source == null || keySelector == null) {
+            return new Lookup<>(Collections.<T>emptyList(), item -> null, mode);
+        }
+        return new Lookup<>(source, keySelector, mode);
+    }
+
+    /**
+     * Agrupa los elementos de una secuencia según una clave y agrega cada grupo sobre la marcha. A diferencia de
+     * {@link #groupBy(Iterable, Function)}, cada grupo guarda sólo el estado de la agregación (por ejemplo un
+     * contador o una suma primitiva) en lugar de una lista con sus elementos.
+     *
+     * <pre>
+     *     Map&lt;String, List&lt;Object&gt;&gt; resumen = Linq.groupByAggregate(ventas, Venta::getTienda,
+     *             Aggregators.allOf(Aggregators.count(), Aggregators.sum(Venta::getImporte)));
+     * </pre>
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param <R>         El tipo del resultado de cada grupo.
+     * @param source      La secuencia de valores que se va a agrupar.
+     * @param keySelector Función para extraer la clave de cada elemento; la clave null forma su propio grupo.
+     * @param aggregator  La agregación de cada grupo; ver {@link Aggregators}.
+     * @return Un Map con el resultado de la agregación de cada clave.
+     *         Devuelve un mapa vacío si la fuente, el selector o la agregación son null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K, R> Map<K, R> groupByAggregate(
+            Iterable<T> source,
+            Function<? super T, ? extends K> keySelector,
+            Aggregator<? super T, ?, R> aggregator) {
+        LinqMetrics.Call call = LinqMetrics.start("groupByAggregate", source);
+        if (source == null || keySelector == null || aggregator == null) {
+            return LinqMetrics.end(call, new HashMap<>());
+        }
+
+        Aggregator<T, Object, R> typed = (Aggregator<T, Object, R>) aggregator;
+        Map<K, Object> states = new HashMap<>();
+        for (T item : source) {
+            K key = keySelector.apply(item);
+            Object state = states.get(key);
+            if (state == null && !states.containsKey(key)) {
+                state = typed.create();
+                states.put(key, state);
+            }
+            typed.accumulate(state, item);
+        }
+        // Se reemplaza cada estado por su resultado en el mismo mapa, sin copiarlo
+        states.replaceAll((key, state) -> typed.finish(state));
+        return LinqMetrics.end(call, (Map<K, R>) states);
+    }
+
+    /**
+     * Agrupa los elementos de una secuencia según una clave sin superar un límite de elementos en memoria.
+     * Mientras el límite no se alcanza se comporta como {@link #groupBy(Iterable, Function)}; al superarlo,
+     * reparte los elementos por el hash de su clave entre archivos temporales y agrupa cada partición por
+     * separado al recorrer el resultado. Ver {@link SpilledGroups}.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param source      La secuencia de valores que se va a agrupar.
+     * @param keySelector Función para extraer la clave de cada elemento; la clave null forma su propio grupo.
+     * @param serializer  Serializador con el que los elementos se escriben en los archivos temporales.
+     * @param memoryLimit Número máximo de elementos agrupados en memoria antes de usar archivos.
+     * @param directory   Directorio de los archivos temporales (por ejemplo {@code Context.getCacheDir()}),
+     *                    o null para usar el directorio temporal del sistema.
+     * @return Los grupos como una secuencia perezosa que debe cerrarse para borrar los archivos temporales.
+     *         Las listas de cada grupo no son modificables. Vacía si la fuente o el selector son null.
+     * @throws IllegalArgumentException Si el serializador es null o el límite no es positivo.
+     * @throws java.io.UncheckedIOException Si no pueden escribirse los archivos temporales.
+     */
+    public static <T, K> SpilledGroups<K, List<T>> groupBySpilling(
+            Iterable<T> source,
+            Function<? super T, ? extends K> keySelector,
+            SpillSerializer<T> serializer,
+            int memoryLimit,
+            File directory) {
+        Aggregator<T, List<T>, List<T>> toList = Aggregators.of(ArrayList::new, List::add,
+                Collections::unmodifiableList);
+        return groupBySpilling("groupBySpilling", source, keySelector, toList, true, serializer, memoryLimit,
+                directory);
+    }
+
+    /**
+     * Agrupa y agrega los elementos de una secuencia sin superar un límite de grupos en memoria. Los grupos que
+     * caben se agregan como en {@link #groupByAggregate}; los elementos de las claves nuevas que llegan después
+     * de alcanzar el límite se reparten entre archivos temporales y cada partición se agrega por separado al
+     * recorrer el resultado. Ver {@link SpilledGroups}.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param <R>         El tipo del resultado de cada grupo.
+     * @param source      La secuencia de valores que se va a agrupar.
+     * @param keySelector Función para extraer la clave de cada elemento; la clave null forma su propio grupo.
+     * @param aggregator  La agregación de cada grupo; ver {@link Aggregators}.
+     * @param serializer  Serializador con el que los elementos se escriben en los archivos temporales.
+     * @param memoryLimit Número máximo de grupos en memoria en cada partición.
+     * @param directory   Directorio de los archivos temporales, o null para usar el directorio temporal del sistema.
+     * @return Los resultados por clave como una secuencia perezosa que debe cerrarse para borrar los archivos
+     *         temporales. Vacía si la fuente, el selector o la agregación son null.
+     * @throws IllegalArgumentException Si el serializador es null o el límite no es positivo.
+     * @throws java.io.UncheckedIOException Si no pueden escribirse los archivos temporales.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K, R> SpilledGroups<K, R> groupByAggregateSpilling(
+            Iterable<T> source,
+            Function<? super T, ? extends K> keySelector,
+            Aggregator<? super T, ?, R> aggregator,
+            SpillSerializer<T> serializer,
+            int memoryLimit,
+            File directory) {
+        return groupBySpilling("groupByAggregateSpilling", source, keySelector, (Aggregator<T, Object, R>) aggregator,
+                false, serializer, memoryLimit, directory);
+    }
+
+    private static <T, K, A, R> SpilledGroups<K, R> groupBySpilling(
+            String operation, Iterable<T> source, Function<? super T, ? extends K> keySelector,
+            Aggregator<T, A, R> aggregator, boolean retainsElements, SpillSerializer<T> serializer,
+            int memoryLimit, File directory) {
+        if (serializer == null) {
+            throw new IllegalArgumentException("El serializador no puede ser null");
+        }
+        if (memoryLimit <= 0) {
+            throw new IllegalArgumentException("El límite de memoria debe ser positivo: " + memoryLimit);
+        }
+        LinqMetrics.Call call = LinqMetrics.start(operation, source);
+        Iterable<T> input = source == null || keySelector == null || aggregator == null
+                ? Collections.<T>emptyList() : source;
+        return LinqMetrics.end(call, SpilledGroups.group(input, keySelector, aggregator, retainsElements, serializer,
+                memoryLimit, directory));
+    }
+
+    /**
+     * Agrupa una secuencia, posiblemente infinita, en ventanas fijas de tiempo de evento y agrega cada clave
+     * dentro de cada ventana. Las ventanas se emiten en orden a medida que se cierran, sin esperar al final de
+     * la fuente: una ventana se cierra cuando la mayor marca de tiempo vista, menos {@code allowedLateness},
+     * alcanza su fin. Sus estados se descartan al emitirla, así que la memoria sólo depende de las ventanas
+     * abiertas y de sus claves. Los elementos que llegan para una ventana ya cerrada se descartan.
+     *
+     * <pre>
+     *     // Conteo y suma por sensor y minuto, admitiendo lecturas con hasta 10 segundos de retraso
+     *     for (TimeWindow&lt;String, Stats&gt; minuto : Linq.groupByWindow(lecturas, Lectura::getSensor,
+     *             Lectura::getMillis, 60_000, 10_000, Aggregators.stats(Lectura::getValor))) {
+     *         publicar(minuto.start(), minuto.results());
+     *     }
+     * </pre>
+     *
+     * @param <T>               El tipo de los elementos de la fuente.
+     * @param <K>               El tipo de la clave de agrupación.
+     * @param <R>               El tipo del resultado de cada grupo.
+     * @param source            La secuencia de eventos; se recorre de forma perezosa al recorrer el resultado.
+     * @param keySelector       Función para extraer la clave de cada elemento; la clave null forma su propio grupo.
+     * @param timestampSelector Función para extraer la marca de tiempo de cada elemento.
+     * @param windowSize        La duración de cada ventana, en las unidades de las marcas de tiempo.
+     * @param allowedLateness   Cuánto puede retrasarse un elemento respecto del más reciente visto.
+     * @param aggregator        La agregación de cada clave; ver {@link Aggregators}.
+     * @return Una secuencia perezosa de ventanas cerradas en orden de inicio; al agotarse una fuente finita se
+     *         emiten también las ventanas que quedaban abiertas. Vacía si la fuente, algún selector o la
+     *         agregación son null.
+     * @throws IllegalArgumentException Si el tamaño de la ventana no es positivo o el retraso es negativo.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K, R> Iterable<TimeWindow<K, R>> groupByWindow(
+            Iterable<T> source,
+            Function<? super T, ? extends K> keySelector,
+            ToLongFunction<? super T> timestampSelector,
+            long windowSize,
+            long allowedLateness,
+            Aggregator<? super T, ?, R> aggregator) {
+        checkWindow(windowSize, allowedLateness);
+        if (source == null || keySelector == null || timestampSelector == null || aggregator == null) {
+            return Collections.emptyList();
+        }
+        Aggregator<T, Object, R> typed = (Aggregator<T, Object, R>) aggregator;
+        return () -> new Iterator<TimeWindow<K, R>>() {
+            private final Iterator<T> items = source.iterator();
+            private final EventTimeWindows<T, K, Object, R> windows = new EventTimeWindows<>(keySelector,
+                    timestampSelector, typed, windowSize, allowedLateness);
+            private final ArrayDeque<TimeWindow<K, R>> closed = new ArrayDeque<>();
+
+            @Override
+            public boolean hasNext() {
+                while (closed.isEmpty() && items.hasNext()) {
+                    windows.add(items.next(), closed);
+                }
+                if (closed.isEmpty()) {
+                    windows.flush(closed);
+                }
+                return !closed.isEmpty();
+            }
+
+            @Override
+            public TimeWindow<K, R> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return closed.poll();
+            }
+        };
+    }
+
+    static void checkWindow(long windowSize, long allowedLateness) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de la ventana debe ser positivo: " + windowSize);
+        }
+        if (allowedLateness < 0) {
+            throw new IllegalArgumentException("El retraso permitido no puede ser negativo: " + allowedLateness);
+        }
+    }
+
+    /**
+     * Relaciona los elementos de dos secuencias basándose en la igualdad de claves y agrupa los resultados.
+     * Es similar a un left outer join que agrupa los resultados de la secuencia derecha.
+     *
+     * @param <TOuter>      El tipo de los elementos de la primera secuencia.
+     * @param <TInner>      El tipo de los elementos de la segunda secuencia.
+     * @param <TKey>        El tipo de las claves devueltas por las funciones de selección de claves.
+     * @param <TResult>     El tipo de los elementos del resultado.
+     * @param outer         La primera secuencia a unir.
+     * @param inner         La secuencia que se unirá a la primera secuencia.
+     * @param outerKeySelector Una función para extraer la clave de unión de cada elemento de la primera secuencia.
+     * @param innerKeySelector Una función para extraer la clave de unión de cada elemento de la segunda secuencia.
+     * @param resultSelector Una función que crea un elemento de resultado a partir de un elemento de la primera secuencia
+     *                       y una colección de elementos coincidentes de la segunda secuencia.
+     * @return Una Lista que contiene elementos de tipo TResult que se obtienen al realizar una agrupación
+     *         de unión en dos secuencias. Devuelve una lista vacía si alguna de las secuencias de entrada
+     *         es nula o está vacía, o si alguna de las funciones de selección es nula.
+     */
+    public static <TOuter, TInner, TKey, TResult> List<TResult> groupJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, List<TInner>, TResult> resultSelector) {
+        LinqMetrics.Call call = LinqMetrics.start("groupJoin", outer, inner);
+        
+        // Verificar parámetros nulos
+        if (outer == null || inner == null || outerKeySelector == null || innerKeySelector == null || resultSelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+
+        List<TResult> result = new ArrayList<>();
+        groupJoinTo(outer, inner, outerKeySelector, innerKeySelector, resultSelector, result);
+        return LinqMetrics.end(call, result);
+    }
+
+    private static <TOuter, TInner, TKey, TResult> void groupJoinTo(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, List<TInner>, TResult> resultSelector,
+            Collection<? super TResult> result) {
+        // Crear un mapa de la secuencia interna para búsquedas eficientes
+        Map<TKey, List<TInner>> innerLookup = new HashMap<>();
+        // Si la secuencia interna produjo algún elemento, aunque sea null o sin clave
+        boolean[] innerSeen = new boolean[1];
+        try {
+            // Usar un collector personalizado para manejar claves nulas
+            innerLookup = StreamSupport.stream(inner.spliterator(), false)
+                    .peek(item -> innerSeen[0] = true)
+                    .filter(Objects::nonNull)
+                    .collect(HashMap::new, 
+                            (map, item) -> {
+                                try {
+                                    TKey key = innerKeySelector.apply(item);
+                                    if (key != null) {
+                                        map.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+                                    }
+                                } catch (Exception e) {
+                                    // Ignorar elementos que causen errores al obtener la clave
+                                }
+                            },
+                            (map1, map2) -> map2.forEach((key, value) -> 
+                                map1.merge(key, value, (list1, list2) -> {
+                                    list1.addAll(list2);
+                                    return list1;
+                                })
+                            ));
+        } catch (Exception e) {
+            // En caso de error, continuar con un mapa vacío
+            innerLookup = new HashMap<>();
+        }
+
+        // Realizar la unión grupal; si la secuencia interna está vacía no se calculan las claves externas
+        boolean emptyInner = !innerSeen[0];
+        for (TOuter outerItem : outer) {
+            if (outerItem == null) continue;
+            
+            TKey key;
+            try {
+                key = emptyInner ? null : outerKeySelector.apply(outerItem);
+            } catch (Exception e) {
+                // Si hay un error al obtener la clave, saltar este elemento
+                continue;
+            }
+            
+            // Obtener los elementos coincidentes o una lista vacía
+            List<TInner> matchingItems = key != null ? 
+                    innerLookup.getOrDefault(key, Collections.emptyList()) : 
+                    Collections.emptyList();
+            
+            // Asegurarse de que la lista no sea nula
+            if (matchingItems == null) {
+                matchingItems = Collections.emptyList();
+            }
+            
+            try {
+                TResult resultItem = resultSelector.apply(outerItem, matchingItems);
+                if (resultItem != null) {
+                    result.add(resultItem);
+                }
+            } catch (Exception e) {
+                // Si hay un error al crear el elemento de resultado, omitirlo
+            }
+        }
+    }
+
+    /**
+     * Realiza una operación de join interno entre dos secuencias basándose en claves coincidentes.
+     *
+     * @param <TOuter>      El tipo de los elementos de la primera secuencia.
+     * @param <TInner>      El tipo de los elementos de la segunda secuencia.
+     * @param <TKey>        El tipo de las claves devueltas por las funciones de selector de claves.
+     * @param <TResult>     El tipo de los elementos del resultado.
+     * @param outer         La primera secuencia a unir.
+     * @param inner         La secuencia a unir a la primera secuencia.
+     * @param outerKeySelector Función para extraer la clave de unión de cada elemento de la primera secuencia.
+     * @param innerKeySelector Función para extraer la clave de unión de cada elemento de la segunda secuencia.
+     * @param resultSelector Función para crear un elemento de resultado a partir de dos elementos coincidentes.
+     * @return Una lista que contiene elementos de tipo TResult que se obtienen al realizar una unión interna en dos secuencias.
+     *         Devuelve una lista vacía si alguna de las secuencias o selectores es null.
+     */
+    public static <TOuter, TInner, TKey, TResult> List<TResult> join(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, TInner, TResult> resultSelector) {
+        return join(outer, inner, outerKeySelector, innerKeySelector, resultSelector, false);
+    }
+
+    /**
+     * Realiza un join interno y, opcionalmente, construye junto a la tabla de la secuencia interna un filtro de
+     * Bloom de sus claves. Cada fila externa consulta primero el filtro, que ocupa unos 10 bits por clave y se
+     * resuelve con una sola lectura de memoria; sólo las que pueden coincidir consultan la tabla hash. Conviene
+     * cuando la tabla interna es grande y menos del ~10% de las filas externas tiene pareja.
+     *
+     * @param <TOuter>         El tipo de los elementos de la primera secuencia.
+     * @param <TInner>         El tipo de los elementos de la segunda secuencia.
+     * @param <TKey>           El tipo de las claves devueltas por las funciones de selector de claves.
+     * @param <TResult>        El tipo de los elementos del resultado.
+     * @param outer            La primera secuencia a unir.
+     * @param inner            La secuencia a unir a la primera secuencia.
+     * @param outerKeySelector Función para extraer la clave de unión de cada elemento de la primera secuencia.
+     * @param innerKeySelector Función para extraer la clave de unión de cada elemento de la segunda secuencia.
+     * @param resultSelector   Función para crear un elemento de resultado a partir de dos elementos coincidentes.
+     * @param prefilter        true para descartar con el filtro de Bloom las filas externas sin pareja.
+     * @return Una lista con el mismo resultado que {@link #join(Iterable, Iterable, Function, Function, BiFunction)}.
+     */
+    public static <TOuter, TInner, TKey, TResult> List<TResult> join(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, TInner, TResult> resultSelector,
+            boolean prefilter) {
+        LinqMetrics.Call call = LinqMetrics.start("join", outer, inner);
+
+        if (outer == null || inner == null ||
+                outerKeySelector == null || innerKeySelector == null ||
+                resultSelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+
+        List<TResult> result = new ArrayList<>();
+        joinTo(outer, inner, outerKeySelector, innerKeySelector, resultSelector, prefilter, result);
+        return LinqMetrics.end(call, result);
+    }
+
+    private static <TOuter, TInner, TKey, TResult> void joinTo(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, TInner, TResult> resultSelector,
+            boolean prefilter,
+            Collection<? super TResult> result) {
+        // Si la secuencia externa está vacía no se recorre la interna
+        Iterator<TOuter> outerItems = outer.iterator();
+        if (!outerItems.hasNext()) {
+            return;
+        }
+
+        // Crear un mapa de la secuencia interna para búsquedas rápidas
+        Map<TKey, List<TInner>> innerLookup = StreamSupport.stream(inner.spliterator(), false)
+                .collect(Collectors.groupingBy(innerKeySelector));
+        if (innerLookup.isEmpty()) {
+            return;
+        }
+        BloomFilter filter = prefilter ? bloomFilterOf(innerLookup.keySet()) : null;
+
+        // Realizar el join con el mismo iterador externo
+        while (outerItems.hasNext()) {
+            TOuter outerItem = outerItems.next();
+            TKey key = outerKeySelector.apply(outerItem);
+            if (filter != null && !filter.mightContain(key)) {
+                continue;
+            }
+            List<TInner> matchingItems = innerLookup.get(key);
+            if (matchingItems != null) {
+                for (TInner innerItem : matchingItems) {
+                    result.add(resultSelector.apply(outerItem, innerItem));
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve los elementos de la secuencia externa que tienen al menos una pareja en la interna (semi-join,
+     * {@code WHERE EXISTS}). Sólo guarda las claves internas, nunca las parejas, y cada fila externa aparece
+     * como máximo una vez, en su orden original. Las claves null no coinciden con nada.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param outer            La secuencia cuyos elementos se conservan.
+     * @param inner            La secuencia en la que se buscan las claves.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @return Un nuevo List con los elementos externos con pareja; lista vacía si algún argumento es null.
+     */
+    public static <TOuter, TInner, TKey> List<TOuter> semiJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector) {
+        return semiJoin(outer, inner, outerKeySelector, innerKeySelector, false);
+    }
+
+    /**
+     * Igual que {@link #semiJoin(Iterable, Iterable, Function, Function)}, con la opción de descartar antes con un
+     * filtro de Bloom de las claves internas las filas externas que no pueden tener pareja.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param outer            La secuencia cuyos elementos se conservan.
+     * @param inner            La secuencia en la que se buscan las claves.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param prefilter        true para consultar el filtro de Bloom antes que la tabla hash.
+     * @return Un nuevo List con los elementos externos con pareja; lista vacía si algún argumento es null.
+     */
+    public static <TOuter, TInner, TKey> List<TOuter> semiJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector,
+            boolean prefilter) {
+        LinqMetrics.Call call = LinqMetrics.start("semiJoin", outer, inner);
+        if (outer == null || inner == null || outerKeySelector == null || innerKeySelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        return LinqMetrics.end(call, filterByKeys(outer, inner, outerKeySelector, innerKeySelector, prefilter, true));
+    }
+
+    /**
+     * Devuelve los elementos de la secuencia externa que no tienen ninguna pareja en la interna (anti-join,
+     * {@code WHERE NOT EXISTS}), en su orden original. Las claves null no coinciden con nada, por lo que los
+     * elementos externos con clave null siempre se conservan.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param outer            La secuencia cuyos elementos se conservan.
+     * @param inner            La secuencia de claves a excluir; null no excluye nada.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @return Un nuevo List con los elementos externos sin pareja; lista vacía si la secuencia externa o algún
+     *         selector es null.
+     */
+    public static <TOuter, TInner, TKey> List<TOuter> antiJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector) {
+        return antiJoin(outer, inner, outerKeySelector, innerKeySelector, false);
+    }
+
+    /**
+     * Igual que {@link #antiJoin(Iterable, Iterable, Function, Function)}, con la opción de aceptar directamente
+     * las filas externas que el filtro de Bloom de las claves internas descarta, sin consultar la tabla hash.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param outer            La secuencia cuyos elementos se conservan.
+     * @param inner            La secuencia de claves a excluir; null no excluye nada.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param prefilter        true para consultar el filtro de Bloom antes que la tabla hash.
+     * @return Un nuevo List con los elementos externos sin pareja.
+     */
+    public static <TOuter, TInner, TKey> List<TOuter> antiJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector,
+            boolean prefilter) {
+        LinqMetrics.Call call = LinqMetrics.start("antiJoin", outer, inner);
+        if (outer == null || outerKeySelector == null || innerKeySelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        Iterable<TInner> excluded = inner == null ? Collections.<TInner>emptyList() : inner;
+        return LinqMetrics.end(call, filterByKeys(outer, excluded, outerKeySelector, innerKeySelector, prefilter, false));
+    }
+
+    // Conserva los elementos externos cuya clave está (o no está) entre las claves internas no nulas.
+    private static <TOuter, TInner, TKey> List<TOuter> filterByKeys(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector,
+            boolean prefilter,
+            boolean keepMatches) {
+        Iterator<TOuter> outerItems = outer.iterator();
+        if (!outerItems.hasNext()) {
+            return Collections.emptyList();
+        }
+        Set<TKey> keys = new HashSet<>();
+        for (TInner item : inner) {
+            TKey key = innerKeySelector.apply(item);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        BloomFilter filter = prefilter && !keys.isEmpty() ? bloomFilterOf(keys) : null;
+
+        List<TOuter> result = new ArrayList<>();
+        while (outerItems.hasNext()) {
+            TOuter item = outerItems.next();
+            TKey key = outerKeySelector.apply(item);
+            boolean matches = key != null
+                    && (filter == null || filter.mightContain(key))
+                    && keys.contains(key);
+            if (matches == keepMatches) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private static BloomFilter bloomFilterOf(Set<?> keys) {
+        BloomFilter filter = new BloomFilter(keys.size());
+        for (Object key : keys) {
+            filter.add(key);
+        }
+        return filter;
+    }
+
+    /**
+     * Realiza un left outer join: cada elemento externo se combina con cada elemento interno de la misma clave
+     * y, si no tiene ninguno, una vez con null. El resultado es plano y sigue el orden externo, con las parejas
+     * de cada fila en el orden interno; no se crea una lista por fila como en {@link #groupJoin}. Las claves
+     * null no coinciden con nada.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param <TResult>        El tipo de los elementos del resultado.
+     * @param outer            La secuencia cuyos elementos se conservan siempre.
+     * @param inner            La secuencia a unir; null se trata como vacía.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param resultSelector   Función que combina un elemento externo con uno interno o con null.
+     * @return Un nuevo List con el resultado; lista vacía si la secuencia externa o algún selector es null.
+     */
+    public static <TOuter, TInner, TKey, TResult> List<TResult> leftJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector,
+            BiFunction<? super TOuter, ? super TInner, ? extends TResult> resultSelector) {
+        LinqMetrics.Call call = LinqMetrics.start("leftJoin", outer, inner);
+        if (outer == null || outerKeySelector == null || innerKeySelector == null || resultSelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        Iterator<TOuter> outerItems = outer.iterator();
+        if (!outerItems.hasNext()) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        RowChains<TKey, TInner> table = new RowChains<>(inner == null ? Collections.<TInner>emptyList() : inner,
+                innerKeySelector, false);
+        List<TResult> result = new ArrayList<>();
+        probe(outerItems, table, outerKeySelector, resultSelector, null, result);
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Realiza un right outer join: cada elemento interno se combina con cada elemento externo de la misma clave
+     * y, si no tiene ninguno, una vez con null en el lado externo. El resultado sigue el orden interno; la tabla
+     * hash se construye sobre la secuencia externa. Las claves null no coinciden con nada.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param <TResult>        El tipo de los elementos del resultado.
+     * @param outer            La secuencia a unir; null se trata como vacía.
+     * @param inner            La secuencia cuyos elementos se conservan siempre.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param resultSelector   Función que combina un elemento externo o null con uno interno.
+     * @return Un nuevo List con el resultado; lista vacía si la secuencia interna o algún selector es null.
+     */
+    public static <TOuter, TInner, TKey, TResult> List<TResult> rightJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector,
+            BiFunction<? super TOuter, ? super TInner, ? extends TResult> resultSelector) {
+        LinqMetrics.Call call = LinqMetrics.start("rightJoin", outer, inner);
+        if (inner == null || outerKeySelector == null || innerKeySelector == null || resultSelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        Iterator<TInner> innerItems = inner.iterator();
+        if (!innerItems.hasNext()) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        RowChains<TKey, TOuter> table = new RowChains<>(outer == null ? Collections.<TOuter>emptyList() : outer,
+                outerKeySelector, false);
+        List<TResult> result = new ArrayList<>();
+        probe(innerItems, table, innerKeySelector, (i, o) -> resultSelector.apply(o, i), null, result);
+        return LinqMetrics.end(call, result);
+    }
+
+    /**
+     * Realiza un full outer join: primero el resultado de {@link #leftJoin} en el orden externo y después, en el
+     * orden interno, cada elemento interno que no coincidió con ninguno externo, combinado con null. Las filas
+     * internas con pareja se marcan en un {@link BitSet} por número de fila (un bit por fila) en lugar
+     * de guardarlas en un segundo conjunto hash.
+     *
+     * @param <TOuter>         El tipo de los elementos de la secuencia externa.
+     * @param <TInner>         El tipo de los elementos de la secuencia interna.
+     * @param <TKey>           El tipo de la clave de unión.
+     * @param <TResult>        El tipo de los elementos del resultado.
+     * @param outer            La secuencia externa; null se trata como vacía.
+     * @param inner            La secuencia interna; null se trata como vacía.
+     * @param outerKeySelector Función para extraer la clave de cada elemento externo.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param resultSelector   Función que combina un elemento externo o null con uno interno o null.
+     * @return Un nuevo List con el resultado; lista vacía si algún selector es null.
+     */
+    public static <TOuter, TInner, TKey, TResult> List<TResult> fullOuterJoin(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<? super TOuter, ? extends TKey> outerKeySelector,
+            Function<? super TInner, ? extends TKey> innerKeySelector,
+            BiFunction<? super TOuter, ? super TInner, ? extends TResult> resultSelector) {
+        LinqMetrics.Call call = LinqMetrics.start("fullOuterJoin", outer, inner);
+        if (outerKeySelector == null || innerKeySelector == null || resultSelector == null) {
+            return LinqMetrics.end(call, Collections.emptyList());
+        }
+        RowChains<TKey, TInner> table = new RowChains<>(inner == null ? Collections.<TInner>emptyList() : inner,
+                innerKeySelector, false);
+        BitSet matched = new BitSet(table.size());
+        List<TResult> result = new ArrayList<>();
+        if (outer != null) {
+            probe(outer.iterator(), table, outerKeySelector, resultSelector, matched, result);
+        }
+        for (int row = matched.nextClearBit(0); row < table.size(); row = matched.nextClearBit(row + 1)) {
+            result.add(resultSelector.apply(null, table.row(row)));
+        }
+        return LinqMetrics.end(call, result);
+    }
+
+    // Combina cada elemento con las filas de su clave o con null; marca en matched las filas con pareja.
+    private static <P, B, K, R> void probe(Iterator<P> items, RowChains<K, B> table,
+                                           Function<? super P, ? extends K> keySelector,
+                                           BiFunction<? super P, ? super B, ? extends R> resultSelector,
+                                           BitSet matched, List<R> result) {
+        while (items.hasNext()) {
+            P item = items.next();
+            int row = table.first(keySelector.apply(item));
+            if (row < 0) {
+                result.add(resultSelector.apply(item, null));
+                continue;
+            }
+            for (; row >= 0; row = table.next(row)) {
+                if (matched != null) {
+                    matched.set(row);
+                }
+                result.add(resultSelector.apply(item, table.row(row)));
+            }
+        }
+    }
+
+    /**
+     * Construye un índice hash sobre una clave para resolver filtros de igualdad repetidos en O(coincidencias).
+     * Si la fuente es una {@link ObservableList}, el índice se actualiza con cada elemento agregado o eliminado
+     * y {@link #where} lo usa automáticamente con predicados creados por {@link #keyEquals} sobre el mismo selector.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave.
+     * @param source      La secuencia a indexar.
+     * @param keySelector Función para extraer la clave de cada elemento. Para que {@link #where} elija el índice
+     *                    debe usarse la misma instancia (por ejemplo, una constante).
+     * @return Un índice sobre la fuente; vacío si la fuente es null.
+     */
+    public static <T, K> HashIndex<K, T> index(Iterable<T> source, Function<? super T, ? extends K> keySelector) {
+        if (keySelector == null) {
+            throw new IllegalArgumentException("El selector de clave no puede ser null");
+        }
+        return new HashIndex<>(source, keySelector);
+    }
+
+    /**
+     * Devuelve los elementos cuya clave indexada es igual al valor indicado.
+     *
+     * @param <T>   El tipo de los elementos.
+     * @param <K>   El tipo de la clave.
+     * @param index El índice a consultar.
+     * @param value El valor de la clave.
+     * @return Un nuevo List&lt;T&gt; con los elementos coincidentes; lista vacía si el índice es null o no hay coincidencias.
+     */
+    public static <T, K> List<T> whereKey(HashIndex<K, T> index, K value) {
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(index.get(value));
+    }
+
+    /**
+     * Devuelve los elementos cuya clave indexada es igual a alguno de los valores indicados.
+     * Los valores repetidos sólo se consultan una vez.
+     *
+     * @param <T>    El tipo de los elementos.
+     * @param <K>    El tipo de la clave.
+     * @param index  El índice a consultar.
+     * @param values Los valores de clave aceptados.
+     * @return Un nuevo List&lt;T&gt; con los elementos de cada valor, agrupados en el orden de los valores;
+     *         lista vacía si el índice o los valores son null.
+     */
+    public static <T, K> List<T> whereKeyIn(HashIndex<K, T> index, Iterable<? extends K> values) {
+        if (index == null || values == null) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>();
+        Set<K> seen = new HashSet<>();
+        for (K value : values) {
+            if (seen.add(value)) {
+                result.addAll(index.get(value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Crea un predicado de igualdad sobre una clave que {@link #where} puede resolver con un índice.
+     *
+     * @param <T>         El tipo de los elementos.
+     * @param <K>         El tipo de la clave.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @param value       Valor con el que se compara la clave (puede ser null).
+     * @return Un predicado equivalente a {@code x -> Objects.equals(keySelector.apply(x), value)}.
+     */
+    public static <T, K> Predicate<T> keyEquals(Function<? super T, ? extends K> keySelector, K value) {
+        if (keySelector == null) {
+            throw new IllegalArgumentException("El selector de clave no puede ser null");
+        }
+        return new KeyEqualsPredicate<>(keySelector, value);
+    }
+
+    /**
+     * Construye un índice ordenado por una clave para resolver filtros de rango, {@code floor}/{@code ceiling}
+     * y paginación por clave mediante búsqueda binaria.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param <K>         El tipo de la clave de ordenación.
+     * @param source      La secuencia a indexar.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @return Un índice ordenado; vacío si la fuente es null.
+     */
+    public static <T, K extends Comparable<? super K>> SortedIndex<K, T> sortedIndex(
+            Iterable<T> source,
+            Function<T, K> keySelector) {
+        if (keySelector == null) {
+            throw new IllegalArgumentException("El selector de clave no puede ser null");
+        }
+        return new SortedIndex<>(source, keySelector);
+    }
+
+    /**
+     * Crea una consulta perezosa sobre la secuencia. Las operaciones encadenadas se registran como un plan
+     * lógico que se optimiza al invocar el terminal (filtrar antes de ordenar, top-K para {@code orderBy} +
+     * {@code take}, omitir ordenaciones y proyecciones innecesarias). Use {@link Query#explain()} para ver
+     * el plan elegido.
+     *
+     * @param <T>    El tipo de los elementos de la fuente.
+     * @param source La secuencia a consultar.
+     * @return Una consulta sin operaciones; vacía si la fuente es null.
+     */
+    public static <T> Query<T> query(Iterable<T> source) {
+        return new Query<>(source, Collections.emptyList());
+    }
+
+    /**
+     * Empieza a definir una consulta compilada: las etapas se fijan y el plan se optimiza una sola vez al
+     * invocar el terminal del constructor, y cada ejecución con {@link CompiledQuery#run(Iterable, Object)}
+     * sólo recibe la fuente y los parámetros. Conviene para consultas que se repiten muchas veces con
+     * distintos valores.
+     *
+     * @param <P> El tipo de los parámetros de la ejecución.
+     * @param <T> El tipo de los elementos de la fuente.
+     * @return Un constructor sin etapas.
+     */
+    public static <P, T> CompiledQuery.Builder<P, T, T> compile() {
+        return new CompiledQuery.Builder<>(Collections.emptyList());
+    }
+
+    /**
+     * Adapta un iterador (un cursor de base de datos, una respuesta paginada, un generador) a una secuencia
+     * de un solo recorrido que puede pasarse a cualquier operador. Todos los operadores abren un único iterador
+     * por llamada, por lo que la fuente se consume exactamente una vez; {@code join} y {@code groupJoin}
+     * recorren una vez cada secuencia.
+     *
+     * @param <T>      El tipo de los elementos.
+     * @param iterator El iterador a adaptar.
+     * @return Un Iterable&lt;T&gt; que sólo puede recorrerse una vez; el segundo recorrido lanza
+     *         {@link IllegalStateException}. Vacío si el iterador es null.
+     */
+    public static <T> Iterable<T> fromIterator(Iterator<T> iterator) {
+        if (iterator == null) {
+            return Collections.emptyList();
+        }
+        return new IteratorSource<>(iterator);
+    }
+
+    /**
+     * Filtra una secuencia y escribe el resultado en una colección del llamador en lugar de crear una lista.
+     * La colección se vacía antes de escribir, por lo que puede reutilizarse en cada fotograma o ciclo:
+     * con un {@link java.util.ArrayList} ya dimensionado y una fuente de acceso aleatorio, la llamada no
+     * reserva memoria.
+     *
+     * <pre>
+     *     private final List&lt;Sprite&gt; visibles = new ArrayList&lt;&gt;();
+     *     ...
+     *     Linq.whereInto(sprites, Sprite::isVisible, visibles);
+     * </pre>
+     *
+     * @param <T>       El tipo de los elementos de la fuente.
+     * @param <C>       El tipo de la colección destino.
+     * @param source    La colección Iterable<T> a filtrar.
+     * @param predicate Una función para probar cada elemento en busca de una condición.
+     * @param target    La colección donde se escriben los elementos que cumplen la condición.
+     * @return La misma colección destino; vacía si la fuente o el predicado son null.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, C extends Collection<? super T>> C whereInto(Iterable<T> source, Predicate<T> predicate,
+                                                                  C target) {
+        LinqMetrics.Call call = LinqMetrics.start("whereInto", source);
+        prepareTarget(source, target);
+        if (source == null || predicate == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                T item = list.get(i);
+                if (predicate.test(item)) {
+                    target.add(item);
+                }
+            }
+        } else {
+            for (T item : source) {
+                if (predicate.test(item)) {
+                    target.add(item);
+                }
+            }
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Proyecta cada elemento y escribe el resultado en una colección del llamador, que se vacía antes.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param <R>      Tipo de los elementos resultantes.
+     * @param <C>      El tipo de la colección destino.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que transforma cada elemento T en un valor de tipo R.
+     * @param target   La colección donde se escriben los valores proyectados.
+     * @return La misma colección destino; vacía si la fuente o el selector son null.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R, C extends Collection<? super R>> C selectInto(Iterable<T> source, Function<T, R> selector,
+                                                                      C target) {
+        LinqMetrics.Call call = LinqMetrics.start("selectInto", source);
+        prepareTarget(source, target);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                target.add(selector.apply(list.get(i)));
+            }
+        } else {
+            for (T item : source) {
+                target.add(selector.apply(item));
+            }
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Proyecta cada elemento a una secuencia y escribe los elementos aplanados en una colección del llamador,
+     * que se vacía antes. Las secuencias null se omiten.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param <R>      Tipo de los elementos resultantes.
+     * @param <C>      El tipo de la colección destino.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que transforma cada elemento T en un Iterable<R>.
+     * @param target   La colección donde se escriben los elementos aplanados.
+     * @return La misma colección destino; vacía si la fuente o el selector son null.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    public static <T, R, C extends Collection<? super R>> C selectManyInto(
+            Iterable<T> source, Function<T, ? extends Iterable<R>> selector, C target) {
+        LinqMetrics.Call call = LinqMetrics.start("selectManyInto", source);
+        prepareTarget(source, target);
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, target);
+        }
+        for (T item : source) {
+            Iterable<R> values = selector.apply(item);
+            if (values != null) {
+                for (R value : values) {
+                    target.add(value);
+                }
+            }
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Escribe los elementos únicos de la secuencia, en orden de aparición, en una colección del llamador que se
+     * vacía antes. A diferencia de los demás operadores {@code Into}, reserva un conjunto temporal por llamada
+     * (salvo que el destino sea un {@link Set}, que se usa directamente).
+     *
+     * @param <T>    Tipo de los elementos de la fuente.
+     * @param <C>    El tipo de la colección destino.
+     * @param source La colección Iterable<T> a evaluar.
+     * @param target La colección donde se escriben los elementos distintos.
+     * @return La misma colección destino; vacía si la fuente es null.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    public static <T, C extends Collection<? super T>> C distinctInto(Iterable<T> source, C target) {
+        LinqMetrics.Call call = LinqMetrics.start("distinctInto", source);
+        prepareTarget(source, target);
+        if (source == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (target instanceof Set) {
+            for (T item : source) {
+                target.add(item);
+            }
+            return LinqMetrics.end(call, target);
+        }
+        Set<T> seen = new HashSet<>();
+        for (T item : source) {
+            if (seen.add(item)) {
+                target.add(item);
+            }
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Escribe como máximo el número indicado de elementos desde el inicio de la secuencia en una colección del
+     * llamador, que se vacía antes.
+     *
+     * @param <T>    El tipo de los elementos de la fuente.
+     * @param <C>    El tipo de la colección destino.
+     * @param source La colección Iterable<T> de la que se tomarán los elementos.
+     * @param count  El número de elementos a escribir.
+     * @param target La colección destino.
+     * @return La misma colección destino; vacía si la fuente es null o count es menor o igual a 0.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, C extends Collection<? super T>> C takeInto(Iterable<T> source, int count, C target) {
+        LinqMetrics.Call call = LinqMetrics.start("takeInto", source);
+        prepareTarget(source, target);
+        if (source == null || count <= 0) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = Math.min(count, list.size()); i < n; i++) {
+                target.add(list.get(i));
+            }
+            return LinqMetrics.end(call, target);
+        }
+        int remaining = count;
+        for (T item : source) {
+            target.add(item);
+            if (--remaining == 0) {
+                break;
+            }
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Omite el número indicado de elementos y escribe los restantes en una colección del llamador, que se
+     * vacía antes.
+     *
+     * @param <T>    El tipo de los elementos de la fuente.
+     * @param <C>    El tipo de la colección destino.
+     * @param source La colección Iterable<T> de la que se tomarán los elementos.
+     * @param count  El número de elementos a omitir; si es menor o igual a 0 se escriben todos.
+     * @param target La colección destino.
+     * @return La misma colección destino; vacía si la fuente es null.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, C extends Collection<? super T>> C skipInto(Iterable<T> source, int count, C target) {
+        LinqMetrics.Call call = LinqMetrics.start("skipInto", source);
+        prepareTarget(source, target);
+        if (source == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = Math.max(0, count), n = list.size(); i < n; i++) {
+                target.add(list.get(i));
+            }
+            return LinqMetrics.end(call, target);
+        }
+        int toSkip = count;
+        for (T item : source) {
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                target.add(item);
+            }
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Copia la secuencia elemento a elemento en una lista del llamador, que se vacía antes, y la ordena de forma
+     * estable con {@link List#sort}. La copia no reserva memoria si la lista ya tiene capacidad, pero el
+     * ordenamiento sí: en {@link ArrayList} TimSort reserva un arreglo temporal de hasta la mitad de los
+     * elementos, salvo con menos de 32, que se ordenan en el lugar. Para no crear un comparador en cada
+     * llamada, guarde el comparador en un campo.
+     *
+     * @param <T>        El tipo de los elementos de la fuente.
+     * @param source     La secuencia de valores que se va a ordenar.
+     * @param comparator El comparador que define el orden.
+     * @param target     La lista donde se escriben los elementos ordenados.
+     * @return La misma lista destino; vacía si la fuente es null. Si el comparador es null se copia sin ordenar.
+     * @throws IllegalArgumentException si el destino es null o es la propia fuente.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> orderByInto(Iterable<T> source, Comparator<? super T> comparator, List<T> target) {
+        LinqMetrics.Call call = LinqMetrics.start("orderByInto", source);
+        prepareTarget(source, target);
+        if (source == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                target.add(list.get(i));
+            }
+        } else {
+            for (T item : source) {
+                target.add(item);
+            }
+        }
+        if (comparator != null) {
+            target.sort(comparator);
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Agrupa los elementos por clave en un mapa del llamador. Las listas de los grupos que ya estaban en el mapa
+     * se vacían y se reutilizan, y las que quedan vacías se eliminan, así que al repetir la consulta con las
+     * mismas claves no se crean listas nuevas.
      *
      * @param <T>         El tipo de los elementos de la fuente.
      * @param <K>         El tipo de la clave de agrupación.
-     * @param <V>         El tipo de los elementos resultantes en cada grupo.
+     * @param <M>         El tipo del mapa destino.
      * @param source      La secuencia de valores que se va a agrupar.
-     * @param keySelector Función para extraer la clave de cada elemento.
-     * @param elementSelector Función para transformar cada elemento en el grupo.
-     * @return Un Map donde las claves son los valores devueltos por keySelector
-     *         y los valores son listas de elementos transformados que tienen cada clave.
-     *         Devuelve un mapa vacío si la fuente o algún selector es null.
+     * @param keySelector Función para extraer la clave de cada elemento. A diferencia de
+     *                    {@link #groupBy(Iterable, Function)}, que lanza {@link NullPointerException} con una
+     *                    clave null, aquí la clave null forma su propio grupo si el mapa destino la admite.
+     * @param target      El mapa destino; sus listas deben ser modificables.
+     * @return El mismo mapa destino, con los mismos grupos que {@link #groupBy(Iterable, Function)} cuando
+     *         ninguna clave es null; vacío si la fuente o el selector son null.
+     * @throws IllegalArgumentException si el destino es null.
+     * @see #whereInto(Iterable, Predicate, Collection)
      */
-    public static <T, K, V> Map<K, List<V>> groupBy(
-            Iterable<T> source,
-            Function<T, K> keySelector,
-            Function<T, V> elementSelector) {
-        if (!any(source) || keySelector == null || elementSelector == null) {
-            return new HashMap<>();
+    @SuppressWarnings("unchecked")
+    public static <T, K, M extends Map<K, List<T>>> M groupByInto(Iterable<T> source, Function<T, K> keySelector,
+                                                                  M target) {
+        LinqMetrics.Call call = LinqMetrics.start("groupByInto", source);
+        if (target == null) {
+            throw new IllegalArgumentException("El destino no puede ser null");
+        }
+        for (List<T> group : target.values()) {
+            group.clear();
+        }
+        if (source != null && keySelector != null) {
+            if (source instanceof RandomAccess && source instanceof List) {
+                List<T> list = (List<T>) source;
+                for (int i = 0, n = list.size(); i < n; i++) {
+                    T item = list.get(i);
+                    groupOf(target, keySelector.apply(item)).add(item);
+                }
+            } else {
+                for (T item : source) {
+                    groupOf(target, keySelector.apply(item)).add(item);
+                }
+            }
         }
+        target.values().removeIf(List::isEmpty);
+        return LinqMetrics.end(call, target);
+    }
 
-        return StreamSupport.stream(source.spliterator(), false)
-            .collect(Collectors.groupingBy(
-                    keySelector,
-                    HashMap::new,
-                    Collectors.mapping(elementSelector, Collectors.toList())
-            ));
-}
+    private static <K, T> List<T> groupOf(Map<K, List<T>> groups, K key) {
+        List<T> group = groups.get(key);
+        if (group == null) {
+            group = new ArrayList<>();
+            groups.put(key, group);
+        }
+        return group;
+    }
 
     /**
-     * Relaciona los elementos de dos secuencias basándose en la igualdad de claves y agrupa los resultados.
-     * Es similar a un left outer join que agrupa los resultados de la secuencia derecha.
+     * Realiza un join interno y escribe los resultados en una colección del llamador, que se vacía antes.
+     * Como {@link #distinctInto}, reserva por llamada la tabla hash de la secuencia interna; sólo se evita la
+     * lista del resultado.
      *
-     * @param <TOuter>      El tipo de los elementos de la primera secuencia.
-     * @param <TInner>      El tipo de los elementos de la segunda secuencia.
-     * @param <TKey>        El tipo de las claves devueltas por las funciones de selección de claves.
-     * @param <TResult>     El tipo de los elementos del resultado.
-     * @param outer         La primera secuencia a unir.
-     * @param inner         La secuencia que se unirá a la primera secuencia.
-     * @param outerKeySelector Una función para extraer la clave de unión de cada elemento de la primera secuencia.
-     * @param innerKeySelector Una función para extraer la clave de unión de cada elemento de la segunda secuencia.
-     * @param resultSelector Una función que crea un elemento de resultado a partir de un elemento de la primera secuencia
-     *                       y una colección de elementos coincidentes de la segunda secuencia.
-     * @return Una Lista que contiene elementos de tipo TResult que se obtienen al realizar una agrupación
-     *         de unión en dos secuencias. Devuelve una lista vacía si alguna de las secuencias de entrada
-     *         es nula o está vacía, o si alguna de las funciones de selección es nula.
+     * @param <TOuter>         El tipo de los elementos de la primera secuencia.
+     * @param <TInner>         El tipo de los elementos de la segunda secuencia.
+     * @param <TKey>           El tipo de las claves devueltas por las funciones de selector de claves.
+     * @param <TResult>        El tipo de los elementos del resultado.
+     * @param <C>              El tipo de la colección destino.
+     * @param outer            La primera secuencia a unir.
+     * @param inner            La secuencia a unir a la primera secuencia.
+     * @param outerKeySelector Función para extraer la clave de unión de cada elemento de la primera secuencia.
+     * @param innerKeySelector Función para extraer la clave de unión de cada elemento de la segunda secuencia.
+     * @param resultSelector   Función para crear un elemento de resultado a partir de dos elementos coincidentes.
+     * @param target           La colección donde se escriben los resultados.
+     * @return La misma colección destino, con los mismos elementos que
+     *         {@link #join(Iterable, Iterable, Function, Function, BiFunction)}; vacía si alguna secuencia o
+     *         selector es null.
+     * @throws IllegalArgumentException si el destino es null o es una de las secuencias.
+     * @see #whereInto(Iterable, Predicate, Collection)
      */
-    public static <TOuter, TInner, TKey, TResult> List<TResult> groupJoin(
+    public static <TOuter, TInner, TKey, TResult, C extends Collection<? super TResult>> C joinInto(
             Iterable<TOuter> outer,
             Iterable<TInner> inner,
             Function<TOuter, TKey> outerKeySelector,
             Function<TInner, TKey> innerKeySelector,
-            BiFunction<TOuter, List<TInner>, TResult> resultSelector) {
-        
-        // Verificar parámetros nulos
-        if (outer == null || inner == null || outerKeySelector == null || innerKeySelector == null || resultSelector == null) {
-            return Collections.emptyList();
+            BiFunction<TOuter, TInner, TResult> resultSelector,
+            C target) {
+        LinqMetrics.Call call = LinqMetrics.start("joinInto", outer, inner);
+        prepareTarget(inner, target);
+        prepareTarget(outer, target);
+        if (outer == null || inner == null || outerKeySelector == null || innerKeySelector == null
+                || resultSelector == null) {
+            return LinqMetrics.end(call, target);
         }
+        joinTo(outer, inner, outerKeySelector, innerKeySelector, resultSelector, false, target);
+        return LinqMetrics.end(call, target);
+    }
 
-        // Si la secuencia interna está vacía, devolver todos los elementos externos con listas vacías
-        if (!inner.iterator().hasNext()) {
-            List<TResult> result = new ArrayList<>();
-            for (TOuter outerItem : outer) {
-                if (outerItem == null) continue;
-                try {
-                    TResult resultItem = resultSelector.apply(outerItem, Collections.emptyList());
-                    if (resultItem != null) {
-                        result.add(resultItem);
-                    }
-                } catch (Exception e) {
-                    // Si hay un error al crear el elemento de resultado, omitirlo
-                }
-            }
-            return result;
+    /**
+     * Realiza una unión agrupada y escribe los resultados en una colección del llamador, que se vacía antes.
+     * Reserva por llamada la tabla de la secuencia interna y sus grupos, que el selector de resultado recibe.
+     *
+     * @param <TOuter>         El tipo de los elementos de la primera secuencia.
+     * @param <TInner>         El tipo de los elementos de la segunda secuencia.
+     * @param <TKey>           El tipo de las claves devueltas por las funciones de selección de claves.
+     * @param <TResult>        El tipo de los elementos del resultado.
+     * @param <C>              El tipo de la colección destino.
+     * @param outer            La primera secuencia a unir.
+     * @param inner            La secuencia que se unirá a la primera secuencia.
+     * @param outerKeySelector Función para extraer la clave de unión de cada elemento de la primera secuencia.
+     * @param innerKeySelector Función para extraer la clave de unión de cada elemento de la segunda secuencia.
+     * @param resultSelector   Función que crea un resultado a partir de un elemento externo y sus coincidencias.
+     * @param target           La colección donde se escriben los resultados.
+     * @return La misma colección destino, con los mismos elementos que {@link #groupJoin}; vacía si alguna
+     *         secuencia o selector es null.
+     * @throws IllegalArgumentException si el destino es null o es una de las secuencias.
+     * @see #whereInto(Iterable, Predicate, Collection)
+     */
+    public static <TOuter, TInner, TKey, TResult, C extends Collection<? super TResult>> C groupJoinInto(
+            Iterable<TOuter> outer,
+            Iterable<TInner> inner,
+            Function<TOuter, TKey> outerKeySelector,
+            Function<TInner, TKey> innerKeySelector,
+            BiFunction<TOuter, List<TInner>, TResult> resultSelector,
+            C target) {
+        LinqMetrics.Call call = LinqMetrics.start("groupJoinInto", outer, inner);
+        prepareTarget(inner, target);
+        prepareTarget(outer, target);
+        if (outer == null || inner == null || outerKeySelector == null || innerKeySelector == null
+                || resultSelector == null) {
+            return LinqMetrics.end(call, target);
         }
+        groupJoinTo(outer, inner, outerKeySelector, innerKeySelector, resultSelector, target);
+        return LinqMetrics.end(call, target);
+    }
 
-        // Crear un mapa de la secuencia interna para búsquedas eficientes
-        Map<TKey, List<TInner>> innerLookup = new HashMap<>();
-        try {
-            // Usar un collector personalizado para manejar claves nulas
-            innerLookup = StreamSupport.stream(inner.spliterator(), false)
-                    .filter(Objects::nonNull)
-                    .collect(HashMap::new, 
-                            (map, item) -> {
-                                try {
-                                    TKey key = innerKeySelector.apply(item);
-                                    if (key != null) {
-                                        map.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
-                                    }
-                                } catch (Exception e) {
-                                    // Ignorar elementos que causen errores al obtener la clave
-                                }
-                            },
-                            (map1, map2) -> map2.forEach((key, value) -> 
-                                map1.merge(key, value, (list1, list2) -> {
-                                    list1.addAll(list2);
-                                    return list1;
-                                })
-                            ));
-        } catch (Exception e) {
-            // En caso de error, continuar con un mapa vacío
-            innerLookup = new HashMap<>();
+    /**
+     * Proyecta cada elemento en un valor int y lo escribe en una {@link IntList} del llamador, que se vacía
+     * conservando su arreglo.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que obtiene el valor int de cada elemento.
+     * @param target   La lista donde se escriben los valores.
+     * @return La misma lista destino; vacía si la fuente o el selector son null.
+     * @throws IllegalArgumentException si el destino es null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IntList selectIntInto(Iterable<T> source, ToIntFunction<? super T> selector, IntList target) {
+        LinqMetrics.Call call = LinqMetrics.start("selectIntInto", source);
+        if (target == null) {
+            throw new IllegalArgumentException("El destino no puede ser null");
+        }
+        target.clear();
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                target.add(selector.applyAsInt(list.get(i)));
+            }
+        } else {
+            for (T item : source) {
+                target.add(selector.applyAsInt(item));
+            }
         }
+        return LinqMetrics.end(call, target);
+    }
 
-        // Realizar la unión grupal
-        List<TResult> result = new ArrayList<>();
-        for (TOuter outerItem : outer) {
-            if (outerItem == null) continue;
-            
-            TKey key;
-            try {
-                key = outerKeySelector.apply(outerItem);
-            } catch (Exception e) {
-                // Si hay un error al obtener la clave, saltar este elemento
-                continue;
+    /**
+     * Proyecta cada elemento en un valor long y lo escribe en una {@link LongList} del llamador, que se vacía
+     * conservando su arreglo.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que obtiene el valor long de cada elemento.
+     * @param target   La lista donde se escriben los valores.
+     * @return La misma lista destino; vacía si la fuente o el selector son null.
+     * @throws IllegalArgumentException si el destino es null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> LongList selectLongInto(Iterable<T> source, ToLongFunction<? super T> selector,
+                                              LongList target) {
+        LinqMetrics.Call call = LinqMetrics.start("selectLongInto", source);
+        if (target == null) {
+            throw new IllegalArgumentException("El destino no puede ser null");
+        }
+        target.clear();
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                target.add(selector.applyAsLong(list.get(i)));
             }
-            
-            // Obtener los elementos coincidentes o una lista vacía
-            List<TInner> matchingItems = key != null ? 
-                    innerLookup.getOrDefault(key, Collections.emptyList()) : 
-                    Collections.emptyList();
-            
-            // Asegurarse de que la lista no sea nula
-            if (matchingItems == null) {
-                matchingItems = Collections.emptyList();
+        } else {
+            for (T item : source) {
+                target.add(selector.applyAsLong(item));
             }
-            
-            try {
-                TResult resultItem = resultSelector.apply(outerItem, matchingItems);
-                if (resultItem != null) {
-                    result.add(resultItem);
-                }
-            } catch (Exception e) {
-                // Si hay un error al crear el elemento de resultado, omitirlo
+        }
+        return LinqMetrics.end(call, target);
+    }
+
+    /**
+     * Proyecta cada elemento en un valor double y lo escribe en una {@link DoubleList} del llamador, que se
+     * vacía conservando su arreglo.
+     *
+     * @param <T>      Tipo de los elementos de entrada.
+     * @param source   La colección Iterable<T> a transformar.
+     * @param selector Función que obtiene el valor double de cada elemento.
+     * @param target   La lista donde se escriben los valores.
+     * @return La misma lista destino; vacía si la fuente o el selector son null.
+     * @throws IllegalArgumentException si el destino es null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DoubleList selectDoubleInto(Iterable<T> source, ToDoubleFunction<? super T> selector,
+                                                  DoubleList target) {
+        LinqMetrics.Call call = LinqMetrics.start("selectDoubleInto", source);
+        if (target == null) {
+            throw new IllegalArgumentException("El destino no puede ser null");
+        }
+        target.clear();
+        if (source == null || selector == null) {
+            return LinqMetrics.end(call, target);
+        }
+        if (source instanceof RandomAccess && source instanceof List) {
+            List<T> list = (List<T>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                target.add(selector.applyAsDouble(list.get(i)));
+            }
+        } else {
+            for (T item : source) {
+                target.add(selector.applyAsDouble(item));
             }
         }
-        
-        return result;
+        return LinqMetrics.end(call, target);
+    }
+
+    // Valida y vacía el destino de un operador Into; vaciar la propia fuente perdería los datos.
+    private static void prepareTarget(Iterable<?> source, Collection<?> target) {
+        if (target == null) {
+            throw new IllegalArgumentException("El destino no puede ser null");
+        }
+        if (target == source) {
+            throw new IllegalArgumentException("El destino no puede ser la propia fuente");
+        }
+        target.clear();
     }
 
     /**
-     * Realiza una operación de join interno entre dos secuencias basándose en claves coincidentes.
+     * Genera una secuencia de enteros consecutivos sin cajas.
      *
-     * @param <TOuter>      El tipo de los elementos de la primera secuencia.
-     * @param <TInner>      El tipo de los elementos de la segunda secuencia.
-     * @param <TKey>        El tipo de las claves devueltas por las funciones de selector de claves.
-     * @param <TResult>     El tipo de los elementos del resultado.
-     * @param outer         La primera secuencia a unir.
-     * @param inner         La secuencia a unir a la primera secuencia.
-     * @param outerKeySelector Función para extraer la clave de unión de cada elemento de la primera secuencia.
-     * @param innerKeySelector Función para extraer la clave de unión de cada elemento de la segunda secuencia.
-     * @param resultSelector Función para crear un elemento de resultado a partir de dos elementos coincidentes.
-     * @return Una lista que contiene elementos de tipo TResult que se obtienen al realizar una unión interna en dos secuencias.
-     *         Devuelve una lista vacía si alguna de las secuencias o selectores es null.
+     * @param start El primer valor.
+     * @param count La cantidad de valores; si es menor o igual a 0 la secuencia está vacía.
+     * @return Una secuencia perezosa con los valores {@code start}, {@code start + 1}, ..., {@code start + count - 1}.
+     * @throws IllegalArgumentException si el último valor supera {@link Integer#MAX_VALUE}.
      */
-    public static <TOuter, TInner, TKey, TResult> List<TResult> join(
-            Iterable<TOuter> outer,
-            Iterable<TInner> inner,
-            Function<TOuter, TKey> outerKeySelector,
-            Function<TInner, TKey> innerKeySelector,
-            BiFunction<TOuter, TInner, TResult> resultSelector) {
+    public static IntSequence range(int start, int count) {
+        if (count <= 0) {
+            return new IntSequence(IntStream::empty);
+        }
+        long last = (long) start + count - 1;
+        if (last > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El rango supera Integer.MAX_VALUE");
+        }
+        return new IntSequence(() -> IntStream.rangeClosed(start, (int) last));
+    }
 
-        if (!any(outer) || !any(inner) ||
-                outerKeySelector == null || innerKeySelector == null ||
-                resultSelector == null) {
-            return Collections.emptyList();
+    /**
+     * Genera una secuencia de valores long consecutivos sin cajas.
+     *
+     * @param start El primer valor.
+     * @param count La cantidad de valores; si es menor o igual a 0 la secuencia está vacía.
+     * @return Una secuencia perezosa con los valores {@code start}, ..., {@code start + count - 1}.
+     * @throws IllegalArgumentException si el último valor supera {@link Long#MAX_VALUE}.
+     */
+    public static LongSequence rangeLong(long start, long count) {
+        if (count <= 0) {
+            return new LongSequence(LongStream::empty);
+        }
+        if (start > Long.MAX_VALUE - (count - 1)) {
+            throw new IllegalArgumentException("El rango supera Long.MAX_VALUE");
+        }
+        long last = start + (count - 1);
+        return new LongSequence(() -> LongStream.rangeClosed(start, last));
+    }
+
+    /**
+     * Genera una secuencia que repite un valor entero.
+     *
+     * @param value El valor a repetir.
+     * @param count La cantidad de repeticiones; si es menor o igual a 0 la secuencia está vacía.
+     * @return Una secuencia perezosa con {@code count} copias del valor.
+     */
+    public static IntSequence repeat(int value, int count) {
+        return generate(count, i -> value);
+    }
+
+    /**
+     * Genera una secuencia que repite un valor long.
+     *
+     * @param value El valor a repetir.
+     * @param count La cantidad de repeticiones; si es menor o igual a 0 la secuencia está vacía.
+     * @return Una secuencia perezosa con {@code count} copias del valor.
+     */
+    public static LongSequence repeat(long value, int count) {
+        return generateLong(count, i -> value);
+    }
+
+    /**
+     * Genera una secuencia que repite un valor double.
+     *
+     * @param value El valor a repetir.
+     * @param count La cantidad de repeticiones; si es menor o igual a 0 la secuencia está vacía.
+     * @return Una secuencia perezosa con {@code count} copias del valor.
+     */
+    public static DoubleSequence repeat(double value, int count) {
+        return generateDouble(count, i -> value);
+    }
+
+    /**
+     * Genera una secuencia de enteros calculando cada valor a partir de su posición. La función se vuelve a
+     * evaluar cada vez que se recorre la secuencia.
+     *
+     * @param count     La cantidad de valores; si es menor o igual a 0 la secuencia está vacía.
+     * @param generator Función que recibe la posición (desde 0) y devuelve el valor.
+     * @return Una secuencia perezosa de {@code count} valores.
+     */
+    public static IntSequence generate(int count, IntUnaryOperator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("El generador no puede ser null");
         }
+        if (count <= 0) {
+            return new IntSequence(IntStream::empty);
+        }
+        return new IntSequence(() -> IntStream.range(0, count).map(generator));
+    }
 
-        // Crear un mapa de la secuencia interna para búsquedas rápidas
-        Map<TKey, List<TInner>> innerLookup = StreamSupport.stream(inner.spliterator(), false)
-                .collect(Collectors.groupingBy(innerKeySelector));
+    /**
+     * Genera una secuencia de valores long calculando cada valor a partir de su posición.
+     *
+     * @param count     La cantidad de valores; si es menor o igual a 0 la secuencia está vacía.
+     * @param generator Función que recibe la posición (desde 0) y devuelve el valor.
+     * @return Una secuencia perezosa de {@code count} valores.
+     * @see #generate(int, IntUnaryOperator)
+     */
+    public static LongSequence generateLong(int count, IntToLongFunction generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("El generador no puede ser null");
+        }
+        if (count <= 0) {
+            return new LongSequence(LongStream::empty);
+        }
+        return new LongSequence(() -> IntStream.range(0, count).mapToLong(generator));
+    }
+
+    /**
+     * Genera una secuencia de valores double calculando cada valor a partir de su posición.
+     *
+     * @param count     La cantidad de valores; si es menor o igual a 0 la secuencia está vacía.
+     * @param generator Función que recibe la posición (desde 0) y devuelve el valor.
+     * @return Una secuencia perezosa de {@code count} valores.
+     * @see #generate(int, IntUnaryOperator)
+     */
+    public static DoubleSequence generateDouble(int count, IntToDoubleFunction generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("El generador no puede ser null");
+        }
+        if (count <= 0) {
+            return new DoubleSequence(DoubleStream::empty);
+        }
+        return new DoubleSequence(() -> IntStream.range(0, count).mapToDouble(generator));
+    }
+
+    /**
+     * Devuelve las líneas de un archivo de texto UTF-8 como una secuencia perezosa.
+     * El archivo se lee por bloques con búferes NIO cada vez que se recorre la secuencia y
+     * sólo la línea actual permanece en memoria, por lo que funciona con archivos de varios GB.
+     *
+     * <p>Un recorrido que se detiene antes del final (por ejemplo {@link #firstOrDefault(Iterable)},
+     * {@link #any}, {@link #take} o un {@code break}) deja el archivo abierto hasta cerrar la fuente, por lo
+     * que debe usarse con try-with-resources:</p>
+     *
+     * <pre>
+     * try (LineSource lineas = Linq.lines(archivo)) {
+     *     String encabezado = Linq.firstOrDefault(lineas);
+     * }
+     * </pre>
+     *
+     * @param file El archivo a leer.
+     * @return Una fuente de líneas que lee el archivo al recorrerse; vacía si el archivo es null.
+     *         Los errores de lectura se propagan como {@link java.io.UncheckedIOException}.
+     */
+    public static LineSource lines(File file) {
+        return new LineSource(file);
+    }
 
-        // Realizar el join
-        return StreamSupport.stream(outer.spliterator(), false)
-                .flatMap(outerItem -> {
-                    TKey key = outerKeySelector.apply(outerItem);
-                    List<TInner> matchingItems = innerLookup.getOrDefault(key, Collections.emptyList());
-                    return matchingItems.stream()
-                            .map(innerItem -> resultSelector.apply(outerItem, innerItem));
-                })
-                .collect(Collectors.toList());
+    /**
+     * Devuelve las líneas de un archivo de texto UTF-8 como una secuencia perezosa.
+     *
+     * @param path La ruta del archivo a leer.
+     * @return Una fuente de líneas que lee el archivo al recorrerse; vacía si la ruta es null.
+     * @see #lines(File)
+     */
+    @RequiresApi(api = Build.VERSION_CODES.O)
+    public static LineSource lines(Path path) {
+        return lines(path == null ? null : path.toFile());
+    }
+
+    /**
+     * Devuelve las filas de un archivo CSV UTF-8 como una secuencia perezosa interpretada según un esquema.
+     * Las columnas sólo se localizan y decodifican cuando se consultan, y los agregados de {@link CsvSource}
+     * interpretan los números directamente desde los bytes.
+     *
+     * <p>Los agregados cierran el archivo al terminar, pero un recorrido que se detiene antes del final lo deja
+     * abierto hasta cerrar la fuente, por lo que debe usarse con try-with-resources, como {@link #lines(File)}.</p>
+     *
+     * <p>Los campos entre comillas pueden contener el separador, comillas escapadas ({@code ""}) y saltos de
+     * línea.</p>
+     *
+     * @param file   El archivo CSV a leer.
+     * @param schema El esquema con el separador y las columnas a exponer.
+     * @return Una fuente CSV que lee el archivo al recorrerse.
+     */
+    public static CsvSource csv(File file, CsvSchema schema) {
+        if (file == null || schema == null) {
+            throw new IllegalArgumentException("El archivo y el esquema no pueden ser null");
+        }
+        return new CsvSource(file, schema);
+    }
+
+    /**
+     * Devuelve las filas de un archivo CSV UTF-8 como una secuencia perezosa interpretada según un esquema.
+     *
+     * @param path   La ruta del archivo CSV a leer.
+     * @param schema El esquema con el separador y las columnas a exponer.
+     * @return Una fuente CSV que lee el archivo al recorrerse.
+     * @see #csv(File, CsvSchema)
+     */
+    @RequiresApi(api = Build.VERSION_CODES.O)
+    public static CsvSource csv(Path path, CsvSchema schema) {
+        return csv(path == null ? null : path.toFile(), schema);
     }
 
     /*
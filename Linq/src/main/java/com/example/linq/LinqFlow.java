@@ -0,0 +1,787 @@
+package com.example.linq;
+
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Versión push de los operadores de {@link Linq} sobre {@link Flow.Publisher}, para eventos que llegan de
+ * sensores o sockets sin acumularlos antes en una lista.
+ *
+ * <p>Cada operador devuelve un nuevo {@code LinqFlow} que no hace nada hasta que alguien se suscribe; cada
+ * suscripción crea su propia cadena de operadores. La contrapresión se respeta: a la fuente sólo se le piden
+ * los elementos que el suscriptor final pidió (más uno por cada elemento que {@link #where}, {@link #distinct}
+ * o {@link #skip} descartan), de modo que la memoria queda acotada aunque el productor emita ráfagas.
+ * {@link #selectMany} y {@link #groupBy} piden a la fuente un elemento o una ventana a la vez.</p>
+ *
+ * <pre>
+ * SubmissionPublisher&lt;Lectura&gt; sensor = new SubmissionPublisher&lt;&gt;();
+ * LinqFlow.from(sensor)
+ *         .where(l -&gt; l.getValor() &gt; umbral)
+ *         .groupBy(Lectura::getSensorId, 100)
+ *         .subscribe(suscriptor);
+ * </pre>
+ *
+ * <p>Las excepciones de los selectores y predicados cancelan la fuente y se entregan con
+ * {@link Flow.Subscriber#onError}.</p>
+ *
+ * @param <T> El tipo de los elementos.
+ */
+@RequiresApi(api = Build.VERSION_CODES.R)
+public final class LinqFlow<T> implements Flow.Publisher<T> {
+
+    private final Flow.Publisher<T> source;
+
+    private LinqFlow(Flow.Publisher<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Adapta un publicador, por ejemplo un {@link java.util.concurrent.SubmissionPublisher}.
+     *
+     * @param <T>       El tipo de los elementos.
+     * @param publisher El publicador de origen.
+     * @return El publicador con los operadores de {@code LinqFlow}.
+     */
+    public static <T> LinqFlow<T> from(Flow.Publisher<T> publisher) {
+        if (publisher == null) {
+            throw new IllegalArgumentException("El publicador no puede ser null");
+        }
+        return publisher instanceof LinqFlow ? (LinqFlow<T>) publisher : new LinqFlow<>(publisher);
+    }
+
+    /**
+     * Envuelve una cadena de operadores en un {@link Flow.Processor}, para insertarla entre un publicador y un
+     * suscriptor existentes. El procesador admite un único suscriptor.
+     *
+     * <pre>
+     * Flow.Processor&lt;String, Integer&gt; longitudes = LinqFlow.processor(f -&gt; f.where(s -&gt; !s.isEmpty()).select(String::length));
+     * publicador.subscribe(longitudes);
+     * longitudes.subscribe(suscriptor);
+     * </pre>
+     *
+     * @param <T>      El tipo de los elementos de entrada.
+     * @param <R>      El tipo de los elementos de salida.
+     * @param pipeline Función que aplica los operadores a la entrada.
+     * @return El procesador.
+     */
+    public static <T, R> Flow.Processor<T, R> processor(Function<LinqFlow<T>, ? extends Flow.Publisher<R>> pipeline) {
+        if (pipeline == null) {
+            throw new IllegalArgumentException("La cadena de operadores no puede ser null");
+        }
+        Bridge<T> input = new Bridge<>();
+        Flow.Publisher<R> output = pipeline.apply(new LinqFlow<>(input));
+        if (output == null) {
+            throw new IllegalArgumentException("La cadena de operadores no puede devolver null");
+        }
+        return new Flow.Processor<T, R>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super R> subscriber) {
+                output.subscribe(subscriber);
+            }
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                input.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(T item) {
+                input.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                input.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                input.onComplete();
+            }
+        };
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("El suscriptor no puede ser null");
+        }
+        source.subscribe(subscriber);
+    }
+
+    /**
+     * @param predicate Condición que deben cumplir los elementos.
+     * @return Los elementos que cumplen la condición.
+     */
+    public LinqFlow<T> where(Predicate<? super T> predicate) {
+        Checks.requireNonNull(predicate, "El predicado no puede ser null");
+        return new LinqFlow<>(subscriber -> source.subscribe(new Filter<>(subscriber, predicate)));
+    }
+
+    /**
+     * @param <R>      El tipo de los elementos resultantes.
+     * @param selector Función de transformación; no debe devolver null.
+     * @return Los elementos transformados.
+     */
+    public <R> LinqFlow<R> select(Function<? super T, ? extends R> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new LinqFlow<>(subscriber -> source.subscribe(new Select<>(subscriber, selector)));
+    }
+
+    /**
+     * Proyecta cada elemento en una secuencia y emite sus elementos. El siguiente elemento de la fuente se
+     * pide cuando la secuencia actual se agotó y el suscriptor tiene demanda pendiente.
+     *
+     * @param <R>      El tipo de los elementos resultantes.
+     * @param selector Función que devuelve la secuencia de cada elemento; null se trata como vacía.
+     * @return Los elementos de todas las secuencias, en orden.
+     */
+    public <R> LinqFlow<R> selectMany(Function<? super T, ? extends Iterable<? extends R>> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new LinqFlow<>(subscriber -> source.subscribe(new FlatMap<>(subscriber, selector)));
+    }
+
+    /**
+     * @return Los elementos sin repetidos; cada suscripción guarda los elementos vistos en su propio conjunto.
+     */
+    public LinqFlow<T> distinct() {
+        return new LinqFlow<>(subscriber -> {
+            Set<T> seen = new HashSet<>();
+            source.subscribe(new Filter<>(subscriber, seen::add));
+        });
+    }
+
+    /**
+     * @param count El número de elementos a emitir; al alcanzarlo se cancela la fuente.
+     * @return Los primeros {@code count} elementos; ninguno si count no es positivo.
+     */
+    public LinqFlow<T> take(long count) {
+        return new LinqFlow<>(subscriber -> source.subscribe(new Take<>(subscriber, Math.max(0, count))));
+    }
+
+    /**
+     * @param count El número de elementos a descartar.
+     * @return Los elementos después de los primeros {@code count}.
+     */
+    public LinqFlow<T> skip(long count) {
+        if (count <= 0) {
+            return this;
+        }
+        return new LinqFlow<>(subscriber -> {
+            long[] skipped = new long[1];
+            source.subscribe(new Filter<>(subscriber, item -> {
+                if (skipped[0] < count) {
+                    skipped[0]++;
+                    return false;
+                }
+                return true;
+            }));
+        });
+    }
+
+    /**
+     * Agrupa los elementos por clave en ventanas consecutivas de {@code windowSize} elementos. Cada ventana se
+     * emite como un mapa, igual que {@link Linq#groupBy(Iterable, Function)}; la última puede estar incompleta.
+     * Sólo se pide a la fuente una ventana cuando el suscriptor tiene demanda.
+     *
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @param windowSize  El número de elementos de cada ventana.
+     * @return Un mapa de grupos por ventana.
+     * @throws IllegalArgumentException Si el selector es null o el tamaño no es positivo.
+     */
+    public <K> LinqFlow<Map<K, List<T>>> groupBy(Function<? super T, ? extends K> keySelector, int windowSize) {
+        Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de la ventana debe ser positivo: " + windowSize);
+        }
+        return new LinqFlow<>(subscriber -> source.subscribe(new Window<>(subscriber, keySelector, windowSize)));
+    }
+
+    /**
+     * Agrupa el flujo en ventanas fijas de tiempo de evento y agrega cada clave dentro de cada ventana, como
+     * {@link Linq#groupByWindow}. Cada ventana se emite en cuanto la marca de agua (la mayor marca de tiempo
+     * vista menos {@code allowedLateness}) alcanza su fin, y su estado se descarta; al completarse la fuente se
+     * emiten las que quedaban abiertas. Los elementos de ventanas ya cerradas se descartan.
+     *
+     * @param <K>               El tipo de la clave de agrupación.
+     * @param <R>               El tipo del resultado de cada grupo.
+     * @param keySelector       Función para extraer la clave de cada elemento.
+     * @param timestampSelector Función para extraer la marca de tiempo de cada elemento.
+     * @param windowSize        La duración de cada ventana.
+     * @param allowedLateness   Cuánto puede retrasarse un elemento respecto del más reciente visto.
+     * @param aggregator        La agregación de cada clave; ver {@link Aggregators}.
+     * @return Las ventanas cerradas, en orden de inicio.
+     * @throws IllegalArgumentException Si algún argumento es null, el tamaño no es positivo o el retraso es negativo.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, R> LinqFlow<TimeWindow<K, R>> groupByWindow(Function<? super T, ? extends K> keySelector,
+                                                           ToLongFunction<? super T> timestampSelector,
+                                                           long windowSize, long allowedLateness,
+                                                           Aggregator<? super T, ?, R> aggregator) {
+        Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+        Checks.requireNonNull(timestampSelector, "El selector de marca de tiempo no puede ser null");
+        Checks.requireNonNull(aggregator, "La agregación no puede ser null");
+        Linq.checkWindow(windowSize, allowedLateness);
+        Aggregator<T, Object, R> typed = (Aggregator<T, Object, R>) aggregator;
+        return new LinqFlow<>(subscriber -> source.subscribe(new TimeWindows<>(subscriber,
+                new EventTimeWindows<>(keySelector, timestampSelector, typed, windowSize, allowedLateness))));
+    }
+
+    /**
+     * Operador que pasa la suscripción de la fuente sin cambios: cada pedido del suscriptor llega a la fuente.
+     */
+    private abstract static class Stage<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+        final Flow.Subscriber<? super R> downstream;
+        Flow.Subscription upstream;
+        boolean done;
+
+        Stage(Flow.Subscriber<? super R> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+
+        void fail(RuntimeException e) {
+            upstream.cancel();
+            onError(e);
+        }
+    }
+
+    private static final class Filter<T> extends Stage<T, T> {
+        private final Predicate<? super T> predicate;
+
+        Filter(Flow.Subscriber<? super T> downstream, Predicate<? super T> predicate) {
+            super(downstream);
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean keep;
+            try {
+                keep = predicate.test(item);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            if (keep) {
+                downstream.onNext(item);
+            } else {
+                // El elemento descartado no consume la demanda del suscriptor
+                upstream.request(1);
+            }
+        }
+    }
+
+    private static final class Select<T, R> extends Stage<T, R> {
+        private final Function<? super T, ? extends R> selector;
+
+        Select(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends R> selector) {
+            super(downstream);
+            this.selector = selector;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R result;
+            try {
+                result = selector.apply(item);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(result);
+        }
+    }
+
+    private static final class Take<T> extends Stage<T, T> {
+        private long remaining;
+
+        Take(Flow.Subscriber<? super T> downstream, long count) {
+            super(downstream);
+            this.remaining = count;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            boolean first = upstream == null;
+            super.onSubscribe(subscription);
+            if (first && remaining == 0) {
+                upstream.cancel();
+                onComplete();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            downstream.onNext(item);
+            if (--remaining == 0) {
+                upstream.cancel();
+                onComplete();
+            }
+        }
+    }
+
+    /**
+     * Operador con búfer propio: los elementos de la fuente pasan por una cola y un único hilo a la vez los
+     * convierte y los entrega según la demanda del suscriptor. A la fuente se le pide lo que indica
+     * {@link #upstreamWanted()} sólo cuando no hay pedidos pendientes y el suscriptor tiene demanda.
+     */
+    private abstract static class Buffered<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+        final Flow.Subscriber<? super R> downstream;
+        private final ConcurrentLinkedQueue<T> inbox = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Flow.Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+        // Sólo se usan dentro de drain()
+        private long outstanding;
+        private boolean finished;
+
+        Buffered(Flow.Subscriber<? super R> downstream) {
+            this.downstream = downstream;
+        }
+
+        /** @return Verdadero si puede procesar otro elemento de la fuente. */
+        abstract boolean canAccept();
+
+        abstract void accept(T item);
+
+        /** @return El siguiente resultado listo, o null; con {@code last} se vacía lo que quede. */
+        abstract R poll(boolean last);
+
+        /** @return Verdadero si queda algún resultado por entregar. */
+        abstract boolean hasPending();
+
+        abstract long upstreamWanted();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            drain();
+        }
+
+        @Override
+        public void onNext(T item) {
+            inbox.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                upstream.cancel();
+                onError(new IllegalArgumentException("La demanda debe ser positiva: " + n));
+                return;
+            }
+            long current;
+            do {
+                current = requested.get();
+            } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.cancel();
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                drainLoop();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainLoop() {
+            try {
+                while (!finished) {
+                    if (cancelled) {
+                        finished = true;
+                        inbox.clear();
+                        return;
+                    }
+                    Throwable failure = error;
+                    if (failure != null) {
+                        finish(failure);
+                        return;
+                    }
+                    boolean demand = requested.get() > 0;
+                    if (demand) {
+                        R result = poll(false);
+                        if (result != null) {
+                            emit(result);
+                            continue;
+                        }
+                    }
+                    if (canAccept()) {
+                        T item = inbox.poll();
+                        if (item != null) {
+                            outstanding--;
+                            accept(item);
+                            continue;
+                        }
+                    }
+                    if (upstreamDone && inbox.isEmpty()) {
+                        if (!demand) {
+                            // Lo que queda espera a que el suscriptor pida más
+                            if (!hasPending()) {
+                                finish(null);
+                            }
+                            return;
+                        }
+                        R result = poll(true);
+                        if (result != null) {
+                            emit(result);
+                            continue;
+                        }
+                        finish(null);
+                        return;
+                    }
+                    if (demand && outstanding == 0 && canAccept() && !upstreamDone) {
+                        long n = upstreamWanted();
+                        outstanding += n;
+                        upstream.request(n);
+                        continue;
+                    }
+                    return;
+                }
+            } catch (RuntimeException e) {
+                upstream.cancel();
+                finish(e);
+            }
+        }
+
+        private void emit(R result) {
+            requested.decrementAndGet();
+            downstream.onNext(result);
+        }
+
+        private void finish(Throwable failure) {
+            finished = true;
+            inbox.clear();
+            if (failure != null) {
+                downstream.onError(failure);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    private static final class FlatMap<T, R> extends Buffered<T, R> {
+        private final Function<? super T, ? extends Iterable<? extends R>> selector;
+        private Iterator<? extends R> current;
+
+        FlatMap(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends Iterable<? extends R>> selector) {
+            super(downstream);
+            this.selector = selector;
+        }
+
+        @Override
+        boolean canAccept() {
+            return current == null;
+        }
+
+        @Override
+        void accept(T item) {
+            Iterable<? extends R> results = selector.apply(item);
+            current = results == null ? null : results.iterator();
+        }
+
+        @Override
+        R poll(boolean last) {
+            if (current != null && current.hasNext()) {
+                return current.next();
+            }
+            current = null;
+            return null;
+        }
+
+        @Override
+        boolean hasPending() {
+            return current != null && current.hasNext();
+        }
+
+        @Override
+        long upstreamWanted() {
+            return 1;
+        }
+    }
+
+    private static final class Window<T, K> extends Buffered<T, Map<K, List<T>>> {
+        private final Function<? super T, ? extends K> keySelector;
+        private final int size;
+        private Map<K, List<T>> groups = new HashMap<>();
+        private int count;
+
+        Window(Flow.Subscriber<? super Map<K, List<T>>> downstream,
+               Function<? super T, ? extends K> keySelector, int size) {
+            super(downstream);
+            this.keySelector = keySelector;
+            this.size = size;
+        }
+
+        @Override
+        boolean canAccept() {
+            return count < size;
+        }
+
+        @Override
+        void accept(T item) {
+            K key = keySelector.apply(item);
+            List<T> group = groups.get(key);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(key, group);
+            }
+            group.add(item);
+            count++;
+        }
+
+        @Override
+        Map<K, List<T>> poll(boolean last) {
+            if (count < size && (!last || count == 0)) {
+                return null;
+            }
+            Map<K, List<T>> window = groups;
+            groups = new HashMap<>();
+            count = 0;
+            return window;
+        }
+
+        @Override
+        boolean hasPending() {
+            return count > 0;
+        }
+
+        @Override
+        long upstreamWanted() {
+            return size - count;
+        }
+    }
+
+    private static final class TimeWindows<T, K, A, R> extends Buffered<T, TimeWindow<K, R>> {
+        // Elementos que se piden a la fuente de una vez; la mayoría no cierra ninguna ventana
+        private static final int BATCH = 64;
+
+        private final EventTimeWindows<T, K, A, R> windows;
+        private final ArrayDeque<TimeWindow<K, R>> closed = new ArrayDeque<>();
+
+        TimeWindows(Flow.Subscriber<? super TimeWindow<K, R>> downstream, EventTimeWindows<T, K, A, R> windows) {
+            super(downstream);
+            this.windows = windows;
+        }
+
+        @Override
+        boolean canAccept() {
+            return closed.isEmpty();
+        }
+
+        @Override
+        void accept(T item) {
+            windows.add(item, closed);
+        }
+
+        @Override
+        TimeWindow<K, R> poll(boolean last) {
+            if (last && closed.isEmpty()) {
+                windows.flush(closed);
+            }
+            return closed.poll();
+        }
+
+        @Override
+        boolean hasPending() {
+            return !closed.isEmpty() || windows.hasOpenWindows();
+        }
+
+        @Override
+        long upstreamWanted() {
+            return BATCH;
+        }
+    }
+
+    /**
+     * Entrada de {@link #processor}: conecta la suscripción del publicador externo con el primer operador de la
+     * cadena, en el orden en que lleguen. Una señal de fin que llega antes de conectar se guarda y se entrega
+     * después de {@code onSubscribe}.
+     */
+    private static final class Bridge<T> implements Flow.Publisher<T>, Flow.Subscriber<T> {
+        private Flow.Subscriber<? super T> downstream;
+        private Flow.Subscription subscription;
+        private boolean connected;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            Flow.Subscription ready;
+            synchronized (this) {
+                if (downstream != null) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                        }
+
+                        @Override
+                        public void cancel() {
+                        }
+                    });
+                    subscriber.onError(new IllegalStateException("El procesador admite un único suscriptor"));
+                    return;
+                }
+                downstream = subscriber;
+                ready = subscription;
+            }
+            if (ready != null) {
+                connect(ready);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            Flow.Subscriber<? super T> ready;
+            synchronized (this) {
+                if (subscription != null) {
+                    s.cancel();
+                    return;
+                }
+                subscription = s;
+                ready = downstream;
+            }
+            if (ready != null) {
+                connect(s);
+            }
+        }
+
+        private void connect(Flow.Subscription s) {
+            downstream.onSubscribe(s);
+            Throwable failure;
+            boolean done;
+            synchronized (this) {
+                connected = true;
+                failure = error;
+                done = completed;
+            }
+            if (failure != null) {
+                downstream.onError(failure);
+            } else if (done) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                error = throwable;
+                if (!connected) {
+                    return;
+                }
+            }
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                completed = true;
+                if (!connected) {
+                    return;
+                }
+            }
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.linq;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas por llamada de los operadores de {@link Linq}. Cuando hay un {@link Listener} registrado, cada
+ * llamada a un operador notifica su nombre, el tamaño de la entrada y de la salida, el tiempo transcurrido y,
+ * opcionalmente, los bytes asignados por el hilo durante la llamada.
+ *
+ * <p>El listener puede ser global ({@link #setListener}) o limitado al hilo actual mientras un {@link Scope}
+ * esté abierto ({@link #scope}); el de alcance tiene prioridad sobre el global. Sin ningún listener, el costo
+ * por llamada se reduce a la lectura de un campo volátil.</p>
+ *
+ * <pre>
+ *     MetricsAggregator metricas = new MetricsAggregator();
+ *     LinqMetrics.setListener(metricas);
+ *     ...
+ *     Log.d("Linq", metricas.report());
+ * </pre>
+ */
+public final class LinqMetrics {
+
+    /**
+     * Recibe un evento por cada llamada a un operador. Puede invocarse desde varios hilos a la vez y se ejecuta
+     * en el hilo de la llamada, por lo que debe ser rápido. Las excepciones que lance se ignoran.
+     */
+    public interface Listener {
+        void onCall(Event event);
+    }
+
+    /**
+     * Datos de una llamada a un operador.
+     */
+    public static final class Event {
+        private final String operator;
+        private final long inputSize;
+        private final long outputSize;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+
+        Event(String operator, long inputSize, long outputSize, long elapsedNanos, long allocatedBytes) {
+            this.operator = operator;
+            this.inputSize = inputSize;
+            this.outputSize = outputSize;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * @return El nombre del operador, por ejemplo {@code "where"} u {@code "orderByDescending"}.
+         */
+        public String operator() {
+            return operator;
+        }
+
+        /**
+         * @return El número de elementos de la entrada, o -1 si la fuente no es una colección y su tamaño no
+         *         se conoce sin recorrerla. En join y groupJoin es la suma de ambas entradas.
+         */
+        public long inputSize() {
+            return inputSize;
+        }
+
+        /**
+         * @return El número de elementos del resultado: el tamaño de la lista (también de {@link IntList},
+         *         {@link LongList} y {@link DoubleList}) o el mapa devuelto, 1 para
+         *         resultados escalares y 0 para null.
+         */
+        public long outputSize() {
+            return outputSize;
+        }
+
+        /**
+         * @return El tiempo transcurrido en nanosegundos.
+         */
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return Los bytes asignados por el hilo durante la llamada, o -1 si el seguimiento de asignaciones
+         *         está desactivado o la plataforma no lo permite.
+         */
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return operator + "{in=" + inputSize + ", out=" + outputSize + ", ns=" + elapsedNanos
+                    + (allocatedBytes >= 0 ? ", bytes=" + allocatedBytes : "") + "}";
+        }
+    }
+
+    /**
+     * Alcance de un listener en el hilo actual. Al cerrarse restaura el listener de alcance anterior.
+     */
+    public static final class Scope implements Closeable {
+        private final Listener previous;
+        private boolean closed;
+
+        private Scope(Listener previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (previous == null) {
+                SCOPED.remove();
+            } else {
+                SCOPED.set(previous);
+            }
+            OPEN_SCOPES.decrementAndGet();
+            updateActive();
+        }
+    }
+
+    /**
+     * Llamada en curso; sólo existe mientras hay un listener.
+     */
+    static final class Call {
+        final Listener listener;
+        final String operator;
+        final long inputSize;
+        final long startBytes;
+        final long startNanos;
+
+        Call(Listener listener, String operator, long inputSize, long startBytes, long startNanos) {
+            this.listener = listener;
+            this.operator = operator;
+            this.inputSize = inputSize;
+            this.startBytes = startBytes;
+            this.startNanos = startNanos;
+        }
+
+        void finish(long outputSize) {
+            long elapsed = System.nanoTime() - startNanos;
+            long bytes = -1;
+            if (startBytes >= 0) {
+                long now = AllocationCounter.currentThreadAllocatedBytes();
+                bytes = now >= 0 ? now - startBytes : -1;
+            }
+            try {
+                listener.onCall(new Event(operator, inputSize, outputSize, elapsed, bytes));
+            } catch (RuntimeException e) {
+                // Las métricas nunca deben interrumpir la consulta
+            }
+        }
+    }
+
+    private static final ThreadLocal<Listener> SCOPED = new ThreadLocal<>();
+    private static final AtomicInteger OPEN_SCOPES = new AtomicInteger();
+
+    private static volatile Listener globalListener;
+    private static volatile boolean active;
+    private static volatile boolean trackAllocations;
+
+    private LinqMetrics() {
+    }
+
+    /**
+     * Registra el listener global. Reemplaza al anterior.
+     *
+     * @param listener El listener, o null para desactivar las métricas globales.
+     */
+    public static synchronized void setListener(Listener listener) {
+        globalListener = listener;
+        updateActive();
+    }
+
+    /**
+     * @return El listener global, o null si no hay ninguno.
+     */
+    public static Listener getListener() {
+        return globalListener;
+    }
+
+    /**
+     * Activa un listener sólo para las llamadas del hilo actual hasta que se cierre el alcance devuelto.
+     *
+     * <pre>
+     *     try (LinqMetrics.Scope ignored = LinqMetrics.scope(metricas)) {
+     *         generarReporte();
+     *     }
+     * </pre>
+     *
+     * @param listener El listener del alcance.
+     * @return El alcance, que debe cerrarse en el mismo hilo.
+     */
+    public static Scope scope(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("El listener no puede ser null");
+        }
+        Scope scope = new Scope(SCOPED.get());
+        SCOPED.set(listener);
+        OPEN_SCOPES.incrementAndGet();
+        updateActive();
+        return scope;
+    }
+
+    /**
+     * Activa o desactiva la medición de bytes asignados por llamada. Sólo está disponible en JVM con
+     * {@code com.sun.management.ThreadMXBean}; en Android los eventos informan -1.
+     *
+     * @param enabled true para medir asignaciones.
+     */
+    public static void setAllocationTracking(boolean enabled) {
+        trackAllocations = enabled && AllocationCounter.isSupported();
+    }
+
+    /**
+     * @return true si la plataforma permite medir los bytes asignados por hilo.
+     */
+    public static boolean isAllocationTrackingSupported() {
+        return AllocationCounter.isSupported();
+    }
+
+    /**
+     * @return true si hay algún listener global o de alcance registrado.
+     */
+    public static boolean isEnabled() {
+        return active;
+    }
+
+    static Call start(String operator, Object source) {
+        if (!active) {
+            return null;
+        }
+        return begin(operator, sizeOf(source));
+    }
+
+    static Call start(String operator, Object outer, Object inner) {
+        if (!active) {
+            return null;
+        }
+        long outerSize = sizeOf(outer);
+        long innerSize = sizeOf(inner);
+        return begin(operator, outerSize < 0 || innerSize < 0 ? -1 : outerSize + innerSize);
+    }
+
+    static <R> R end(Call call, R result) {
+        if (call != null) {
+            long size = sizeOf(result);
+            call.finish(result == null ? 0 : size >= 0 ? size : 1);
+        }
+        return result;
+    }
+
+    static int end(Call call, int result) {
+        if (call != null) {
+            call.finish(1);
+        }
+        return result;
+    }
+
+    static double end(Call call, double result) {
+        if (call != null) {
+            call.finish(1);
+        }
+        return result;
+    }
+
+    static boolean end(Call call, boolean result) {
+        if (call != null) {
+            call.finish(1);
+        }
+        return result;
+    }
+
+    private static Call begin(String operator, long inputSize) {
+        Listener listener = SCOPED.get();
+        if (listener == null) {
+            listener = globalListener;
+        }
+        if (listener == null) {
+            return null;
+        }
+        long startBytes = trackAllocations ? AllocationCounter.currentThreadAllocatedBytes() : -1;
+        return new Call(listener, operator, inputSize, startBytes, System.nanoTime());
+    }
+
+    private static long sizeOf(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        if (value instanceof IntList) {
+            return ((IntList) value).size();
+        }
+        if (value instanceof LongList) {
+            return ((LongList) value).size();
+        }
+        if (value instanceof DoubleList) {
+            return ((DoubleList) value).size();
+        }
+        return -1;
+    }
+
+    private static synchronized void updateActive() {
+        active = globalListener != null || OPEN_SCOPES.get() > 0;
+    }
+}
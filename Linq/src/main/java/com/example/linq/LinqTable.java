@@ -0,0 +1,1044 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Tabla columnar inmutable construida a partir de un Iterable&lt;T&gt; mediante selectores de columna.
+ * Cada columna se almacena en un arreglo primitivo (int[], long[], double[]) o de String[],
+ * de modo que los filtros y agregados recorren memoria contigua en lugar de objetos dispersos en el heap.
+ *
+ * <p>Las operaciones que filtran u ordenan no copian las columnas: devuelven una vista que comparte
+ * los arreglos y guarda un vector de selección con los índices de las filas visibles.</p>
+ *
+ * <pre>
+ * LinqTable tabla = LinqTable.from(productos)
+ *         .stringColumn("categoria", Producto::getCategoria)
+ *         .doubleColumn("precio", Producto::getPrecio)
+ *         .build();
+ *
+ * double total = tabla.whereDouble("precio", p -&gt; p &gt; 100).sum("precio");
+ * </pre>
+ */
+public final class LinqTable {
+
+    private final int rowCount;
+    private final Map<String, Column> columns;
+    // null significa "todas las filas en orden físico"
+    private final int[] selection;
+
+    private LinqTable(int rowCount, Map<String, Column> columns, int[] selection) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.selection = selection;
+    }
+
+    /**
+     * Inicia la construcción de una tabla a partir de una secuencia de objetos.
+     *
+     * @param <T>    El tipo de los elementos de la fuente.
+     * @param source La colección Iterable&lt;T&gt; de la que se extraerán las columnas. Si es null se crea una tabla vacía.
+     * @return Un constructor en el que se declaran las columnas a extraer.
+     */
+    public static <T> Builder<T> from(Iterable<T> source) {
+        return new Builder<>(source);
+    }
+
+    /**
+     * Devuelve el número de filas visibles de la tabla.
+     *
+     * @return La cantidad de filas después de aplicar filtros.
+     */
+    public int size() {
+        return selection == null ? rowCount : selection.length;
+    }
+
+    /**
+     * Devuelve los nombres de las columnas en el orden en que se declararon.
+     *
+     * @return Una lista inmutable con los nombres de las columnas.
+     */
+    public List<String> columnNames() {
+        return Collections.unmodifiableList(new ArrayList<>(columns.keySet()));
+    }
+
+    // ---------------------------------------------------------------------
+    // Filtrado
+    // ---------------------------------------------------------------------
+
+    /**
+     * Filtra las filas cuyo valor en una columna int cumple el predicado.
+     *
+     * @param column    Nombre de una columna de tipo int.
+     * @param predicate Predicado a evaluar sobre cada valor.
+     * @return Una vista de la tabla con las filas que cumplen la condición; la misma tabla si el predicado es null.
+     */
+    public LinqTable whereInt(String column, IntPredicate predicate) {
+        int[] values = intColumn(column).values;
+        if (predicate == null) {
+            return this;
+        }
+        int n = size();
+        int[] out = new int[n];
+        int count = 0;
+        if (selection == null) {
+            for (int row = 0; row < n; row++) {
+                if (predicate.test(values[row])) {
+                    out[count++] = row;
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                int row = selection[i];
+                if (predicate.test(values[row])) {
+                    out[count++] = row;
+                }
+            }
+        }
+        return withSelection(Arrays.copyOf(out, count));
+    }
+
+    /**
+     * Filtra las filas cuyo valor en una columna long cumple el predicado.
+     *
+     * @param column    Nombre de una columna de tipo long.
+     * @param predicate Predicado a evaluar sobre cada valor.
+     * @return Una vista de la tabla con las filas que cumplen la condición; la misma tabla si el predicado es null.
+     */
+    public LinqTable whereLong(String column, LongPredicate predicate) {
+        long[] values = longColumn(column).values;
+        if (predicate == null) {
+            return this;
+        }
+        int n = size();
+        int[] out = new int[n];
+        int count = 0;
+        if (selection == null) {
+            for (int row = 0; row < n; row++) {
+                if (predicate.test(values[row])) {
+                    out[count++] = row;
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                int row = selection[i];
+                if (predicate.test(values[row])) {
+                    out[count++] = row;
+                }
+            }
+        }
+        return withSelection(Arrays.copyOf(out, count));
+    }
+
+    /**
+     * Filtra las filas cuyo valor en una columna double cumple el predicado.
+     *
+     * @param column    Nombre de una columna de tipo double.
+     * @param predicate Predicado a evaluar sobre cada valor.
+     * @return Una vista de la tabla con las filas que cumplen la condición; la misma tabla si el predicado es null.
+     */
+    public LinqTable whereDouble(String column, DoublePredicate predicate) {
+        double[] values = doubleColumn(column).values;
+        if (predicate == null) {
+            return this;
+        }
+        int n = size();
+        int[] out = new int[n];
+        int count = 0;
+        if (selection == null) {
+            for (int row = 0; row < n; row++) {
+                if (predicate.test(values[row])) {
+                    out[count++] = row;
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                int row = selection[i];
+                if (predicate.test(values[row])) {
+                    out[count++] = row;
+                }
+            }
+        }
+        return withSelection(Arrays.copyOf(out, count));
+    }
+
+    /**
+     * Filtra las filas cuyo valor en una columna String cumple el predicado.
+     *
+     * @param column    Nombre de una columna de tipo String.
+     * @param predicate Predicado a evaluar sobre cada valor.
+     * @return Una vista de la tabla con las filas que cumplen la condición; la misma tabla si el predicado es null.
+     */
+    public LinqTable whereString(String column, Predicate<String> predicate) {
+        String[] values = stringColumn(column).values;
+        if (predicate == null) {
+            return this;
+        }
+        int n = size();
+        int[] out = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int row = selection == null ? i : selection[i];
+            if (predicate.test(values[row])) {
+                out[count++] = row;
+            }
+        }
+        return withSelection(Arrays.copyOf(out, count));
+    }
+
+    // ---------------------------------------------------------------------
+    // Proyección y agrupación
+    // ---------------------------------------------------------------------
+
+    /**
+     * Proyecta la tabla sobre un subconjunto de columnas. Los arreglos subyacentes se comparten.
+     *
+     * @param columnNames Nombres de las columnas a conservar, en el orden deseado.
+     * @return Una vista de la tabla que sólo expone las columnas indicadas.
+     */
+    public LinqTable select(String... columnNames) {
+        Map<String, Column> projected = new LinkedHashMap<>();
+        if (columnNames != null) {
+            for (String name : columnNames) {
+                projected.put(name, column(name));
+            }
+        }
+        return new LinqTable(rowCount, projected, selection);
+    }
+
+    /**
+     * Agrupa las filas visibles según el valor de una columna.
+     *
+     * @param column Nombre de la columna que actúa como clave (Integer, Long, Double o String según su tipo).
+     * @return Un Map cuyas claves son los valores distintos de la columna y cuyos valores son vistas
+     *         de la tabla con las filas de cada grupo, en el orden de la tabla original.
+     */
+    public Map<Object, LinqTable> groupBy(String column) {
+        Column keys = column(column);
+        Map<Object, RowBuffer> buffers = new HashMap<>();
+        int n = size();
+        for (int i = 0; i < n; i++) {
+            int row = selection == null ? i : selection[i];
+            Object key = keys.keyAt(row);
+            RowBuffer buffer = buffers.get(key);
+            if (buffer == null) {
+                buffer = new RowBuffer();
+                buffers.put(key, buffer);
+            }
+            buffer.add(row);
+        }
+
+        Map<Object, LinqTable> result = new HashMap<>();
+        for (Map.Entry<Object, RowBuffer> entry : buffers.entrySet()) {
+            result.put(entry.getKey(), withSelection(entry.getValue().toArray()));
+        }
+        return result;
+    }
+
+    // ---------------------------------------------------------------------
+    // Agregación
+    // ---------------------------------------------------------------------
+
+    /**
+     * Calcula la suma de una columna numérica sobre las filas visibles.
+     *
+     * @param column Nombre de una columna int, long o double.
+     * @return La suma como double; 0 si la tabla no tiene filas.
+     */
+    public double sum(String column) {
+        return numericColumn(column).sum(selection, size());
+    }
+
+    /**
+     * Calcula el promedio de una columna numérica sobre las filas visibles.
+     *
+     * @param column Nombre de una columna int, long o double.
+     * @return El promedio como double; 0 si la tabla no tiene filas.
+     */
+    public double average(String column) {
+        NumericColumn values = numericColumn(column);
+        int n = size();
+        return n == 0 ? 0.0 : values.sum(selection, n) / n;
+    }
+
+    /**
+     * Encuentra el valor mínimo de una columna numérica sobre las filas visibles.
+     *
+     * @param column Nombre de una columna int, long o double.
+     * @return El valor mínimo como double; 0 si la tabla no tiene filas.
+     */
+    public double min(String column) {
+        return numericColumn(column).min(selection, size());
+    }
+
+    /**
+     * Encuentra el valor máximo de una columna numérica sobre las filas visibles.
+     *
+     * @param column Nombre de una columna int, long o double.
+     * @return El valor máximo como double; 0 si la tabla no tiene filas.
+     */
+    public double max(String column) {
+        return numericColumn(column).max(selection, size());
+    }
+
+    // ---------------------------------------------------------------------
+    // Ordenación
+    // ---------------------------------------------------------------------
+
+    /**
+     * Ordena las filas visibles en orden ascendente según una columna.
+     *
+     * @param column Nombre de la columna de ordenación.
+     * @return Una vista de la tabla con el vector de selección ordenado.
+     */
+    public LinqTable orderBy(String column) {
+        return orderBy(column, true);
+    }
+
+    /**
+     * Ordena las filas visibles en orden descendente según una columna.
+     *
+     * @param column Nombre de la columna de ordenación.
+     * @return Una vista de la tabla con el vector de selección ordenado.
+     */
+    public LinqTable orderByDescending(String column) {
+        return orderBy(column, false);
+    }
+
+    /**
+     * Ordena las filas visibles según una columna. La ordenación es estable: las filas con
+     * el mismo valor conservan su orden relativo.
+     *
+     * @param column    Nombre de la columna de ordenación.
+     * @param ascending true para orden ascendente, false para orden descendente.
+     * @return Una vista de la tabla con el vector de selección ordenado.
+     */
+    public LinqTable orderBy(String column, boolean ascending) {
+        Column keys = column(column);
+        int n = size();
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = selection == null ? i : selection[i];
+        }
+        int[] buffer = new int[n];
+        mergeSort(rows, buffer, 0, n, keys, ascending ? 1 : -1);
+        return withSelection(rows);
+    }
+
+    // ---------------------------------------------------------------------
+    // Acceso a valores
+    // ---------------------------------------------------------------------
+
+    /**
+     * Devuelve el valor int de una fila visible.
+     *
+     * @param column Nombre de una columna int.
+     * @param index  Índice de la fila visible (basado en 0).
+     * @return El valor almacenado.
+     */
+    public int getInt(String column, int index) {
+        return intColumn(column).values[row(index)];
+    }
+
+    /**
+     * Devuelve el valor long de una fila visible.
+     *
+     * @param column Nombre de una columna long.
+     * @param index  Índice de la fila visible (basado en 0).
+     * @return El valor almacenado.
+     */
+    public long getLong(String column, int index) {
+        return longColumn(column).values[row(index)];
+    }
+
+    /**
+     * Devuelve el valor double de una fila visible.
+     *
+     * @param column Nombre de una columna double.
+     * @param index  Índice de la fila visible (basado en 0).
+     * @return El valor almacenado.
+     */
+    public double getDouble(String column, int index) {
+        return doubleColumn(column).values[row(index)];
+    }
+
+    /**
+     * Devuelve el valor String de una fila visible.
+     *
+     * @param column Nombre de una columna String.
+     * @param index  Índice de la fila visible (basado en 0).
+     * @return El valor almacenado (puede ser null).
+     */
+    public String getString(String column, int index) {
+        return stringColumn(column).values[row(index)];
+    }
+
+    /**
+     * Copia los valores visibles de una columna int a un nuevo arreglo.
+     *
+     * @param column Nombre de una columna int.
+     * @return Un arreglo con los valores en el orden de la tabla.
+     */
+    public int[] toIntArray(String column) {
+        int[] values = intColumn(column).values;
+        if (selection == null) {
+            return Arrays.copyOf(values, rowCount);
+        }
+        int[] out = new int[selection.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = values[selection[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Copia los valores visibles de una columna long a un nuevo arreglo.
+     *
+     * @param column Nombre de una columna long.
+     * @return Un arreglo con los valores en el orden de la tabla.
+     */
+    public long[] toLongArray(String column) {
+        long[] values = longColumn(column).values;
+        if (selection == null) {
+            return Arrays.copyOf(values, rowCount);
+        }
+        long[] out = new long[selection.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = values[selection[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Copia los valores visibles de una columna double a un nuevo arreglo.
+     *
+     * @param column Nombre de una columna double.
+     * @return Un arreglo con los valores en el orden de la tabla.
+     */
+    public double[] toDoubleArray(String column) {
+        double[] values = doubleColumn(column).values;
+        if (selection == null) {
+            return Arrays.copyOf(values, rowCount);
+        }
+        double[] out = new double[selection.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = values[selection[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Copia los valores visibles de una columna String a una nueva lista.
+     *
+     * @param column Nombre de una columna String.
+     * @return Una lista con los valores en el orden de la tabla.
+     */
+    public List<String> toStringList(String column) {
+        String[] values = stringColumn(column).values;
+        int n = size();
+        List<String> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(values[row(i)]);
+        }
+        return out;
+    }
+
+    // ---------------------------------------------------------------------
+    // Internos
+    // ---------------------------------------------------------------------
+
+    private int row(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + size());
+        }
+        return selection == null ? index : selection[index];
+    }
+
+    private LinqTable withSelection(int[] newSelection) {
+        return new LinqTable(rowCount, columns, newSelection);
+    }
+
+    private Column column(String name) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("La columna '" + name + "' no existe");
+        }
+        return column;
+    }
+
+    private NumericColumn numericColumn(String name) {
+        Column column = column(name);
+        if (!(column instanceof NumericColumn)) {
+            throw new IllegalArgumentException("La columna '" + name + "' no es numérica");
+        }
+        return (NumericColumn) column;
+    }
+
+    private IntColumn intColumn(String name) {
+        Column column = column(name);
+        if (!(column instanceof IntColumn)) {
+            throw new IllegalArgumentException("La columna '" + name + "' no es de tipo int");
+        }
+        return (IntColumn) column;
+    }
+
+    private LongColumn longColumn(String name) {
+        Column column = column(name);
+        if (!(column instanceof LongColumn)) {
+            throw new IllegalArgumentException("La columna '" + name + "' no es de tipo long");
+        }
+        return (LongColumn) column;
+    }
+
+    private DoubleColumn doubleColumn(String name) {
+        Column column = column(name);
+        if (!(column instanceof DoubleColumn)) {
+            throw new IllegalArgumentException("La columna '" + name + "' no es de tipo double");
+        }
+        return (DoubleColumn) column;
+    }
+
+    private StringColumn stringColumn(String name) {
+        Column column = column(name);
+        if (!(column instanceof StringColumn)) {
+            throw new IllegalArgumentException("La columna '" + name + "' no es de tipo String");
+        }
+        return (StringColumn) column;
+    }
+
+    // Merge sort estable sobre índices de fila; sign = 1 ascendente, -1 descendente.
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, Column keys, int sign) {
+        if (to - from < 2) {
+            return;
+        }
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int current = rows[i];
+                int j = i - 1;
+                while (j >= from && sign * keys.compare(rows[j], current) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid, keys, sign);
+        mergeSort(rows, buffer, mid, to, keys, sign);
+        if (sign * keys.compare(rows[mid - 1], rows[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && sign * keys.compare(buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Constructor de {@link LinqTable}. Declara las columnas y recorre la fuente una sola vez en {@link #build()}.
+     *
+     * @param <T> El tipo de los elementos de la fuente.
+     */
+    public static final class Builder<T> {
+        private final Iterable<T> source;
+        private final Map<String, ColumnSpec<T>> specs = new LinkedHashMap<>();
+
+        private Builder(Iterable<T> source) {
+            this.source = source;
+        }
+
+        /**
+         * Declara una columna int.
+         *
+         * @param name     Nombre de la columna.
+         * @param selector Función que extrae el valor de cada elemento.
+         * @return Este constructor.
+         */
+        public Builder<T> intColumn(String name, ToIntFunction<T> selector) {
+            return add(name, new IntSpec<>(selector));
+        }
+
+        /**
+         * Declara una columna long.
+         *
+         * @param name     Nombre de la columna.
+         * @param selector Función que extrae el valor de cada elemento.
+         * @return Este constructor.
+         */
+        public Builder<T> longColumn(String name, ToLongFunction<T> selector) {
+            return add(name, new LongSpec<>(selector));
+        }
+
+        /**
+         * Declara una columna double.
+         *
+         * @param name     Nombre de la columna.
+         * @param selector Función que extrae el valor de cada elemento.
+         * @return Este constructor.
+         */
+        public Builder<T> doubleColumn(String name, ToDoubleFunction<T> selector) {
+            return add(name, new DoubleSpec<>(selector));
+        }
+
+        /**
+         * Declara una columna String.
+         *
+         * @param name     Nombre de la columna.
+         * @param selector Función que extrae el valor de cada elemento.
+         * @return Este constructor.
+         */
+        public Builder<T> stringColumn(String name, Function<T, String> selector) {
+            return add(name, new StringSpec<>(selector));
+        }
+
+        /**
+         * Recorre la fuente y construye la tabla.
+         *
+         * @return Una nueva tabla con las columnas declaradas; vacía si la fuente es null.
+         */
+        public LinqTable build() {
+            int capacity = source instanceof Collection ? ((Collection<?>) source).size() : 16;
+            for (ColumnSpec<T> spec : specs.values()) {
+                spec.allocate(capacity);
+            }
+            int rows = 0;
+            if (source != null) {
+                for (T item : source) {
+                    for (ColumnSpec<T> spec : specs.values()) {
+                        spec.append(item, rows);
+                    }
+                    rows++;
+                }
+            }
+            Map<String, Column> columns = new LinkedHashMap<>();
+            for (Map.Entry<String, ColumnSpec<T>> entry : specs.entrySet()) {
+                columns.put(entry.getKey(), entry.getValue().finish(rows));
+            }
+            return new LinqTable(rows, columns, null);
+        }
+
+        private Builder<T> add(String name, ColumnSpec<T> spec) {
+            if (name == null) {
+                throw new IllegalArgumentException("El nombre de la columna no puede ser null");
+            }
+            if (spec.hasNullSelector()) {
+                throw new IllegalArgumentException("El selector de la columna '" + name + "' no puede ser null");
+            }
+            if (specs.containsKey(name)) {
+                throw new IllegalArgumentException("La columna '" + name + "' ya fue declarada");
+            }
+            specs.put(name, spec);
+            return this;
+        }
+    }
+
+    private abstract static class ColumnSpec<T> {
+        abstract boolean hasNullSelector();
+
+        abstract void allocate(int capacity);
+
+        abstract void append(T item, int row);
+
+        abstract Column finish(int rows);
+
+        static int grow(int length, int row) {
+            return Math.max(row + 1, Math.max(16, length + (length >> 1)));
+        }
+    }
+
+    private static final class IntSpec<T> extends ColumnSpec<T> {
+        private final ToIntFunction<T> selector;
+        private int[] values;
+
+        IntSpec(ToIntFunction<T> selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        boolean hasNullSelector() {
+            return selector == null;
+        }
+
+        @Override
+        void allocate(int capacity) {
+            values = new int[capacity];
+        }
+
+        @Override
+        void append(T item, int row) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = selector.applyAsInt(item);
+        }
+
+        @Override
+        Column finish(int rows) {
+            return new IntColumn(values.length == rows ? values : Arrays.copyOf(values, rows));
+        }
+    }
+
+    private static final class LongSpec<T> extends ColumnSpec<T> {
+        private final ToLongFunction<T> selector;
+        private long[] values;
+
+        LongSpec(ToLongFunction<T> selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        boolean hasNullSelector() {
+            return selector == null;
+        }
+
+        @Override
+        void allocate(int capacity) {
+            values = new long[capacity];
+        }
+
+        @Override
+        void append(T item, int row) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = selector.applyAsLong(item);
+        }
+
+        @Override
+        Column finish(int rows) {
+            return new LongColumn(values.length == rows ? values : Arrays.copyOf(values, rows));
+        }
+    }
+
+    private static final class DoubleSpec<T> extends ColumnSpec<T> {
+        private final ToDoubleFunction<T> selector;
+        private double[] values;
+
+        DoubleSpec(ToDoubleFunction<T> selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        boolean hasNullSelector() {
+            return selector == null;
+        }
+
+        @Override
+        void allocate(int capacity) {
+            values = new double[capacity];
+        }
+
+        @Override
+        void append(T item, int row) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = selector.applyAsDouble(item);
+        }
+
+        @Override
+        Column finish(int rows) {
+            return new DoubleColumn(values.length == rows ? values : Arrays.copyOf(values, rows));
+        }
+    }
+
+    private static final class StringSpec<T> extends ColumnSpec<T> {
+        private final Function<T, String> selector;
+        private String[] values;
+
+        StringSpec(Function<T, String> selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        boolean hasNullSelector() {
+            return selector == null;
+        }
+
+        @Override
+        void allocate(int capacity) {
+            values = new String[capacity];
+        }
+
+        @Override
+        void append(T item, int row) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = selector.apply(item);
+        }
+
+        @Override
+        Column finish(int rows) {
+            return new StringColumn(values.length == rows ? values : Arrays.copyOf(values, rows));
+        }
+    }
+
+    private abstract static class Column {
+        abstract Object keyAt(int row);
+
+        abstract int compare(int rowA, int rowB);
+    }
+
+    // Columnas int, long y double: agregan las filas seleccionadas (todas si selection es null)
+    private abstract static class NumericColumn extends Column {
+        abstract double sum(int[] selection, int n);
+
+        abstract double min(int[] selection, int n);
+
+        abstract double max(int[] selection, int n);
+    }
+
+    private static final class IntColumn extends NumericColumn {
+        final int[] values;
+
+        IntColumn(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        int compare(int rowA, int rowB) {
+            return Integer.compare(values[rowA], values[rowB]);
+        }
+
+        @Override
+        double sum(int[] selection, int n) {
+            long total = 0;
+            if (selection == null) {
+                for (int row = 0; row < n; row++) {
+                    total += values[row];
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    total += values[selection[i]];
+                }
+            }
+            return total;
+        }
+
+        @Override
+        double min(int[] selection, int n) {
+            if (n == 0) {
+                return 0.0;
+            }
+            int result = Integer.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                int value = values[selection == null ? i : selection[i]];
+                if (value < result) {
+                    result = value;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        double max(int[] selection, int n) {
+            if (n == 0) {
+                return 0.0;
+            }
+            int result = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                int value = values[selection == null ? i : selection[i]];
+                if (value > result) {
+                    result = value;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class LongColumn extends NumericColumn {
+        final long[] values;
+
+        LongColumn(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        int compare(int rowA, int rowB) {
+            return Long.compare(values[rowA], values[rowB]);
+        }
+
+        // Suma en long para no perder precisión por encima de 2^53; sólo si desborda se repite en double
+        @Override
+        double sum(int[] selection, int n) {
+            long total = 0;
+            try {
+                if (selection == null) {
+                    for (int row = 0; row < n; row++) {
+                        total = Math.addExact(total, values[row]);
+                    }
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        total = Math.addExact(total, values[selection[i]]);
+                    }
+                }
+            } catch (ArithmeticException overflow) {
+                double wide = 0;
+                for (int i = 0; i < n; i++) {
+                    wide += values[selection == null ? i : selection[i]];
+                }
+                return wide;
+            }
+            return total;
+        }
+
+        @Override
+        double min(int[] selection, int n) {
+            if (n == 0) {
+                return 0.0;
+            }
+            long result = Long.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                long value = values[selection == null ? i : selection[i]];
+                if (value < result) {
+                    result = value;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        double max(int[] selection, int n) {
+            if (n == 0) {
+                return 0.0;
+            }
+            long result = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                long value = values[selection == null ? i : selection[i]];
+                if (value > result) {
+                    result = value;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class DoubleColumn extends NumericColumn {
+        final double[] values;
+
+        DoubleColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        int compare(int rowA, int rowB) {
+            return Double.compare(values[rowA], values[rowB]);
+        }
+
+        @Override
+        double sum(int[] selection, int n) {
+            double total = 0;
+            if (selection == null) {
+                for (int row = 0; row < n; row++) {
+                    total += values[row];
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    total += values[selection[i]];
+                }
+            }
+            return total;
+        }
+
+        @Override
+        double min(int[] selection, int n) {
+            if (n == 0) {
+                return 0.0;
+            }
+            double result = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                result = Math.min(result, values[selection == null ? i : selection[i]]);
+            }
+            return result;
+        }
+
+        @Override
+        double max(int[] selection, int n) {
+            if (n == 0) {
+                return 0.0;
+            }
+            double result = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                result = Math.max(result, values[selection == null ? i : selection[i]]);
+            }
+            return result;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        final String[] values;
+
+        StringColumn(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        int compare(int rowA, int rowB) {
+            String a = values[rowA];
+            String b = values[rowB];
+            if (a == null) {
+                return b == null ? 0 : -1;
+            }
+            return b == null ? 1 : a.compareTo(b);
+        }
+    }
+
+    // Búfer creciente de índices de fila usado al agrupar.
+    private static final class RowBuffer {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size << 1);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lista creciente de valores {@code long} respaldada por un arreglo primitivo, sin cajas: cada valor ocupa
+ * 8 bytes en lugar de una referencia más un {@link Long}. Es el resultado de {@link Linq#selectLong} y puede
+ * agregarse, ordenarse o recorrerse como {@link LongSequence} sin convertir sus valores a objetos.
+ *
+ * <p>No es segura para hilos.</p>
+ */
+public final class LongList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] values;
+    private int size;
+
+    /**
+     * Crea una lista vacía.
+     */
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Crea una lista vacía con capacidad inicial.
+     *
+     * @param capacity La cantidad de valores que caben sin volver a reservar memoria.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public LongList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa");
+        }
+        this.values = new long[capacity];
+    }
+
+    private LongList(long[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Crea una lista con una copia de los valores indicados.
+     *
+     * @param values Los valores iniciales.
+     * @return Una nueva lista; vacía si el arreglo es null.
+     */
+    public static LongList of(long... values) {
+        if (values == null) {
+            return new LongList();
+        }
+        return new LongList(values.clone(), values.length);
+    }
+
+    /**
+     * Agrega un valor al final; cuando hace falta, la capacidad crece alrededor de un 50%.
+     *
+     * @param value El valor a agregar.
+     */
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, values.length + (values.length >> 1) + 1));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * @param index La posición del valor.
+     * @return El valor en la posición indicada.
+     * @throws IndexOutOfBoundsException si la posición no existe.
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Vacía la lista conservando el arreglo reservado, para reutilizarla sin volver a reservar memoria.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return La suma de los valores; 0 si la lista está vacía.
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return El valor mínimo; 0 si la lista está vacía.
+     */
+    public long min() {
+        if (size == 0) {
+            return 0;
+        }
+        long min = values[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return El valor máximo; 0 si la lista está vacía.
+     */
+    public long max() {
+        if (size == 0) {
+            return 0;
+        }
+        long max = values[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return El promedio de los valores; 0.0 si la lista está vacía.
+     */
+    public double average() {
+        return size == 0 ? 0.0 : (double) sum() / size;
+    }
+
+    /**
+     * Ordena los valores en orden ascendente, en el mismo arreglo y sin cajas.
+     *
+     * @return Esta misma lista, para encadenar llamadas.
+     */
+    public LongList sort() {
+        Arrays.sort(values, 0, size);
+        return this;
+    }
+
+    /**
+     * @return Una nueva lista con los valores en orden ascendente; esta lista no cambia.
+     */
+    public LongList sorted() {
+        return new LongList(Arrays.copyOf(values, size), size).sort();
+    }
+
+    /**
+     * @return Un nuevo arreglo con los valores de la lista.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Devuelve una secuencia perezosa sobre una copia de los valores, para encadenar {@code where},
+     * {@code select} y demás operaciones primitivas.
+     *
+     * @return Una secuencia con los valores actuales de la lista.
+     */
+    public LongSequence asSequence() {
+        long[] snapshot = toArray();
+        return new LongSequence(() -> Arrays.stream(snapshot));
+    }
+
+    /**
+     * @return Una nueva lista con los valores convertidos a {@link Long}.
+     */
+    public List<Long> toList() {
+        List<Long> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof LongList)) {
+            return false;
+        }
+        LongList that = (LongList) other;
+        if (size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (values[i] != that.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Igual que Arrays.hashCode sobre los valores, sin copiarlos
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
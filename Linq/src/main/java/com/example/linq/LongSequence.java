@@ -0,0 +1,176 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Secuencia perezosa de valores {@code long} sin cajas. Igual que {@link IntSequence}, cada terminal recorre la
+ * secuencia desde el origen y los valores sólo se convierten a {@link Long} al pasar por {@link #boxed()} o
+ * {@link #toList()}.
+ *
+ * <pre>
+ *     long total = Linq.rangeLong(1, 5_000_000_000L).where(n -&gt; n % 7 == 0).count();
+ * </pre>
+ */
+public final class LongSequence {
+
+    private final Supplier<LongStream> source;
+
+    LongSequence(Supplier<LongStream> source) {
+        this.source = source;
+    }
+
+    /**
+     * Filtra los valores según un predicado.
+     *
+     * @param predicate Predicado que define la condición a cumplir.
+     * @return Una nueva secuencia con los valores que cumplen la condición.
+     */
+    public LongSequence where(LongPredicate predicate) {
+        Checks.requireNonNull(predicate, "El predicado no puede ser null");
+        return new LongSequence(() -> source.get().filter(predicate));
+    }
+
+    /**
+     * Transforma cada valor.
+     *
+     * @param selector Función de transformación que se va a aplicar a cada valor.
+     * @return Una nueva secuencia con los valores transformados.
+     */
+    public LongSequence select(LongUnaryOperator selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new LongSequence(() -> source.get().map(selector));
+    }
+
+    /**
+     * Transforma cada valor en un {@code double}.
+     *
+     * @param selector Función de transformación que se va a aplicar a cada valor.
+     * @return Una nueva secuencia de valores double.
+     */
+    public DoubleSequence selectDouble(LongToDoubleFunction selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return new DoubleSequence(() -> source.get().mapToDouble(selector));
+    }
+
+    /**
+     * Devuelve como máximo el número indicado de valores desde el inicio.
+     *
+     * @param count El número de valores a devolver; si es menor o igual a 0 la secuencia queda vacía.
+     * @return Una nueva secuencia con el límite aplicado.
+     */
+    public LongSequence take(long count) {
+        if (count <= 0) {
+            return new LongSequence(LongStream::empty);
+        }
+        return new LongSequence(() -> source.get().limit(count));
+    }
+
+    /**
+     * Omite el número indicado de valores desde el inicio.
+     *
+     * @param count El número de valores a omitir; si es menor o igual a 0 no se omite nada.
+     * @return Una nueva secuencia sin los primeros valores.
+     */
+    public LongSequence skip(long count) {
+        if (count <= 0) {
+            return this;
+        }
+        return new LongSequence(() -> source.get().skip(count));
+    }
+
+    /**
+     * @return La secuencia convertida a valores {@code double}.
+     */
+    public DoubleSequence asDoubleSequence() {
+        return new DoubleSequence(() -> source.get().asDoubleStream());
+    }
+
+    /**
+     * Cuenta los valores de la secuencia.
+     *
+     * @return La cantidad de valores.
+     */
+    public long count() {
+        return source.get().count();
+    }
+
+    /**
+     * Calcula la suma de los valores.
+     *
+     * @return La suma; 0 si la secuencia está vacía.
+     */
+    public long sum() {
+        return source.get().sum();
+    }
+
+    /**
+     * Encuentra el valor mínimo.
+     *
+     * @return El mínimo; 0 si la secuencia está vacía.
+     */
+    public long min() {
+        return source.get().min().orElse(0L);
+    }
+
+    /**
+     * Encuentra el valor máximo.
+     *
+     * @return El máximo; 0 si la secuencia está vacía.
+     */
+    public long max() {
+        return source.get().max().orElse(0L);
+    }
+
+    /**
+     * Calcula el promedio de los valores.
+     *
+     * @return El promedio; 0.0 si la secuencia está vacía.
+     */
+    public double average() {
+        return source.get().average().orElse(0.0);
+    }
+
+    /**
+     * Ejecuta una acción por cada valor, en orden.
+     *
+     * @param action La acción a ejecutar; si es null no se recorre la secuencia.
+     */
+    public void forEach(LongConsumer action) {
+        if (action != null) {
+            source.get().forEach(action);
+        }
+    }
+
+    /**
+     * @return Un nuevo arreglo con los valores de la secuencia.
+     */
+    public long[] toArray() {
+        return source.get().toArray();
+    }
+
+    /**
+     * Convierte los valores a {@link Long} a medida que se recorren, para usarlos con los operadores de
+     * {@link Linq}. Cada recorrido vuelve a evaluar la secuencia.
+     *
+     * @return Una secuencia perezosa de objetos.
+     */
+    public Iterable<Long> boxed() {
+        return () -> source.get().iterator();
+    }
+
+    /**
+     * @return Una nueva lista con los valores convertidos a {@link Long}.
+     */
+    public List<Long> toList() {
+        List<Long> result = new ArrayList<>();
+        source.get().forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.linq;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Agrupación perezosa devuelta por {@link Linq#groupByLazy}: en lugar de construir todos los grupos como
+ * {@link Linq#groupBy(Iterable, Function)}, sólo construye las listas de las claves que se consultan.
+ *
+ * <ul>
+ *     <li>{@link Mode#INDEXED}: en la primera consulta recorre la fuente una vez y guarda, por clave, la
+ *     cadena de índices de fila de sus elementos. Si la fuente es una lista de acceso aleatorio no copia los
+ *     elementos. {@link #containsKey} y {@link #count} responden desde esa tabla.</li>
+ *     <li>{@link Mode#DEFERRED}: no construye nada; cada consulta de una clave nueva recorre la fuente buscando
+ *     sólo esa clave. Conviene cuando se consultan muy pocas claves. Como necesita recorrer la fuente varias
+ *     veces, sólo se aplica si la fuente es una {@link java.util.Collection}; con cualquier otra secuencia (por
+ *     ejemplo {@link Linq#fromIterator}) se usa {@link Mode#INDEXED}.</li>
+ * </ul>
+ *
+ * <p>En ambos modos la lista de un grupo se construye en su primer {@link #get} y se reutiliza después;
+ * {@link #containsKey} y {@link #count} nunca la construyen. La clave null forma su propio grupo. La fuente
+ * no debe modificarse mientras se use el {@code Lookup}, y éste no es seguro para varios hilos.</p>
+ *
+ * <pre>
+ * Lookup&lt;String, Producto&gt; porCategoria = Linq.groupByLazy(productos, Producto::getCategoria);
+ * if (porCategoria.containsKey("Muebles")) {
+ *     List&lt;Producto&gt; muebles = porCategoria.get("Muebles");
+ * }
+ * </pre>
+ *
+ * @param <K> El tipo de la clave de agrupación.
+ * @param <T> El tipo de los elementos.
+ */
+public final class Lookup<K, T> {
+
+    /**
+     * Cuánto se construye antes de la primera consulta de una clave.
+     */
+    public enum Mode {
+        /** Una tabla de clave a índices de fila, construida en la primera consulta. */
+        INDEXED,
+        /**
+         * Nada: cada clave se busca recorriendo la fuente hasta que se pide {@link #keys()} o {@link #size()}.
+         * Si la fuente no es una {@link java.util.Collection} se usa {@link #INDEXED}.
+         */
+        DEFERRED
+    }
+
+    private final Iterable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+    private final Mode mode;
+    private final Map<K, List<T>> groups = new HashMap<>();
+    private RowChains<K, T> chains;
+
+    Lookup(Iterable<T> source, Function<? super T, ? extends K> keySelector, Mode mode) {
+        this.source = source;
+        this.keySelector = keySelector;
+        // Una secuencia que no es Collection puede no admitir un segundo recorrido
+        this.mode = source instanceof Collection ? mode : Mode.INDEXED;
+    }
+
+    /**
+     * Devuelve los elementos de una clave, construyendo su lista la primera vez.
+     *
+     * @param key La clave a buscar (puede ser null).
+     * @return Una lista de sólo lectura con los elementos en orden de la fuente; vacía si no hay ninguno.
+     */
+    public List<T> get(K key) {
+        List<T> group = groups.get(key);
+        if (group != null) {
+            return group;
+        }
+        if (chains == null && mode == Mode.DEFERRED) {
+            List<T> matches = new ArrayList<>();
+            for (T item : source) {
+                if (Objects.equals(keySelector.apply(item), key)) {
+                    matches.add(item);
+                }
+            }
+            group = matches.isEmpty() ? null : Collections.unmodifiableList(matches);
+        } else {
+            index();
+            group = chains.containsKey(key) ? new Group<>(chains.rows(), chains.rowIds(key)) : null;
+        }
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        groups.put(key, group);
+        return group;
+    }
+
+    /**
+     * Indica si algún elemento tiene la clave, sin construir su grupo.
+     *
+     * @param key La clave a buscar.
+     * @return true si hay al menos un elemento con esa clave.
+     */
+    public boolean containsKey(K key) {
+        if (groups.containsKey(key)) {
+            return true;
+        }
+        if (chains == null && mode == Mode.DEFERRED) {
+            for (T item : source) {
+                if (Objects.equals(keySelector.apply(item), key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        index();
+        return chains.containsKey(key);
+    }
+
+    /**
+     * Devuelve el número de elementos con la clave, sin construir su grupo.
+     *
+     * @param key La clave a buscar.
+     * @return La cantidad de elementos; 0 si no existe.
+     */
+    public int count(K key) {
+        List<T> group = groups.get(key);
+        if (group != null) {
+            return group.size();
+        }
+        if (chains == null && mode == Mode.DEFERRED) {
+            int count = 0;
+            for (T item : source) {
+                if (Objects.equals(keySelector.apply(item), key)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        index();
+        return chains.count(key);
+    }
+
+    /**
+     * Devuelve las claves distintas. En modo {@link Mode#DEFERRED} construye la tabla de índices.
+     *
+     * @return Un conjunto de sólo lectura con las claves.
+     */
+    public Set<K> keys() {
+        index();
+        return chains.keys();
+    }
+
+    /**
+     * @return El número de claves distintas. En modo {@link Mode#DEFERRED} construye la tabla de índices.
+     */
+    public int size() {
+        index();
+        return chains.keys().size();
+    }
+
+    /**
+     * Construye todos los grupos.
+     *
+     * @return Un mapa nuevo con los mismos grupos que {@link Linq#groupBy(Iterable, Function)}.
+     */
+    public Map<K, List<T>> toMap() {
+        index();
+        Map<K, List<T>> result = new HashMap<>(chains.keys().size() * 4 / 3 + 1);
+        for (K key : chains.keys()) {
+            result.put(key, get(key));
+        }
+        return result;
+    }
+
+    int materializedGroups() {
+        return groups.size();
+    }
+
+    boolean isIndexed() {
+        return chains != null;
+    }
+
+    private void index() {
+        if (chains == null) {
+            chains = new RowChains<>(source, keySelector, true);
+        }
+    }
+
+    /**
+     * Vista de sólo lectura de las filas de un grupo.
+     */
+    private static final class Group<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> rows;
+        private final int[] ids;
+
+        Group(List<T> rows, int[] ids) {
+            this.rows = rows;
+            this.ids = ids;
+        }
+
+        @Override
+        public T get(int index) {
+            return rows.get(ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.linq;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Índice de agrupación persistido en un archivo binario compacto que se reabre con un mapeo en memoria.
+ * Guarda, para cada clave, los índices de fila (posiciones en la secuencia original) de sus elementos,
+ * de modo que un {@link Linq#groupBy} sobre datos de referencia se construye una vez y en los siguientes
+ * arranques sólo se mapea el archivo.
+ *
+ * <p>Abrir el archivo sólo lee la cabecera; la tabla hash de claves se consulta directamente sobre el búfer
+ * y cada grupo se decodifica la primera vez que se pide.</p>
+ *
+ * <pre>
+ * LookupSnapshot indice = LookupSnapshot.open(archivo, VERSION_DATOS);
+ * if (indice == null) {
+ *     LookupSnapshot.write(archivo, productos, Producto::getCategoria, VERSION_DATOS);
+ *     indice = LookupSnapshot.open(archivo, VERSION_DATOS);
+ * }
+ * List&lt;Producto&gt; muebles = indice.group("Muebles", productos);
+ * </pre>
+ *
+ * <p>Las claves se almacenan como {@code String.valueOf(clave)} y se buscan por ese texto; las claves null se
+ * omiten. Dos claves distintas con el mismo texto, como {@code 1}, {@code 1L} y {@code "1"}, no pueden
+ * distinguirse en el archivo, así que {@link #write} las rechaza.</p>
+ *
+ * <p>Una instantánea abierta puede compartirse entre hilos: el búfer sólo se lee con accesos absolutos y los
+ * grupos decodificados se publican con {@link AtomicReferenceArray}. Si dos hilos piden a la vez un grupo aún no
+ * decodificado, ambos lo decodifican y se conserva uno de los resultados, que son iguales.</p>
+ */
+public final class LookupSnapshot {
+
+    private static final int MAGIC = 0x4C514C4B; // "LQLK"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4;
+    private static final int DIRECTORY_ENTRY_SIZE = 16;
+
+    private final ByteBuffer buffer;
+    private final long dataVersion;
+    private final int groupCount;
+    private final int tableSize;
+    private final int rowCount;
+    private final int tableOffset;
+    private final int directoryOffset;
+    private final AtomicReferenceArray<int[]> decodedRows;
+    private final AtomicReferenceArray<GroupView<?>> decodedGroups;
+
+    private LookupSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.dataVersion = buffer.getLong(8);
+        this.groupCount = buffer.getInt(16);
+        this.tableSize = buffer.getInt(20);
+        this.rowCount = buffer.getInt(24);
+        this.tableOffset = HEADER_SIZE;
+        this.directoryOffset = tableOffset + 4 * tableSize;
+        this.decodedRows = new AtomicReferenceArray<>(groupCount);
+        this.decodedGroups = new AtomicReferenceArray<>(groupCount);
+    }
+
+    /**
+     * Agrupa una secuencia por clave y guarda el índice resultante en un archivo. La escritura se hace
+     * en un archivo temporal que luego reemplaza al destino, para no dejar instantáneas a medio escribir; si
+     * falla, el archivo temporal se borra y el destino anterior se conserva.
+     *
+     * @param <T>         El tipo de los elementos de la fuente.
+     * @param file        El archivo de destino.
+     * @param source      La secuencia a agrupar; su orden define los índices de fila.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @param dataVersion Versión de los datos (por ejemplo, un hash o la versión de la app) que se validará al abrir.
+     * @throws IOException Si ocurre un error al escribir el archivo.
+     * @throws IllegalArgumentException Si dos claves distintas tienen el mismo texto.
+     */
+    public static <T> void write(File file, Iterable<T> source, Function<T, ?> keySelector, long dataVersion)
+            throws IOException {
+        if (file == null || keySelector == null) {
+            throw new IllegalArgumentException("El archivo y el selector de clave no pueden ser null");
+        }
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        // La primera clave de cada texto, para rechazar otra distinta que se guardaría igual
+        Map<String, Object> owners = new HashMap<>();
+        int rows = 0;
+        if (source != null) {
+            for (T item : source) {
+                Object key = keySelector.apply(item);
+                if (key != null) {
+                    String text = String.valueOf(key);
+                    List<Integer> group = groups.get(text);
+                    if (group == null) {
+                        group = new ArrayList<>();
+                        groups.put(text, group);
+                        owners.put(text, key);
+                    } else {
+                        Object owner = owners.get(text);
+                        if (owner != key && !owner.equals(key)) {
+                            throw new IllegalArgumentException("Las claves " + describe(owner) + " y "
+                                    + describe(key) + " se guardarían con el mismo texto \"" + text + "\"");
+                        }
+                    }
+                    group.add(rows);
+                }
+                rows++;
+            }
+        }
+
+        int groupCount = groups.size();
+        int tableSize = Integer.highestOneBit(Math.max(1, groupCount * 2 - 1)) << 1;
+        byte[][] keys = new byte[groupCount][];
+        int[] table = new int[tableSize];
+        int index = 0;
+        for (String key : groups.keySet()) {
+            keys[index] = key.getBytes(StandardCharsets.UTF_8);
+            int slot = hash(key) & (tableSize - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (tableSize - 1);
+            }
+            table[slot] = index + 1;
+            index++;
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        boolean replaced = false;
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(dataVersion);
+                out.writeInt(groupCount);
+                out.writeInt(tableSize);
+                out.writeInt(rows);
+                for (int slot : table) {
+                    out.writeInt(slot);
+                }
+
+                long keyOffset = HEADER_SIZE + 4L * tableSize + (long) DIRECTORY_ENTRY_SIZE * groupCount;
+                long keyBytes = 0;
+                for (byte[] key : keys) {
+                    keyBytes += key.length;
+                }
+                long rowsOffset = keyOffset + keyBytes;
+                index = 0;
+                for (List<Integer> group : groups.values()) {
+                    out.writeInt(checkedOffset(keyOffset));
+                    out.writeInt(keys[index].length);
+                    out.writeInt(checkedOffset(rowsOffset));
+                    out.writeInt(group.size());
+                    keyOffset += keys[index].length;
+                    rowsOffset += 4L * group.size();
+                    index++;
+                }
+                checkedOffset(rowsOffset);
+                for (byte[] key : keys) {
+                    out.write(key);
+                }
+                for (List<Integer> group : groups.values()) {
+                    for (int row : group) {
+                        out.writeInt(row);
+                    }
+                }
+            }
+            replace(temp, file);
+            replaced = true;
+        } finally {
+            if (!replaced) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Abre una instantánea mapeando el archivo en memoria. Sólo se valida la cabecera, por lo que
+     * el costo no depende del número de claves ni de filas.
+     *
+     * @param file            El archivo de la instantánea.
+     * @param expectedVersion La versión de datos esperada.
+     * @return La instantánea, o null si el archivo no existe, no tiene el formato esperado o su versión
+     *         no coincide (instantánea obsoleta que debe reconstruirse).
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static LookupSnapshot open(File file, long expectedVersion) throws IOException {
+        if (file == null || !file.isFile() || file.length() < HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            // El mapeo sigue siendo válido después de cerrar el canal.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getLong(8) != expectedVersion) {
+            return null;
+        }
+        long expectedSize = HEADER_SIZE + 4L * buffer.getInt(20) + (long) DIRECTORY_ENTRY_SIZE * buffer.getInt(16);
+        if (buffer.getInt(16) < 0 || buffer.getInt(20) <= 0 || buffer.capacity() < expectedSize) {
+            return null;
+        }
+        return new LookupSnapshot(buffer);
+    }
+
+    /**
+     * Devuelve la versión de datos con la que se escribió la instantánea.
+     *
+     * @return La versión de datos.
+     */
+    public long dataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Devuelve el número de claves distintas.
+     *
+     * @return La cantidad de grupos.
+     */
+    public int size() {
+        return groupCount;
+    }
+
+    /**
+     * Devuelve el número de filas de la secuencia con la que se construyó la instantánea.
+     *
+     * @return La cantidad de filas indexadas (incluidas las de clave null).
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Indica si existe un grupo para la clave, sin decodificar sus filas.
+     *
+     * @param key La clave a buscar.
+     * @return true si la clave existe.
+     */
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Devuelve el número de elementos de un grupo, sin decodificar sus filas.
+     *
+     * @param key La clave a buscar.
+     * @return La cantidad de filas del grupo; 0 si la clave no existe.
+     */
+    public int count(Object key) {
+        int group = find(key);
+        return group < 0 ? 0 : buffer.getInt(directoryOffset + group * DIRECTORY_ENTRY_SIZE + 12);
+    }
+
+    /**
+     * Devuelve los índices de fila de un grupo. Se decodifican en el primer acceso y se reutilizan después.
+     *
+     * @param key La clave a buscar.
+     * @return Un arreglo nuevo con los índices de fila en orden ascendente; vacío si la clave no existe.
+     */
+    public int[] rowIds(Object key) {
+        int group = find(key);
+        return group < 0 ? new int[0] : decode(group).clone();
+    }
+
+    /**
+     * Devuelve los elementos de un grupo tomados de la secuencia original.
+     *
+     * @param <T>  El tipo de los elementos.
+     * @param key  La clave a buscar.
+     * @param rows La secuencia con la que se construyó la instantánea (mismo orden).
+     * @return Una lista inmutable con los elementos del grupo; lista vacía si la clave no existe o
+     *         {@code rows} es null.
+     * @throws IllegalArgumentException Si {@code rows} no tiene {@link #rowCount()} elementos, es decir, no es
+     *                                  la secuencia con la que se escribió la instantánea.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> group(Object key, List<T> rows) {
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        if (rows.size() != rowCount) {
+            throw new IllegalArgumentException("La secuencia tiene " + rows.size()
+                    + " elementos pero la instantánea se escribió con " + rowCount);
+        }
+        int group = find(key);
+        if (group < 0) {
+            return Collections.emptyList();
+        }
+        GroupView<?> cached = decodedGroups.get(group);
+        if (cached == null || cached.rows != rows) {
+            cached = new GroupView<>(rows, decode(group));
+            decodedGroups.set(group, cached);
+        }
+        return (List<T>) cached;
+    }
+
+    /**
+     * Devuelve las claves en el orden en que aparecieron por primera vez.
+     *
+     * @return Una lista con las claves decodificadas.
+     */
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>(groupCount);
+        for (int group = 0; group < groupCount; group++) {
+            keys.add(keyAt(group));
+        }
+        return keys;
+    }
+
+    private int find(Object key) {
+        if (key == null || groupCount == 0) {
+            return -1;
+        }
+        String text = String.valueOf(key);
+        byte[] probe = text.getBytes(StandardCharsets.UTF_8);
+        int mask = tableSize - 1;
+        int slot = hash(text) & mask;
+        for (int attempts = 0; attempts < tableSize; attempts++) {
+            int entry = buffer.getInt(tableOffset + 4 * slot);
+            if (entry == 0) {
+                return -1;
+            }
+            if (keyEquals(entry - 1, probe)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(int group, byte[] probe) {
+        int entry = directoryOffset + group * DIRECTORY_ENTRY_SIZE;
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+        if (length != probe.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != probe[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String keyAt(int group) {
+        int entry = directoryOffset + group * DIRECTORY_ENTRY_SIZE;
+        int offset = buffer.getInt(entry);
+        byte[] bytes = new byte[buffer.getInt(entry + 4)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int[] decode(int group) {
+        int[] rows = decodedRows.get(group);
+        if (rows == null) {
+            int entry = directoryOffset + group * DIRECTORY_ENTRY_SIZE;
+            int offset = buffer.getInt(entry + 8);
+            rows = new int[buffer.getInt(entry + 12)];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = buffer.getInt(offset + 4 * i);
+            }
+            decodedRows.set(group, rows);
+        }
+        return rows;
+    }
+
+    private static String describe(Object key) {
+        return key.getClass().getSimpleName() + " " + key;
+    }
+
+    // renameTo reemplaza el destino de forma atómica en POSIX. Donde falla porque el destino existe (Windows)
+    // se borra antes, con una ventana breve sin instantánea.
+    private static void replace(File temp, File file) throws IOException {
+        if (temp.renameTo(file)) {
+            return;
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("No se pudo reemplazar " + file);
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("No se pudo mover " + temp + " a " + file);
+        }
+    }
+
+    // Hash estable entre ejecuciones: String.hashCode está definido por la especificación.
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int checkedOffset(long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("La instantánea excede el tamaño máximo de 2 GB");
+        }
+        return (int) offset;
+    }
+
+    // Vista de sólo lectura de las filas de un grupo sobre la lista original.
+    private static final class GroupView<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> rows;
+        private final int[] rowIds;
+
+        GroupView(List<T> rows, int[] rowIds) {
+            this.rows = rows;
+            this.rowIds = rowIds;
+        }
+
+        @Override
+        public T get(int index) {
+            return rows.get(rowIds[index]);
+        }
+
+        @Override
+        public int size() {
+            return rowIds.length;
+        }
+    }
+}
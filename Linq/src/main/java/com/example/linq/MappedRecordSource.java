@@ -0,0 +1,470 @@
+package com.example.linq;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Fuente de registros de ancho fijo respaldada por un archivo mapeado en memoria ({@link FileChannel#map}).
+ *
+ * <p>Se comporta como un {@code List<RecordView>} de sólo lectura con acceso aleatorio, por lo que puede
+ * pasarse directamente a los operadores estáticos de {@link Linq}. Cada {@link RecordView} es una vista
+ * sobre el búfer: los campos se leen por desplazamiento en bytes sin deserializar el registro.</p>
+ *
+ * <p>Los métodos {@link #count}, {@link #where}, {@link #sum}, {@link #forEachRecord} y los agregados por
+ * desplazamiento ({@link #sumInt}, {@link #sumLong}, {@link #sumDouble}) usan un único cursor reutilizable,
+ * de modo que no crean objetos por registro (salvo las coincidencias que devuelve {@code where}).</p>
+ *
+ * <pre>
+ * try (MappedRecordSource fuente = MappedRecordSource.open(archivo, 16)) {
+ *     // registro: int id (0), int categoria (4), double precio (8)
+ *     double total = fuente.sum(r -&gt; r.getInt(4) == 3 ? r.getDouble(8) : 0);
+ *     List&lt;MappedRecordSource.RecordView&gt; caros = Linq.where(fuente, r -&gt; r.getDouble(8) &gt; 100);
+ * }
+ * </pre>
+ */
+public final class MappedRecordSource extends AbstractList<MappedRecordSource.RecordView>
+        implements RandomAccess, Closeable {
+
+    private final ByteBuffer[] segments;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final int size;
+    private final Closeable resource;
+
+    private MappedRecordSource(ByteBuffer[] segments, int recordSize, int recordsPerSegment, int size,
+                               Closeable resource) {
+        this.segments = segments;
+        this.recordSize = recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+        this.size = size;
+        this.resource = resource;
+    }
+
+    /**
+     * Mapea un archivo de registros de ancho fijo en orden de bytes big-endian.
+     *
+     * @param file       El archivo a mapear.
+     * @param recordSize Tamaño de cada registro en bytes.
+     * @return Una fuente de sólo lectura sobre el archivo. Los bytes sobrantes al final (registro incompleto) se ignoran.
+     * @throws IOException Si el archivo no puede abrirse o mapearse.
+     */
+    public static MappedRecordSource open(File file, int recordSize) throws IOException {
+        return open(file, recordSize, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Mapea un archivo de registros de ancho fijo.
+     *
+     * @param file       El archivo a mapear.
+     * @param recordSize Tamaño de cada registro en bytes.
+     * @param order      Orden de bytes con el que se escribieron los campos numéricos.
+     * @return Una fuente de sólo lectura sobre el archivo. Los bytes sobrantes al final (registro incompleto) se ignoran.
+     * @throws IOException Si el archivo no puede abrirse o mapearse.
+     */
+    public static MappedRecordSource open(File file, int recordSize, ByteOrder order) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("El archivo no puede ser null");
+        }
+        checkRecordSize(recordSize);
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long records = channel.size() / recordSize;
+            if (records > Integer.MAX_VALUE) {
+                throw new IOException("El archivo contiene más de " + Integer.MAX_VALUE + " registros");
+            }
+            // Cada segmento contiene un número entero de registros para que ninguno cruce un límite de mapeo.
+            int perSegment = Integer.MAX_VALUE / recordSize;
+            int segmentCount = (int) ((records + perSegment - 1) / perSegment);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i * perSegment;
+                long count = Math.min(perSegment, records - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, first * recordSize, count * recordSize)
+                        .order(order);
+            }
+            return new MappedRecordSource(segments, recordSize, perSegment, (int) records, raf);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Expone un búfer existente (por ejemplo, un recurso ya cargado) como fuente de registros.
+     * Se respeta el orden de bytes del búfer y se usan los bytes entre su posición y su límite.
+     *
+     * @param buffer     El búfer con los registros.
+     * @param recordSize Tamaño de cada registro en bytes.
+     * @return Una fuente de sólo lectura sobre el búfer.
+     */
+    public static MappedRecordSource wrap(ByteBuffer buffer, int recordSize) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("El búfer no puede ser null");
+        }
+        checkRecordSize(recordSize);
+        ByteBuffer segment = buffer.slice().order(buffer.order());
+        int records = segment.remaining() / recordSize;
+        return new MappedRecordSource(new ByteBuffer[]{segment}, recordSize, Math.max(records, 1), records, null);
+    }
+
+    /**
+     * Devuelve el tamaño de cada registro en bytes.
+     *
+     * @return El ancho fijo de los registros.
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve una vista estable del registro indicado. La vista puede conservarse (por ejemplo, en el
+     * resultado de {@link Linq#where}) porque no se reposiciona.
+     *
+     * @param index Índice del registro (basado en 0).
+     * @return Una vista del registro.
+     */
+    @Override
+    public RecordView get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + size);
+        }
+        RecordView view = new RecordView();
+        view.moveTo(index);
+        return view;
+    }
+
+    /**
+     * Recorre todos los registros con un único cursor reutilizable. La vista recibida por la acción
+     * sólo es válida durante la llamada; use {@link RecordView#detach()} para conservarla.
+     *
+     * @param action Acción a ejecutar por cada registro.
+     */
+    public void forEachRecord(Consumer<? super RecordView> action) {
+        if (action == null) {
+            return;
+        }
+        RecordView cursor = new RecordView();
+        for (int i = 0; i < size; i++) {
+            cursor.moveTo(i);
+            action.accept(cursor);
+        }
+    }
+
+    /**
+     * Cuenta los registros que cumplen el predicado sin crear objetos por registro.
+     *
+     * @param predicate Predicado evaluado sobre un cursor reutilizable.
+     * @return La cantidad de registros que cumplen; 0 si el predicado es null.
+     */
+    public int count(Predicate<? super RecordView> predicate) {
+        if (predicate == null) {
+            return 0;
+        }
+        RecordView cursor = new RecordView();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            cursor.moveTo(i);
+            if (predicate.test(cursor)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Filtra los registros evaluando el predicado sobre un cursor reutilizable. Sólo se crea una vista
+     * estable por cada coincidencia.
+     *
+     * @param predicate Predicado evaluado sobre cada registro.
+     * @return Una lista con vistas de los registros que cumplen; lista vacía si el predicado es null.
+     */
+    public List<RecordView> where(Predicate<? super RecordView> predicate) {
+        List<RecordView> result = new ArrayList<>();
+        if (predicate == null) {
+            return result;
+        }
+        RecordView cursor = new RecordView();
+        for (int i = 0; i < size; i++) {
+            cursor.moveTo(i);
+            if (predicate.test(cursor)) {
+                result.add(cursor.detach());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Suma los valores proyectados de cada registro sin crear objetos por registro.
+     *
+     * @param selector Función que lee el valor a sumar desde el cursor.
+     * @return La suma; 0 si la fuente está vacía o el selector es null.
+     */
+    public double sum(ToDoubleFunction<? super RecordView> selector) {
+        if (selector == null) {
+            return 0.0;
+        }
+        RecordView cursor = new RecordView();
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            cursor.moveTo(i);
+            total += selector.applyAsDouble(cursor);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula el promedio de los valores proyectados de cada registro.
+     *
+     * @param selector Función que lee el valor desde el cursor.
+     * @return El promedio; 0 si la fuente está vacía o el selector es null.
+     */
+    public double average(ToDoubleFunction<? super RecordView> selector) {
+        return size == 0 ? 0.0 : sum(selector) / size;
+    }
+
+    /**
+     * Encuentra el mínimo de los valores proyectados de cada registro.
+     *
+     * @param selector Función que lee el valor desde el cursor.
+     * @return El valor mínimo; 0 si la fuente está vacía o el selector es null.
+     */
+    public double min(ToDoubleFunction<? super RecordView> selector) {
+        if (size == 0 || selector == null) {
+            return 0.0;
+        }
+        RecordView cursor = new RecordView();
+        double result = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            cursor.moveTo(i);
+            result = Math.min(result, selector.applyAsDouble(cursor));
+        }
+        return result;
+    }
+
+    /**
+     * Encuentra el máximo de los valores proyectados de cada registro.
+     *
+     * @param selector Función que lee el valor desde el cursor.
+     * @return El valor máximo; 0 si la fuente está vacía o el selector es null.
+     */
+    public double max(ToDoubleFunction<? super RecordView> selector) {
+        if (size == 0 || selector == null) {
+            return 0.0;
+        }
+        RecordView cursor = new RecordView();
+        double result = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            cursor.moveTo(i);
+            result = Math.max(result, selector.applyAsDouble(cursor));
+        }
+        return result;
+    }
+
+    /**
+     * Suma un campo int leyendo directamente del búfer.
+     *
+     * @param fieldOffset Desplazamiento del campo dentro del registro, en bytes.
+     * @return La suma como long para evitar desbordamientos.
+     */
+    public long sumInt(int fieldOffset) {
+        checkField(fieldOffset, 4);
+        long total = 0;
+        for (ByteBuffer segment : segments) {
+            int limit = segment.limit() - recordSize;
+            for (int base = 0; base <= limit; base += recordSize) {
+                total += segment.getInt(base + fieldOffset);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Suma un campo long leyendo directamente del búfer.
+     *
+     * @param fieldOffset Desplazamiento del campo dentro del registro, en bytes.
+     * @return La suma de los valores.
+     */
+    public long sumLong(int fieldOffset) {
+        checkField(fieldOffset, 8);
+        long total = 0;
+        for (ByteBuffer segment : segments) {
+            int limit = segment.limit() - recordSize;
+            for (int base = 0; base <= limit; base += recordSize) {
+                total += segment.getLong(base + fieldOffset);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Suma un campo double leyendo directamente del búfer.
+     *
+     * @param fieldOffset Desplazamiento del campo dentro del registro, en bytes.
+     * @return La suma de los valores.
+     */
+    public double sumDouble(int fieldOffset) {
+        checkField(fieldOffset, 8);
+        double total = 0;
+        for (ByteBuffer segment : segments) {
+            int limit = segment.limit() - recordSize;
+            for (int base = 0; base <= limit; base += recordSize) {
+                total += segment.getDouble(base + fieldOffset);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Cierra el archivo subyacente. El mapeo se libera cuando el recolector de basura reclama los búferes,
+     * por lo que las vistas existentes no deben usarse después de cerrar.
+     *
+     * @throws IOException Si ocurre un error al cerrar el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+    private void checkField(int fieldOffset, int width) {
+        if (fieldOffset < 0 || width < 0 || fieldOffset > recordSize - width) {
+            throw new IndexOutOfBoundsException("El campo en " + fieldOffset + " excede el registro de " + recordSize + " bytes");
+        }
+    }
+
+    private static void checkRecordSize(int recordSize) {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("El tamaño del registro debe ser mayor que 0");
+        }
+    }
+
+    /**
+     * Vista de un registro dentro del búfer mapeado. Los métodos de lectura reciben el desplazamiento
+     * del campo en bytes relativo al inicio del registro, y lanzan {@link IndexOutOfBoundsException} si el campo
+     * no cabe en el registro en lugar de leer los bytes del siguiente.
+     */
+    public final class RecordView {
+        private ByteBuffer segment;
+        private int base;
+        private int index;
+
+        private RecordView() {
+        }
+
+        void moveTo(int index) {
+            this.index = index;
+            this.segment = segments[index / recordsPerSegment];
+            this.base = (index % recordsPerSegment) * recordSize;
+        }
+
+        /**
+         * Devuelve el índice del registro dentro de la fuente.
+         *
+         * @return El índice (basado en 0).
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Devuelve una vista estable del mismo registro, útil para conservar un registro visto por un cursor.
+         *
+         * @return Una nueva vista que no se reposiciona.
+         */
+        public RecordView detach() {
+            RecordView copy = new RecordView();
+            copy.segment = segment;
+            copy.base = base;
+            copy.index = index;
+            return copy;
+        }
+
+        /** Lee un campo byte en el desplazamiento indicado del registro. */
+        public byte getByte(int offset) {
+            checkField(offset, Byte.BYTES);
+            return segment.get(base + offset);
+        }
+
+        /** Lee un campo short en el desplazamiento indicado del registro. */
+        public short getShort(int offset) {
+            checkField(offset, Short.BYTES);
+            return segment.getShort(base + offset);
+        }
+
+        /** Lee un campo int en el desplazamiento indicado del registro. */
+        public int getInt(int offset) {
+            checkField(offset, Integer.BYTES);
+            return segment.getInt(base + offset);
+        }
+
+        /** Lee un campo long en el desplazamiento indicado del registro. */
+        public long getLong(int offset) {
+            checkField(offset, Long.BYTES);
+            return segment.getLong(base + offset);
+        }
+
+        /** Lee un campo float en el desplazamiento indicado del registro. */
+        public float getFloat(int offset) {
+            checkField(offset, Float.BYTES);
+            return segment.getFloat(base + offset);
+        }
+
+        /** Lee un campo double en el desplazamiento indicado del registro. */
+        public double getDouble(int offset) {
+            checkField(offset, Double.BYTES);
+            return segment.getDouble(base + offset);
+        }
+
+        /**
+         * Copia bytes del registro al arreglo de destino.
+         *
+         * @param offset Desplazamiento inicial dentro del registro.
+         * @param dst    Arreglo de destino.
+         * @param length Cantidad de bytes a copiar.
+         */
+        public void getBytes(int offset, byte[] dst, int length) {
+            checkField(offset, length);
+            for (int i = 0; i < length; i++) {
+                dst[i] = segment.get(base + offset + i);
+            }
+        }
+
+        /**
+         * Decodifica un campo de texto de ancho fijo, recortando los bytes 0 de relleno al final.
+         *
+         * @param offset  Desplazamiento del campo dentro del registro.
+         * @param length  Ancho del campo en bytes.
+         * @param charset Codificación del texto.
+         * @return El texto decodificado.
+         */
+        public String getString(int offset, int length, Charset charset) {
+            byte[] bytes = new byte[length];
+            getBytes(offset, bytes, length);
+            int end = length;
+            while (end > 0 && bytes[end - 1] == 0) {
+                end--;
+            }
+            return new String(bytes, 0, end, charset);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener de {@link LinqMetrics} que acumula estadísticas por operador sin bloqueos: contadores
+ * {@link LongAdder} y un histograma de tiempos con cubetas de potencias de dos (la cubeta {@code i}
+ * cuenta las llamadas de entre 2<sup>i-1</sup> y 2<sup>i</sup> nanosegundos). Puede registrarse como listener
+ * global y consultarse desde cualquier hilo mientras recibe eventos.
+ */
+public final class MetricsAggregator implements LinqMetrics.Listener {
+
+    private static final int BUCKETS = 64;
+
+    private final ConcurrentHashMap<String, OperatorStats> operators = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCall(LinqMetrics.Event event) {
+        OperatorStats stats = operators.get(event.operator());
+        if (stats == null) {
+            stats = operators.computeIfAbsent(event.operator(), k -> new OperatorStats());
+        }
+        stats.record(event);
+    }
+
+    /**
+     * Devuelve las estadísticas de un operador.
+     *
+     * @param operator El nombre del operador.
+     * @return Una instantánea de las estadísticas, o null si el operador no se ha llamado.
+     */
+    public Snapshot snapshot(String operator) {
+        OperatorStats stats = operator == null ? null : operators.get(operator);
+        return stats == null ? null : stats.snapshot(operator);
+    }
+
+    /**
+     * Devuelve las estadísticas de todos los operadores llamados, del mayor al menor tiempo total.
+     *
+     * @return Una lista con una instantánea por operador.
+     */
+    public List<Snapshot> snapshots() {
+        List<Snapshot> result = new ArrayList<>(operators.size());
+        for (Map.Entry<String, OperatorStats> entry : operators.entrySet()) {
+            result.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        Collections.sort(result, (a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+        return result;
+    }
+
+    /**
+     * Descarta todas las estadísticas acumuladas.
+     */
+    public void reset() {
+        operators.clear();
+    }
+
+    /**
+     * Genera una tabla de texto con una fila por operador, ordenada por tiempo total.
+     *
+     * @return El reporte; una cadena vacía si no hay datos.
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        for (Snapshot s : snapshots()) {
+            out.append(String.format(Locale.ROOT,
+                    "%-20s llamadas=%d total=%.3fms media=%.1fus p50<=%.1fus p99<=%.1fus max=%.1fus entrada=%d salida=%d%n",
+                    s.operator, s.calls, s.totalNanos / 1e6, s.meanNanos() / 1e3,
+                    s.percentileNanos(0.50) / 1e3, s.percentileNanos(0.99) / 1e3, s.maxNanos / 1e3,
+                    s.inputRows, s.outputRows));
+        }
+        return out.toString();
+    }
+
+    private static final class OperatorStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder inputRows = new LongAdder();
+        final LongAdder outputRows = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        OperatorStats() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(LinqMetrics.Event event) {
+            long nanos = Math.max(0, event.elapsedNanos());
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (event.inputSize() > 0) {
+                inputRows.add(event.inputSize());
+            }
+            outputRows.add(event.outputSize());
+            if (event.allocatedBytes() > 0) {
+                allocatedBytes.add(event.allocatedBytes());
+            }
+            histogram[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+        }
+
+        Snapshot snapshot(String operator) {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new Snapshot(operator, calls.sum(), totalNanos.sum(), maxNanos.get(),
+                    inputRows.sum(), outputRows.sum(), allocatedBytes.sum(), buckets);
+        }
+    }
+
+    /**
+     * Estadísticas de un operador en un instante. Como los contadores se leen sin bloqueo mientras otros hilos
+     * registran llamadas, los campos pueden diferir en las llamadas que estaban en curso.
+     */
+    public static final class Snapshot {
+        private final String operator;
+        private final long calls;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long inputRows;
+        private final long outputRows;
+        private final long allocatedBytes;
+        private final long[] buckets;
+
+        Snapshot(String operator, long calls, long totalNanos, long maxNanos, long inputRows, long outputRows,
+                 long allocatedBytes, long[] buckets) {
+            this.operator = operator;
+            this.calls = calls;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.inputRows = inputRows;
+            this.outputRows = outputRows;
+            this.allocatedBytes = allocatedBytes;
+            this.buckets = buckets;
+        }
+
+        public String operator() {
+            return operator;
+        }
+
+        public long calls() {
+            return calls;
+        }
+
+        public long totalNanos() {
+            return totalNanos;
+        }
+
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return La suma de los tamaños de entrada conocidos (las fuentes de tamaño desconocido no se suman).
+         */
+        public long inputRows() {
+            return inputRows;
+        }
+
+        public long outputRows() {
+            return outputRows;
+        }
+
+        /**
+         * @return Los bytes asignados acumulados; 0 si el seguimiento de asignaciones está desactivado.
+         */
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public double meanNanos() {
+            return calls == 0 ? 0.0 : (double) totalNanos / calls;
+        }
+
+        /**
+         * Estima un percentil del tiempo por llamada con la resolución del histograma.
+         *
+         * @param percentile El percentil entre 0 y 1, por ejemplo 0.99.
+         * @return El límite superior de la cubeta que contiene el percentil, acotado por el máximo observado;
+         *         0 si no hay llamadas.
+         */
+        public long percentileNanos(double percentile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(Math.max(0.0, Math.min(1.0, percentile)) * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= Math.max(1, target)) {
+                    long upper = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+                    return Math.min(upper, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
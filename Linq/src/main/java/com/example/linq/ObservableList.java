@@ -0,0 +1,163 @@
+package com.example.linq;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Lista mutable que notifica a sus observadores cada elemento agregado o eliminado.
+ * Los índices creados con {@link Linq#index} sobre una ObservableList se mantienen actualizados
+ * de forma incremental y {@link Linq#where} los usa automáticamente cuando el predicado es
+ * un {@link Linq#keyEquals} sobre el mismo selector.
+ *
+ * <p>Las modificaciones de los elementos ya contenidos (por ejemplo, cambiar el campo que actúa como
+ * clave) no se detectan; en ese caso reemplace el elemento con {@link #set}.</p>
+ *
+ * @param <T> El tipo de los elementos.
+ */
+public class ObservableList<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * Observador de los cambios de una {@link ObservableList}.
+     *
+     * @param <T> El tipo de los elementos observados.
+     */
+    public interface Listener<T> {
+        /**
+         * Se llama después de insertar un elemento.
+         *
+         * @param index La posición que ocupa el elemento en la lista; igual a {@code size() - 1} si se agregó
+         *              al final.
+         * @param item  El elemento insertado.
+         */
+        void onAdded(int index, T item);
+
+        /**
+         * Se llama después de eliminar un elemento. {@link #set} notifica la eliminación del elemento anterior
+         * y luego la inserción del nuevo en la misma posición, y {@link #clear} notifica la eliminación de cada
+         * elemento desde el último hasta el primero.
+         *
+         * @param index La posición que ocupaba el elemento.
+         * @param item  La instancia eliminada.
+         */
+        void onRemoved(int index, T item);
+    }
+
+    private final List<T> items;
+    private final List<Listener<? super T>> listeners = new CopyOnWriteArrayList<>();
+    private final List<HashIndex<?, T>> indexes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Crea una lista vacía.
+     */
+    public ObservableList() {
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * Crea una lista con los elementos de una colección existente.
+     *
+     * @param initial Elementos iniciales; si es null la lista empieza vacía.
+     */
+    public ObservableList(Collection<? extends T> initial) {
+        this.items = initial == null ? new ArrayList<T>() : new ArrayList<T>(initial);
+    }
+
+    /**
+     * Registra un observador.
+     *
+     * @param listener El observador a notificar.
+     */
+    public void addListener(Listener<? super T> listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Elimina un observador registrado.
+     *
+     * @param listener El observador a eliminar.
+     */
+    public void removeListener(Listener<? super T> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T previous = items.set(index, element);
+        modCount++;
+        for (Listener<? super T> listener : listeners) {
+            listener.onRemoved(index, previous);
+            listener.onAdded(index, element);
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        items.add(index, element);
+        modCount++;
+        for (Listener<? super T> listener : listeners) {
+            listener.onAdded(index, element);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = items.remove(index);
+        modCount++;
+        for (Listener<? super T> listener : listeners) {
+            listener.onRemoved(index, removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        List<T> removed = new ArrayList<>(items);
+        items.clear();
+        modCount++;
+        for (Listener<? super T> listener : listeners) {
+            for (int i = removed.size() - 1; i >= 0; i--) {
+                listener.onRemoved(i, removed.get(i));
+            }
+        }
+    }
+
+    /**
+     * Busca un índice hash registrado sobre esta lista para el selector indicado.
+     * El selector se compara por identidad, por lo que debe reutilizarse la misma instancia.
+     */
+    @SuppressWarnings("unchecked")
+    <K> HashIndex<K, T> indexFor(Function<? super T, ?> keySelector) {
+        for (HashIndex<?, T> index : indexes) {
+            if (index.keySelector() == keySelector) {
+                return (HashIndex<K, T>) index;
+            }
+        }
+        return null;
+    }
+
+    void addIndex(HashIndex<?, T> index) {
+        indexes.add(index);
+    }
+
+    void removeIndex(HashIndex<?, T> index) {
+        indexes.remove(index);
+    }
+}
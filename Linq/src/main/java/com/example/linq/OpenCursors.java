@@ -0,0 +1,83 @@
+package com.example.linq;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cursores abiertos por los iteradores de una fuente de archivo. Cada iterador libera su cursor al agotarse o
+ * al fallar; {@link #close()} cierra los que siguen abiertos porque el recorrido terminó antes, por ejemplo con
+ * {@link Linq#firstOrDefault(Iterable)}, {@link Linq#take}, {@link Linq#any} o un {@code break}.
+ */
+final class OpenCursors implements Closeable {
+
+    private final Set<LineCursor> cursors = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Abre un cursor sobre el archivo y lo registra.
+     *
+     * @param csvRecords true si las líneas son registros CSV; ver {@link LineCursor}.
+     */
+    LineCursor open(File file, boolean csvRecords) throws IOException {
+        LineCursor cursor = new LineCursor(file, csvRecords);
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    /**
+     * Cierra un cursor que terminó de leerse, si aún no se cerró.
+     */
+    void release(LineCursor cursor) {
+        if (cursors.remove(cursor)) {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Cierra un cursor tras un error; un fallo al cerrarlo se agrega como suprimido a {@code error}.
+     */
+    void release(LineCursor cursor, Throwable error) {
+        if (cursors.remove(cursor)) {
+            closeAfter(cursor, error);
+        }
+    }
+
+    static void closeAfter(Closeable resource, Throwable error) {
+        try {
+            resource.close();
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    int size() {
+        return cursors.size();
+    }
+
+    @Override
+    public void close() {
+        UncheckedIOException failure = null;
+        for (LineCursor cursor : cursors) {
+            try {
+                release(cursor);
+            } catch (UncheckedIOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
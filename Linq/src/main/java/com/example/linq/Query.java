@@ -0,0 +1,408 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Consulta perezosa sobre una secuencia. A diferencia de los métodos de {@link Linq}, que ejecutan cada
+ * operación en el orden escrito, {@code Query} sólo registra un plan lógico y lo optimiza con
+ * {@link QueryPlanner} cuando se invoca un método terminal ({@link #toList()}, {@link #count()}, ...).
+ * El resultado es el mismo que el de la cadena equivalente de {@link Linq}, pero se evita trabajo inútil:
+ * filtrar antes de ordenar, ordenar sólo los K primeros con {@code take}, omitir ordenaciones cuando el terminal
+ * no depende del orden y no calcular proyecciones que el terminal no usa.
+ *
+ * <p>Las reglas suponen que los predicados, selectores y comparadores no tienen efectos secundarios.
+ * Cada llamada devuelve una consulta nueva; las instancias son inmutables y pueden reutilizarse.
+ * Use {@link #explain()} para ver el plan físico elegido y {@link #traced(QueryTrace)} para medir cada
+ * operador durante la ejecución.</p>
+ *
+ * @param <T> El tipo de los elementos que produce la consulta.
+ */
+public final class Query<T> {
+
+    /**
+     * Operación terminal de una consulta. Determina qué reglas puede aplicar el planificador.
+     */
+    public enum Terminal {
+        TO_LIST("ToList", true, true),
+        COUNT("Count", false, false),
+        ANY("Any", false, false),
+        FIRST("FirstOrDefault", true, true),
+        SUM("Sum", false, true),
+        MIN("Min", false, true),
+        MAX("Max", false, true),
+        AVERAGE("Average", false, true);
+
+        private final String displayName;
+        private final boolean orderSensitive;
+        private final boolean usesValues;
+
+        Terminal(String displayName, boolean orderSensitive, boolean usesValues) {
+            this.displayName = displayName;
+            this.orderSensitive = orderSensitive;
+            this.usesValues = usesValues;
+        }
+
+        /**
+         * Indica si el resultado del terminal depende del orden de los elementos.
+         *
+         * @return true para {@code toList} y {@code firstOrDefault}.
+         */
+        public boolean isOrderSensitive() {
+            return orderSensitive;
+        }
+
+        /**
+         * Indica si el terminal lee los valores de los elementos o sólo cuántos hay.
+         *
+         * @return false para {@code count} y {@code any}.
+         */
+        public boolean usesValues() {
+            return usesValues;
+        }
+    }
+
+    private final Iterable<?> source;
+    private final List<QueryStage> stages;
+    private final QueryTrace trace;
+
+    Query(Iterable<?> source, List<QueryStage> stages) {
+        this(source, stages, null);
+    }
+
+    private Query(Iterable<?> source, List<QueryStage> stages, QueryTrace trace) {
+        this.source = source == null ? Collections.emptyList() : source;
+        this.stages = stages;
+        this.trace = trace;
+    }
+
+    /**
+     * Devuelve una copia de la consulta que, al ejecutar un terminal, registra en la traza las filas, el tiempo
+     * y los datos propios de cada operador del plan físico. Las consultas derivadas de la copia conservan la traza.
+     *
+     * @param trace La traza donde se guardan las estadísticas de cada ejecución.
+     * @return Una nueva consulta trazada.
+     */
+    public Query<T> traced(QueryTrace trace) {
+        Checks.requireNonNull(trace, "La traza no puede ser null");
+        return new Query<>(source, stages, trace);
+    }
+
+    /**
+     * Filtra los elementos según un predicado.
+     *
+     * @param predicate Predicado que define la condición a cumplir.
+     * @return Una nueva consulta con el filtro añadido.
+     */
+    @SuppressWarnings("unchecked")
+    public Query<T> where(Predicate<? super T> predicate) {
+        Checks.requireNonNull(predicate, "El predicado no puede ser null");
+        return append(QueryStage.where(nextId(), (Predicate<Object>) predicate));
+    }
+
+    /**
+     * Proyecta cada elemento en un nuevo valor.
+     *
+     * @param <R>      El tipo del valor proyectado.
+     * @param selector Función de transformación que se va a aplicar a cada elemento.
+     * @return Una nueva consulta sobre los valores proyectados.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Query<R> select(Function<? super T, ? extends R> selector) {
+        Checks.requireNonNull(selector, "El selector no puede ser null");
+        return append(QueryStage.select(nextId(), (Function<Object, Object>) selector));
+    }
+
+    /**
+     * Ordena los elementos en orden ascendente según una clave. La ordenación es estable.
+     *
+     * @param <U>         El tipo de la clave de ordenación.
+     * @param keySelector Función para extraer la clave de un elemento.
+     * @return Una nueva consulta con la ordenación añadida.
+     */
+    public <U extends Comparable<? super U>> Query<T> orderBy(Function<? super T, ? extends U> keySelector) {
+        Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+        return orderBy(Comparator.comparing(keySelector), "orderBy");
+    }
+
+    /**
+     * Ordena los elementos en orden descendente según una clave. La ordenación es estable.
+     *
+     * @param <U>         El tipo de la clave de ordenación.
+     * @param keySelector Función para extraer la clave de un elemento.
+     * @return Una nueva consulta con la ordenación añadida.
+     */
+    public <U extends Comparable<? super U>> Query<T> orderByDescending(Function<? super T, ? extends U> keySelector) {
+        Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+        Comparator<T> ascending = Comparator.comparing(keySelector);
+        return orderBy(ascending.reversed(), "orderByDescending");
+    }
+
+    /**
+     * Ordena los elementos con un comparador. La ordenación es estable.
+     *
+     * @param comparator El comparador que define el orden.
+     * @return Una nueva consulta con la ordenación añadida.
+     */
+    public Query<T> orderBy(Comparator<? super T> comparator) {
+        Checks.requireNonNull(comparator, "El comparador no puede ser null");
+        return orderBy(comparator, "orderBy");
+    }
+
+    /**
+     * Devuelve como máximo el número indicado de elementos desde el inicio de la secuencia.
+     *
+     * @param count El número de elementos a devolver; si es menor o igual a 0 la consulta queda vacía.
+     * @return Una nueva consulta con el límite añadido.
+     */
+    public Query<T> take(int count) {
+        return append(QueryStage.take(nextId(), count));
+    }
+
+    /**
+     * Omite el número indicado de elementos desde el inicio de la secuencia.
+     *
+     * @param count El número de elementos a omitir; si es menor o igual a 0 no se omite nada.
+     * @return Una nueva consulta con el desplazamiento añadido.
+     */
+    public Query<T> skip(int count) {
+        return append(QueryStage.skip(nextId(), count));
+    }
+
+    /**
+     * Elimina los elementos repetidos conservando la primera aparición.
+     *
+     * @return Una nueva consulta sin duplicados.
+     */
+    public Query<T> distinct() {
+        return append(QueryStage.distinct(nextId()));
+    }
+
+    /**
+     * Relaciona cada elemento con los de otra secuencia que tienen la misma clave, con una tabla hash construida
+     * sobre la secuencia interna. Los elementos con clave null no se relacionan.
+     *
+     * @param <I>              El tipo de los elementos de la secuencia interna.
+     * @param <K>              El tipo de la clave de unión.
+     * @param <R>              El tipo de los elementos del resultado.
+     * @param inner            La secuencia que se unirá a la consulta.
+     * @param outerKeySelector Función para extraer la clave de cada elemento de la consulta.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param resultSelector   Función que combina un elemento con cada elemento interno coincidente.
+     * @return Una nueva consulta sobre los pares combinados, en el orden de la consulta.
+     */
+    @SuppressWarnings("unchecked")
+    public <I, K, R> Query<R> join(Iterable<I> inner,
+                                   Function<? super T, ? extends K> outerKeySelector,
+                                   Function<? super I, ? extends K> innerKeySelector,
+                                   BiFunction<? super T, ? super I, ? extends R> resultSelector) {
+        Checks.requireNonNull(inner, "La secuencia interna no puede ser null");
+        Checks.requireNonNull(outerKeySelector, "El selector de clave externa no puede ser null");
+        Checks.requireNonNull(innerKeySelector, "El selector de clave interna no puede ser null");
+        Checks.requireNonNull(resultSelector, "El selector de resultado no puede ser null");
+        return append(QueryStage.join(nextId(), inner, (Function<Object, Object>) outerKeySelector,
+                (Function<Object, Object>) innerKeySelector, (BiFunction<Object, Object, Object>) resultSelector));
+    }
+
+    /**
+     * Relaciona cada elemento con la lista de elementos de otra secuencia que tienen la misma clave, igual que
+     * {@link Linq#groupJoin}: los elementos null se omiten, los que no tienen coincidencias reciben una lista
+     * vacía y los resultados null se descartan.
+     *
+     * @param <I>              El tipo de los elementos de la secuencia interna.
+     * @param <K>              El tipo de la clave de unión.
+     * @param <R>              El tipo de los elementos del resultado.
+     * @param inner            La secuencia que se unirá a la consulta.
+     * @param outerKeySelector Función para extraer la clave de cada elemento de la consulta.
+     * @param innerKeySelector Función para extraer la clave de cada elemento interno.
+     * @param resultSelector   Función que combina un elemento con la lista de internos coincidentes.
+     * @return Una nueva consulta sobre los resultados combinados.
+     */
+    @SuppressWarnings("unchecked")
+    public <I, K, R> Query<R> groupJoin(Iterable<I> inner,
+                                        Function<? super T, ? extends K> outerKeySelector,
+                                        Function<? super I, ? extends K> innerKeySelector,
+                                        BiFunction<? super T, List<I>, ? extends R> resultSelector) {
+        Checks.requireNonNull(inner, "La secuencia interna no puede ser null");
+        Checks.requireNonNull(outerKeySelector, "El selector de clave externa no puede ser null");
+        Checks.requireNonNull(innerKeySelector, "El selector de clave interna no puede ser null");
+        Checks.requireNonNull(resultSelector, "El selector de resultado no puede ser null");
+        return append(QueryStage.groupJoin(nextId(), inner, (Function<Object, Object>) outerKeySelector,
+                (Function<Object, Object>) innerKeySelector, (BiFunction<Object, Object, Object>) (BiFunction<?, ?, ?>) resultSelector));
+    }
+
+    /**
+     * Agrupa los elementos según una clave. Los grupos se emiten en el orden de la primera aparición de su clave
+     * y cada uno conserva el orden de llegada de sus elementos; los elementos con clave null se omiten.
+     *
+     * @param <K>         El tipo de la clave de agrupación.
+     * @param keySelector Función para extraer la clave de cada elemento.
+     * @return Una nueva consulta con un par clave-lista por grupo.
+     */
+    @SuppressWarnings("unchecked")
+    public <K> Query<Map.Entry<K, List<T>>> groupBy(Function<? super T, ? extends K> keySelector) {
+        Checks.requireNonNull(keySelector, "El selector de clave no puede ser null");
+        return append(QueryStage.groupBy(nextId(), (Function<Object, Object>) keySelector));
+    }
+
+    /**
+     * Ejecuta la consulta y devuelve sus elementos.
+     *
+     * @return Una nueva lista con el resultado.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        return (List<T>) execute(Terminal.TO_LIST, new QueryExecutor.ToListSink()).result();
+    }
+
+    /**
+     * Ejecuta la consulta y cuenta sus elementos.
+     *
+     * @return La cantidad de elementos del resultado.
+     */
+    public int count() {
+        return (Integer) execute(Terminal.COUNT, new QueryExecutor.CountSink()).result();
+    }
+
+    /**
+     * Determina si la consulta produce algún elemento. Se detiene en el primero encontrado.
+     *
+     * @return true si el resultado no está vacío.
+     */
+    public boolean any() {
+        return (Boolean) execute(Terminal.ANY, new QueryExecutor.AnySink()).result();
+    }
+
+    /**
+     * Devuelve el primer elemento del resultado.
+     *
+     * @return El primer elemento, o null si el resultado está vacío.
+     */
+    @SuppressWarnings("unchecked")
+    public T firstOrDefault() {
+        return (T) execute(Terminal.FIRST, new QueryExecutor.FirstSink()).result();
+    }
+
+    /**
+     * Calcula la suma de los valores proyectados, con la misma conversión numérica que {@link Linq#sum}.
+     *
+     * @param selector Función que obtiene el valor a sumar.
+     * @return La suma; 0.0 si el resultado está vacío.
+     */
+    public double sum(Function<? super T, ?> selector) {
+        return aggregate(Terminal.SUM, selector);
+    }
+
+    /**
+     * Calcula el valor mínimo de los valores proyectados.
+     *
+     * @param selector Función que obtiene el valor a comparar.
+     * @return El mínimo; 0.0 si el resultado está vacío.
+     */
+    public double min(Function<? super T, ?> selector) {
+        return aggregate(Terminal.MIN, selector);
+    }
+
+    /**
+     * Calcula el valor máximo de los valores proyectados.
+     *
+     * @param selector Función que obtiene el valor a comparar.
+     * @return El máximo; 0.0 si el resultado está vacío.
+     */
+    public double max(Function<? super T, ?> selector) {
+        return aggregate(Terminal.MAX, selector);
+    }
+
+    /**
+     * Calcula el promedio de los valores proyectados.
+     *
+     * @param selector Función que obtiene el valor a promediar.
+     * @return El promedio; 0.0 si el resultado está vacío.
+     */
+    public double average(Function<? super T, ?> selector) {
+        return aggregate(Terminal.AVERAGE, selector);
+    }
+
+    /**
+     * Describe el plan físico que ejecutaría {@link #toList()}.
+     *
+     * @return El plan como árbol de texto, desde el terminal hasta la fuente, seguido de las reglas aplicadas.
+     */
+    public String explain() {
+        return explain(Terminal.TO_LIST);
+    }
+
+    /**
+     * Describe el plan físico que ejecutaría el terminal indicado. Cada operador muestra la llamada original
+     * que lo originó (por ejemplo {@code where#3} es la tercera llamada de la consulta).
+     *
+     * @param terminal El terminal para el que se planifica.
+     * @return El plan como árbol de texto, desde el terminal hasta la fuente, seguido de las reglas aplicadas.
+     */
+    public String explain(Terminal terminal) {
+        Checks.requireNonNull(terminal, "El terminal no puede ser null");
+        return render(terminal, QueryPlanner.optimize(stages, terminal), describeSource());
+    }
+
+    // Dibuja el plan desde el terminal hasta la fuente; lo comparte CompiledQuery#explain.
+    static String render(Terminal terminal, QueryPlanner.Plan plan, String sourceName) {
+        StringBuilder out = new StringBuilder(terminal.displayName).append('\n');
+        String indent = "  ";
+        for (int i = plan.stages.size() - 1; i >= 0; i--) {
+            out.append(indent).append(plan.stages.get(i).describe()).append('\n');
+            indent += "  ";
+        }
+        out.append(indent).append(sourceName).append('\n');
+        out.append("Reglas aplicadas: ")
+                .append(plan.rules.isEmpty() ? "ninguna" : String.join(", ", plan.rules));
+        return out.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Query<T> orderBy(Comparator<? super T> comparator, String label) {
+        return append(QueryStage.sort(nextId(), (Comparator<Object>) comparator, label));
+    }
+
+    @SuppressWarnings("unchecked")
+    private double aggregate(Terminal terminal, Function<? super T, ?> selector) {
+        if (selector == null) {
+            return 0.0;
+        }
+        QueryExecutor.AggregateSink sink = new QueryExecutor.AggregateSink(terminal, (Function<Object, ?>) selector);
+        return (Double) execute(terminal, sink).result();
+    }
+
+    private QueryExecutor.Sink execute(Terminal terminal, QueryExecutor.Sink sink) {
+        QueryPlanner.Plan plan = QueryPlanner.optimize(stages, terminal);
+        if (trace != null) {
+            return QueryExecutor.runTraced(source, plan, sink, terminal.displayName, describeSource(), trace);
+        }
+        return QueryExecutor.run(source, plan.stages, sink);
+    }
+
+    private String describeSource() {
+        StringBuilder out = new StringBuilder("Scan(").append(source.getClass().getSimpleName());
+        if (source instanceof Collection) {
+            out.append(", ").append(((Collection<?>) source).size()).append(" filas");
+        }
+        return out.append(')').toString();
+    }
+
+    private <R> Query<R> append(QueryStage stage) {
+        List<QueryStage> next = new ArrayList<>(stages.size() + 1);
+        next.addAll(stages);
+        next.add(stage);
+        return new Query<>(source, next, trace);
+    }
+
+    private int nextId() {
+        return stages.size() + 1;
+    }
+}
@@ -0,0 +1,679 @@
+package com.example.linq;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta un plan físico de {@link Query} como una cadena de sumideros: la fuente empuja cada elemento
+ * por las etapas y se detiene en cuanto alguna indica que no necesita más elementos (por ejemplo un
+ * {@code take} completo o un {@code any} que ya encontró uno). Las etapas que necesitan ver toda la
+ * entrada ({@code orderBy}, top-K, {@code groupBy}) acumulan y emiten al terminar.
+ *
+ * <p>En modo trazado cada sumidero se envuelve en un {@link TracingSink} que cuenta las filas recibidas y
+ * el tiempo inclusivo; el tiempo propio de una etapa es su tiempo inclusivo menos el de la siguiente.</p>
+ *
+ * <p>Las ejecuciones de un {@link CompiledQuery} reciben sus parámetros y un {@link Scratch} del hilo actual
+ * con los búferes de ordenación, conjuntos de {@code distinct} y tablas de {@code groupBy} de la ejecución
+ * anterior, que se vacían y se reutilizan en lugar de volver a crearse.</p>
+ */
+final class QueryExecutor {
+
+    private QueryExecutor() {
+    }
+
+    /**
+     * Etapa de la cadena de ejecución.
+     */
+    abstract static class Sink {
+        final Sink downstream;
+
+        Sink(Sink downstream) {
+            this.downstream = downstream;
+        }
+
+        /**
+         * Recibe un elemento.
+         *
+         * @return false si la etapa ya no necesita más elementos.
+         */
+        abstract boolean accept(Object element);
+
+        void end() {
+            if (downstream != null) {
+                downstream.end();
+            }
+        }
+
+        Object result() {
+            return null;
+        }
+
+        /**
+         * Agrega los datos propios de la etapa a la traza, por ejemplo el número de comparaciones.
+         */
+        void details(Map<String, Long> out) {
+        }
+    }
+
+    /**
+     * Estructuras auxiliares de un hilo, una por etapa del plan. Se vacían al tomarlas y al liberarlas
+     * para no retener elementos entre ejecuciones; conservan la capacidad alcanzada.
+     */
+    static final class Scratch {
+        private final Object[] slots;
+        private boolean busy;
+
+        Scratch(int stages) {
+            this.slots = new Object[stages];
+        }
+
+        /**
+         * Reserva las estructuras para una ejecución.
+         *
+         * @return false si ya hay una ejecución en curso en el hilo (una llamada reentrante), que entonces
+         * debe usar estructuras propias.
+         */
+        boolean acquire() {
+            if (busy) {
+                return false;
+            }
+            busy = true;
+            return true;
+        }
+
+        void release() {
+            for (Object slot : slots) {
+                if (slot instanceof Collection) {
+                    ((Collection<?>) slot).clear();
+                } else if (slot instanceof Map) {
+                    ((Map<?, ?>) slot).clear();
+                }
+            }
+            busy = false;
+        }
+    }
+
+    static Sink run(Iterable<?> source, List<QueryStage> stages, Sink terminal) {
+        return run(source, stages, terminal, null, null);
+    }
+
+    /**
+     * Ejecuta el plan con los parámetros de un {@link CompiledQuery}.
+     *
+     * @param scratch Las estructuras del hilo, o null para crear estructuras nuevas.
+     */
+    static Sink run(Iterable<?> source, List<QueryStage> stages, Sink terminal, Object params, Scratch scratch) {
+        Sink head = terminal;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            head = create(stages.get(i), head, false, params, scratch, i);
+        }
+        for (Object element : source) {
+            if (!head.accept(element)) {
+                break;
+            }
+        }
+        head.end();
+        return terminal;
+    }
+
+    /**
+     * Ejecuta el plan midiendo cada etapa y guarda las estadísticas en la traza.
+     */
+    static Sink runTraced(Iterable<?> source, QueryPlanner.Plan plan, Sink terminal, String terminalName,
+                          String scanName, QueryTrace trace) {
+        List<QueryStage> stages = plan.stages;
+        TracingSink[] traced = new TracingSink[stages.size() + 1];
+        traced[stages.size()] = new TracingSink(terminal);
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            traced[i] = new TracingSink(create(stages.get(i), traced[i + 1], true, null, null, i));
+        }
+        TracingSink head = traced[0];
+
+        long start = System.nanoTime();
+        for (Object element : source) {
+            if (!head.accept(element)) {
+                break;
+            }
+        }
+        head.end();
+        long total = System.nanoTime() - start;
+
+        List<QueryTrace.Stage> out = new ArrayList<>(stages.size() + 2);
+        long sourceSize = source instanceof Collection ? ((Collection<?>) source).size() : -1;
+        out.add(new QueryTrace.Stage(scanName, sourceSize, head.rows, Math.max(0, total - head.nanos),
+                Collections.<String, Long>emptyMap()));
+        for (int i = 0; i < stages.size(); i++) {
+            Map<String, Long> details = new LinkedHashMap<>();
+            traced[i].delegate.details(details);
+            out.add(new QueryTrace.Stage(stages.get(i).describe(), traced[i].rows, traced[i + 1].rows,
+                    Math.max(0, traced[i].nanos - traced[i + 1].nanos), details));
+        }
+        Object result = terminal.result();
+        long resultRows = result instanceof Collection ? ((Collection<?>) result).size() : 1;
+        out.add(new QueryTrace.Stage(terminalName, traced[stages.size()].rows, resultRows,
+                traced[stages.size()].nanos, Collections.<String, Long>emptyMap()));
+        trace.record(out, new ArrayList<>(plan.rules), total);
+        return terminal;
+    }
+
+    // Cuenta las filas recibidas y el tiempo inclusivo de la etapa envuelta (incluye el de las siguientes).
+    private static final class TracingSink extends Sink {
+        final Sink delegate;
+        long rows;
+        long nanos;
+
+        TracingSink(Sink delegate) {
+            super(null);
+            this.delegate = delegate;
+        }
+
+        @Override
+        boolean accept(Object element) {
+            rows++;
+            long start = System.nanoTime();
+            boolean more = delegate.accept(element);
+            nanos += System.nanoTime() - start;
+            return more;
+        }
+
+        @Override
+        void end() {
+            long start = System.nanoTime();
+            delegate.end();
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        Object result() {
+            return delegate.result();
+        }
+    }
+
+    private static Sink create(QueryStage stage, Sink downstream, boolean traced, Object params,
+                               Scratch scratch, int index) {
+        switch (stage.kind) {
+            case WHERE:
+                if (stage.paramPredicate != null) {
+                    return new Sink(downstream) {
+                        @Override
+                        boolean accept(Object element) {
+                            return !stage.paramPredicate.test(element, params) || downstream.accept(element);
+                        }
+                    };
+                }
+                return new Sink(downstream) {
+                    @Override
+                    boolean accept(Object element) {
+                        return !stage.predicate.test(element) || downstream.accept(element);
+                    }
+                };
+            case SELECT:
+                if (stage.paramSelector != null) {
+                    return new Sink(downstream) {
+                        @Override
+                        boolean accept(Object element) {
+                            return downstream.accept(stage.paramSelector.apply(element, params));
+                        }
+                    };
+                }
+                return new Sink(downstream) {
+                    @Override
+                    boolean accept(Object element) {
+                        return downstream.accept(stage.selector.apply(element));
+                    }
+                };
+            case SORT:
+                return new SortSink(counting(stage.comparator, traced),
+                        reuse(scratch, index, ArrayList.class, ArrayList::new), downstream);
+            case TOP_K:
+                return new TopKSink(counting(stage.comparator, traced), stage.count(params), downstream);
+            case JOIN:
+                return new JoinSink(stage, downstream);
+            case GROUP_JOIN:
+                return new GroupJoinSink(stage, downstream);
+            case GROUP_BY:
+                return new GroupBySink(stage.selector,
+                        reuse(scratch, index, LinkedHashMap.class, LinkedHashMap::new), downstream);
+            case TAKE:
+                return new Sink(downstream) {
+                    private int remaining = stage.count(params);
+
+                    @Override
+                    boolean accept(Object element) {
+                        if (remaining <= 0) {
+                            return false;
+                        }
+                        remaining--;
+                        return downstream.accept(element) && remaining > 0;
+                    }
+                };
+            case SKIP:
+                return new Sink(downstream) {
+                    private int toSkip = stage.count(params);
+
+                    @Override
+                    boolean accept(Object element) {
+                        if (toSkip > 0) {
+                            toSkip--;
+                            return true;
+                        }
+                        return downstream.accept(element);
+                    }
+                };
+            default:
+                Set<Object> seen = reuse(scratch, index, HashSet.class, HashSet::new);
+                return new Sink(downstream) {
+                    @Override
+                    boolean accept(Object element) {
+                        return !seen.add(element) || downstream.accept(element);
+                    }
+
+                    @Override
+                    void details(Map<String, Long> out) {
+                        out.put("claves", (long) seen.size());
+                    }
+                };
+        }
+    }
+
+    // Toma la estructura de la etapa del Scratch (vacía) o crea una nueva si no hay Scratch o aún no existe.
+    @SuppressWarnings("unchecked")
+    private static <C> C reuse(Scratch scratch, int index, Class<?> type, Supplier<C> factory) {
+        if (scratch == null) {
+            return factory.get();
+        }
+        Object slot = scratch.slots[index];
+        if (!type.isInstance(slot)) {
+            slot = factory.get();
+            scratch.slots[index] = slot;
+        } else if (slot instanceof Map) {
+            ((Map<?, ?>) slot).clear();
+        } else {
+            ((Collection<?>) slot).clear();
+        }
+        return (C) slot;
+    }
+
+    private static Comparator<Object> counting(Comparator<Object> comparator, boolean traced) {
+        return traced ? new CountingComparator(comparator) : comparator;
+    }
+
+    private static void comparisons(Comparator<Object> comparator, Map<String, Long> out) {
+        if (comparator instanceof CountingComparator) {
+            out.put("comparaciones", ((CountingComparator) comparator).comparisons);
+        }
+    }
+
+    private static final class CountingComparator implements Comparator<Object> {
+        private final Comparator<Object> comparator;
+        long comparisons;
+
+        CountingComparator(Comparator<Object> comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compare(Object a, Object b) {
+            comparisons++;
+            return comparator.compare(a, b);
+        }
+    }
+
+    // Construye la tabla hash de la secuencia interna con la primera fila externa; los elementos internos
+    // con clave null no coinciden con nada.
+    private static Map<Object, List<Object>> buildLookup(QueryStage stage) {
+        Map<Object, List<Object>> lookup = new HashMap<>();
+        for (Object item : stage.inner) {
+            if (item == null) {
+                continue;
+            }
+            Object key = stage.innerKey.apply(item);
+            if (key != null) {
+                lookup.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+            }
+        }
+        return lookup;
+    }
+
+    private static long innerRows(Map<Object, List<Object>> lookup) {
+        long rows = 0;
+        for (List<Object> items : lookup.values()) {
+            rows += items.size();
+        }
+        return rows;
+    }
+
+    private static final class JoinSink extends Sink {
+        private final QueryStage stage;
+        private Map<Object, List<Object>> lookup;
+
+        JoinSink(QueryStage stage, Sink downstream) {
+            super(downstream);
+            this.stage = stage;
+        }
+
+        @Override
+        boolean accept(Object element) {
+            if (lookup == null) {
+                lookup = buildLookup(stage);
+            }
+            Object key = element == null ? null : stage.selector.apply(element);
+            if (key == null) {
+                return true;
+            }
+            List<Object> matches = lookup.get(key);
+            if (matches != null) {
+                for (Object match : matches) {
+                    if (!downstream.accept(stage.combiner.apply(element, match))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void details(Map<String, Long> out) {
+            out.put("claves", lookup == null ? 0L : lookup.size());
+            out.put("filas internas", lookup == null ? 0L : innerRows(lookup));
+        }
+    }
+
+    // Empareja cada elemento externo con la lista de internos de su clave (vacía si no hay); omite los
+    // resultados null, igual que Linq.groupJoin.
+    private static final class GroupJoinSink extends Sink {
+        private final QueryStage stage;
+        private Map<Object, List<Object>> lookup;
+
+        GroupJoinSink(QueryStage stage, Sink downstream) {
+            super(downstream);
+            this.stage = stage;
+        }
+
+        @Override
+        boolean accept(Object element) {
+            if (element == null) {
+                return true;
+            }
+            if (lookup == null) {
+                lookup = buildLookup(stage);
+            }
+            Object key = stage.selector.apply(element);
+            List<Object> matches = key == null ? null : lookup.get(key);
+            Object result = stage.combiner.apply(element, matches == null ? Collections.emptyList() : matches);
+            return result == null || downstream.accept(result);
+        }
+
+        @Override
+        void details(Map<String, Long> out) {
+            out.put("claves", lookup == null ? 0L : lookup.size());
+            out.put("filas internas", lookup == null ? 0L : innerRows(lookup));
+        }
+    }
+
+    // Agrupa en orden de primera aparición y emite un Map.Entry por grupo al terminar.
+    private static final class GroupBySink extends Sink {
+        private final Function<Object, Object> keySelector;
+        private final Map<Object, List<Object>> groups;
+
+        GroupBySink(Function<Object, Object> keySelector, Map<Object, List<Object>> groups, Sink downstream) {
+            super(downstream);
+            this.keySelector = keySelector;
+            this.groups = groups;
+        }
+
+        @Override
+        boolean accept(Object element) {
+            Object key = element == null ? null : keySelector.apply(element);
+            if (key != null) {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+            }
+            return true;
+        }
+
+        @Override
+        void end() {
+            for (Map.Entry<Object, List<Object>> group : groups.entrySet()) {
+                if (!downstream.accept(new AbstractMap.SimpleImmutableEntry<>(group.getKey(), group.getValue()))) {
+                    break;
+                }
+            }
+            super.end();
+        }
+
+        @Override
+        void details(Map<String, Long> out) {
+            out.put("grupos", (long) groups.size());
+        }
+    }
+
+    // Acumula toda la entrada y la emite ordenada de forma estable.
+    private static final class SortSink extends Sink {
+        private final Comparator<Object> comparator;
+        private final List<Object> buffer;
+
+        SortSink(Comparator<Object> comparator, List<Object> buffer, Sink downstream) {
+            super(downstream);
+            this.comparator = comparator;
+            this.buffer = buffer;
+        }
+
+        @Override
+        boolean accept(Object element) {
+            buffer.add(element);
+            return true;
+        }
+
+        @Override
+        void end() {
+            buffer.sort(comparator);
+            for (Object element : buffer) {
+                if (!downstream.accept(element)) {
+                    break;
+                }
+            }
+            super.end();
+        }
+
+        @Override
+        void details(Map<String, Long> out) {
+            comparisons(comparator, out);
+        }
+    }
+
+    // Conserva sólo los K menores en un montículo acotado; el número de llegada desempata para que
+    // el resultado coincida con la ordenación estable completa.
+    private static final class TopKSink extends Sink {
+        private final Comparator<Object> comparator;
+        private final Comparator<Entry> order;
+        private final PriorityQueue<Entry> heap;
+        private final int k;
+        private long sequence;
+
+        TopKSink(Comparator<Object> comparator, int k, Sink downstream) {
+            super(downstream);
+            this.comparator = comparator;
+            this.k = k;
+            this.order = (a, b) -> {
+                int c = comparator.compare(a.value, b.value);
+                return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+            };
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), order.reversed());
+        }
+
+        @Override
+        boolean accept(Object element) {
+            if (k <= 0) {
+                return false;
+            }
+            Entry entry = new Entry(element, sequence++);
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (order.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+            return true;
+        }
+
+        @Override
+        void end() {
+            Entry[] entries = heap.toArray(new Entry[0]);
+            Arrays.sort(entries, order);
+            for (Entry entry : entries) {
+                if (!downstream.accept(entry.value)) {
+                    break;
+                }
+            }
+            super.end();
+        }
+
+        @Override
+        void details(Map<String, Long> out) {
+            comparisons(comparator, out);
+            out.put("montículo", (long) heap.size());
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long sequence;
+
+        Entry(Object value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    static final class ToListSink extends Sink {
+        private final List<Object> result = new ArrayList<>();
+
+        ToListSink() {
+            super(null);
+        }
+
+        @Override
+        boolean accept(Object element) {
+            result.add(element);
+            return true;
+        }
+
+        @Override
+        Object result() {
+            return result;
+        }
+    }
+
+    static final class CountSink extends Sink {
+        private int count;
+
+        CountSink() {
+            super(null);
+        }
+
+        @Override
+        boolean accept(Object element) {
+            count++;
+            return true;
+        }
+
+        @Override
+        Object result() {
+            return count;
+        }
+    }
+
+    static final class AnySink extends Sink {
+        private boolean found;
+
+        AnySink() {
+            super(null);
+        }
+
+        @Override
+        boolean accept(Object element) {
+            found = true;
+            return false;
+        }
+
+        @Override
+        Object result() {
+            return found;
+        }
+    }
+
+    static final class FirstSink extends Sink {
+        private Object first;
+
+        FirstSink() {
+            super(null);
+        }
+
+        @Override
+        boolean accept(Object element) {
+            first = element;
+            return false;
+        }
+
+        @Override
+        Object result() {
+            return first;
+        }
+    }
+
+    // Agrega con la misma conversión numérica que los métodos de Linq; 0.0 si no hubo elementos.
+    static final class AggregateSink extends Sink {
+        private final Query.Terminal terminal;
+        private final Function<Object, ?> selector;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        AggregateSink(Query.Terminal terminal, Function<Object, ?> selector) {
+            super(null);
+            this.terminal = terminal;
+            this.selector = selector;
+        }
+
+        @Override
+        boolean accept(Object element) {
+            double value = Linq.safeToDouble(selector.apply(element));
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            return true;
+        }
+
+        @Override
+        Object result() {
+            if (count == 0) {
+                return 0.0;
+            }
+            switch (terminal) {
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+                case AVERAGE:
+                    return sum / count;
+                default:
+                    return sum;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Optimizador basado en reglas del plan lógico de un {@link Query}. Las reglas sólo usan la forma de las
+ * etapas (los predicados y selectores son lambdas opacas), por lo que suponen que no tienen efectos secundarios:
+ *
+ * <ul>
+ *     <li><b>pushdown de predicados</b>: un {@code where} después de un {@code orderBy} o un {@code distinct}
+ *     se ejecuta antes que ellos.</li>
+ *     <li><b>proyección tardía</b>: un {@code select} seguido de {@code take}/{@code skip} se ejecuta después de ellos,
+ *     y dos {@code select} seguidos se combinan en uno.</li>
+ *     <li><b>top-K</b>: {@code orderBy} seguido de {@code take} (opcionalmente con {@code skip}) se ejecuta con un
+ *     montículo acotado en O(n log k) en lugar de ordenar toda la secuencia. En un {@link CompiledQuery} el
+ *     límite puede depender de los parámetros y K se calcula en cada ejecución.</li>
+ *     <li><b>eliminación de ordenaciones</b>: un {@code orderBy} sin etapas posicionales ni {@code groupBy} posteriores se descarta cuando
+ *     el terminal no depende del orden ({@code count}, {@code any}, {@code sum}, {@code min}, {@code max}, {@code average}).</li>
+ *     <li><b>poda de proyecciones</b>: los {@code select} finales se descartan cuando el terminal no usa los valores
+ *     ({@code count}, {@code any}).</li>
+ * </ul>
+ */
+final class QueryPlanner {
+
+    static final String RULE_PREDICATE_PUSHDOWN = "pushdown de predicado";
+    static final String RULE_LATE_PROJECTION = "proyección tardía";
+    static final String RULE_PROJECTION_FUSION = "fusión de proyecciones";
+    static final String RULE_TOP_K = "top-K";
+    static final String RULE_SORT_ELIMINATION = "eliminación de ordenación";
+    static final String RULE_PROJECTION_PRUNING = "poda de proyección";
+
+    /**
+     * Resultado de la optimización: etapas físicas en orden de ejecución y reglas aplicadas.
+     */
+    static final class Plan {
+        final List<QueryStage> stages;
+        final Set<String> rules;
+
+        Plan(List<QueryStage> stages, Set<String> rules) {
+            this.stages = Collections.unmodifiableList(stages);
+            this.rules = Collections.unmodifiableSet(rules);
+        }
+    }
+
+    private QueryPlanner() {
+    }
+
+    static Plan optimize(List<QueryStage> logical, Query.Terminal terminal) {
+        List<QueryStage> stages = new ArrayList<>(logical);
+        Set<String> rules = new LinkedHashSet<>();
+        if (terminal == Query.Terminal.FIRST) {
+            // firstOrDefault equivale a take(1) y así puede aprovechar top-K
+            stages.add(QueryStage.take(0, 1, "firstOrDefault"));
+        }
+
+        boolean changed;
+        do {
+            changed = false;
+            for (int i = 0; i + 1 < stages.size() && !changed; i++) {
+                changed = rewritePair(stages, i, rules);
+            }
+        } while (changed);
+
+        if (!terminal.isOrderSensitive()) {
+            eliminateSorts(stages, rules);
+        }
+        if (!terminal.usesValues()) {
+            pruneProjections(stages, rules);
+        }
+        return new Plan(stages, rules);
+    }
+
+    private static boolean rewritePair(List<QueryStage> stages, int i, Set<String> rules) {
+        QueryStage a = stages.get(i);
+        QueryStage b = stages.get(i + 1);
+
+        if ((a.kind == QueryStage.Kind.SORT || a.kind == QueryStage.Kind.DISTINCT) && b.kind == QueryStage.Kind.WHERE) {
+            swap(stages, i);
+            rules.add(RULE_PREDICATE_PUSHDOWN);
+            return true;
+        }
+        if (a.kind == QueryStage.Kind.SELECT && (b.kind == QueryStage.Kind.TAKE || b.kind == QueryStage.Kind.SKIP)) {
+            swap(stages, i);
+            rules.add(RULE_LATE_PROJECTION);
+            return true;
+        }
+        if (a.kind == QueryStage.Kind.SELECT && b.kind == QueryStage.Kind.SELECT) {
+            String label = a.label + "+" + b.label;
+            if (a.paramSelector == null && b.paramSelector == null) {
+                stages.set(i, a.withSelector(a.selector.andThen(b.selector), label));
+            } else {
+                final BiFunction<Object, Object, Object> first = a.selector();
+                final BiFunction<Object, Object, Object> second = b.selector();
+                stages.set(i, a.withSelector((element, params) -> second.apply(first.apply(element, params), params), label));
+            }
+            stages.remove(i + 1);
+            rules.add(RULE_PROJECTION_FUSION);
+            return true;
+        }
+        if (a.kind == QueryStage.Kind.SORT && b.kind == QueryStage.Kind.TAKE) {
+            stages.set(i, b.countParam == null
+                    ? a.withTopK(Math.max(0, b.count))
+                    : a.withTopK(params -> Math.max(0, b.count(params))));
+            stages.remove(i + 1);
+            rules.add(RULE_TOP_K);
+            return true;
+        }
+        if (a.kind == QueryStage.Kind.TOP_K && b.kind == QueryStage.Kind.TAKE) {
+            stages.set(i, a.countParam == null && b.countParam == null
+                    ? a.withTopK(Math.max(0, Math.min(a.count, b.count)))
+                    : a.withTopK(params -> Math.max(0, Math.min(a.count(params), b.count(params)))));
+            stages.remove(i + 1);
+            return true;
+        }
+        if (a.kind == QueryStage.Kind.SORT && b.kind == QueryStage.Kind.SKIP
+                && i + 2 < stages.size() && stages.get(i + 2).kind == QueryStage.Kind.TAKE) {
+            QueryStage take = stages.get(i + 2);
+            stages.set(i, b.countParam == null && take.countParam == null
+                    ? a.withTopK(topK(b.count, take.count))
+                    : a.withTopK(params -> topK(b.count(params), take.count(params))));
+            stages.remove(i + 2);
+            rules.add(RULE_TOP_K);
+            return true;
+        }
+        return false;
+    }
+
+    // Quita las ordenaciones que no tienen ninguna etapa posicional ni un groupBy después.
+    private static void eliminateSorts(List<QueryStage> stages, Set<String> rules) {
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            QueryStage stage = stages.get(i);
+            if (stage.isPositional() || stage.embedsOrder()) {
+                return;
+            }
+            if (stage.kind == QueryStage.Kind.SORT) {
+                stages.remove(i);
+                rules.add(RULE_SORT_ELIMINATION);
+            }
+        }
+    }
+
+    // Quita los select finales cuyo resultado sólo atraviesa etapas que no miran los valores.
+    private static void pruneProjections(List<QueryStage> stages, Set<String> rules) {
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            QueryStage.Kind kind = stages.get(i).kind;
+            if (kind == QueryStage.Kind.SELECT) {
+                stages.remove(i);
+                rules.add(RULE_PROJECTION_PRUNING);
+            } else if (kind != QueryStage.Kind.TAKE && kind != QueryStage.Kind.SKIP) {
+                return;
+            }
+        }
+    }
+
+    private static int topK(int skip, int take) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.max(0, skip) + Math.max(0, take));
+    }
+
+    private static void swap(List<QueryStage> stages, int i) {
+        QueryStage a = stages.get(i);
+        stages.set(i, stages.get(i + 1));
+        stages.set(i + 1, a);
+    }
+}
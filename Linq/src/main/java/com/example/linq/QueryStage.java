@@ -0,0 +1,227 @@
+package com.example.linq;
+
+import java.util.Comparator;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Nodo del plan lógico de un {@link Query}. Cada etapa conserva el número de la llamada que la creó
+ * (en el orden en que se escribió la consulta) para que {@link Query#explain} pueda relacionar el plan
+ * físico con el código original aunque el planificador haya reordenado las etapas.
+ *
+ * <p>Las etapas de un {@link CompiledQuery} pueden depender de los parámetros de la ejecución: en ese caso
+ * usan {@link #paramPredicate}, {@link #paramSelector} o {@link #countParam} en lugar de su forma fija y
+ * el ejecutor les pasa los parámetros de cada llamada.</p>
+ */
+final class QueryStage {
+
+    enum Kind {
+        WHERE,
+        SELECT,
+        SORT,
+        TOP_K,
+        TAKE,
+        SKIP,
+        DISTINCT,
+        JOIN,
+        GROUP_JOIN,
+        GROUP_BY
+    }
+
+    final Kind kind;
+    final int id;
+    final Predicate<Object> predicate;
+    final Function<Object, Object> selector;
+    final Comparator<Object> comparator;
+    final int count;
+    final String label;
+    final Iterable<?> inner;
+    final Function<Object, Object> innerKey;
+    final BiFunction<Object, Object, Object> combiner;
+    final BiPredicate<Object, Object> paramPredicate;
+    final BiFunction<Object, Object, Object> paramSelector;
+    final ToIntFunction<Object> countParam;
+
+    private QueryStage(Kind kind, int id, Predicate<Object> predicate, Function<Object, Object> selector,
+                       Comparator<Object> comparator, int count, String label) {
+        this(kind, id, predicate, selector, comparator, count, label, null, null, null);
+    }
+
+    private QueryStage(Kind kind, int id, Predicate<Object> predicate, Function<Object, Object> selector,
+                       Comparator<Object> comparator, int count, String label, Iterable<?> inner,
+                       Function<Object, Object> innerKey, BiFunction<Object, Object, Object> combiner) {
+        this(kind, id, predicate, selector, comparator, count, label, inner, innerKey, combiner, null, null, null);
+    }
+
+    private QueryStage(Kind kind, int id, Predicate<Object> predicate, Function<Object, Object> selector,
+                       Comparator<Object> comparator, int count, String label, Iterable<?> inner,
+                       Function<Object, Object> innerKey, BiFunction<Object, Object, Object> combiner,
+                       BiPredicate<Object, Object> paramPredicate, BiFunction<Object, Object, Object> paramSelector,
+                       ToIntFunction<Object> countParam) {
+        this.kind = kind;
+        this.id = id;
+        this.predicate = predicate;
+        this.selector = selector;
+        this.comparator = comparator;
+        this.count = count;
+        this.label = label;
+        this.inner = inner;
+        this.innerKey = innerKey;
+        this.combiner = combiner;
+        this.paramPredicate = paramPredicate;
+        this.paramSelector = paramSelector;
+        this.countParam = countParam;
+    }
+
+    static QueryStage where(int id, Predicate<Object> predicate) {
+        return new QueryStage(Kind.WHERE, id, predicate, null, null, 0, "where#" + id);
+    }
+
+    static QueryStage where(int id, BiPredicate<Object, Object> predicate) {
+        return new QueryStage(Kind.WHERE, id, null, null, null, 0, "where#" + id, null, null, null,
+                predicate, null, null);
+    }
+
+    static QueryStage select(int id, Function<Object, Object> selector) {
+        return new QueryStage(Kind.SELECT, id, null, selector, null, 0, "select#" + id);
+    }
+
+    static QueryStage select(int id, BiFunction<Object, Object, Object> selector) {
+        return new QueryStage(Kind.SELECT, id, null, null, null, 0, "select#" + id, null, null, null,
+                null, selector, null);
+    }
+
+    static QueryStage sort(int id, Comparator<Object> comparator, String label) {
+        return new QueryStage(Kind.SORT, id, null, null, comparator, 0, label + "#" + id);
+    }
+
+    static QueryStage take(int id, int count) {
+        return take(id, count, "take#" + id);
+    }
+
+    static QueryStage take(int id, int count, String label) {
+        return new QueryStage(Kind.TAKE, id, null, null, null, count, label);
+    }
+
+    static QueryStage take(int id, ToIntFunction<Object> count) {
+        return new QueryStage(Kind.TAKE, id, null, null, null, 0, "take#" + id, null, null, null, null, null, count);
+    }
+
+    static QueryStage skip(int id, int count) {
+        return new QueryStage(Kind.SKIP, id, null, null, null, count, "skip#" + id);
+    }
+
+    static QueryStage skip(int id, ToIntFunction<Object> count) {
+        return new QueryStage(Kind.SKIP, id, null, null, null, 0, "skip#" + id, null, null, null, null, null, count);
+    }
+
+    static QueryStage distinct(int id) {
+        return new QueryStage(Kind.DISTINCT, id, null, null, null, 0, "distinct#" + id);
+    }
+
+    static QueryStage join(int id, Iterable<?> inner, Function<Object, Object> outerKey,
+                           Function<Object, Object> innerKey, BiFunction<Object, Object, Object> combiner) {
+        return new QueryStage(Kind.JOIN, id, null, outerKey, null, 0, "join#" + id, inner, innerKey, combiner);
+    }
+
+    static QueryStage groupJoin(int id, Iterable<?> inner, Function<Object, Object> outerKey,
+                                Function<Object, Object> innerKey, BiFunction<Object, Object, Object> combiner) {
+        return new QueryStage(Kind.GROUP_JOIN, id, null, outerKey, null, 0, "groupJoin#" + id, inner, innerKey, combiner);
+    }
+
+    static QueryStage groupBy(int id, Function<Object, Object> keySelector) {
+        return new QueryStage(Kind.GROUP_BY, id, null, keySelector, null, 0, "groupBy#" + id);
+    }
+
+    QueryStage withTopK(int k) {
+        return new QueryStage(Kind.TOP_K, id, null, null, comparator, k, label);
+    }
+
+    QueryStage withTopK(ToIntFunction<Object> k) {
+        return new QueryStage(Kind.TOP_K, id, null, null, comparator, 0, label, null, null, null, null, null, k);
+    }
+
+    QueryStage withSelector(Function<Object, Object> composed, String composedLabel) {
+        return new QueryStage(Kind.SELECT, id, null, composed, null, 0, composedLabel);
+    }
+
+    QueryStage withSelector(BiFunction<Object, Object, Object> composed, String composedLabel) {
+        return new QueryStage(Kind.SELECT, id, null, null, null, 0, composedLabel, null, null, null,
+                null, composed, null);
+    }
+
+    /**
+     * Indica si la etapa lee los parámetros de la ejecución.
+     */
+    boolean isParameterized() {
+        return paramPredicate != null || paramSelector != null || countParam != null;
+    }
+
+    /**
+     * Devuelve el número de elementos de la etapa ({@code take}, {@code skip} o K) para los parámetros dados.
+     */
+    int count(Object params) {
+        return countParam == null ? count : countParam.applyAsInt(params);
+    }
+
+    /**
+     * Devuelve el selector como función de elemento y parámetros, sea fijo o parametrizado.
+     */
+    BiFunction<Object, Object, Object> selector() {
+        if (paramSelector != null) {
+            return paramSelector;
+        }
+        Function<Object, Object> fixed = selector;
+        return (element, params) -> fixed.apply(element);
+    }
+
+    /**
+     * Indica si la etapa depende de la posición de los elementos (su resultado cambia si cambia el orden).
+     */
+    boolean isPositional() {
+        return kind == Kind.TAKE || kind == Kind.SKIP || kind == Kind.TOP_K;
+    }
+
+    /**
+     * Indica si el resultado de la etapa incorpora el orden de su entrada (los grupos de {@code groupBy}
+     * conservan el orden de llegada), por lo que las ordenaciones anteriores no pueden descartarse.
+     */
+    boolean embedsOrder() {
+        return kind == Kind.GROUP_BY;
+    }
+
+    /**
+     * Describe el operador físico que ejecuta la etapa.
+     */
+    String describe() {
+        switch (kind) {
+            case WHERE:
+                return "Filter[" + label + "]";
+            case SELECT:
+                return "Project[" + label + "]";
+            case SORT:
+                return "Sort[" + label + "]";
+            case TOP_K:
+                return "TopK(k=" + describeCount() + ")[" + label + "]";
+            case TAKE:
+                return "Limit(" + describeCount() + ")[" + label + "]";
+            case SKIP:
+                return "Offset(" + describeCount() + ")[" + label + "]";
+            case JOIN:
+                return "HashJoin[" + label + "]";
+            case GROUP_JOIN:
+                return "HashGroupJoin[" + label + "]";
+            case GROUP_BY:
+                return "HashAggregate[" + label + "]";
+            default:
+                return "HashDistinct[" + label + "]";
+        }
+    }
+
+    private String describeCount() {
+        return countParam == null ? String.valueOf(count) : "parámetro";
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Traza de la última ejecución de un {@link Query} creado con {@link Query#traced(QueryTrace)}, al estilo de
+ * {@code EXPLAIN ANALYZE}: para cada operador del plan físico registra las filas que entraron y salieron,
+ * el tiempo propio (sin contar el de los operadores que consumen su salida) y datos específicos como el
+ * número de comparaciones de una ordenación o el tamaño de la tabla hash de un join o un groupBy.
+ *
+ * <pre>
+ *     QueryTrace traza = new QueryTrace();
+ *     List&lt;Producto&gt; baratos = Linq.query(productos).traced(traza)
+ *             .where(p -&gt; p.stock &gt; 0)
+ *             .orderBy(p -&gt; p.precio)
+ *             .take(10)
+ *             .toList();
+ *     Log.d("Linq", traza.render());
+ * </pre>
+ *
+ * <p>Medir cada fila agrega dos lecturas del reloj por operador, así que los tiempos absolutos son mayores
+ * que los de una ejecución normal; sirven para comparar operadores entre sí. Cada ejecución reemplaza la traza
+ * anterior y la clase no es segura para hilos: use una traza por ejecución concurrente.</p>
+ */
+public final class QueryTrace {
+
+    /**
+     * Estadísticas de un operador del plan.
+     */
+    public static final class Stage {
+        private final String operator;
+        private final long rowsIn;
+        private final long rowsOut;
+        private final long nanos;
+        private final Map<String, Long> details;
+
+        Stage(String operator, long rowsIn, long rowsOut, long nanos, Map<String, Long> details) {
+            this.operator = operator;
+            this.rowsIn = rowsIn;
+            this.rowsOut = rowsOut;
+            this.nanos = nanos;
+            this.details = Collections.unmodifiableMap(new LinkedHashMap<>(details));
+        }
+
+        /**
+         * @return La descripción del operador, igual que en {@link Query#explain()}, por ejemplo
+         *         {@code "Sort[orderBy#2]"}.
+         */
+        public String operator() {
+            return operator;
+        }
+
+        /**
+         * @return Las filas recibidas, o -1 en el recorrido de una fuente de tamaño desconocido.
+         */
+        public long rowsIn() {
+            return rowsIn;
+        }
+
+        /**
+         * @return Las filas entregadas al operador siguiente; en el terminal, el tamaño del resultado
+         *         (1 para resultados escalares).
+         */
+        public long rowsOut() {
+            return rowsOut;
+        }
+
+        /**
+         * @return El tiempo propio del operador en nanosegundos.
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * @return Datos propios del operador, por ejemplo {@code "comparaciones"} o {@code "claves"}.
+         */
+        public Map<String, Long> details() {
+            return details;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(operator).append(" (");
+            if (rowsIn >= 0) {
+                out.append("entrada=").append(rowsIn).append(", ");
+            }
+            out.append("salida=").append(rowsOut)
+                    .append(String.format(Locale.ROOT, ", %.3f ms", nanos / 1e6));
+            for (Map.Entry<String, Long> detail : details.entrySet()) {
+                out.append(", ").append(detail.getKey()).append('=').append(detail.getValue());
+            }
+            return out.append(')').toString();
+        }
+    }
+
+    private List<Stage> stages = Collections.emptyList();
+    private List<String> rules = Collections.emptyList();
+    private long totalNanos;
+
+    /**
+     * Devuelve los operadores de la última ejecución en orden de ejecución: primero el recorrido de la fuente,
+     * después las etapas del plan y al final el terminal.
+     *
+     * @return Una lista inmutable; vacía si la consulta todavía no se ejecutó.
+     */
+    public List<Stage> stages() {
+        return stages;
+    }
+
+    /**
+     * Busca el primer operador cuya descripción empieza con el prefijo indicado.
+     *
+     * @param prefix El prefijo, por ejemplo {@code "Sort"} o {@code "HashJoin"}.
+     * @return El operador, o null si no hay ninguno.
+     */
+    public Stage stage(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        for (Stage stage : stages) {
+            if (stage.operator.startsWith(prefix)) {
+                return stage;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Las reglas del planificador aplicadas en la última ejecución.
+     */
+    public List<String> rules() {
+        return rules;
+    }
+
+    /**
+     * @return El tiempo total de la última ejecución en nanosegundos.
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Dibuja el plan ejecutado como árbol, desde el terminal hasta la fuente, con las estadísticas de cada operador.
+     *
+     * @return El árbol de texto seguido de las reglas aplicadas y el tiempo total; una cadena vacía si la
+     *         consulta todavía no se ejecutó.
+     */
+    public String render() {
+        if (stages.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        String indent = "";
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            out.append(indent).append(stages.get(i)).append('\n');
+            indent += "  ";
+        }
+        out.append("Reglas aplicadas: ").append(rules.isEmpty() ? "ninguna" : String.join(", ", rules)).append('\n');
+        out.append(String.format(Locale.ROOT, "Tiempo total: %.3f ms", totalNanos / 1e6));
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    void record(List<Stage> stages, List<String> rules, long totalNanos) {
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.totalNanos = totalNanos;
+    }
+}
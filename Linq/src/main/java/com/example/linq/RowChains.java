@@ -0,0 +1,118 @@
+package com.example.linq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Tabla hash de filas por clave, usada por los joins externos y por {@link Lookup}. Numera las filas en orden de
+ * llegada y encadena las de una misma clave con un arreglo {@code int[]} en lugar de una lista por clave, de modo
+ * que cada fila tiene un número estable (con el que {@link java.util.BitSet} puede marcar las que tuvieron
+ * pareja) y un grupo se recorre sin crear su lista. Si la fuente es una lista de acceso aleatorio no se copia.
+ *
+ * @param <K> El tipo de la clave.
+ * @param <T> El tipo de las filas.
+ */
+final class RowChains<K, T> {
+
+    private final List<T> rows;
+    // {primera fila, última fila, cantidad} de cada clave
+    private final Map<K, int[]> chains = new HashMap<>();
+    private int[] next = new int[16];
+
+    /**
+     * @param chainNullKeys true para que la clave null forme su grupo; si es false, las filas con clave null
+     *                      se numeran pero no se encadenan, así que nunca coinciden.
+     */
+    @SuppressWarnings("unchecked")
+    RowChains(Iterable<T> source, Function<? super T, ? extends K> keySelector, boolean chainNullKeys) {
+        boolean randomAccess = source instanceof List && source instanceof RandomAccess;
+        List<T> copy = randomAccess ? null : new ArrayList<>();
+        int row = 0;
+        for (T item : source) {
+            if (copy != null) {
+                copy.add(item);
+            }
+            if (row == next.length) {
+                int[] grown = new int[row * 2];
+                System.arraycopy(next, 0, grown, 0, row);
+                next = grown;
+            }
+            next[row] = -1;
+            K key = keySelector.apply(item);
+            if (key != null || chainNullKeys) {
+                int[] chain = chains.get(key);
+                if (chain == null) {
+                    chains.put(key, new int[]{row, row, 1});
+                } else {
+                    next[chain[1]] = row;
+                    chain[1] = row;
+                    chain[2]++;
+                }
+            }
+            row++;
+        }
+        rows = randomAccess ? (List<T>) source : copy;
+    }
+
+    /**
+     * @return La primera fila con la clave, o -1 si no hay ninguna.
+     */
+    int first(Object key) {
+        int[] chain = chains.get(key);
+        return chain == null ? -1 : chain[0];
+    }
+
+    /**
+     * @return La siguiente fila con la misma clave, o -1 si era la última.
+     */
+    int next(int row) {
+        return next[row];
+    }
+
+    /**
+     * @return La cantidad de filas con la clave; 0 si no hay ninguna.
+     */
+    int count(Object key) {
+        int[] chain = chains.get(key);
+        return chain == null ? 0 : chain[2];
+    }
+
+    /**
+     * @return Los números de las filas con la clave, en orden; vacío si no hay ninguna.
+     */
+    int[] rowIds(Object key) {
+        int[] ids = new int[count(key)];
+        int row = first(key);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = row;
+            row = next[row];
+        }
+        return ids;
+    }
+
+    boolean containsKey(Object key) {
+        return chains.containsKey(key);
+    }
+
+    Set<K> keys() {
+        return Collections.unmodifiableSet(chains.keySet());
+    }
+
+    T row(int row) {
+        return rows.get(row);
+    }
+
+    List<T> rows() {
+        return rows;
+    }
+
+    int size() {
+        return rows.size();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.linq;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Índice ordenado por una clave que resuelve filtros de rango por búsqueda binaria en
+ * O(log n + coincidencias). Se crea con {@link Linq#sortedIndex} y se construye una sola vez
+ * con la misma ordenación estable de {@link Linq#orderBy}.
+ *
+ * <p>Los resultados de rango y de paginación son vistas de sólo lectura sobre la lista ordenada,
+ * sin copiar elementos. El índice es una instantánea: los cambios posteriores en la fuente no se reflejan.</p>
+ *
+ * @param <K> El tipo de la clave de ordenación.
+ * @param <T> El tipo de los elementos.
+ */
+public final class SortedIndex<K extends Comparable<? super K>, T> {
+
+    private final List<T> sorted;
+    private final Object[] keys;
+
+    SortedIndex(Iterable<T> source, Function<T, K> keySelector) {
+        this.sorted = Linq.orderBy(source, keySelector);
+        this.keys = new Object[sorted.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keySelector.apply(sorted.get(i));
+        }
+    }
+
+    /**
+     * Devuelve el número de elementos indexados.
+     *
+     * @return La cantidad de elementos.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Devuelve todos los elementos en orden ascendente de clave.
+     *
+     * @return Una vista de sólo lectura de la lista ordenada.
+     */
+    public List<T> asList() {
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Devuelve los elementos con clave en el rango semiabierto [lo, hi).
+     *
+     * @param lo Límite inferior inclusivo; null para no acotar.
+     * @param hi Límite superior exclusivo; null para no acotar.
+     * @return Una vista de sólo lectura con los elementos del rango, en orden de clave.
+     */
+    public List<T> range(K lo, K hi) {
+        return range(lo, true, hi, false);
+    }
+
+    /**
+     * Devuelve los elementos con clave entre dos límites.
+     *
+     * @param lo          Límite inferior; null para no acotar.
+     * @param loInclusive true si el límite inferior se incluye.
+     * @param hi          Límite superior; null para no acotar.
+     * @param hiInclusive true si el límite superior se incluye.
+     * @return Una vista de sólo lectura con los elementos del rango, en orden de clave.
+     */
+    public List<T> range(K lo, boolean loInclusive, K hi, boolean hiInclusive) {
+        int from = lo == null ? 0 : (loInclusive ? lowerBound(lo) : upperBound(lo));
+        int to = hi == null ? keys.length : (hiInclusive ? upperBound(hi) : lowerBound(hi));
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(sorted.subList(from, to));
+    }
+
+    /**
+     * Cuenta los elementos con clave en el rango semiabierto [lo, hi) sin recorrerlos.
+     *
+     * @param lo Límite inferior inclusivo; null para no acotar.
+     * @param hi Límite superior exclusivo; null para no acotar.
+     * @return La cantidad de elementos del rango.
+     */
+    public int countBetween(K lo, K hi) {
+        int from = lo == null ? 0 : lowerBound(lo);
+        int to = hi == null ? keys.length : lowerBound(hi);
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * Devuelve el último elemento (en orden del índice) cuya clave es menor o igual a la indicada.
+     *
+     * @param key La clave de referencia.
+     * @return El elemento encontrado, o null si todas las claves son mayores.
+     */
+    public T floor(K key) {
+        int index = upperBound(key) - 1;
+        return index < 0 ? null : sorted.get(index);
+    }
+
+    /**
+     * Devuelve el primer elemento cuya clave es mayor o igual a la indicada.
+     *
+     * @param key La clave de referencia.
+     * @return El elemento encontrado, o null si todas las claves son menores.
+     */
+    public T ceiling(K key) {
+        int index = lowerBound(key);
+        return index >= keys.length ? null : sorted.get(index);
+    }
+
+    /**
+     * Paginación por conjunto de claves: devuelve hasta {@code limit} elementos con clave estrictamente
+     * mayor que la última clave vista. A diferencia de saltar N elementos, el costo no crece con el número
+     * de página. Las claves deben ser únicas para no omitir elementos entre páginas (use una clave compuesta
+     * si es necesario).
+     *
+     * @param lastKey La clave del último elemento de la página anterior; null para la primera página.
+     * @param limit   El tamaño máximo de la página.
+     * @return Una vista de sólo lectura con la página; lista vacía si limit es menor o igual a 0.
+     */
+    public List<T> pageAfter(K lastKey, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        int from = lastKey == null ? 0 : upperBound(lastKey);
+        int to = (int) Math.min((long) from + limit, keys.length);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(sorted.subList(from, to));
+    }
+
+    // Primer índice cuya clave es >= key.
+    @SuppressWarnings("unchecked")
+    private int lowerBound(K key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (((K) keys[mid]).compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Primer índice cuya clave es > key.
+    @SuppressWarnings("unchecked")
+    private int upperBound(K key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (((K) keys[mid]).compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
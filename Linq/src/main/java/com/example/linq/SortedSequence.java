@@ -0,0 +1,169 @@
+package com.example.linq;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SortedSet;
+
+/**
+ * Secuencia que declara estar ordenada según un comparador. Se crea con {@link Linq#asSorted}; cuando las dos
+ * entradas de {@link Linq#union}, {@link Linq#intersect} o {@link Linq#except} están declaradas ordenadas con
+ * el mismo comparador, el operador las combina con una mezcla en un solo recorrido y memoria adicional O(1)
+ * en lugar de construir una tabla hash. Un {@link SortedSet} cuenta como declarado con su propio comparador.
+ * Los comparadores se comparan con {@code equals}, lo que para las lambdas y {@code Comparator.comparing}
+ * equivale a la identidad: ambas entradas deben declararse con la misma instancia.
+ *
+ * <p>La mezcla compara con el comparador en lugar de con {@code equals}, por lo que éste debe ser consistente
+ * con {@code equals}. El orden se comprueba durante la mezcla: si un elemento es menor que el anterior se lanza
+ * {@link IllegalArgumentException}.</p>
+ *
+ * @param <T> El tipo de los elementos.
+ */
+public final class SortedSequence<T> implements Iterable<T> {
+
+    private final Iterable<T> source;
+    private final Comparator<? super T> comparator;
+
+    SortedSequence(Iterable<T> source, Comparator<? super T> comparator) {
+        this.source = source;
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return El comparador con el que está ordenada la secuencia.
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return source.iterator();
+    }
+
+    /**
+     * Devuelve el comparador común con el que están declaradas ordenadas las dos secuencias, o null si alguna no
+     * está declarada ordenada o lo están con comparadores distintos.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<? super T> commonOrder(Iterable<T> first, Iterable<T> second) {
+        Comparator<Object> a = (Comparator<Object>) declaredOrder(first);
+        Comparator<Object> b = (Comparator<Object>) declaredOrder(second);
+        return a != null && a.equals(b) ? a : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<?> declaredOrder(Iterable<?> source) {
+        if (source instanceof SortedSequence) {
+            return ((SortedSequence<?>) source).comparator;
+        }
+        if (source instanceof SortedSet) {
+            Comparator<?> comparator = ((SortedSet<?>) source).comparator();
+            return comparator != null ? comparator : (Comparator) Comparator.naturalOrder();
+        }
+        return null;
+    }
+
+    /**
+     * Agrega a {@code out} la unión ordenada y sin repetidos de dos secuencias ordenadas.
+     */
+    static <T> void union(Iterable<T> first, Iterable<T> second, Comparator<? super T> order, Collection<T> out) {
+        Cursor<T> a = new Cursor<>(first, order);
+        Cursor<T> b = new Cursor<>(second, order);
+        T last = null;
+        boolean hasLast = false;
+        while (a.valid || b.valid) {
+            T next;
+            if (!b.valid || (a.valid && order.compare(a.current, b.current) <= 0)) {
+                next = a.current;
+                a.advance();
+            } else {
+                next = b.current;
+                b.advance();
+            }
+            if (!hasLast || order.compare(last, next) != 0) {
+                out.add(next);
+                last = next;
+                hasLast = true;
+            }
+        }
+    }
+
+    /**
+     * Agrega a {@code out} los elementos distintos de {@code first} que también están en {@code second}.
+     */
+    static <T> void intersect(Iterable<T> first, Iterable<T> second, Comparator<? super T> order, Collection<T> out) {
+        Cursor<T> a = new Cursor<>(first, order);
+        Cursor<T> b = new Cursor<>(second, order);
+        T last = null;
+        boolean hasLast = false;
+        while (a.valid && b.valid) {
+            int c = order.compare(a.current, b.current);
+            if (c < 0) {
+                a.advance();
+            } else if (c > 0) {
+                b.advance();
+            } else {
+                if (!hasLast || order.compare(last, a.current) != 0) {
+                    out.add(a.current);
+                    last = a.current;
+                    hasLast = true;
+                }
+                a.advance();
+            }
+        }
+    }
+
+    /**
+     * Agrega a {@code out} los elementos distintos de {@code first} que no están en {@code second}.
+     */
+    static <T> void except(Iterable<T> first, Iterable<T> second, Comparator<? super T> order, Collection<T> out) {
+        Cursor<T> a = new Cursor<>(first, order);
+        Cursor<T> b = new Cursor<>(second, order);
+        T last = null;
+        boolean hasLast = false;
+        while (a.valid) {
+            while (b.valid && order.compare(b.current, a.current) < 0) {
+                b.advance();
+            }
+            boolean excluded = b.valid && order.compare(b.current, a.current) == 0;
+            if (!excluded && (!hasLast || order.compare(last, a.current) != 0)) {
+                out.add(a.current);
+                last = a.current;
+                hasLast = true;
+            }
+            a.advance();
+        }
+    }
+
+    // Iterador con el elemento actual a la vista que comprueba que la secuencia no decrece.
+    private static final class Cursor<T> {
+        private final Iterator<T> iterator;
+        private final Comparator<? super T> order;
+        T current;
+        boolean valid;
+
+        Cursor(Iterable<T> source, Comparator<? super T> order) {
+            this.iterator = source.iterator();
+            this.order = order;
+            if (iterator.hasNext()) {
+                current = iterator.next();
+                valid = true;
+            }
+        }
+
+        void advance() {
+            if (!iterator.hasNext()) {
+                valid = false;
+                current = null;
+                return;
+            }
+            T next = iterator.next();
+            if (order.compare(current, next) > 0) {
+                throw new IllegalArgumentException("La secuencia declarada ordenada no está ordenada: "
+                        + next + " aparece después de " + current);
+            }
+            current = next;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.linq;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Convierte los elementos de una secuencia a bytes para que {@link Linq#groupBySpilling} y
+ * {@link Linq#groupByAggregateSpilling} puedan escribirlos en archivos temporales. Al releerlos, la clave
+ * se vuelve a calcular con el selector, así que un elemento leído debe producir una clave igual
+ * ({@code equals}) a la del original.
+ *
+ * @param <T> El tipo de los elementos.
+ */
+public interface SpillSerializer<T> {
+
+    /**
+     * Escribe un elemento.
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * Lee un elemento escrito con {@link #write}.
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * @return Un serializador de cadenas UTF-8 sin límite de longitud; admite null.
+     */
+    static SpillSerializer<String> strings() {
+        return new SpillSerializer<String>() {
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                if (value == null) {
+                    out.writeInt(-1);
+                    return;
+                }
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                int length = in.readInt();
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * @return Un serializador de enteros; no admite null.
+     */
+    static SpillSerializer<Integer> integers() {
+        return new SpillSerializer<Integer>() {
+            @Override
+            public void write(DataOutput out, Integer value) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+    }
+
+    /**
+     * @return Un serializador de enteros largos; no admite null.
+     */
+    static SpillSerializer<Long> longs() {
+        return new SpillSerializer<Long>() {
+            @Override
+            public void write(DataOutput out, Long value) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.linq;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resultado de {@link Linq#groupBySpilling} y {@link Linq#groupByAggregateSpilling}: los grupos de una
+ * secuencia cuyas claves no caben en memoria, agrupados al estilo grace hash join.
+ *
+ * <p>Mientras el número de elementos (o de grupos, al agregar) no supera el límite de memoria, todo se agrupa
+ * en un {@link HashMap} y no se crea ningún archivo. Al superarlo, los elementos se reparten por el hash de su
+ * clave entre {@value #PARTITIONS} archivos temporales, de modo que cada clave queda entera en una sola
+ * partición. Al recorrer el resultado se devuelven primero los grupos que quedaron en memoria y después se
+ * carga y agrupa cada partición por separado; una partición que tampoco cabe se vuelve a repartir con otros
+ * bits del hash, hasta {@value #MAX_LEVEL} niveles.</p>
+ *
+ * <p>El resultado puede recorrerse varias veces, releyendo las particiones cada vez; los grupos que quedaron
+ * en memoria se terminan una sola vez y se devuelven los mismos valores en cada recorrido. El orden de los
+ * grupos no está definido. {@link #close()} borra los archivos temporales y debe llamarse al terminar:</p>
+ *
+ * <pre>
+ * try (SpilledGroups&lt;String, Long&gt; visitas = Linq.groupByAggregateSpilling(lineas, UrlDe::apply,
+ *         Aggregators.count(), SpillSerializer.strings(), 1_000_000, context.getCacheDir())) {
+ *     for (Map.Entry&lt;String, Long&gt; grupo : visitas) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Los errores de escritura o lectura de los archivos temporales se propagan como
+ * {@link UncheckedIOException}.</p>
+ *
+ * @param <K> El tipo de la clave de agrupación.
+ * @param <V> El tipo del valor de cada grupo.
+ */
+public final class SpilledGroups<K, V> implements Iterable<Map.Entry<K, V>>, Closeable {
+
+    static final int PARTITIONS = 16;
+    static final int MAX_LEVEL = 3;
+    private static final int PARTITION_BITS = 4;
+
+    private final Partition<?, K, ?, V> root;
+
+    private SpilledGroups(Partition<?, K, ?, V> root) {
+        this.root = root;
+    }
+
+    /**
+     * Agrupa la secuencia con una agregación. Si {@code retainsElements} es verdadero el estado de cada grupo
+     * es la lista de sus elementos y el límite cuenta elementos; si no, el límite cuenta grupos y los estados
+     * ya creados siguen en memoria, porque no pueden serializarse.
+     */
+    static <T, K, A, V> SpilledGroups<K, V> group(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                                  Aggregator<T, A, V> aggregator, boolean retainsElements,
+                                                  SpillSerializer<T> serializer, int memoryLimit, File directory) {
+        Config<T, K, A, V> config = new Config<>(keySelector, aggregator, retainsElements, serializer, memoryLimit,
+                directory);
+        Partition<T, K, A, V> root = new Partition<>(config, 0);
+        try {
+            for (T item : source) {
+                root.add(item);
+            }
+            root.finishWriting();
+        } catch (IOException e) {
+            root.abandon();
+            config.deleteAll();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            root.abandon();
+            config.deleteAll();
+            throw e;
+        }
+        return new SpilledGroups<>(root);
+    }
+
+    /**
+     * @return Verdadero si el límite de memoria se superó y parte de los grupos está en archivos temporales.
+     */
+    public boolean isSpilled() {
+        return root.files != null;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return root.iterator();
+    }
+
+    /**
+     * Borra los archivos temporales, incluidos los de un recorrido que no se terminó. Después de cerrarlo
+     * sólo pueden recorrerse los grupos que quedaron en memoria.
+     */
+    @Override
+    public void close() {
+        root.config.deleteAll();
+        root.files = null;
+    }
+
+    private static final class Config<T, K, A, V> {
+        final Function<? super T, ? extends K> keySelector;
+        final Aggregator<T, A, V> aggregator;
+        final boolean retainsElements;
+        final SpillSerializer<T> serializer;
+        final int memoryLimit;
+        final File directory;
+        // Archivos temporales aún sin borrar, de todos los niveles
+        final Set<File> temporary = new HashSet<>();
+
+        Config(Function<? super T, ? extends K> keySelector, Aggregator<T, A, V> aggregator, boolean retainsElements,
+               SpillSerializer<T> serializer, int memoryLimit, File directory) {
+            this.keySelector = keySelector;
+            this.aggregator = aggregator;
+            this.retainsElements = retainsElements;
+            this.serializer = serializer;
+            this.memoryLimit = memoryLimit;
+            this.directory = directory;
+        }
+
+        File createTemporary() throws IOException {
+            File file = File.createTempFile("linq-spill", ".bin", directory);
+            temporary.add(file);
+            return file;
+        }
+
+        void delete(File file) {
+            if (file != null && temporary.remove(file)) {
+                file.delete();
+            }
+        }
+
+        void deleteAll() {
+            for (File file : temporary) {
+                file.delete();
+            }
+            temporary.clear();
+        }
+    }
+
+    /**
+     * Los grupos de un nivel: los que caben en memoria y, si se superó el límite, los archivos de las
+     * particiones con el resto.
+     */
+    private static final class Partition<T, K, A, V> {
+        final Config<T, K, A, V> config;
+        final int level;
+        final Map<K, A> memory = new HashMap<>();
+        // Los grupos en memoria ya terminados; se calculan en el primer recorrido
+        List<Map.Entry<K, V>> finished;
+        File[] files;
+        long[] counts;
+        DataOutputStream[] outputs;
+        long buffered;
+
+        Partition(Config<T, K, A, V> config, int level) {
+            this.config = config;
+            this.level = level;
+        }
+
+        void add(T item) throws IOException {
+            K key = config.keySelector.apply(item);
+            boolean canSpill = level < MAX_LEVEL;
+            if (config.retainsElements && files != null && canSpill) {
+                spill(key, item);
+                return;
+            }
+            A state = memory.get(key);
+            if (state == null && !memory.containsKey(key)) {
+                if (!config.retainsElements && canSpill && memory.size() >= config.memoryLimit) {
+                    spill(key, item);
+                    return;
+                }
+                state = config.aggregator.create();
+                memory.put(key, state);
+            }
+            config.aggregator.accumulate(state, item);
+            if (config.retainsElements && ++buffered > config.memoryLimit && canSpill) {
+                spillMemory();
+            }
+        }
+
+        /**
+         * Escribe todos los grupos en memoria en las particiones; sólo se usa cuando el estado es la lista de
+         * elementos del grupo.
+         */
+        @SuppressWarnings("unchecked")
+        private void spillMemory() throws IOException {
+            for (Map.Entry<K, A> group : memory.entrySet()) {
+                for (T item : (List<T>) group.getValue()) {
+                    spill(group.getKey(), item);
+                }
+            }
+            memory.clear();
+            buffered = 0;
+        }
+
+        private void spill(K key, T item) throws IOException {
+            if (files == null) {
+                files = new File[PARTITIONS];
+                counts = new long[PARTITIONS];
+                outputs = new DataOutputStream[PARTITIONS];
+            }
+            int partition = partitionOf(key);
+            if (outputs[partition] == null) {
+                files[partition] = config.createTemporary();
+                outputs[partition] = new DataOutputStream(new BufferedOutputStream(
+                        new FileOutputStream(files[partition])));
+            }
+            config.serializer.write(outputs[partition], item);
+            counts[partition]++;
+        }
+
+        /**
+         * Usa un grupo distinto de bits del hash en cada nivel, para que una partición se reparta de nuevo.
+         */
+        private int partitionOf(Object key) {
+            int hash = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+            return Integer.rotateLeft(hash, level * PARTITION_BITS) >>> (Integer.SIZE - PARTITION_BITS);
+        }
+
+        void finishWriting() throws IOException {
+            if (outputs == null) {
+                return;
+            }
+            IOException failure = null;
+            for (int i = 0; i < PARTITIONS; i++) {
+                if (outputs[i] != null) {
+                    try {
+                        outputs[i].close();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+            }
+            outputs = null;
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        /**
+         * Cierra sin lanzar los archivos que siguen abiertos para escritura, tras un error, para que puedan
+         * borrarse.
+         */
+        void abandon() {
+            if (outputs == null) {
+                return;
+            }
+            for (DataOutputStream output : outputs) {
+                if (output != null) {
+                    try {
+                        output.close();
+                    } catch (IOException ignored) {
+                        // Ya se está propagando el error original
+                    }
+                }
+            }
+            outputs = null;
+        }
+
+        /**
+         * Agrupa una partición de este nivel en el siguiente, leyendo sus elementos del archivo.
+         */
+        Partition<T, K, A, V> load(int partition) {
+            Partition<T, K, A, V> child = new Partition<>(config, level + 1);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(files[partition])))) {
+                for (long i = 0; i < counts[partition]; i++) {
+                    child.add(config.serializer.read(in));
+                }
+                child.finishWriting();
+            } catch (IOException e) {
+                child.abandon();
+                child.delete();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                child.abandon();
+                child.delete();
+                throw e;
+            }
+            return child;
+        }
+
+        void delete() {
+            if (files != null) {
+                for (File file : files) {
+                    config.delete(file);
+                }
+            }
+        }
+
+        /**
+         * Termina los estados en memoria la primera vez que se pide; {@link Aggregator#finish} no puede volver a
+         * llamarse sobre el mismo estado.
+         */
+        private List<Map.Entry<K, V>> finished() {
+            if (finished == null) {
+                List<Map.Entry<K, V>> groups = new ArrayList<>(memory.size());
+                for (Map.Entry<K, A> group : memory.entrySet()) {
+                    groups.add(new AbstractMap.SimpleImmutableEntry<>(group.getKey(),
+                            config.aggregator.finish(group.getValue())));
+                }
+                memory.clear();
+                finished = groups;
+            }
+            return finished;
+        }
+
+        Iterator<Map.Entry<K, V>> iterator() {
+            final File[] spilled = files;
+            final Iterator<Map.Entry<K, V>> inMemory = finished().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                private int partition = -1;
+                private Partition<T, K, A, V> child;
+                private Iterator<Map.Entry<K, V>> childGroups;
+                private Map.Entry<K, V> next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null) {
+                        if (inMemory.hasNext()) {
+                            next = inMemory.next();
+                        } else if (childGroups != null && childGroups.hasNext()) {
+                            next = childGroups.next();
+                        } else {
+                            if (child != null) {
+                                child.delete();
+                                child = null;
+                                childGroups = null;
+                            }
+                            if (spilled == null || files == null || ++partition >= PARTITIONS) {
+                                return false;
+                            }
+                            if (spilled[partition] != null) {
+                                child = load(partition);
+                                childGroups = child.iterator();
+                            }
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<K, V> result = next;
+                    next = null;
+                    return result;
+                }
+            };
+        }
+    }
+}
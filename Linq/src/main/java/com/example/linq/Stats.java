@@ -0,0 +1,100 @@
+package com.example.linq;
+
+import java.util.Locale;
+
+/**
+ * Resumen inmutable de una secuencia numérica: cantidad, suma, mínimo, máximo y promedio, con la misma
+ * semántica que {@link Linq#sum}, {@link Linq#min}, {@link Linq#max} y {@link Linq#average}: sin valores,
+ * el mínimo, el máximo y el promedio son 0.
+ *
+ * <p>Lo devuelven {@link Linq#aggregateStats(Iterable)} y {@link ConcurrentStats#snapshot()}, y los resúmenes
+ * parciales calculados en distintos hilos se combinan con {@link #merge}.</p>
+ */
+public final class Stats {
+
+    private static final Stats EMPTY = new Stats(0, 0.0, 0.0, 0.0);
+
+    private final long count;
+    private final double sum;
+    private final double min;
+    private final double max;
+
+    Stats(long count, double sum, double min, double max) {
+        this.count = count;
+        this.sum = sum;
+        this.min = count == 0 ? 0.0 : min;
+        this.max = count == 0 ? 0.0 : max;
+    }
+
+    /**
+     * @return El resumen de una secuencia vacía.
+     */
+    public static Stats empty() {
+        return EMPTY;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public double average() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Combina este resumen con el de otra parte de la secuencia.
+     *
+     * @param other El otro resumen; null se trata como vacío.
+     * @return El resumen de ambas partes.
+     */
+    public Stats merge(Stats other) {
+        if (other == null || other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new Stats(count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Stats)) {
+            return false;
+        }
+        Stats other = (Stats) o;
+        return count == other.count
+                && Double.compare(sum, other.sum) == 0
+                && Double.compare(min, other.min) == 0
+                && Double.compare(max, other.max) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(count);
+        result = 31 * result + Double.hashCode(sum);
+        result = 31 * result + Double.hashCode(min);
+        return 31 * result + Double.hashCode(max);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "Stats{count=%d, sum=%s, min=%s, max=%s, average=%s}",
+                count, sum, min, max, average());
+    }
+}
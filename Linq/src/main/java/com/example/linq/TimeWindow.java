@@ -0,0 +1,50 @@
+package com.example.linq;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Una ventana de tiempo cerrada de {@link Linq#groupByWindow}: el intervalo {@code [start, end)} de marcas de
+ * tiempo y el resultado de la agregación de cada clave con elementos en él.
+ *
+ * @param <K> El tipo de la clave de agrupación.
+ * @param <R> El tipo del resultado de cada grupo.
+ */
+public final class TimeWindow<K, R> {
+
+    private final long start;
+    private final long end;
+    private final Map<K, R> results;
+
+    TimeWindow(long start, long end, Map<K, R> results) {
+        this.start = start;
+        this.end = end;
+        this.results = Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * @return El inicio de la ventana, incluido.
+     */
+    public long start() {
+        return start;
+    }
+
+    /**
+     * @return El fin de la ventana, excluido.
+     */
+    public long end() {
+        return end;
+    }
+
+    /**
+     * @return Un mapa de sólo lectura con el resultado de cada clave.
+     */
+    public Map<K, R> results() {
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeWindow[" + start + ", " + end + ")" + results;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CompiledQueryTest {
+
+    private final List<QueryTest.Person> people = Arrays.asList(
+            new QueryTest.Person("Ana", 34, "Lima"),
+            new QueryTest.Person("Luis", 19, "Quito"),
+            new QueryTest.Person("Eva", 34, "Lima"),
+            new QueryTest.Person("Juan", 52, "Bogotá"),
+            new QueryTest.Person("Sofía", 27, "Quito"),
+            new QueryTest.Person("Pedro", 19, "Lima"),
+            new QueryTest.Person("Marta", 41, "Bogotá")
+    );
+
+    // Pruebas para la ejecución con parámetros
+    @Test
+    public void testRun_BindsParametersOnEachCall() {
+        CompiledQuery<Integer, QueryTest.Person, List<String>> olderThan = Linq.<Integer, QueryTest.Person>compile()
+                .where((p, minAge) -> p.getAge() >= minAge)
+                .orderBy(QueryTest.Person::getAge)
+                .select((p, minAge) -> p.getName())
+                .toList();
+
+        assertEquals(Arrays.asList("Marta", "Juan"), olderThan.run(people, 40));
+        assertEquals(Arrays.asList("Sofía", "Ana", "Eva", "Marta", "Juan"), olderThan.run(people, 20));
+        assertTrue(olderThan.run(people, 100).isEmpty());
+    }
+
+    @Test
+    public void testParameterizedTakeAndSkip_MatchLinqChain() {
+        CompiledQuery<int[], QueryTest.Person, List<QueryTest.Person>> page = Linq.<int[], QueryTest.Person>compile()
+                .orderByDescending(QueryTest.Person::getAge)
+                .skip(p -> p[0])
+                .take(p -> p[1])
+                .toList();
+
+        for (int skip = -1; skip <= 8; skip++) {
+            for (int take = -1; take <= 8; take++) {
+                List<QueryTest.Person> expected = Linq.take(Linq.skip(Linq.orderByDescending(people, QueryTest.Person::getAge), skip), take);
+                assertEquals("skip=" + skip + " take=" + take, expected, page.run(people, new int[]{skip, take}));
+            }
+        }
+        assertTrue(page.explain().contains("TopK(k=parámetro)[orderByDescending#1]"));
+        assertTrue(page.explain().contains("Offset(parámetro)[skip#2]"));
+    }
+
+    @Test
+    public void testTerminals_MatchQuery() {
+        CompiledQuery.Builder<String, QueryTest.Person, QueryTest.Person> inCity = Linq.<String, QueryTest.Person>compile()
+                .where((p, city) -> p.getCity().equals(city));
+
+        assertEquals(3, (int) inCity.count().run(people, "Lima"));
+        assertFalse(inCity.any().run(people, "Cusco"));
+        assertEquals("Luis", inCity.firstOrDefault().run(people, "Quito").getName());
+        assertEquals(93.0, inCity.sum(QueryTest.Person::getAge).run(people, "Bogotá"), 0.0);
+        assertEquals(19.0, inCity.min(QueryTest.Person::getAge).run(people, "Lima"), 0.0);
+        assertEquals(34.0, inCity.max(QueryTest.Person::getAge).run(people, "Lima"), 0.0);
+        assertEquals(23.0, inCity.average(QueryTest.Person::getAge).run(people, "Quito"), 0.0);
+        assertEquals(Linq.query(people).select(QueryTest.Person::getCity).distinct().toList(),
+                Linq.<Void, QueryTest.Person>compile().select((p, ignored) -> p.getCity()).distinct().toList().run(people, null));
+    }
+
+    @Test
+    public void testRun_WithNullSource_ReturnsEmptyResult() {
+        CompiledQuery<Integer, Integer, List<Integer>> evens = Linq.<Integer, Integer>compile()
+                .where((n, mod) -> n % mod == 0)
+                .toList();
+
+        assertTrue(evens.run(null, 2).isEmpty());
+        assertEquals(0.0, Linq.<Void, Integer>compile().sum(n -> n).run(null, null), 0.0);
+    }
+
+    // Pruebas para la optimización previa
+    @Test
+    public void testPlan_IsOptimizedOnceAtCompileTime() {
+        CompiledQuery<Integer, QueryTest.Person, Integer> count = Linq.<Integer, QueryTest.Person>compile()
+                .orderBy(QueryTest.Person::getName)
+                .where((p, minAge) -> p.getAge() >= minAge)
+                .select((p, minAge) -> p.getName())
+                .count();
+
+        String plan = count.explain();
+        assertEquals("Count\n  Filter[where#2]\n    Scan(fuente)\n"
+                + "Reglas aplicadas: pushdown de predicado, eliminación de ordenación, poda de proyección", plan);
+        assertEquals(4, (int) count.run(people, 30));
+    }
+
+    @Test
+    public void testParameterizedProjections_AreFused() {
+        CompiledQuery<Integer, Integer, List<Integer>> scaled = Linq.<Integer, Integer>compile()
+                .select((n, factor) -> n * factor)
+                .select((n, factor) -> n + factor)
+                .toList();
+
+        assertEquals(Arrays.asList(20, 30, 40), scaled.run(Arrays.asList(1, 2, 3), 10));
+        assertTrue(scaled.explain().contains("Project[select#1+select#2]"));
+    }
+
+    // Pruebas para la reutilización por hilo
+    @Test
+    public void testRepeatedRuns_DoNotLeakState() {
+        CompiledQuery<Integer, Integer, List<Integer>> distinctSorted = Linq.<Integer, Integer>compile()
+                .where((n, max) -> n <= max)
+                .distinct()
+                .orderBy(n -> n)
+                .toList();
+
+        List<Integer> first = distinctSorted.run(Arrays.asList(5, 3, 5, 1, 9), 9);
+        List<Integer> second = distinctSorted.run(Arrays.asList(3, 2, 3), 9);
+
+        assertEquals(Arrays.asList(1, 3, 5, 9), first);
+        assertEquals(Arrays.asList(2, 3), second);
+    }
+
+    @Test
+    public void testGroupBy_ReturnsFreshGroupsOnEachRun() {
+        CompiledQuery<Integer, QueryTest.Person, List<Map.Entry<String, List<QueryTest.Person>>>> byCity =
+                Linq.<Integer, QueryTest.Person>compile()
+                        .where((p, minAge) -> p.getAge() >= minAge)
+                        .groupBy(QueryTest.Person::getCity)
+                        .toList();
+
+        List<Map.Entry<String, List<QueryTest.Person>>> all = byCity.run(people, 0);
+        List<Map.Entry<String, List<QueryTest.Person>>> older = byCity.run(people, 40);
+
+        assertEquals(Arrays.asList("Lima", "Quito", "Bogotá"), Linq.select(all, Map.Entry::getKey));
+        assertEquals(3, all.get(0).getValue().size());
+        assertEquals(1, older.size());
+        assertEquals(2, older.get(0).getValue().size());
+    }
+
+    @Test
+    public void testReentrantRun_UsesSeparateScratch() {
+        List<List<Integer>> inner = new ArrayList<>();
+        AtomicReference<CompiledQuery<Boolean, Integer, List<Integer>>> holder = new AtomicReference<>();
+        holder.set(Linq.<Boolean, Integer>compile()
+                .where((n, nested) -> {
+                    if (!nested && n == 2) {
+                        inner.add(holder.get().run(Arrays.asList(9, 7, 8), true));
+                    }
+                    return true;
+                })
+                .orderBy(n -> n)
+                .toList());
+
+        assertEquals(Arrays.asList(1, 2, 3), holder.get().run(Arrays.asList(3, 2, 1), false));
+        assertEquals(Collections.singletonList(Arrays.asList(7, 8, 9)), inner);
+    }
+
+    @Test
+    public void testConcurrentRuns_AreIsolated() throws Exception {
+        CompiledQuery<Integer, Integer, List<Integer>> multiples = Linq.<Integer, Integer>compile()
+                .where((n, divisor) -> n % divisor == 0)
+                .orderByDescending(n -> n)
+                .toList();
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            numbers.add(i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                int divisor = task % 7 + 2;
+                results.add(pool.submit(() -> {
+                    List<Integer> expected = Linq.orderByDescending(Linq.where(numbers, n -> n % divisor == 0), n -> n);
+                    for (int i = 0; i < 50; i++) {
+                        if (!expected.equals(multiples.run(numbers, divisor))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhere_WithNullPredicate_Throws() {
+        Linq.<Integer, Integer>compile().where(null);
+    }
+}
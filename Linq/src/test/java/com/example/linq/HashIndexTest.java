@@ -0,0 +1,204 @@
+package com.example.linq;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class HashIndexTest {
+
+    private static final Function<Item, String> CATEGORY = Item::getCategory;
+
+    private List<Item> items;
+
+    @Before
+    public void setUp() {
+        items = Arrays.asList(
+                new Item("a", "fruta"),
+                new Item("b", "verdura"),
+                new Item("c", "fruta"),
+                new Item("d", "lacteo"),
+                new Item("e", "fruta")
+        );
+    }
+
+    // Pruebas para whereKey y whereKeyIn
+    @Test
+    public void testWhereKey_ReturnsSameResultAsWhere() {
+        HashIndex<String, Item> index = Linq.index(items, CATEGORY);
+
+        assertEquals(Linq.where(items, i -> i.getCategory().equals("fruta")), Linq.whereKey(index, "fruta"));
+        assertEquals(3, index.count("fruta"));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    public void testWhereKey_WithUnknownKeyOrNullIndex_ReturnsEmptyList() {
+        HashIndex<String, Item> index = Linq.index(items, CATEGORY);
+
+        assertTrue(Linq.whereKey(index, "carne").isEmpty());
+        assertTrue(Linq.whereKey(null, "fruta").isEmpty());
+    }
+
+    @Test
+    public void testWhereKeyIn_ConcatenatesGroupsAndIgnoresRepeatedValues() {
+        HashIndex<String, Item> index = Linq.index(items, CATEGORY);
+
+        List<Item> result = Linq.whereKeyIn(index, Arrays.asList("lacteo", "verdura", "lacteo"));
+
+        assertEquals(Arrays.asList(items.get(3), items.get(1)), result);
+    }
+
+    // Pruebas para actualización incremental
+    @Test
+    public void testIndex_OverObservableList_UpdatesIncrementally() {
+        ObservableList<Item> source = new ObservableList<>(items);
+        HashIndex<String, Item> index = Linq.index(source, CATEGORY);
+
+        Item milk = new Item("f", "lacteo");
+        source.add(milk);
+        source.remove(items.get(1));
+        source.set(0, new Item("a", "verdura"));
+
+        assertEquals(Arrays.asList(items.get(3), milk), Linq.whereKey(index, "lacteo"));
+        assertEquals(1, index.count("verdura"));
+        assertEquals(2, index.count("fruta"));
+
+        source.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.keys().isEmpty());
+    }
+
+    @Test
+    public void testIndex_InsertAndSetInTheMiddle_KeepSourceOrder() {
+        ObservableList<Item> source = new ObservableList<>(items);
+        HashIndex<String, Item> index = Linq.index(source, CATEGORY);
+        List<Item> fruits = index.get("fruta");
+
+        source.add(0, new Item("z", "fruta"));
+        source.set(3, new Item("y", "fruta"));
+        source.add(2, new Item("x", "verdura"));
+
+        assertFalse(index.isOrdered());
+        assertEquals(Linq.where(new ArrayList<>(source), i -> i.getCategory().equals("fruta")), index.get("fruta"));
+        assertEquals(Arrays.asList("z", "a", "y", "e"), Linq.select(fruits, Item::getName));
+        assertEquals(Arrays.asList("x", "b"), Linq.select(index.get("verdura"), Item::getName));
+        assertTrue(index.isOrdered());
+    }
+
+    @Test
+    public void testWhere_AfterInsertAtHead_MatchesScan() {
+        Function<String, Character> firstChar = s -> s.charAt(0);
+        ObservableList<String> source = new ObservableList<>(Arrays.asList("a1", "b1"));
+        Linq.index(source, firstChar);
+
+        source.add(0, "a0");
+        source.add("a2");
+
+        assertEquals(Arrays.asList("a0", "a1", "a2"), Linq.where(source, Linq.keyEquals(firstChar, 'a')));
+    }
+
+    @Test
+    public void testIndex_RemoveEqualElement_RemovesThatInstance() {
+        Item first = new Item("a", "fruta");
+        Item second = new Item("b", "fruta") {
+            @Override
+            public boolean equals(Object other) {
+                return other instanceof Item;
+            }
+
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+        };
+        ObservableList<Item> source = new ObservableList<>(Arrays.asList(first, second));
+        HashIndex<String, Item> index = Linq.index(source, CATEGORY);
+
+        source.remove(1);
+
+        assertSame(first, index.get("fruta").get(0));
+        assertTrue(index.isOrdered());
+    }
+
+    @Test
+    public void testIndex_AppendsOnly_StayOrderedWithoutRebuild() {
+        CountingFunction category = new CountingFunction();
+        ObservableList<Item> source = new ObservableList<>(items);
+        HashIndex<String, Item> index = Linq.index(source, category);
+
+        source.add(new Item("f", "fruta"));
+        source.set(source.size() - 1, new Item("g", "fruta"));
+        source.remove(0);
+        int calls = category.calls;
+
+        assertEquals(Arrays.asList("c", "e", "g"), Linq.select(index.get("fruta"), Item::getName));
+        assertEquals(calls, category.calls);
+    }
+
+    @Test
+    public void testIndex_OverPlainList_IsSnapshot() {
+        List<Item> source = new ArrayList<>(items);
+        HashIndex<String, Item> index = Linq.index(source, CATEGORY);
+
+        source.add(new Item("f", "fruta"));
+
+        assertEquals(3, index.count("fruta"));
+    }
+
+    // Pruebas para la elección automática del índice en where
+    @Test
+    public void testWhere_WithKeyEqualsOnIndexedSelector_UsesIndex() {
+        CountingFunction category = new CountingFunction();
+        ObservableList<Item> source = new ObservableList<>(items);
+        Linq.index(source, category);
+        int callsAfterBuild = category.calls;
+
+        List<Item> result = Linq.where(source, Linq.keyEquals(category, "fruta"));
+
+        assertEquals(3, result.size());
+        assertEquals(callsAfterBuild, category.calls);
+    }
+
+    @Test
+    public void testWhere_WithKeyEqualsOnOtherSelector_ScansSource() {
+        ObservableList<Item> source = new ObservableList<>(items);
+        HashIndex<String, Item> index = Linq.index(source, CATEGORY);
+        index.detach();
+
+        List<Item> result = Linq.where(source, Linq.keyEquals(CATEGORY, "fruta"));
+        source.add(new Item("f", "fruta"));
+
+        assertEquals(3, result.size());
+        assertEquals(4, Linq.where(source, Linq.keyEquals(Item::getCategory, "fruta")).size());
+        assertEquals(3, index.count("fruta"));
+    }
+
+    static class Item {
+        private final String name;
+        private final String category;
+
+        Item(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        String getName() { return name; }
+        String getCategory() { return category; }
+    }
+
+    static class CountingFunction implements Function<Item, String> {
+        int calls;
+
+        @Override
+        public String apply(Item item) {
+            calls++;
+            return item.getCategory();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LinqConcurrentAggregatesTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 10_000;
+
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(task);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    // Pruebas para aggregateStats
+    @Test
+    public void testAggregateStats_MatchesSingleAggregates() {
+        List<Object> values = Arrays.asList(4, "7.5", -2, null, 10L);
+
+        Stats stats = Linq.aggregateStats(values);
+
+        assertEquals(5, stats.count());
+        assertEquals(Linq.sum(values), stats.sum(), 0.0);
+        assertEquals(Linq.min(values), stats.min(), 0.0);
+        assertEquals(Linq.max(values), stats.max(), 0.0);
+        assertEquals(Linq.average(values), stats.average(), 1e-12);
+    }
+
+    @Test
+    public void testAggregateStats_EmptyAndNull() {
+        assertEquals(Stats.empty(), Linq.aggregateStats(Collections.emptyList()));
+        assertEquals(Stats.empty(), Linq.aggregateStats(null));
+        assertEquals(0.0, Linq.aggregateStats(Arrays.asList("a", "b"), null).max(), 0.0);
+    }
+
+    @Test
+    public void testStatsMerge_EqualsStatsOfWhole() {
+        List<Integer> first = Arrays.asList(3, 9, -1);
+        List<Integer> second = Arrays.asList(12, 5);
+        List<Integer> all = new ArrayList<>(first);
+        all.addAll(second);
+
+        assertEquals(Linq.aggregateStats(all), Linq.aggregateStats(first).merge(Linq.aggregateStats(second)));
+        assertEquals(Linq.aggregateStats(first), Linq.aggregateStats(first).merge(Stats.empty()));
+    }
+
+    // Pruebas para ConcurrentStats
+    @Test
+    public void testConcurrentStats_AddsFromManyThreads() throws Exception {
+        ConcurrentStats stats = new ConcurrentStats();
+
+        runConcurrently(() -> {
+            for (int i = 1; i <= PER_THREAD; i++) {
+                stats.add(i);
+            }
+        });
+
+        Stats snapshot = stats.snapshot();
+        assertEquals((long) THREADS * PER_THREAD, snapshot.count());
+        assertEquals(THREADS * (PER_THREAD * (PER_THREAD + 1.0) / 2), snapshot.sum(), 0.0);
+        assertEquals(1.0, snapshot.min(), 0.0);
+        assertEquals(PER_THREAD, snapshot.max(), 0.0);
+    }
+
+    @Test
+    public void testConcurrentStats_AddAllAndPartialStats() throws Exception {
+        List<Integer> batch = new ArrayList<>();
+        for (int i = -50; i < 50; i++) {
+            batch.add(i);
+        }
+        ConcurrentStats stats = new ConcurrentStats();
+
+        runConcurrently(() -> {
+            stats.addAll(batch, n -> n);
+            stats.add(Linq.aggregateStats(batch));
+        });
+
+        Stats expected = Stats.empty();
+        for (int i = 0; i < 2 * THREADS; i++) {
+            expected = expected.merge(Linq.aggregateStats(batch));
+        }
+        assertEquals(expected, stats.snapshot());
+    }
+
+    @Test
+    public void testConcurrentStats_EmptyAndReset() {
+        ConcurrentStats stats = new ConcurrentStats();
+        assertEquals(Stats.empty(), stats.snapshot());
+
+        stats.add(-3.5);
+        assertEquals(-3.5, stats.snapshot().max(), 0.0);
+        stats.reset();
+
+        assertEquals(Stats.empty(), stats.snapshot());
+    }
+
+    // Pruebas para ConcurrentGroupCounter
+    @Test
+    public void testGroupCounter_MatchesGroupByAggregate() throws Exception {
+        List<String> words = Arrays.asList("uno", "dos", null, "tres", "dos", null, "dos");
+        ConcurrentGroupCounter<String> counter = new ConcurrentGroupCounter<>();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 1000; i++) {
+                counter.addAll(words, w -> w);
+            }
+        });
+
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < THREADS * 1000; i++) {
+            all.addAll(words);
+        }
+        Map<String, Long> expected = Linq.groupByAggregate(all, w -> w, Aggregators.count());
+        assertEquals(expected, counter.snapshot());
+        assertEquals(3L * THREADS * 1000, counter.count("dos"));
+        assertEquals(2L * THREADS * 1000, counter.count(null));
+        assertEquals(4, counter.size());
+    }
+
+    @Test
+    public void testGroupCounter_AddAndReset() {
+        ConcurrentGroupCounter<Integer> counter = new ConcurrentGroupCounter<>();
+        counter.increment(1);
+        counter.add(1, 41);
+        counter.add(2, 5);
+
+        assertEquals(42, counter.count(1));
+        assertEquals(0, counter.count(3));
+        counter.reset();
+        assertTrue(counter.snapshot().isEmpty());
+    }
+}
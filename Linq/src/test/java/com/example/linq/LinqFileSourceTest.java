@@ -0,0 +1,226 @@
+package com.example.linq;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinqFileSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // Pruebas para lines
+    @Test
+    public void testLines_ReadsAllLinesLazily() throws IOException {
+        File file = write("uno\r\ndos\n\ntres");
+
+        Iterable<String> lines = Linq.lines(file);
+
+        assertEquals(Arrays.asList("uno", "dos", "", "tres"), Linq.take(lines, 10));
+        assertEquals("dos", Linq.firstOrDefault(lines, l -> l.startsWith("d")));
+    }
+
+    @Test
+    public void testLines_HandlesLinesLongerThanOneChunk() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < LineCursor.CHUNK_SIZE * 2 + 17; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+        File file = write("primera\n" + longLine + "\náéí\n");
+
+        List<String> result = Linq.where(Linq.lines(file), l -> true);
+
+        assertEquals(3, result.size());
+        assertEquals(longLine.toString(), result.get(1));
+        assertEquals("áéí", result.get(2));
+    }
+
+    @Test
+    public void testLines_WithNullFile_ReturnsEmptySequence() {
+        assertFalse(Linq.any(Linq.lines((File) null)));
+    }
+
+    @Test
+    public void testLines_EarlyTermination_FileClosedByClose() throws IOException {
+        File file = write("uno\ndos\ntres\n");
+        LineSource lines;
+
+        try (LineSource source = Linq.lines(file)) {
+            lines = source;
+            for (int i = 0; i < 200; i++) {
+                assertEquals("uno", Linq.firstOrDefault(source));
+            }
+            assertTrue(Linq.any(source));
+            assertEquals(201, source.openCursors());
+        }
+
+        assertEquals(0, lines.openCursors());
+    }
+
+    @Test
+    public void testLines_FullIteration_ClosesFile() throws IOException {
+        LineSource lines = Linq.lines(write("uno\ndos\n"));
+
+        assertEquals(2, Linq.count(lines));
+        assertEquals(0, lines.openCursors());
+    }
+
+    @Test
+    public void testLines_IteratorAfterClose_Throws() throws IOException {
+        LineSource lines = Linq.lines(write("uno\ndos\n"));
+        Iterator<String> iterator = lines.iterator();
+        assertEquals("uno", iterator.next());
+
+        lines.close();
+
+        assertEquals(0, lines.openCursors());
+        try {
+            iterator.hasNext();
+            fail("se esperaba IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // El iterador ya no tiene archivo
+        }
+        assertEquals(Arrays.asList("uno", "dos"), Linq.take(lines, 10));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testLines_WithMissingFile_Throws() {
+        Linq.lines(new File(folder.getRoot(), "no-existe.txt")).iterator();
+    }
+
+    // Pruebas para csv
+    @Test
+    public void testCsv_ProjectsDeclaredColumns() throws IOException {
+        File file = write("nombre,categoria,stock,precio\n"
+                + "Laptop,Electrónica,3,1200.50\n"
+                + "\"Silla, gamer\",Muebles,10,150\n"
+                + "Mouse,Electrónica,50,25.25\n");
+
+        CsvSource csv = Linq.csv(file, productSchema());
+        List<CsvRow> electronics = Linq.where(csv, r -> "Electrónica".equals(r.getString("categoria")));
+
+        assertEquals(2, electronics.size());
+        assertEquals("Laptop", electronics.get(0).getString("nombre"));
+        assertEquals(50, electronics.get(1).getInt("stock"));
+        assertEquals("Silla, gamer", Linq.firstOrDefault(csv, r -> r.getInt("stock") == 10).getString("nombre"));
+        assertEquals(Double.valueOf(25.25), Linq.select(csv, r -> r.get("precio")).get(2));
+    }
+
+    @Test
+    public void testCsv_AggregatesParseNumbersDirectly() throws IOException {
+        File file = write("nombre,categoria,stock,precio\n"
+                + "Laptop,Electrónica,3,1200.50\n"
+                + "Silla,Muebles,10,150\n"
+                + "Mouse,Electrónica,50,\"$1,025.25\"\n");
+
+        CsvSource csv = Linq.csv(file, productSchema());
+
+        assertEquals(3, csv.count());
+        assertEquals(2375.75, csv.sum("precio"), 0.0001);
+        assertEquals(21.0, csv.average("stock"), 0.0001);
+        assertEquals(150.0, csv.min("precio"), 0.0001);
+        assertEquals(1200.5, csv.max("precio"), 0.0001);
+        assertEquals(63.0, Linq.sum(csv, r -> r.getLong("stock")), 0.0001);
+    }
+
+    @Test
+    public void testCsv_WithExplicitPositionsAndDelimiter() throws IOException {
+        File file = write("a;1;x;2.5e1\nb;2;y;-0.125\n");
+        CsvSchema schema = CsvSchema.builder()
+                .delimiter(';')
+                .column("id", 1, CsvSchema.Type.INT)
+                .column("valor", 3, CsvSchema.Type.DOUBLE)
+                .build();
+
+        CsvSource csv = Linq.csv(file, schema);
+
+        assertEquals(24.875, csv.sum("valor"), 0.0001);
+        assertEquals(3.0, Linq.sum(csv, r -> r.getInt("id")), 0.0001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCsv_WithUndeclaredColumn_Throws() throws IOException {
+        File file = write("nombre,categoria,stock,precio\nLaptop,Electrónica,3,1200.50\n");
+
+        Linq.csv(file, productSchema()).sum("descuento");
+    }
+
+    @Test
+    public void testCsv_EarlyTermination_FileClosedByClose() throws IOException {
+        File file = write("nombre,categoria,stock,precio\nLaptop,Electrónica,3,1200.50\nSilla,Muebles,10,150\n");
+        CsvSource csv;
+
+        try (CsvSource source = Linq.csv(file, productSchema())) {
+            csv = source;
+            assertEquals("Laptop", Linq.firstOrDefault(source).getString("nombre"));
+            assertEquals(1, Linq.take(source, 1).size());
+            assertEquals(3.0, source.min("stock"), 0.0);
+            assertEquals(2, source.openCursors());
+        }
+
+        assertEquals(0, csv.openCursors());
+    }
+
+    @Test
+    public void testCsv_QuotedFieldWithLineBreaks_StaysInOneRow() throws IOException {
+        File file = write("nombre,categoria,stock,precio\n"
+                + "\"Mesa\nplegable, \"\"XL\"\"\",Muebles,4,80\r\n"
+                + "Silla,Muebles,10,150\n");
+
+        CsvSource csv = Linq.csv(file, productSchema());
+        List<CsvRow> rows = Linq.where(csv, r -> true);
+
+        assertEquals(2, rows.size());
+        assertEquals("Mesa\nplegable, \"XL\"", rows.get(0).getString("nombre"));
+        assertEquals("Muebles", rows.get(0).getString("categoria"));
+        assertEquals(4, rows.get(0).getInt("stock"));
+        assertEquals(2, csv.count());
+        assertEquals(230.0, csv.sum("precio"), 0.0001);
+    }
+
+    @Test
+    public void testCsvRow_ToStringReturnsRawLine() throws IOException {
+        File file = write("\"a\",b,\"c\"\n");
+        CsvSchema schema = CsvSchema.builder().column("x", CsvSchema.Type.STRING).build();
+
+        assertEquals("\"a\",b,\"c\"", Linq.firstOrDefault(Linq.csv(file, schema)).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testCsvRow_GetIntOutOfRange_Throws() throws IOException {
+        File file = write("nombre,categoria,stock,precio\nx,y,1,3000000000\n");
+
+        Linq.firstOrDefault(Linq.csv(file, productSchema())).getInt("precio");
+    }
+
+    private static CsvSchema productSchema() {
+        return CsvSchema.builder()
+                .skipHeader(true)
+                .column("nombre", CsvSchema.Type.STRING)
+                .column("categoria", CsvSchema.Type.STRING)
+                .column("stock", CsvSchema.Type.INT)
+                .column("precio", CsvSchema.Type.DOUBLE)
+                .build();
+    }
+
+    private File write(String content) throws IOException {
+        File file = folder.newFile();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LinqFlowTest {
+
+    /** Suscriptor que guarda lo que recibe y pide {@code initial} elementos al suscribirse. */
+    static final class Recorder<T> implements Flow.Subscriber<T> {
+        final List<T> items = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+        private final long initial;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        Recorder(long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initial > 0) {
+                subscription.request(initial);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("no terminó", done.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /** Publicador síncrono de 1..count que registra cuánto se le pidió y si se canceló. */
+    static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int count;
+        long requested;
+        boolean cancelled;
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int next = 1;
+                private long demand;
+                private boolean emitting;
+                private boolean completed;
+
+                @Override
+                public void request(long n) {
+                    requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && next <= count && !cancelled) {
+                        demand--;
+                        subscriber.onNext(next++);
+                    }
+                    if (next > count && !cancelled && !completed) {
+                        completed = true;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    // Pruebas para los operadores
+    @Test
+    public void testOperators_WithSubmissionPublisher_MatchLinq() throws Exception {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i % 40);
+        }
+        Recorder<String> recorder = new Recorder<>(Long.MAX_VALUE);
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            LinqFlow.from(publisher)
+                    .where(n -> n % 3 != 0)
+                    .distinct()
+                    .skip(2)
+                    .select(n -> "#" + n)
+                    .take(10)
+                    .subscribe(recorder);
+            for (Integer n : numbers) {
+                publisher.submit(n);
+            }
+        }
+        recorder.await();
+
+        List<Integer> distinct = Linq.distinct(Linq.where(numbers, n -> n % 3 != 0));
+        assertEquals(Linq.select(Linq.take(Linq.skip(distinct, 2), 10), n -> "#" + n), recorder.items);
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void testTake_CancelsSource() throws Exception {
+        RangePublisher source = new RangePublisher(1000);
+        Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+
+        LinqFlow.from(source).take(5).subscribe(recorder);
+
+        recorder.await();
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), recorder.items);
+        assertTrue(source.cancelled);
+    }
+
+    @Test
+    public void testTakeZero_CompletesWithoutRequesting() throws Exception {
+        RangePublisher source = new RangePublisher(10);
+        Recorder<Integer> recorder = new Recorder<>(0);
+
+        LinqFlow.from(source).take(0).subscribe(recorder);
+
+        recorder.await();
+        assertTrue(recorder.items.isEmpty());
+        assertEquals(0, source.requested);
+    }
+
+    @Test
+    public void testWhere_RequestsOnlyWhatIsNeeded() {
+        RangePublisher source = new RangePublisher(1_000_000);
+        Recorder<Integer> recorder = new Recorder<>(10);
+
+        LinqFlow.from(source).where(n -> n % 2 == 0).subscribe(recorder);
+
+        assertEquals(Arrays.asList(2, 4, 6, 8, 10, 12, 14, 16, 18, 20), recorder.items);
+        assertTrue("pedidos: " + source.requested, source.requested <= 21);
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    public void testSelectMany_RespectsDemand() {
+        RangePublisher source = new RangePublisher(100);
+        Recorder<String> recorder = new Recorder<>(3);
+
+        LinqFlow.from(source).selectMany(n -> Arrays.asList(n + "a", n + "b", n + "c", n + "d")).subscribe(recorder);
+
+        assertEquals(Arrays.asList("1a", "1b", "1c"), recorder.items);
+        assertEquals(1, source.requested);
+
+        recorder.subscription.request(3);
+        assertEquals(Arrays.asList("1a", "1b", "1c", "1d", "2a", "2b"), recorder.items);
+        assertEquals(2, source.requested);
+    }
+
+    @Test
+    public void testSelectMany_FlattensAll() throws Exception {
+        Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+
+        LinqFlow.from(new RangePublisher(4))
+                .selectMany(n -> n % 2 == 0 ? Collections.<Integer>emptyList() : Arrays.asList(n, n * 10))
+                .subscribe(recorder);
+
+        recorder.await();
+        assertEquals(Arrays.asList(1, 10, 3, 30), recorder.items);
+    }
+
+    @Test
+    public void testGroupBy_EmitsWindows() throws Exception {
+        Recorder<Map<Boolean, List<Integer>>> recorder = new Recorder<>(Long.MAX_VALUE);
+
+        LinqFlow.from(new RangePublisher(23)).groupBy(n -> n % 2 == 0, 5).subscribe(recorder);
+
+        recorder.await();
+        assertEquals(5, recorder.items.size());
+        assertEquals(Arrays.asList(1, 3, 5), recorder.items.get(0).get(false));
+        assertEquals(Arrays.asList(2, 4), recorder.items.get(0).get(true));
+        assertEquals(Arrays.asList(21, 23), recorder.items.get(4).get(false));
+        assertEquals(Collections.singletonList(22), recorder.items.get(4).get(true));
+    }
+
+    @Test
+    public void testGroupBy_RequestsOneWindowPerDemand() {
+        RangePublisher source = new RangePublisher(1000);
+        Recorder<Map<Integer, List<Integer>>> recorder = new Recorder<>(2);
+
+        LinqFlow.from(source).groupBy(n -> n % 3, 10).subscribe(recorder);
+
+        assertEquals(2, recorder.items.size());
+        assertEquals(20, source.requested);
+    }
+
+    @Test
+    public void testSelectorError_CancelsSourceAndSignalsError() throws Exception {
+        RangePublisher source = new RangePublisher(10);
+        Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+
+        LinqFlow.from(source).select(n -> 10 / (3 - n)).subscribe(recorder);
+
+        recorder.await();
+        assertEquals(Arrays.asList(5, 10), recorder.items);
+        assertTrue(recorder.error instanceof ArithmeticException);
+        assertTrue(source.cancelled);
+    }
+
+    @Test
+    public void testNonPositiveRequest_SignalsError() throws Exception {
+        Recorder<Integer> recorder = new Recorder<>(0);
+
+        LinqFlow.from(new RangePublisher(10)).selectMany(Collections::singletonList).subscribe(recorder);
+        recorder.subscription.request(0);
+
+        recorder.await();
+        assertTrue(recorder.error instanceof IllegalArgumentException);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroupBy_WithNonPositiveWindow_Throws() {
+        LinqFlow.from(new RangePublisher(1)).groupBy(n -> n, 0);
+    }
+
+    // Pruebas para processor
+    @Test
+    public void testProcessor_BetweenPublisherAndSubscriber() throws Exception {
+        Flow.Processor<String, Integer> lengths = LinqFlow.processor(f -> f.where(s -> !s.isEmpty()).select(String::length));
+        Recorder<Integer> recorder = new Recorder<>(Long.MAX_VALUE);
+
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(lengths);
+            lengths.subscribe(recorder);
+            for (String word : Arrays.asList("uno", "", "cuatro", "", "dos")) {
+                publisher.submit(word);
+            }
+        }
+        recorder.await();
+
+        assertEquals(Arrays.asList(3, 6, 3), recorder.items);
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void testProcessor_SecondSubscriberGetsError() throws Exception {
+        Flow.Processor<Integer, Integer> identity = LinqFlow.processor(f -> f);
+        identity.subscribe(new Recorder<>(1));
+        Recorder<Integer> second = new Recorder<>(1);
+
+        identity.subscribe(second);
+
+        second.await();
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LinqGroupByAggregateTest {
+
+    private final List<String> words = Arrays.asList("uno", "dos", "tres", "cuatro", "cinco", "seis", "siete");
+
+    // Pruebas para groupByAggregate
+    @Test
+    public void testCount_MatchesGroupBySizes() {
+        Map<Integer, Long> counts = Linq.groupByAggregate(words, String::length, Aggregators.count());
+        Map<Integer, List<String>> groups = Linq.groupBy(words, String::length);
+
+        assertEquals(groups.size(), counts.size());
+        for (Map.Entry<Integer, List<String>> group : groups.entrySet()) {
+            assertEquals(group.getValue().size(), counts.get(group.getKey()).intValue());
+        }
+    }
+
+    @Test
+    public void testNumericAggregators() {
+        List<Integer> numbers = Arrays.asList(5, -3, 8, 2, -7, 4);
+
+        assertEquals(Double.valueOf(19), Linq.groupByAggregate(numbers, n -> n > 0, Aggregators.sum(n -> n)).get(true));
+        assertEquals(Long.valueOf(-10), Linq.groupByAggregate(numbers, n -> n > 0, Aggregators.sumLong(n -> n)).get(false));
+        assertEquals(Double.valueOf(2), Linq.groupByAggregate(numbers, n -> n > 0, Aggregators.min(n -> n)).get(true));
+        assertEquals(Double.valueOf(-3), Linq.groupByAggregate(numbers, n -> n > 0, Aggregators.max(n -> n)).get(false));
+        assertEquals(Double.valueOf(-5), Linq.groupByAggregate(numbers, n -> n > 0, Aggregators.average(n -> n)).get(false));
+    }
+
+    @Test
+    public void testMinAndMax_WithOnlyNegativeValues() {
+        List<Integer> numbers = Arrays.asList(-4, -9, -1);
+
+        assertEquals(Double.valueOf(-1), Linq.groupByAggregate(numbers, n -> 0, Aggregators.max(n -> n)).get(0));
+        assertEquals(Double.valueOf(-9), Linq.groupByAggregate(numbers, n -> 0, Aggregators.min(n -> n)).get(0));
+    }
+
+    @Test
+    public void testFirstAndLast_KeepEncounterOrder() {
+        Map<Character, String> first = Linq.groupByAggregate(words, w -> w.charAt(0), Aggregators.first());
+        Map<Character, String> last = Linq.groupByAggregate(words, w -> w.charAt(0), Aggregators.last());
+
+        assertEquals("cuatro", first.get('c'));
+        assertEquals("cinco", last.get('c'));
+        assertEquals("seis", first.get('s'));
+        assertEquals("siete", last.get('s'));
+    }
+
+    @Test
+    public void testFirst_KeepsNullElement() {
+        List<String> values = Arrays.asList(null, "b");
+
+        Map<Integer, String> first = Linq.groupByAggregate(values, v -> 0, Aggregators.first());
+
+        assertNull(first.get(0));
+        assertTrue(first.containsKey(0));
+    }
+
+    @Test
+    public void testNullKey_FormsItsOwnGroup() {
+        List<String> values = Arrays.asList("a", null, "b", null);
+
+        Map<String, Long> counts = Linq.groupByAggregate(values, v -> v, Aggregators.count());
+
+        assertEquals(Long.valueOf(2), counts.get(null));
+        assertEquals(3, counts.size());
+    }
+
+    @Test
+    public void testNullArguments_ReturnEmptyMap() {
+        assertTrue(Linq.groupByAggregate(null, String::length, Aggregators.count()).isEmpty());
+        assertTrue(Linq.groupByAggregate(words, null, Aggregators.count()).isEmpty());
+        assertTrue(Linq.groupByAggregate(words, String::length, null).isEmpty());
+    }
+
+    // Pruebas para las agregaciones compuestas
+    @Test
+    public void testTeeing_CombinesInOnePass() {
+        Map<Integer, String> ranges = Linq.groupByAggregate(Arrays.asList(3, 9, 4, 12, 7), n -> n % 2,
+                Aggregators.teeing(Aggregators.min(n -> n), Aggregators.max(n -> n),
+                        (min, max) -> min.intValue() + ".." + max.intValue()));
+
+        assertEquals("3..9", ranges.get(1));
+        assertEquals("4..12", ranges.get(0));
+    }
+
+    @Test
+    public void testAllOf_ReturnsResultsInArgumentOrder() {
+        Map<Integer, List<Object>> stats = Linq.groupByAggregate(words, String::length, Aggregators.allOf(
+                Aggregators.count(), Aggregators.first(), Aggregators.last()));
+
+        assertEquals(Arrays.asList(2L, "uno", "dos"), stats.get(3));
+        assertEquals(Arrays.asList(2L, "tres", "seis"), stats.get(4));
+    }
+
+    @Test
+    public void testOf_UsesCustomState() {
+        Map<Integer, List<String>> collected = Linq.groupByAggregate(words, String::length,
+                Aggregators.<String, List<String>, List<String>>of(ArrayList::new, List::add, list -> list));
+
+        assertEquals(Arrays.asList("cinco", "siete"), collected.get(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAllOf_WithNullAggregator_Throws() {
+        Aggregators.allOf(Aggregators.count(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSum_WithNullSelector_Throws() {
+        Aggregators.sum(null);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.Assert.*;
+
+public class LinqGroupByWindowTest {
+
+    /** Lectura de un sensor: {sensor, milisegundos, valor}. */
+    private static Object[] reading(String sensor, long millis, double value) {
+        return new Object[]{sensor, millis, value};
+    }
+
+    private static String sensor(Object[] r) {
+        return (String) r[0];
+    }
+
+    private static long millis(Object[] r) {
+        return (Long) r[1];
+    }
+
+    private static double value(Object[] r) {
+        return (Double) r[2];
+    }
+
+    private final List<Object[]> readings = Arrays.asList(
+            reading("a", 1_000, 1.0),
+            reading("b", 20_000, 2.0),
+            reading("a", 59_000, 3.0),
+            reading("a", 61_000, 4.0),
+            reading("b", 58_000, 5.0),   // llega tarde, dentro del retraso permitido
+            reading("a", 130_000, 6.0),
+            reading("b", 30_000, 7.0),   // su ventana ya se cerró
+            reading("b", 125_000, 8.0));
+
+    // Pruebas para groupByWindow
+    @Test
+    public void testWindows_CountAndSumPerKey() {
+        List<TimeWindow<String, Stats>> windows = new ArrayList<>();
+        for (TimeWindow<String, Stats> window : Linq.groupByWindow(readings, LinqGroupByWindowTest::sensor,
+                LinqGroupByWindowTest::millis, 60_000, 5_000, Aggregators.stats(LinqGroupByWindowTest::value))) {
+            windows.add(window);
+        }
+
+        assertEquals(3, windows.size());
+        assertEquals(0, windows.get(0).start());
+        assertEquals(60_000, windows.get(0).end());
+        Map<String, Stats> first = windows.get(0).results();
+        assertEquals(2, first.get("a").count());
+        assertEquals(4.0, first.get("a").sum(), 0.0);
+        assertEquals(2, first.get("b").count());
+        assertEquals(7.0, first.get("b").sum(), 0.0);
+        assertEquals(60_000, windows.get(1).start());
+        assertEquals(4.0, windows.get(1).results().get("a").sum(), 0.0);
+        assertEquals(120_000, windows.get(2).start());
+        assertEquals(2, windows.get(2).results().size());
+    }
+
+    @Test
+    public void testWindows_AreEmittedBeforeSourceEnds() {
+        Iterator<Object[]> infinite = new Iterator<Object[]>() {
+            private long millis;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Object[] next() {
+                millis += 1_000;
+                return reading(millis % 3000 == 0 ? "a" : "b", millis, 1.0);
+            }
+        };
+
+        Iterator<TimeWindow<String, Long>> windows = Linq.groupByWindow(Linq.fromIterator(infinite),
+                LinqGroupByWindowTest::sensor, LinqGroupByWindowTest::millis, 10_000, 0, Aggregators.count()).iterator();
+
+        TimeWindow<String, Long> first = windows.next();
+        assertEquals(0, first.start());
+        assertEquals(Long.valueOf(3), first.results().get("a"));
+        assertEquals(Long.valueOf(6), first.results().get("b"));
+        TimeWindow<String, Long> second = windows.next();
+        assertEquals(10_000, second.start());
+        assertEquals(Long.valueOf(10), Long.valueOf(second.results().get("a") + second.results().get("b")));
+    }
+
+    @Test
+    public void testNegativeTimestamps_UseFloorWindows() {
+        List<Long> times = Arrays.asList(-15L, -5L, 5L);
+
+        List<Long> starts = new ArrayList<>();
+        for (TimeWindow<Long, Long> window : Linq.groupByWindow(times, t -> 0L, t -> t, 10, 100, Aggregators.count())) {
+            starts.add(window.start());
+        }
+
+        assertEquals(Arrays.asList(-20L, -10L, 0L), starts);
+    }
+
+    @Test
+    public void testNullArguments_ReturnEmpty() {
+        assertFalse(Linq.groupByWindow(null, t -> t, t -> 0L, 10, 0, Aggregators.count()).iterator().hasNext());
+        assertFalse(Linq.groupByWindow(readings, LinqGroupByWindowTest::sensor, LinqGroupByWindowTest::millis, 10,
+                0, null).iterator().hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveWindow_Throws() {
+        Linq.groupByWindow(readings, LinqGroupByWindowTest::sensor, LinqGroupByWindowTest::millis, 0, 0,
+                Aggregators.count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLateness_Throws() {
+        Linq.groupByWindow(readings, LinqGroupByWindowTest::sensor, LinqGroupByWindowTest::millis, 10, -1,
+                Aggregators.count());
+    }
+
+    @Test
+    public void testStatsAggregator_MatchesAggregateStats() {
+        List<Integer> numbers = Arrays.asList(4, -2, 9, 7);
+
+        Map<Integer, Stats> stats = Linq.groupByAggregate(numbers, n -> 0, Aggregators.stats(n -> n));
+
+        assertEquals(Linq.aggregateStats(numbers), stats.get(0));
+    }
+
+    // Pruebas para LinqFlow.groupByWindow
+    @Test
+    public void testFlowWindows_MatchIterableWindows() throws Exception {
+        LinqFlowTest.Recorder<TimeWindow<String, Stats>> recorder = new LinqFlowTest.Recorder<>(Long.MAX_VALUE);
+
+        try (SubmissionPublisher<Object[]> publisher = new SubmissionPublisher<>()) {
+            LinqFlow.from(publisher)
+                    .groupByWindow(LinqGroupByWindowTest::sensor, LinqGroupByWindowTest::millis, 60_000, 5_000,
+                            Aggregators.stats(LinqGroupByWindowTest::value))
+                    .subscribe(recorder);
+            for (Object[] r : readings) {
+                publisher.submit(r);
+            }
+        }
+        recorder.await();
+
+        List<String> expected = new ArrayList<>();
+        for (TimeWindow<String, Stats> window : Linq.groupByWindow(readings, LinqGroupByWindowTest::sensor,
+                LinqGroupByWindowTest::millis, 60_000, 5_000, Aggregators.stats(LinqGroupByWindowTest::value))) {
+            expected.add(window.toString());
+        }
+        assertEquals(expected, Linq.select(recorder.items, TimeWindow::toString));
+    }
+
+    @Test
+    public void testFlowWindows_EmitWhenClosedWithLimitedDemand() {
+        LinqFlowTest.RangePublisher source = new LinqFlowTest.RangePublisher(1_000_000);
+        LinqFlowTest.Recorder<TimeWindow<Integer, Long>> recorder = new LinqFlowTest.Recorder<>(2);
+
+        LinqFlow.from(source).groupByWindow(n -> n % 2, n -> n, 100, 0, Aggregators.count()).subscribe(recorder);
+
+        assertEquals(2, recorder.items.size());
+        assertEquals(Long.valueOf(50), recorder.items.get(1).results().get(0));
+        assertTrue("pedidos: " + source.requested, source.requested < 1_000);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class LinqIntoTest {
+
+    private static final Predicate<Integer> EVEN = n -> n % 2 == 0;
+
+    private final List<Integer> numbers = Arrays.asList(5, 2, 8, 2, 7, 4, 9);
+
+    // Pruebas para los operadores Into
+    @Test
+    public void testWhereInto_ClearsAndReusesTarget() {
+        List<Integer> target = new ArrayList<>(Arrays.asList(100, 200));
+
+        List<Integer> result = Linq.whereInto(numbers, EVEN, target);
+
+        assertSame(target, result);
+        assertEquals(Linq.where(numbers, EVEN), target);
+        Linq.whereInto(Arrays.asList(1, 6), EVEN, target);
+        assertEquals(Arrays.asList(6), target);
+    }
+
+    @Test
+    public void testOperators_MatchAllocatingVersions() {
+        LinkedList<Integer> linked = new LinkedList<>(numbers);
+        List<Object> target = new ArrayList<>();
+
+        assertEquals(Linq.select(numbers, n -> n * 10), Linq.selectInto(numbers, n -> n * 10, target));
+        assertEquals(Linq.select(linked, n -> -n), Linq.selectInto(linked, n -> -n, target));
+        assertEquals(Linq.selectMany(numbers, n -> Arrays.asList(n, n)),
+                Linq.selectManyInto(numbers, n -> Arrays.asList(n, n), target));
+        assertEquals(Linq.distinct(numbers), Linq.distinctInto(numbers, target));
+        assertEquals(Linq.take(numbers, 3), Linq.takeInto(numbers, 3, target));
+        assertEquals(Linq.take(linked, 3), Linq.takeInto(linked, 3, target));
+        assertEquals(Linq.skip(numbers, 5), Linq.skipInto(numbers, 5, target));
+        assertEquals(Linq.skip(linked, -1), Linq.skipInto(linked, -1, target));
+        assertEquals(Linq.where(linked, EVEN), Linq.whereInto(linked, EVEN, target));
+    }
+
+    @Test
+    public void testDistinctInto_WithSetTarget() {
+        Set<Integer> target = new LinkedHashSet<>(Arrays.asList(42));
+
+        Linq.distinctInto(numbers, target);
+
+        assertEquals(new ArrayList<>(Linq.distinct(numbers)), new ArrayList<>(target));
+    }
+
+    @Test
+    public void testOrderByInto_IsStable() {
+        List<String> words = Arrays.asList("pera", "uva", "kiwi", "sandía", "ajo");
+        List<String> target = new ArrayList<>();
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+
+        Linq.orderByInto(words, byLength, target);
+
+        assertEquals(Linq.orderBy(words, String::length), target);
+        assertEquals(words, Linq.orderByInto(Linq.fromIterator(words.iterator()), null, target));
+    }
+
+    @Test
+    public void testPrimitiveInto_ReusesArray() {
+        IntList ints = IntList.of(99, 99, 99);
+        LongList longs = new LongList();
+        DoubleList doubles = new DoubleList();
+
+        Linq.selectIntInto(numbers, n -> n, ints);
+        Linq.selectLongInto(new LinkedList<>(numbers), n -> (long) n * n, longs);
+        Linq.selectDoubleInto(numbers, n -> n / 2.0, doubles);
+
+        assertEquals(Linq.selectInt(numbers, n -> n), ints);
+        assertEquals(Linq.selectLong(numbers, n -> (long) n * n), longs);
+        assertEquals(Linq.selectDouble(numbers, n -> n / 2.0), doubles);
+        assertTrue(Linq.selectIntInto(null, n -> 1, ints).isEmpty());
+    }
+
+    @Test
+    public void testGroupByInto_ReusesGroupListsAndDropsEmptyOnes() {
+        Map<Integer, List<Integer>> target = new HashMap<>();
+
+        Linq.groupByInto(numbers, n -> n % 3, target);
+        assertEquals(Linq.groupBy(numbers, n -> n % 3), target);
+        List<Integer> remainderTwo = target.get(2);
+
+        Linq.groupByInto(new LinkedList<>(Arrays.asList(11, 3, 14)), n -> n % 3, target);
+
+        assertEquals(Linq.groupBy(Arrays.asList(11, 3, 14), n -> n % 3), target);
+        assertSame(remainderTwo, target.get(2));
+        assertFalse(target.containsKey(1));
+        assertTrue(Linq.groupByInto(null, (Integer n) -> n, target).isEmpty());
+    }
+
+    @Test
+    public void testGroupByInto_NullKeyFormsItsOwnGroup() {
+        Map<Integer, List<Integer>> target = new HashMap<>();
+
+        Linq.groupByInto(numbers, n -> n % 2 == 0 ? null : n % 3, target);
+
+        assertEquals(Linq.where(numbers, n -> n % 2 == 0), target.get(null));
+    }
+
+    @Test
+    public void testJoinInto_MatchJoinAndGroupJoin() {
+        List<String> words = Arrays.asList("dos", "cinco", "ocho", "siete");
+        List<Object> target = new ArrayList<>(Arrays.asList("viejo"));
+
+        Linq.joinInto(numbers, words, n -> n, String::length, (n, w) -> n + w, target);
+        assertEquals(Linq.join(numbers, words, n -> n, String::length, (n, w) -> n + w), target);
+
+        Linq.groupJoinInto(numbers, words, n -> n, String::length, (n, ws) -> n + ":" + ws.size(), target);
+        assertEquals(Linq.groupJoin(numbers, words, n -> n, String::length, (n, ws) -> n + ":" + ws.size()),
+                target);
+
+        assertTrue(Linq.joinInto(numbers, null, n -> n, (String w) -> 0, (n, w) -> n, target).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJoinInto_InnerAsTarget_Throws() {
+        List<Integer> inner = new ArrayList<>(numbers);
+        Linq.joinInto(numbers, inner, n -> n, n -> n, (a, b) -> a, inner);
+    }
+
+    @Test
+    public void testNullSourceOrFunction_ClearsTarget() {
+        List<Integer> target = new ArrayList<>(Arrays.asList(1, 2));
+
+        assertTrue(Linq.whereInto(null, EVEN, target).isEmpty());
+        target.add(3);
+        assertTrue(Linq.selectInto(numbers, null, target).isEmpty());
+        target.add(3);
+        assertTrue(Linq.takeInto(numbers, 0, target).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullTarget_Throws() {
+        Linq.whereInto(numbers, EVEN, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceAsTarget_Throws() {
+        List<Integer> list = new ArrayList<>(numbers);
+        Linq.whereInto(list, EVEN, list);
+    }
+
+    // Pruebas para el estado estable sin asignaciones
+    @Test
+    public void testWhereInto_SteadyStateDoesNotAllocate() {
+        if (!LinqMetrics.isAllocationTrackingSupported()) {
+            return;
+        }
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+        List<Integer> target = new ArrayList<>(source.size());
+        IntList ints = new IntList(source.size());
+        // La primera ronda incluye la carga de clases y la compilación; se toma la mejor de varias rondas
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long before = AllocationCounter.currentThreadAllocatedBytes();
+            for (int i = 0; i < 1000; i++) {
+                Linq.whereInto(source, EVEN, target);
+                Linq.selectIntInto(source, Integer::intValue, ints);
+            }
+            allocated = Math.min(allocated, AllocationCounter.currentThreadAllocatedBytes() - before);
+        }
+
+        assertEquals(500, target.size());
+        // Tolera las pocas asignaciones de la propia medición por reflexión
+        assertTrue("bytes asignados: " + allocated, allocated < 1024);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinqLookupTest {
+
+    private final List<String> words = Arrays.asList("uno", "dos", "tres", "cuatro", "cinco", "seis", "siete", "ocho");
+
+    // Pruebas para groupByLazy en modo INDEXED
+    @Test
+    public void testIndexed_MatchesGroupBy() {
+        Lookup<Integer, String> lookup = Linq.groupByLazy(new LinkedList<>(words), String::length);
+
+        assertEquals(Linq.groupBy(words, String::length), lookup.toMap());
+        assertEquals(new HashSet<>(Arrays.asList(3, 4, 5, 6)), lookup.keys());
+        assertEquals(4, lookup.size());
+    }
+
+    @Test
+    public void testIndexed_DoesNotReadSourceUntilFirstQuery() {
+        LinqSingleTraversalTest.CountingIterable<String> source = new LinqSingleTraversalTest.CountingIterable<>(words);
+
+        Lookup<Integer, String> lookup = Linq.groupByLazy(source, String::length);
+        assertEquals(0, source.iterators);
+
+        assertEquals(Arrays.asList("tres", "seis", "ocho"), lookup.get(4));
+        assertEquals(Arrays.asList("uno", "dos"), lookup.get(3));
+        assertEquals(1, source.iterators);
+        assertTrue(lookup.isIndexed());
+    }
+
+    @Test
+    public void testContainsKeyAndCount_DoNotMaterializeGroups() {
+        Lookup<Integer, String> lookup = Linq.groupByLazy(words, String::length);
+
+        assertTrue(lookup.containsKey(5));
+        assertFalse(lookup.containsKey(9));
+        assertEquals(2, lookup.count(5));
+        assertEquals(0, lookup.count(9));
+        assertEquals(0, lookup.materializedGroups());
+
+        List<String> five = lookup.get(5);
+        assertSame(five, lookup.get(5));
+        assertEquals(1, lookup.materializedGroups());
+    }
+
+    @Test
+    public void testGroups_AreReadOnly() {
+        Lookup<Integer, String> lookup = Linq.groupByLazy(words, String::length);
+
+        try {
+            lookup.get(3).add("diez");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+            // esperado
+        }
+        // Las claves sin elementos no se guardan
+        assertTrue(lookup.get(42).isEmpty());
+        assertEquals(1, lookup.materializedGroups());
+    }
+
+    @Test
+    public void testNullKey_FormsItsOwnGroup() {
+        List<String> values = Arrays.asList("a", null, "b", null);
+
+        Lookup<String, String> indexed = Linq.groupByLazy(values, v -> v);
+        Lookup<String, String> deferred = Linq.groupByLazy(values, v -> v, Lookup.Mode.DEFERRED);
+
+        assertEquals(Arrays.asList(null, null), indexed.get(null));
+        assertEquals(2, deferred.count(null));
+        assertTrue(deferred.containsKey(null));
+    }
+
+    // Pruebas para groupByLazy en modo DEFERRED
+    @Test
+    public void testDeferred_ScansOnlyForRequestedKeys() {
+        CountingCollection<String> source = new CountingCollection<>(words);
+        Lookup<Integer, String> lookup = Linq.groupByLazy(source, String::length, Lookup.Mode.DEFERRED);
+
+        assertEquals(Arrays.asList("cuatro"), lookup.get(6));
+        assertEquals(Arrays.asList("cuatro"), lookup.get(6));
+        assertEquals(1, source.iterators);
+        assertFalse(lookup.isIndexed());
+
+        assertEquals(2, lookup.count(5));
+        assertEquals(1, lookup.count(6));
+        assertEquals(2, source.iterators);
+    }
+
+    @Test
+    public void testDeferred_WithSingleTraversalSource_IndexesOnFirstQuery() {
+        Lookup<Integer, String> lookup = Linq.groupByLazy(Linq.fromIterator(words.iterator()), String::length,
+                Lookup.Mode.DEFERRED);
+
+        assertEquals(Arrays.asList("cuatro"), lookup.get(6));
+        assertTrue(lookup.isIndexed());
+        assertEquals(2, lookup.count(5));
+        assertTrue(lookup.containsKey(3));
+        assertEquals(Arrays.asList("tres", "seis", "ocho"), lookup.get(4));
+    }
+
+    @Test
+    public void testDeferred_KeysBuildsIndex() {
+        Lookup<Integer, String> lookup = Linq.groupByLazy(words, String::length, Lookup.Mode.DEFERRED);
+
+        assertEquals(4, lookup.size());
+        assertTrue(lookup.isIndexed());
+        assertEquals(Linq.groupBy(words, String::length), lookup.toMap());
+    }
+
+    @Test
+    public void testNullArguments() {
+        assertEquals(0, Linq.groupByLazy(null, String::length).size());
+        assertTrue(Linq.groupByLazy(words, null).get(3).isEmpty());
+        assertEquals(Collections.emptyMap(), Linq.groupByLazy(null, String::length, Lookup.Mode.DEFERRED).toMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullMode_Throws() {
+        Linq.groupByLazy(words, String::length, null);
+    }
+
+    /** Colección que cuenta cuántas veces se recorrió. */
+    static final class CountingCollection<T> extends AbstractCollection<T> {
+        private final List<T> items;
+        int iterators;
+
+        CountingCollection(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            iterators++;
+            return items.iterator();
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.linq;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinqMetricsTest {
+
+    private final List<Integer> numbers = Arrays.asList(5, 3, 8, 1, 9, 2);
+
+    @After
+    public void tearDown() {
+        LinqMetrics.setListener(null);
+        LinqMetrics.setAllocationTracking(false);
+    }
+
+    // Pruebas para el listener global
+    @Test
+    public void testGlobalListener_RecordsOperatorAndSizes() {
+        RecordingListener listener = new RecordingListener();
+        LinqMetrics.setListener(listener);
+
+        Linq.where(numbers, n -> n > 4);
+
+        assertEquals(1, listener.events.size());
+        LinqMetrics.Event event = listener.events.get(0);
+        assertEquals("where", event.operator());
+        assertEquals(6, event.inputSize());
+        assertEquals(3, event.outputSize());
+        assertTrue(event.elapsedNanos() >= 0);
+        assertEquals(-1, event.allocatedBytes());
+    }
+
+    @Test
+    public void testGlobalListener_ReportsEachPublicCallOnce() {
+        RecordingListener listener = new RecordingListener();
+        LinqMetrics.setListener(listener);
+
+        Linq.sum(numbers, n -> n);
+        Linq.orderByDescending(numbers, n -> n);
+        Linq.join(numbers, Arrays.asList(1, 2), n -> n, n -> n, (a, b) -> a);
+        Linq.firstOrDefault(Arrays.<Integer>asList());
+
+        assertEquals(Arrays.asList("sum", "orderByDescending", "join", "firstOrDefault"), listener.operators());
+        assertEquals(8, listener.events.get(2).inputSize());
+        assertEquals(0, listener.events.get(3).outputSize());
+    }
+
+    @Test
+    public void testDisabled_RecordsNothing() {
+        RecordingListener listener = new RecordingListener();
+        LinqMetrics.setListener(listener);
+        LinqMetrics.setListener(null);
+
+        Linq.count(numbers);
+
+        assertFalse(LinqMetrics.isEnabled());
+        assertTrue(listener.events.isEmpty());
+    }
+
+    @Test
+    public void testListenerException_DoesNotBreakOperator() {
+        LinqMetrics.setListener(event -> {
+            throw new IllegalStateException("fallo");
+        });
+
+        assertEquals(6, Linq.count(numbers));
+    }
+
+    // Pruebas para listeners de alcance
+    @Test
+    public void testScope_OverridesGlobalOnlyInCurrentThread() throws Exception {
+        RecordingListener global = new RecordingListener();
+        RecordingListener scoped = new RecordingListener();
+        LinqMetrics.setListener(global);
+
+        LinqMetrics.Scope scope = LinqMetrics.scope(scoped);
+        try (scope) {
+            Linq.select(numbers, n -> n * 2);
+            Thread other = new Thread(() -> Linq.distinct(numbers));
+            other.start();
+            other.join();
+        }
+        Linq.take(numbers, 2);
+
+        assertEquals(Arrays.asList("select"), scoped.operators());
+        assertEquals(Arrays.asList("distinct", "take"), global.operators());
+    }
+
+    @Test
+    public void testScope_WithoutGlobalListener_IsDisabledAfterClose() {
+        RecordingListener scoped = new RecordingListener();
+
+        LinqMetrics.Scope scope = LinqMetrics.scope(scoped);
+        try (scope) {
+            assertTrue(LinqMetrics.isEnabled());
+            Linq.any(numbers);
+        }
+
+        assertFalse(LinqMetrics.isEnabled());
+        assertEquals(Arrays.asList("any"), scoped.operators());
+    }
+
+    @Test
+    public void testAllocationTracking_ReportsBytesWhenSupported() {
+        RecordingListener listener = new RecordingListener();
+        LinqMetrics.setListener(listener);
+        LinqMetrics.setAllocationTracking(true);
+
+        List<Integer> many = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            many.add(i);
+        }
+        Linq.select(many, n -> "n" + n);
+
+        long bytes = listener.events.get(0).allocatedBytes();
+        if (LinqMetrics.isAllocationTrackingSupported()) {
+            assertTrue(bytes > 0);
+        } else {
+            assertEquals(-1, bytes);
+        }
+    }
+
+    // Pruebas para MetricsAggregator
+    @Test
+    public void testAggregator_AccumulatesAcrossThreads() throws Exception {
+        MetricsAggregator aggregator = new MetricsAggregator();
+        LinqMetrics.setListener(aggregator);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    Linq.where(numbers, n -> n % 2 == 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        MetricsAggregator.Snapshot where = aggregator.snapshot("where");
+        assertEquals(2000, where.calls());
+        assertEquals(2000 * 6, where.inputRows());
+        assertEquals(2000 * 2, where.outputRows());
+        assertTrue(where.percentileNanos(0.5) <= where.percentileNanos(0.99));
+        assertTrue(where.percentileNanos(0.99) <= where.maxNanos());
+        assertNull(aggregator.snapshot("groupJoin"));
+    }
+
+    @Test
+    public void testAggregator_ReportAndReset() {
+        MetricsAggregator aggregator = new MetricsAggregator();
+        LinqMetrics.setListener(aggregator);
+
+        Linq.orderBy(numbers, n -> n);
+        Linq.groupBy(numbers, n -> n % 3);
+
+        assertEquals(2, aggregator.snapshots().size());
+        assertTrue(aggregator.report().contains("orderBy"));
+        assertTrue(aggregator.report().contains("groupBy"));
+
+        aggregator.reset();
+        assertTrue(aggregator.snapshots().isEmpty());
+        assertEquals("", aggregator.report());
+    }
+
+    static class RecordingListener implements LinqMetrics.Listener {
+        final List<LinqMetrics.Event> events = new ArrayList<>();
+
+        @Override
+        public synchronized void onCall(LinqMetrics.Event event) {
+            events.add(event);
+        }
+
+        synchronized List<String> operators() {
+            List<String> names = new ArrayList<>();
+            for (LinqMetrics.Event event : events) {
+                names.add(event.operator());
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinqMinMaxByTest {
+
+    private static final List<String> WORDS = Arrays.asList("pera", "uva", "manzana", "kiwi", "higo", "melocotón", "sandía");
+
+    // Pruebas para minBy y maxBy
+    @Test
+    public void testMinBy_ReturnsFirstElementWithSmallestKey() {
+        assertEquals("uva", Linq.minBy(WORDS, String::length));
+        assertEquals("higo", Linq.minBy(WORDS, s -> s.charAt(0)));
+    }
+
+    @Test
+    public void testMaxBy_ReturnsFirstElementWithLargestKey() {
+        assertEquals("melocotón", Linq.maxBy(WORDS, String::length));
+        assertEquals("pera", Linq.maxBy(Arrays.asList("pera", "kiwi", "higo"), String::length));
+    }
+
+    @Test
+    public void testMinBy_MatchesOrderByFirst() {
+        assertSame(Linq.firstOrDefault(Linq.orderBy(WORDS, String::length)), Linq.minBy(WORDS, String::length));
+    }
+
+    @Test
+    public void testMinByMaxBy_WithComparator() {
+        Comparator<String> reverse = Comparator.reverseOrder();
+
+        assertEquals("uva", Linq.minBy(WORDS, s -> s, reverse));
+        assertEquals("higo", Linq.maxBy(WORDS, s -> s, reverse));
+    }
+
+    @Test
+    public void testMinBy_WithNonRandomAccessSource() {
+        ArrayDeque<String> deque = new ArrayDeque<>(WORDS);
+
+        assertEquals("uva", Linq.minBy(deque, String::length));
+        assertEquals("melocotón", Linq.maxBy(deque, String::length));
+    }
+
+    @Test
+    public void testMinBy_IgnoresNullKeys() {
+        List<Integer> numbers = Arrays.asList(5, -1, 3, -7, 8);
+
+        assertEquals(Integer.valueOf(3), Linq.minBy(numbers, n -> n < 0 ? null : n));
+        assertEquals(Integer.valueOf(8), Linq.maxBy(numbers, n -> n < 0 ? null : n));
+        assertNull(Linq.minBy(numbers, n -> (Integer) null));
+    }
+
+    @Test
+    public void testMinByMaxBy_WithNullOrEmptySource_ReturnsNull() {
+        assertNull(Linq.minBy(null, String::length));
+        assertNull(Linq.maxBy(Collections.<String>emptyList(), String::length));
+        assertNull(Linq.minBy(WORDS, null));
+        assertNull(Linq.maxBy(WORDS, String::length, null));
+    }
+
+    // Pruebas para minByAll y maxByAll
+    @Test
+    public void testMinByAll_ReturnsTiesInSourceOrder() {
+        assertEquals(Arrays.asList("uva"), Linq.minByAll(WORDS, String::length));
+        assertEquals(Arrays.asList("pera", "kiwi", "higo"),
+                Linq.minByAll(Arrays.asList("pera", "manzana", "kiwi", "higo"), String::length));
+    }
+
+    @Test
+    public void testMaxByAll_ReturnsTiesInSourceOrder() {
+        List<Integer> numbers = Arrays.asList(3, 9, 1, 9, 4, 9);
+
+        assertEquals(Arrays.asList(9, 9, 9), Linq.maxByAll(numbers, n -> n));
+        assertEquals(Arrays.asList(1), Linq.maxByAll(numbers, n -> n, Comparator.reverseOrder()));
+    }
+
+    @Test
+    public void testMinByAll_WithNullOrEmptySource_ReturnsEmptyList() {
+        assertTrue(Linq.minByAll(null, String::length).isEmpty());
+        assertTrue(Linq.maxByAll(Collections.<String>emptyList(), String::length).isEmpty());
+    }
+
+    // Pruebas para las variantes de clave primitiva
+    @Test
+    public void testMinByIntMaxByInt() {
+        assertEquals("uva", Linq.minByInt(WORDS, String::length));
+        assertEquals("melocotón", Linq.maxByInt(WORDS, String::length));
+        assertEquals("pera", Linq.minByInt(Arrays.asList("pera", "kiwi"), String::length));
+    }
+
+    @Test
+    public void testMinByLongMaxByLong() {
+        List<Long> values = Arrays.asList(Long.MAX_VALUE, Long.MIN_VALUE, 0L);
+
+        assertEquals(Long.valueOf(Long.MIN_VALUE), Linq.minByLong(values, v -> v));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), Linq.maxByLong(new ArrayDeque<>(values), v -> v));
+    }
+
+    @Test
+    public void testMinByDoubleMaxByDouble_OrderLikeDoubleCompare() {
+        List<Double> values = Arrays.asList(2.5, Double.NaN, -0.0, 0.0, -3.0);
+
+        assertEquals(Double.valueOf(-3.0), Linq.minByDouble(values, v -> v));
+        assertTrue(Linq.maxByDouble(values, v -> v).isNaN());
+        assertEquals(Double.valueOf(0.0), Linq.maxByDouble(Arrays.asList(-0.0, 0.0), v -> v));
+    }
+
+    @Test
+    public void testPrimitiveVariants_ReturnNullElementWhenItIsTheExtreme() {
+        List<String> words = Arrays.asList(null, "abc");
+
+        assertNull(Linq.minByInt(words, s -> s == null ? 0 : s.length()));
+        assertEquals("abc", Linq.maxByInt(words, s -> s == null ? 0 : s.length()));
+    }
+
+    @Test
+    public void testPrimitiveVariants_WithNullOrEmptySource_ReturnNull() {
+        assertNull(Linq.minByInt(null, String::length));
+        assertNull(Linq.maxByLong(Collections.<String>emptyList(), String::length));
+        assertNull(Linq.minByDouble(WORDS, null));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinqOuterJoinTest {
+
+    private final List<String> orders = Arrays.asList("A-1", "B-3", "C-1", "D-7");
+    private final List<String> customers = Arrays.asList("1:Ana", "2:Luis", "1:Eva", "3:Juan");
+
+    private static String pair(String order, String customer) {
+        return order + "/" + customer;
+    }
+
+    private static Integer orderKey(String order) {
+        return order.charAt(2) - '0';
+    }
+
+    private static Integer customerKey(String customer) {
+        return customer.charAt(0) - '0';
+    }
+
+    // Pruebas para leftJoin
+    @Test
+    public void testLeftJoin_EmitsNullForUnmatchedOuter() {
+        List<String> result = Linq.leftJoin(orders, customers, LinqOuterJoinTest::orderKey,
+                LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair);
+
+        assertEquals(Arrays.asList("A-1/1:Ana", "A-1/1:Eva", "B-3/3:Juan", "C-1/1:Ana", "C-1/1:Eva", "D-7/null"), result);
+    }
+
+    @Test
+    public void testLeftJoin_MatchesFlattenedGroupJoin() {
+        List<String> expected = new ArrayList<>();
+        for (List<String> rows : Linq.groupJoin(orders, customers, LinqOuterJoinTest::orderKey, LinqOuterJoinTest::customerKey,
+                (o, matches) -> matches.isEmpty()
+                        ? Collections.singletonList(pair(o, null))
+                        : Linq.select(matches, c -> pair(o, c)))) {
+            expected.addAll(rows);
+        }
+
+        assertEquals(expected, Linq.leftJoin(orders, customers, LinqOuterJoinTest::orderKey,
+                LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair));
+    }
+
+    @Test
+    public void testLeftJoin_WithNullInner_KeepsAllOuter() {
+        List<String> result = Linq.leftJoin(orders, null, LinqOuterJoinTest::orderKey,
+                LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair);
+
+        assertEquals(Arrays.asList("A-1/null", "B-3/null", "C-1/null", "D-7/null"), result);
+    }
+
+    // Pruebas para rightJoin
+    @Test
+    public void testRightJoin_FollowsInnerOrder() {
+        List<String> result = Linq.rightJoin(orders, customers, LinqOuterJoinTest::orderKey,
+                LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair);
+
+        assertEquals(Arrays.asList("A-1/1:Ana", "C-1/1:Ana", "null/2:Luis", "A-1/1:Eva", "C-1/1:Eva", "B-3/3:Juan"), result);
+    }
+
+    // Pruebas para fullOuterJoin
+    @Test
+    public void testFullOuterJoin_AppendsUnmatchedInnerRows() {
+        List<String> result = Linq.fullOuterJoin(orders, customers, LinqOuterJoinTest::orderKey,
+                LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair);
+
+        assertEquals(Arrays.asList("A-1/1:Ana", "A-1/1:Eva", "B-3/3:Juan", "C-1/1:Ana", "C-1/1:Eva", "D-7/null",
+                "null/2:Luis"), result);
+    }
+
+    @Test
+    public void testFullOuterJoin_WithOneEmptySide() {
+        assertEquals(Arrays.asList("null/1:Ana", "null/2:Luis", "null/1:Eva", "null/3:Juan"),
+                Linq.fullOuterJoin(null, customers, LinqOuterJoinTest::orderKey, LinqOuterJoinTest::customerKey,
+                        LinqOuterJoinTest::pair));
+        assertEquals(Arrays.asList("A-1/null", "B-3/null", "C-1/null", "D-7/null"),
+                Linq.fullOuterJoin(orders, Collections.<String>emptyList(), LinqOuterJoinTest::orderKey,
+                        LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair));
+    }
+
+    @Test
+    public void testNullKeys_AreUnmatchedOnBothSides() {
+        List<String> left = Arrays.asList("x", "");
+        List<String> right = Arrays.asList("", "y");
+
+        List<String> result = Linq.fullOuterJoin(left, right, s -> s.isEmpty() ? null : s,
+                s -> s.isEmpty() ? null : s, (a, b) -> a + "|" + b);
+
+        assertEquals(Arrays.asList("x|null", "|null", "null|", "null|y"), result);
+    }
+
+    @Test
+    public void testFullOuterJoin_LargeInputsKeepEveryRow() {
+        List<Integer> evens = new ArrayList<>();
+        List<Integer> threes = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            evens.add(i * 2);
+            threes.add(i * 3);
+        }
+
+        List<int[]> rows = Linq.fullOuterJoin(evens, threes, n -> n, n -> n,
+                (a, b) -> new int[]{a == null ? -1 : a, b == null ? -1 : b});
+
+        // |A ∪ B| = |A| + |B| - |A ∩ B| con A ∩ B = múltiplos de 6 menores que 60.000
+        assertEquals(30_000 + 30_000 - 10_000, rows.size());
+        assertEquals(10_000, Linq.count(rows, r -> r[0] >= 0 && r[1] >= 0));
+    }
+
+    @Test
+    public void testNullSelectors_ReturnEmpty() {
+        assertTrue(Linq.leftJoin(orders, customers, null, LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair).isEmpty());
+        assertTrue(Linq.rightJoin(orders, null, LinqOuterJoinTest::orderKey, LinqOuterJoinTest::customerKey, LinqOuterJoinTest::pair).isEmpty());
+        assertTrue(Linq.fullOuterJoin(orders, customers, LinqOuterJoinTest::orderKey, LinqOuterJoinTest::customerKey, null).isEmpty());
+    }
+}
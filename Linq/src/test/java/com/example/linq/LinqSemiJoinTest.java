@@ -0,0 +1,106 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinqSemiJoinTest {
+
+    private final List<String> orders = Arrays.asList("A-1", "B-2", "C-1", "D-7", "E-2", "F-9");
+    private final List<Integer> customers = Arrays.asList(1, 2, 2, 5);
+
+    private static Integer customerOf(String order) {
+        return order.charAt(2) - '0';
+    }
+
+    // Pruebas para semiJoin y antiJoin
+    @Test
+    public void testSemiJoin_KeepsEachOuterRowOnce() {
+        List<String> withCustomer = Linq.semiJoin(orders, customers, LinqSemiJoinTest::customerOf, c -> c);
+
+        assertEquals(Arrays.asList("A-1", "B-2", "C-1", "E-2"), withCustomer);
+    }
+
+    @Test
+    public void testAntiJoin_KeepsRowsWithoutMatch() {
+        assertEquals(Arrays.asList("D-7", "F-9"), Linq.antiJoin(orders, customers, LinqSemiJoinTest::customerOf, c -> c));
+        assertEquals(orders, Linq.antiJoin(orders, null, LinqSemiJoinTest::customerOf, c -> c));
+    }
+
+    @Test
+    public void testNullKeys_NeverMatch() {
+        List<String> words = Arrays.asList("a", null, "b");
+        List<String> inner = Arrays.asList(null, "b");
+
+        assertEquals(Collections.singletonList("b"), Linq.semiJoin(words, inner, w -> w, w -> w));
+        assertEquals(Arrays.asList("a", null), Linq.antiJoin(words, inner, w -> w, w -> w));
+    }
+
+    @Test
+    public void testNullArguments_ReturnEmpty() {
+        assertTrue(Linq.semiJoin(orders, null, LinqSemiJoinTest::customerOf, c -> c).isEmpty());
+        assertTrue(Linq.semiJoin(null, customers, LinqSemiJoinTest::customerOf, c -> c).isEmpty());
+        assertTrue(Linq.antiJoin(orders, customers, null, c -> c).isEmpty());
+    }
+
+    @Test
+    public void testSemiJoin_WithEmptyOuter_DoesNotReadInner() {
+        LinqSingleTraversalTest.CountingIterable<Integer> inner = new LinqSingleTraversalTest.CountingIterable<>(customers);
+
+        assertTrue(Linq.semiJoin(Collections.<String>emptyList(), inner, LinqSemiJoinTest::customerOf, c -> c).isEmpty());
+        assertEquals(0, inner.iterators);
+    }
+
+    // Pruebas para el prefiltro de Bloom
+    @Test
+    public void testPrefilter_GivesSameResults() {
+        List<Integer> outer = new ArrayList<>();
+        List<Integer> inner = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            outer.add(i);
+            if (i % 17 == 0) {
+                inner.add(i);
+                inner.add(i);
+            }
+        }
+
+        assertEquals(Linq.join(outer, inner, n -> n, n -> n, (a, b) -> a + b),
+                Linq.join(outer, inner, n -> n, n -> n, (a, b) -> a + b, true));
+        assertEquals(Linq.semiJoin(outer, inner, n -> n, n -> n),
+                Linq.semiJoin(outer, inner, n -> n, n -> n, true));
+        assertEquals(Linq.antiJoin(outer, inner, n -> n, n -> n),
+                Linq.antiJoin(outer, inner, n -> n, n -> n, true));
+        assertEquals(1177, Linq.semiJoin(outer, inner, n -> n, n -> n, true).size());
+    }
+
+    @Test
+    public void testBloomFilter_HasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("clave-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("clave-" + i));
+            if (filter.mightContain("otra-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("falsos positivos: " + falsePositives, falsePositives < 500);
+    }
+
+    @Test
+    public void testBloomFilter_WithNoKeys_RejectsEverything() {
+        BloomFilter filter = new BloomFilter(0);
+
+        assertFalse(filter.mightContain(42));
+        filter.add(null);
+        assertTrue(filter.mightContain(null));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class LinqSetOperatorsTest {
+
+    private final List<Integer> first = Arrays.asList(5, 1, 3, 1, 7, 9, 3);
+    private final List<Integer> second = Arrays.asList(3, 4, 5, 5, 8);
+
+    // Pruebas para la estrategia hash
+    @Test
+    public void testUnion_KeepsFirstAppearanceOrder() {
+        assertEquals(Arrays.asList(5, 1, 3, 7, 9, 4, 8), Linq.union(first, second));
+        assertEquals(Arrays.asList(3, 4, 5, 8), Linq.union(null, second));
+    }
+
+    @Test
+    public void testIntersect_ReturnsDistinctCommonElements() {
+        assertEquals(Arrays.asList(5, 3), Linq.intersect(first, second));
+        assertTrue(Linq.intersect(first, null).isEmpty());
+    }
+
+    @Test
+    public void testExcept_ReturnsDistinctElementsNotInSecond() {
+        assertEquals(Arrays.asList(1, 7, 9), Linq.except(first, second));
+        assertEquals(Linq.distinct(first), Linq.except(first, null));
+        assertTrue(Linq.except(null, second).isEmpty());
+    }
+
+    @Test
+    public void testByVariants_CompareKeys() {
+        List<String> words = Arrays.asList("pera", "uva", "kiwi", "sandía", "ajo", "mango");
+
+        assertEquals(Arrays.asList("pera", "uva"), Linq.intersectBy(words, Arrays.asList(3, 4), String::length));
+        assertEquals(Arrays.asList("pera", "uva", "sandía"), Linq.exceptBy(words, Collections.singletonList(5), String::length));
+        assertTrue(Linq.exceptBy(words, Arrays.asList(1), null).isEmpty());
+    }
+
+    @Test
+    public void testSetOperators_WithOneShotSources() {
+        Iterable<Integer> a = Linq.fromIterator(first.iterator());
+        Iterable<Integer> b = Linq.fromIterator(second.iterator());
+
+        assertEquals(Arrays.asList(1, 7, 9), Linq.except(a, b));
+    }
+
+    // Pruebas para la estrategia de mezcla ordenada
+    @Test
+    public void testSortedInputs_MatchHashResultsInOrder() {
+        List<Integer> a = Linq.orderBy(first);
+        List<Integer> b = Linq.orderBy(second);
+        SortedSequence<Integer> sortedA = Linq.asSorted(a, null);
+        SortedSequence<Integer> sortedB = Linq.asSorted(b, Comparator.naturalOrder());
+
+        assertEquals(Linq.orderBy(Linq.union(a, b)), Linq.union(sortedA, sortedB));
+        assertEquals(Linq.orderBy(Linq.intersect(a, b)), Linq.intersect(sortedA, sortedB));
+        assertEquals(Linq.orderBy(Linq.except(a, b)), Linq.except(sortedA, sortedB));
+    }
+
+    @Test
+    public void testSortedMerge_TraversesEachInputOnce() {
+        List<Integer> evens = new ArrayList<>();
+        List<Integer> threes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            evens.add(i * 2);
+            threes.add(i * 3);
+        }
+        LinqSingleTraversalTest.CountingIterable<Integer> a = new LinqSingleTraversalTest.CountingIterable<>(evens);
+        LinqSingleTraversalTest.CountingIterable<Integer> b = new LinqSingleTraversalTest.CountingIterable<>(threes);
+
+        List<Integer> sixes = Linq.intersect(Linq.asSorted(a, null), Linq.asSorted(b, null));
+
+        assertEquals(334, sixes.size());
+        assertEquals(Integer.valueOf(1998), sixes.get(sixes.size() - 1));
+        assertEquals(1, a.iterators);
+        assertEquals(1, b.iterators);
+    }
+
+    @Test
+    public void testSortedSets_AreRecognizedAsSorted() {
+        TreeSet<String> a = new TreeSet<>(Comparator.reverseOrder());
+        TreeSet<String> b = new TreeSet<>(Comparator.reverseOrder());
+        a.addAll(Arrays.asList("a", "c", "e"));
+        b.addAll(Arrays.asList("b", "c", "d"));
+
+        assertEquals(Arrays.asList("e", "d", "c", "b", "a"), Linq.union(a, b));
+        assertEquals(Arrays.asList("e", "a"), Linq.except(a, b));
+    }
+
+    @Test
+    public void testDifferentComparators_FallBackToHash() {
+        SortedSequence<Integer> ascending = Linq.asSorted(Arrays.asList(1, 2, 3), null);
+        SortedSequence<Integer> descending = Linq.asSorted(Arrays.asList(3, 2), Comparator.reverseOrder());
+
+        assertEquals(Arrays.asList(1, 2, 3), Linq.union(ascending, descending));
+    }
+
+    @Test
+    public void testEquivalentButDistinctComparators_FallBackToHash() {
+        Comparator<Integer> byValue = Comparator.comparing((Integer n) -> n);
+        List<Integer> a = Arrays.asList(1, 3, 5);
+        List<Integer> b = Arrays.asList(2, 3, 4);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), Linq.union(Linq.asSorted(a, byValue), Linq.asSorted(b, byValue)));
+        assertEquals(Arrays.asList(1, 3, 5, 2, 4), Linq.union(Linq.asSorted(a, byValue),
+                Linq.asSorted(b, Comparator.comparing((Integer n) -> n))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedDeclaredInput_Throws() {
+        Linq.union(Linq.asSorted(Arrays.asList(1, 3, 2), null), Linq.asSorted(Arrays.asList(1, 2), null));
+    }
+
+    // Pruebas para concat y zip
+    @Test
+    public void testConcat_IsLazyAndReiterable() {
+        List<Integer> tail = new ArrayList<>(Arrays.asList(8));
+        Iterable<Integer> joined = Linq.concat(Arrays.asList(1, 2), tail);
+        tail.add(9);
+
+        assertEquals(Arrays.asList(1, 2, 8, 9), Linq.select(joined, n -> n));
+        assertEquals(4, Linq.count(joined));
+        assertEquals(Arrays.asList(1, 2), Linq.select(Linq.concat(Arrays.asList(1, 2), null), n -> n));
+        assertEquals(0, Linq.count(Linq.concat(null, Collections.<Integer>emptyList())));
+    }
+
+    @Test
+    public void testZip_StopsAtShortestSequence() {
+        Iterable<String> pairs = Linq.zip(Arrays.asList(1, 2, 3), Arrays.asList("a", "b"), (n, s) -> s + n);
+
+        assertEquals(Arrays.asList("a1", "b2"), Linq.select(pairs, s -> s));
+        assertEquals(0, Linq.count(Linq.zip(first, null, (a, b) -> a)));
+        Iterator<String> iterator = pairs.iterator();
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class LinqSingleTraversalTest {
+
+    private static final List<Integer> NUMBERS = Arrays.asList(4, 7, 1, 9, 4, 2);
+
+    // Pruebas para fromIterator
+    @Test
+    public void testFromIterator_SecondTraversalFails() {
+        Iterable<Integer> source = Linq.fromIterator(NUMBERS.iterator());
+
+        assertEquals(6, Linq.count(source));
+        try {
+            source.iterator();
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // El iterador ya se consumió
+        }
+    }
+
+    @Test
+    public void testFromIterator_WithNullIterator_IsEmpty() {
+        assertEquals(0, Linq.count(Linq.fromIterator(null)));
+        assertTrue(Linq.where(Linq.<Integer>fromIterator(null), n -> n > 0).isEmpty());
+    }
+
+    // Pruebas para el contrato de un solo recorrido
+    @Test
+    public void testEveryOperator_OpensOneIterator() {
+        assertOneTraversal(s -> Linq.firstOrDefault(s), 4);
+        assertOneTraversal(s -> Linq.firstOrDefault(s, n -> n > 5), 7);
+        assertOneTraversal(s -> Linq.all(s, n -> n > 0), true);
+        assertOneTraversal(s -> Linq.any(s), true);
+        assertOneTraversal(s -> Linq.any(s, n -> n == 9), true);
+        assertOneTraversal(s -> Linq.where(s, n -> n > 3), Arrays.asList(4, 7, 9, 4));
+        assertOneTraversal(s -> Linq.select(s, n -> n * 10), Arrays.asList(40, 70, 10, 90, 40, 20));
+        assertOneTraversal(s -> Linq.selectMany(s, n -> Collections.nCopies(n % 2, n)), Arrays.asList(7, 1, 9));
+        assertOneTraversal(s -> Linq.findIndex(s, n -> n == 9), 3);
+        assertOneTraversal(s -> Linq.distinct(s), Arrays.asList(4, 7, 1, 9, 2));
+        assertOneTraversal(s -> Linq.count(s), 6);
+        assertOneTraversal(s -> Linq.count(s, n -> n == 4), 2);
+        assertOneTraversal(s -> Linq.sum(s), 27.0);
+        assertOneTraversal(s -> Linq.sum(s, n -> n * 2), 54.0);
+        assertOneTraversal(s -> Linq.min(s), 1.0);
+        assertOneTraversal(s -> Linq.min(s, n -> -n), -9.0);
+        assertOneTraversal(s -> Linq.max(s), 9.0);
+        assertOneTraversal(s -> Linq.max(s, n -> -n), -1.0);
+        assertOneTraversal(s -> Linq.average(s), 4.5);
+        assertOneTraversal(s -> Linq.average(s, n -> n * 2), 9.0);
+        assertOneTraversal(s -> Linq.take(s, 2), Arrays.asList(4, 7));
+        assertOneTraversal(s -> Linq.skip(s, 4), Arrays.asList(4, 2));
+        assertOneTraversal(s -> Linq.skip(s, 0), NUMBERS);
+        assertOneTraversal(s -> Linq.orderBy(s), Arrays.asList(1, 2, 4, 4, 7, 9));
+        assertOneTraversal(s -> Linq.orderByDescending(s, n -> n), Arrays.asList(9, 7, 4, 4, 2, 1));
+        assertOneTraversal(s -> Linq.groupBy(s, n -> n % 2).get(1), Arrays.asList(7, 1, 9));
+        assertOneTraversal(s -> Linq.groupBy(s, n -> n % 2, n -> -n).get(0), Arrays.asList(-4, -4, -2));
+        assertOneTraversal(s -> Linq.query(s).where(n -> n > 3).orderBy(n -> n).toList(), Arrays.asList(4, 4, 7, 9));
+    }
+
+    @Test
+    public void testEmptySource_OpensOneIterator() {
+        CountingIterable<Integer> empty = new CountingIterable<>(Collections.emptyList());
+
+        assertTrue(Linq.where(empty, n -> n > 0).isEmpty());
+        assertEquals(0.0, Linq.average(empty), 0.0);
+        assertNull(Linq.firstOrDefault(empty));
+        assertEquals(3, empty.iterators);
+    }
+
+    @Test
+    public void testJoin_TraversesEachSequenceOnce() {
+        CountingIterable<Integer> outer = new CountingIterable<>(NUMBERS);
+        CountingIterable<String> inner = new CountingIterable<>(Arrays.asList("4a", "9b", "4c"));
+
+        List<String> pairs = Linq.join(outer, inner, n -> n, s -> s.charAt(0) - '0', (n, s) -> s);
+
+        assertEquals(Arrays.asList("4a", "4c", "9b", "4a", "4c"), pairs);
+        assertEquals(1, outer.iterators);
+        assertEquals(1, inner.iterators);
+    }
+
+    @Test
+    public void testJoin_WithEmptyOuter_DoesNotReadInner() {
+        CountingIterable<String> inner = new CountingIterable<>(Arrays.asList("a", "b"));
+
+        assertTrue(Linq.join(Collections.<Integer>emptyList(), inner, n -> n, String::length, (n, s) -> s).isEmpty());
+        assertEquals(0, inner.iterators);
+    }
+
+    @Test
+    public void testGroupJoin_WithOneShotSources() {
+        Iterable<Integer> outer = Linq.fromIterator(Arrays.asList(1, 2).iterator());
+        Iterable<String> inner = Linq.fromIterator(Arrays.asList("a", "bb", "cc").iterator());
+
+        List<Integer> sizes = Linq.groupJoin(outer, inner, n -> n, String::length, (n, matches) -> matches.size());
+
+        assertEquals(Arrays.asList(1, 2), sizes);
+    }
+
+    @Test
+    public void testGroupJoin_WithEmptyInner_KeepsOuterItems() {
+        Iterable<String> inner = Linq.fromIterator(Collections.<String>emptyIterator());
+
+        List<Integer> sizes = Linq.groupJoin(NUMBERS, inner, n -> n, String::length, (n, matches) -> matches.size());
+
+        assertEquals(Arrays.asList(0, 0, 0, 0, 0, 0), sizes);
+    }
+
+    @Test
+    public void testGroupJoin_WithInnerWithoutKeys_StillSkipsOuterItemsWhoseKeyFails() {
+        List<String> inner = Arrays.asList("a", null, "bb");
+        Function<Integer, Integer> failsOnEven = n -> {
+            if (n % 2 == 0) {
+                throw new IllegalStateException("clave");
+            }
+            return n;
+        };
+
+        List<Integer> sizes = Linq.groupJoin(NUMBERS, inner, failsOnEven, s -> null, (n, matches) -> n);
+
+        assertEquals(Linq.where(NUMBERS, n -> n % 2 != 0), sizes);
+    }
+
+    private static void assertOneTraversal(Function<Iterable<Integer>, Object> operator, Object expected) {
+        CountingIterable<Integer> counted = new CountingIterable<>(NUMBERS);
+        assertEquals(expected, operator.apply(counted));
+        assertEquals("iteradores abiertos", 1, counted.iterators);
+        assertEquals(expected, operator.apply(Linq.fromIterator(NUMBERS.iterator())));
+    }
+
+    static class CountingIterable<T> implements Iterable<T> {
+        private final List<T> items;
+        int iterators;
+
+        CountingIterable(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            iterators++;
+            return items.iterator();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.linq;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LinqSpillingGroupByTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add((i * 7919) % count);
+        }
+        return numbers;
+    }
+
+    /**
+     * Serializador de enteros que recuerda los archivos en los que escribió.
+     */
+    private static final class RecordingSerializer implements SpillSerializer<Integer> {
+        final List<DataOutputStream> outputs = new ArrayList<>();
+
+        @Override
+        public void write(DataOutput out, Integer value) throws IOException {
+            if (!outputs.contains(out)) {
+                outputs.add((DataOutputStream) out);
+            }
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+
+        void assertAllClosed() {
+            assertFalse(outputs.isEmpty());
+            for (DataOutputStream out : outputs) {
+                try {
+                    out.write(0);
+                    out.flush();
+                    fail("archivo aún abierto");
+                } catch (IOException expected) {
+                    // El archivo ya estaba cerrado
+                }
+            }
+        }
+    }
+
+    private static <K, V> Map<K, V> toMap(Iterable<Map.Entry<K, V>> groups) {
+        Map<K, V> map = new HashMap<>();
+        for (Map.Entry<K, V> group : groups) {
+            assertNull("clave repetida: " + group.getKey(), map.put(group.getKey(), group.getValue()));
+        }
+        return map;
+    }
+
+    // Pruebas para groupBySpilling
+    @Test
+    public void testWithinLimit_DoesNotCreateFiles() throws Exception {
+        File dir = folder.newFolder();
+
+        try (SpilledGroups<Integer, List<Integer>> groups = Linq.groupBySpilling(numbers(100), n -> n % 10,
+                SpillSerializer.integers(), 1000, dir)) {
+            assertFalse(groups.isSpilled());
+            assertEquals(Linq.groupBy(numbers(100), n -> n % 10), toMap(groups));
+        }
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testOverLimit_MatchesGroupBy() throws Exception {
+        File dir = folder.newFolder();
+        List<Integer> source = numbers(20_000);
+
+        try (SpilledGroups<Integer, List<Integer>> groups = Linq.groupBySpilling(source, n -> n % 3000,
+                SpillSerializer.integers(), 500, dir)) {
+            assertTrue(groups.isSpilled());
+            assertEquals(Linq.groupBy(source, n -> n % 3000), toMap(groups));
+            // Se puede recorrer de nuevo
+            assertEquals(3000, toMap(groups).size());
+        }
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testSingleHugeKey_StopsRepartitioning() throws Exception {
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i % 100 == 0 ? null : "v" + i);
+        }
+
+        try (SpilledGroups<Integer, List<String>> groups = Linq.groupBySpilling(source, s -> 1,
+                SpillSerializer.strings(), 10, folder.newFolder())) {
+            Map<Integer, List<String>> map = toMap(groups);
+            assertEquals(1, map.size());
+            assertEquals(source, map.get(1));
+        }
+    }
+
+    @Test
+    public void testNullArguments() throws Exception {
+        try (SpilledGroups<Integer, List<Integer>> groups = Linq.groupBySpilling(null, n -> n,
+                SpillSerializer.integers(), 10, null)) {
+            assertFalse(groups.iterator().hasNext());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullSerializer_Throws() {
+        Linq.groupBySpilling(numbers(10), n -> n, null, 10, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveLimit_Throws() {
+        Linq.groupBySpilling(numbers(10), n -> n, SpillSerializer.integers(), 0, null);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testMissingDirectory_Throws() {
+        Linq.groupBySpilling(numbers(100), n -> n, SpillSerializer.integers(), 5, new File(folder.getRoot(), "no/existe"));
+    }
+
+    @Test
+    public void testGroups_AreNotModifiable() throws Exception {
+        try (SpilledGroups<Integer, List<Integer>> groups = Linq.groupBySpilling(numbers(100), n -> n % 10,
+                SpillSerializer.integers(), 1000, folder.newFolder())) {
+            List<Integer> group = groups.iterator().next().getValue();
+            try {
+                group.clear();
+                fail();
+            } catch (UnsupportedOperationException expected) {
+                // Las listas son de sólo lectura
+            }
+            assertEquals(Linq.groupBy(numbers(100), n -> n % 10), toMap(groups));
+        }
+    }
+
+    @Test
+    public void testKeySelectorThrowingMidSpill_ClosesAndDeletesFiles() throws Exception {
+        File dir = folder.newFolder();
+        RecordingSerializer serializer = new RecordingSerializer();
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            Linq.groupBySpilling(numbers(1000), n -> {
+                if (calls.incrementAndGet() == 500) {
+                    throw new IllegalStateException("clave");
+                }
+                return n % 100;
+            }, serializer, 50, dir);
+            fail();
+        } catch (IllegalStateException expected) {
+            // El error del selector se propaga
+        }
+
+        serializer.assertAllClosed();
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testKeySelectorThrowingWhileLoadingPartition_ClosesAndDeletesItsFiles() throws Exception {
+        File dir = folder.newFolder();
+        RecordingSerializer serializer = new RecordingSerializer();
+        AtomicInteger calls = new AtomicInteger();
+        int[] failAt = {-1};
+
+        try (SpilledGroups<Integer, List<Integer>> groups = Linq.groupBySpilling(numbers(20_000), n -> {
+            if (calls.incrementAndGet() == failAt[0]) {
+                throw new IllegalStateException("clave");
+            }
+            return n % 1000;
+        }, serializer, 10, dir)) {
+            int rootFiles = dir.list().length;
+            serializer.outputs.clear();
+            failAt[0] = calls.get() + 500;
+            try {
+                toMap(groups);
+                fail();
+            } catch (IllegalStateException expected) {
+                // El error del selector se propaga al recorrer
+            }
+
+            serializer.assertAllClosed();
+            assertEquals(rootFiles, dir.list().length);
+        }
+        assertEquals(0, dir.list().length);
+    }
+
+    // Pruebas para groupByAggregateSpilling
+    @Test
+    public void testReiteration_FinishesEachInMemoryStateOnce() throws Exception {
+        AtomicInteger finished = new AtomicInteger();
+        Aggregator<Integer, long[], Long> count = Aggregators.of(() -> new long[1], (c, n) -> c[0]++, c -> {
+            finished.incrementAndGet();
+            return c[0];
+        });
+
+        try (SpilledGroups<Integer, Long> groups = Linq.groupByAggregateSpilling(numbers(100), n -> n % 10, count,
+                SpillSerializer.integers(), 1000, folder.newFolder())) {
+            Map<Integer, Long> first = toMap(groups);
+
+            assertEquals(first, toMap(groups));
+            assertEquals(10, finished.get());
+        }
+    }
+
+    @Test
+    public void testAggregateOverLimit_MatchesGroupByAggregate() throws Exception {
+        File dir = folder.newFolder();
+        List<Integer> source = numbers(50_000);
+
+        try (SpilledGroups<Integer, List<Object>> groups = Linq.groupByAggregateSpilling(source, n -> n % 4000,
+                Aggregators.allOf(Aggregators.count(), Aggregators.sumLong(n -> n)),
+                SpillSerializer.integers(), 100, dir)) {
+            assertTrue(groups.isSpilled());
+            assertEquals(Linq.groupByAggregate(source, n -> n % 4000,
+                    Aggregators.allOf(Aggregators.count(), Aggregators.sumLong(n -> n))), toMap(groups));
+        }
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testClose_DeletesFilesOfUnfinishedIteration() throws Exception {
+        File dir = folder.newFolder();
+        SpilledGroups<Integer, Long> groups = Linq.groupByAggregateSpilling(numbers(10_000), n -> n,
+                Aggregators.count(), SpillSerializer.integers(), 10, dir);
+        int read = 0;
+        for (Map.Entry<Integer, Long> ignored : groups) {
+            if (++read == 50) {
+                break;
+            }
+        }
+        assertTrue(dir.list().length > 0);
+
+        groups.close();
+
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testStringSerializer_RoundTripsLongAndNullValues() throws Exception {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 70_000; i++) {
+            longValue.append('ñ');
+        }
+        List<String> source = new ArrayList<>();
+        source.add(longValue.toString());
+        source.add(null);
+        for (int i = 0; i < 100; i++) {
+            source.add("k" + i);
+        }
+
+        try (SpilledGroups<String, List<String>> groups = Linq.groupBySpilling(source, s -> s,
+                SpillSerializer.strings(), 5, folder.newFolder())) {
+            Map<String, List<String>> map = toMap(groups);
+            assertEquals(102, map.size());
+            assertEquals(longValue.toString(), map.get(longValue.toString()).get(0));
+            assertTrue(map.containsKey(null));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.linq;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LinqTableTest {
+
+    private LinqTable table;
+
+    @Before
+    public void setUp() {
+        List<Product> products = Arrays.asList(
+                new Product("Laptop", "Electrónica", 3, 1200.0),
+                new Product("Mouse", "Electrónica", 50, 25.5),
+                new Product("Silla", "Muebles", 10, 150.0),
+                new Product("Mesa", "Muebles", 2, 300.0),
+                new Product("Teclado", "Electrónica", 20, 45.0)
+        );
+        table = LinqTable.from(products)
+                .stringColumn("name", Product::getName)
+                .stringColumn("category", Product::getCategory)
+                .intColumn("stock", Product::getStock)
+                .longColumn("stockLong", p -> (long) p.getStock())
+                .doubleColumn("price", Product::getPrice)
+                .build();
+    }
+
+    // Pruebas para construcción
+    @Test
+    public void testFrom_BuildsAllRowsAndColumns() {
+        assertEquals(5, table.size());
+        assertEquals(Arrays.asList("name", "category", "stock", "stockLong", "price"), table.columnNames());
+        assertEquals("Silla", table.getString("name", 2));
+        assertEquals(150.0, table.getDouble("price", 2), 0.0001);
+    }
+
+    @Test
+    public void testFrom_WithNullSource_BuildsEmptyTable() {
+        LinqTable empty = LinqTable.from((Iterable<Product>) null)
+                .doubleColumn("price", Product::getPrice)
+                .build();
+
+        assertEquals(0, empty.size());
+        assertEquals(0.0, empty.sum("price"), 0.0);
+        assertEquals(0.0, empty.average("price"), 0.0);
+        assertEquals(0.0, empty.min("price"), 0.0);
+    }
+
+    // Pruebas para where
+    @Test
+    public void testWhere_UsesSelectionVectorAndChains() {
+        LinqTable result = table
+                .whereString("category", "Electrónica"::equals)
+                .whereDouble("price", p -> p < 100);
+
+        assertEquals(2, result.size());
+        assertEquals(Arrays.asList("Mouse", "Teclado"), result.toStringList("name"));
+        assertArrayEquals(new int[]{50, 20}, result.toIntArray("stock"));
+        assertArrayEquals(new long[]{50L, 20L}, result.toLongArray("stockLong"));
+    }
+
+    @Test
+    public void testWhere_DoesNotModifyOriginalTable() {
+        table.whereInt("stock", s -> s > 10);
+
+        assertEquals(5, table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilder_WithDuplicateColumnName_Throws() {
+        LinqTable.from(Arrays.asList(1, 2))
+                .intColumn("value", n -> n)
+                .doubleColumn("value", n -> n / 2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhere_WithWrongColumnType_Throws() {
+        table.whereInt("price", p -> p > 0);
+    }
+
+    // Pruebas para select y groupBy
+    @Test
+    public void testSelect_KeepsOnlyRequestedColumns() {
+        LinqTable projected = table.whereLong("stockLong", s -> s >= 10).select("name", "price");
+
+        assertEquals(Arrays.asList("name", "price"), projected.columnNames());
+        assertEquals(3, projected.size());
+    }
+
+    @Test
+    public void testGroupBy_GroupsRowsByColumnValue() {
+        Map<Object, LinqTable> groups = table.groupBy("category");
+
+        assertEquals(2, groups.size());
+        assertEquals(3, groups.get("Electrónica").size());
+        assertEquals(450.0, groups.get("Muebles").sum("price"), 0.0001);
+    }
+
+    // Pruebas para agregados
+    @Test
+    public void testAggregates_OverNumericColumns() {
+        assertEquals(85, table.sum("stock"), 0.0001);
+        assertEquals(1720.5, table.sum("price"), 0.0001);
+        assertEquals(344.1, table.average("price"), 0.0001);
+        assertEquals(2, table.min("stockLong"), 0.0001);
+        assertEquals(1200.0, table.max("price"), 0.0001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSum_OverStringColumn_Throws() {
+        table.sum("name");
+    }
+
+    @Test
+    public void testSum_OverLongColumn_KeepsPrecisionBeyondDoubleMantissa() {
+        long big = (1L << 53) + 1;
+        LinqTable longs = LinqTable.from(Arrays.asList(big, 2L, Long.MAX_VALUE))
+                .longColumn("value", v -> v)
+                .build();
+
+        assertEquals((double) (big + 2), longs.whereLong("value", v -> v < Long.MAX_VALUE).sum("value"), 0.0);
+        assertEquals((double) Long.MAX_VALUE + big + 2, longs.sum("value"), 1e4);
+    }
+
+    // Pruebas para orderBy
+    @Test
+    public void testOrderBy_SortsAscendingAndDescending() {
+        assertEquals(Arrays.asList("Mouse", "Teclado", "Silla", "Mesa", "Laptop"),
+                table.orderBy("price").toStringList("name"));
+        assertEquals(Arrays.asList("Mouse", "Teclado", "Silla", "Laptop", "Mesa"),
+                table.orderByDescending("stock").toStringList("name"));
+    }
+
+    @Test
+    public void testOrderBy_IsStableAndRespectsFilters() {
+        LinqTable result = table.whereDouble("price", p -> p > 100).orderBy("category");
+
+        assertEquals(Arrays.asList("Laptop", "Silla", "Mesa"), result.toStringList("name"));
+    }
+
+    static class Product {
+        private final String name;
+        private final String category;
+        private final int stock;
+        private final double price;
+
+        Product(String name, String category, int stock, double price) {
+            this.name = name;
+            this.category = category;
+            this.stock = stock;
+            this.price = price;
+        }
+
+        String getName() { return name; }
+        String getCategory() { return category; }
+        int getStock() { return stock; }
+        double getPrice() { return price; }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.linq;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LookupSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<String> words;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        words = Arrays.asList("apple", "avocado", "banana", "blueberry", "cherry", "apricot");
+        file = new File(folder.getRoot(), "lookup.bin");
+    }
+
+    @Test
+    public void testOpen_MatchesGroupByResult() throws IOException {
+        LookupSnapshot.write(file, words, w -> w.charAt(0), 7L);
+
+        LookupSnapshot snapshot = LookupSnapshot.open(file, 7L);
+        Map<Character, List<String>> expected = Linq.groupBy(words, w -> w.charAt(0));
+
+        assertNotNull(snapshot);
+        assertEquals(expected.size(), snapshot.size());
+        assertEquals(words.size(), snapshot.rowCount());
+        for (Map.Entry<Character, List<String>> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), snapshot.group(entry.getKey(), words));
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), snapshot.keys());
+    }
+
+    @Test
+    public void testLookups_WithoutMaterializingGroups() throws IOException {
+        LookupSnapshot.write(file, words, String::length, 1L);
+
+        LookupSnapshot snapshot = LookupSnapshot.open(file, 1L);
+
+        assertTrue(snapshot.containsKey(7));
+        assertEquals(2, snapshot.count(7)); // "avocado", "apricot"
+        assertArrayEquals(new int[]{1, 5}, snapshot.rowIds(7));
+        assertFalse(snapshot.containsKey(42));
+        assertEquals(0, snapshot.count(42));
+        assertEquals(0, snapshot.rowIds(42).length);
+        assertTrue(snapshot.group(42, words).isEmpty());
+    }
+
+    @Test
+    public void testRowIds_ReturnsCopy() throws IOException {
+        LookupSnapshot.write(file, words, String::length, 1L);
+        LookupSnapshot snapshot = LookupSnapshot.open(file, 1L);
+
+        snapshot.rowIds(7)[0] = 99;
+
+        assertArrayEquals(new int[]{1, 5}, snapshot.rowIds(7));
+        assertEquals(Arrays.asList("avocado", "apricot"), snapshot.group(7, words));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroup_WithListOfDifferentSize_Throws() throws IOException {
+        LookupSnapshot.write(file, words, w -> w.charAt(0), 1L);
+        LookupSnapshot snapshot = LookupSnapshot.open(file, 1L);
+
+        snapshot.group('a', words.subList(0, 3));
+    }
+
+    @Test
+    public void testOpen_WithDifferentVersion_ReturnsNull() throws IOException {
+        LookupSnapshot.write(file, words, w -> w.charAt(0), 1L);
+
+        assertNull(LookupSnapshot.open(file, 2L));
+    }
+
+    @Test
+    public void testOpen_WithMissingOrCorruptFile_ReturnsNull() throws IOException {
+        assertNull(LookupSnapshot.open(new File(folder.getRoot(), "missing.bin"), 1L));
+
+        File corrupt = folder.newFile("corrupt.bin");
+        try (FileOutputStream out = new FileOutputStream(corrupt)) {
+            out.write(new byte[64]);
+        }
+        assertNull(LookupSnapshot.open(corrupt, 1L));
+    }
+
+    @Test
+    public void testWrite_ReplacesStaleSnapshotAndHandlesManyKeys() throws IOException {
+        LookupSnapshot.write(file, words, w -> w.charAt(0), 1L);
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            numbers.add(i);
+        }
+
+        LookupSnapshot.write(file, numbers, n -> "k" + (n % 1000), 2L);
+        LookupSnapshot snapshot = LookupSnapshot.open(file, 2L);
+
+        assertEquals(1000, snapshot.size());
+        assertEquals(Arrays.asList(123, 1123, 2123, 3123, 4123), snapshot.group("k123", numbers));
+    }
+
+    @Test
+    public void testWrite_WithKeysSharingTheirText_Throws() throws IOException {
+        LookupSnapshot.write(file, words, w -> w.charAt(0), 1L);
+        List<Object> keys = Arrays.<Object>asList(1, "x", 1L);
+
+        try {
+            LookupSnapshot.write(file, keys, k -> k, 2L);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 1 y 1L se guardarían como "1"
+        }
+
+        assertNotNull(LookupSnapshot.open(file, 1L));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void testWrite_WhenReplaceFails_DeletesTemporaryFile() throws IOException {
+        File blocked = folder.newFolder("bloqueado");
+        assertTrue(new File(blocked, "contenido").createNewFile());
+
+        try {
+            LookupSnapshot.write(blocked, words, w -> w.charAt(0), 1L);
+            fail();
+        } catch (IOException expected) {
+            // Un directorio con contenido no puede reemplazarse
+        }
+
+        assertTrue(blocked.isDirectory());
+        assertFalse(new File(blocked.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void testWrite_WithEmptySource_CreatesEmptySnapshot() throws IOException {
+        LookupSnapshot.write(file, new ArrayList<String>(), w -> w, 3L);
+
+        LookupSnapshot snapshot = LookupSnapshot.open(file, 3L);
+
+        assertEquals(0, snapshot.size());
+        assertFalse(snapshot.containsKey("x"));
+    }
+}
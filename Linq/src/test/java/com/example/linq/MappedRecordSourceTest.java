@@ -0,0 +1,146 @@
+package com.example.linq;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MappedRecordSourceTest {
+
+    // Registro: int id (0), int categoria (4), double precio (8), 8 bytes de nombre (16)
+    private static final int RECORD_SIZE = 24;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.newFile("records.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            writeRecord(out, 1, 10, 99.5, "uno");
+            writeRecord(out, 2, 20, 150.0, "dos");
+            writeRecord(out, 3, 10, 20.25, "tres");
+            writeRecord(out, 4, 30, 300.0, "cuatro");
+            out.write(new byte[5]); // registro incompleto que debe ignorarse
+        }
+    }
+
+    @Test
+    public void testOpen_ExposesRecordsAsRandomAccessList() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            assertEquals(4, source.size());
+            assertEquals(3, source.get(2).getInt(0));
+            assertEquals(150.0, source.get(1).getDouble(8), 0.0001);
+            assertEquals("cuatro", source.get(3).getString(16, 8, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testOpen_IsCompatibleWithLinqOperators() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            List<MappedRecordSource.RecordView> cheap = Linq.where(source, r -> r.getDouble(8) < 100);
+            List<Integer> ids = Linq.select(cheap, r -> r.getInt(0));
+
+            assertEquals(2, ids.size());
+            assertEquals(Integer.valueOf(1), ids.get(0));
+            assertEquals(Integer.valueOf(3), ids.get(1));
+            assertEquals(569.75, Linq.sum(source, r -> r.getDouble(8)), 0.0001);
+        }
+    }
+
+    @Test
+    public void testCursorOperations_ReadFieldsWithoutDeserializing() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            assertEquals(2, source.count(r -> r.getInt(4) == 10));
+            assertEquals(119.75, source.sum(r -> r.getInt(4) == 10 ? r.getDouble(8) : 0), 0.0001);
+            assertEquals(20.25, source.min(r -> r.getDouble(8)), 0.0001);
+            assertEquals(300.0, source.max(r -> r.getDouble(8)), 0.0001);
+            assertEquals(142.4375, source.average(r -> r.getDouble(8)), 0.0001);
+        }
+    }
+
+    @Test
+    public void testWhere_ReturnsStableViewsForMatches() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            List<MappedRecordSource.RecordView> result = source.where(r -> r.getInt(4) >= 20);
+
+            assertEquals(2, result.size());
+            assertEquals(2, result.get(0).getInt(0));
+            assertEquals(4, result.get(1).getInt(0));
+            assertEquals(3, result.get(1).index());
+        }
+    }
+
+    @Test
+    public void testPrimitiveAggregates_ByFieldOffset() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            assertEquals(10L, source.sumInt(0));
+            assertEquals(569.75, source.sumDouble(8), 0.0001);
+        }
+    }
+
+    @Test
+    public void testWrap_RespectsByteOrder() {
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(0, 7L);
+        buffer.putLong(8, 35L);
+
+        MappedRecordSource source = MappedRecordSource.wrap(buffer, 8);
+
+        assertEquals(2, source.size());
+        assertEquals(42L, source.sumLong(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSumInt_WithOffsetOutsideRecord_Throws() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            source.sumInt(22);
+        }
+    }
+
+    @Test
+    public void testRecordView_WithFieldOutsideRecord_Throws() throws IOException {
+        try (MappedRecordSource source = MappedRecordSource.open(file, RECORD_SIZE)) {
+            MappedRecordSource.RecordView first = source.get(0);
+
+            assertEquals(0, first.getByte(RECORD_SIZE - 1));
+            assertOutOfBounds(() -> first.getInt(RECORD_SIZE));
+            assertOutOfBounds(() -> first.getDouble(20));
+            assertOutOfBounds(() -> first.getLong(-1));
+            assertOutOfBounds(() -> first.getString(16, 9, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void assertOutOfBounds(Runnable read) {
+        try {
+            read.run();
+            fail("se leyó fuera del registro");
+        } catch (IndexOutOfBoundsException expected) {
+            // El campo no cabe en el registro
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, int id, int category, double price, String name)
+            throws IOException {
+        out.writeInt(id);
+        out.writeInt(category);
+        out.writeDouble(price);
+        byte[] nameBytes = new byte[8];
+        byte[] raw = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(raw, 0, nameBytes, 0, raw.length);
+        out.write(nameBytes);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.linq;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveListTest {
+
+    private final List<String> words = Arrays.asList("pera", "kiwi", "banana", "uva", "melocotón");
+
+    @After
+    public void tearDown() {
+        LinqMetrics.setListener(null);
+    }
+
+    // Pruebas para selectInt, selectLong y selectDouble
+    @Test
+    public void testSelectInt_MatchesBoxedSelect() {
+        IntList lengths = Linq.selectInt(words, String::length);
+
+        assertEquals(Linq.select(words, String::length), lengths.toList());
+        assertArrayEquals(new int[]{4, 4, 6, 3, 9}, lengths.toArray());
+        assertEquals(5, lengths.size());
+        assertEquals(6, lengths.get(2));
+    }
+
+    @Test
+    public void testSelectLongAndDouble() {
+        LongList big = Linq.selectLong(words, w -> (long) w.length() << 32);
+        DoubleList halves = Linq.selectDouble(words, w -> w.length() / 2.0);
+
+        assertEquals(26L << 32, big.sum());
+        assertEquals(Linq.sum(words, w -> w.length() / 2.0), halves.sum(), 1e-9);
+        assertEquals(4.5, halves.max(), 0.0);
+    }
+
+    @Test
+    public void testSelectInt_FromNonCollectionSource() {
+        Iterable<String> oneShot = Linq.fromIterator(words.iterator());
+
+        assertEquals(IntList.of(4, 4, 6, 3, 9), Linq.selectInt(oneShot, String::length));
+    }
+
+    @Test
+    public void testSelect_WithNullArguments_ReturnsEmpty() {
+        assertTrue(Linq.selectInt(null, String::length).isEmpty());
+        assertTrue(Linq.selectLong(words, null).isEmpty());
+        assertTrue(Linq.selectDouble(Collections.<String>emptyList(), String::length).isEmpty());
+    }
+
+    // Pruebas para agregados y ordenación
+    @Test
+    public void testAggregates_MatchLinq() {
+        IntList lengths = Linq.selectInt(words, String::length);
+
+        assertEquals(Linq.sum(words, String::length), lengths.sum(), 0.0);
+        assertEquals(Linq.min(words, String::length), lengths.min(), 0.0);
+        assertEquals(Linq.max(words, String::length), lengths.max(), 0.0);
+        assertEquals(Linq.average(words, String::length), lengths.average(), 1e-9);
+    }
+
+    @Test
+    public void testAggregates_OnEmptyList_ReturnZero() {
+        IntList empty = new IntList();
+
+        assertEquals(0L, empty.sum());
+        assertEquals(0, empty.min());
+        assertEquals(0, empty.max());
+        assertEquals(0.0, empty.average(), 0.0);
+        assertEquals(0.0, new DoubleList().max(), 0.0);
+    }
+
+    @Test
+    public void testIntList_SumDoesNotOverflow() {
+        assertEquals(2L * Integer.MAX_VALUE, IntList.of(Integer.MAX_VALUE, Integer.MAX_VALUE).sum());
+    }
+
+    @Test
+    public void testSortAndSorted() {
+        IntList lengths = Linq.selectInt(words, String::length);
+        IntList sorted = lengths.sorted();
+
+        assertEquals(IntList.of(3, 4, 4, 6, 9), sorted);
+        assertEquals(IntList.of(4, 4, 6, 3, 9), lengths);
+        assertSame(lengths, lengths.sort());
+        assertEquals(sorted, lengths);
+        assertArrayEquals(new double[]{0.5, 1.5, 2.5}, DoubleList.of(2.5, 0.5, 1.5).sort().toArray(), 0.0);
+        assertEquals(LongList.of(-1L, 7L), LongList.of(7L, -1L).sort());
+    }
+
+    @Test
+    public void testAsSequence_FeedsPrimitiveOperators() {
+        IntList lengths = Linq.selectInt(words, String::length);
+        IntSequence longWords = lengths.asSequence().where(n -> n > 4);
+
+        lengths.add(100);
+
+        assertArrayEquals(new int[]{6, 9}, longWords.toArray());
+        assertEquals(3.0, LongList.of(2L, 4L).asSequence().average(), 0.0);
+        assertEquals(2.0, DoubleList.of(1.0, 4.0).asSequence().select(Math::sqrt).max(), 0.0);
+    }
+
+    // Pruebas para el crecimiento de la lista
+    @Test
+    public void testAdd_GrowsBeyondCapacity() {
+        IntList list = new IntList(0);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        assertEquals(1000, list.size());
+        assertEquals(999, list.get(999));
+        assertEquals(499500L, list.sum());
+    }
+
+    @Test
+    public void testEqualsAndHashCode_IgnoreSpareCapacity() {
+        IntList ints = new IntList(64);
+        ints.add(3);
+        ints.add(-1);
+        LongList longs = new LongList(64);
+        longs.add(Long.MAX_VALUE);
+        DoubleList doubles = new DoubleList(64);
+        doubles.add(Double.NaN);
+        doubles.add(-0.0);
+
+        assertEquals(IntList.of(3, -1), ints);
+        assertEquals(Arrays.hashCode(new int[]{3, -1}), ints.hashCode());
+        assertEquals(LongList.of(Long.MAX_VALUE), longs);
+        assertEquals(Arrays.hashCode(new long[]{Long.MAX_VALUE}), longs.hashCode());
+        assertEquals(DoubleList.of(Double.NaN, -0.0), doubles);
+        assertNotEquals(DoubleList.of(Double.NaN, 0.0), doubles);
+        assertEquals(Arrays.hashCode(new double[]{Double.NaN, -0.0}), doubles.hashCode());
+        assertNotEquals(IntList.of(3), ints);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfRange_Throws() {
+        IntList.of(1, 2).get(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity_Throws() {
+        new LongList(-1);
+    }
+
+    @Test
+    public void testMetrics_ReportPrimitiveResultSize() {
+        LinqMetricsTest.RecordingListener listener = new LinqMetricsTest.RecordingListener();
+        LinqMetrics.setListener(listener);
+
+        Linq.selectDouble(words, String::length);
+
+        assertEquals("selectDouble", listener.events.get(0).operator());
+        assertEquals(5, listener.events.get(0).outputSize());
+    }
+}
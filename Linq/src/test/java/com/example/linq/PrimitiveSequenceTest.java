@@ -0,0 +1,139 @@
+package com.example.linq;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveSequenceTest {
+
+    // Pruebas para generadores
+    @Test
+    public void testRange_ProducesConsecutiveValues() {
+        assertArrayEquals(new int[]{5, 6, 7, 8}, Linq.range(5, 4).toArray());
+        assertEquals(0, Linq.range(5, 0).count());
+        assertEquals(0, Linq.range(5, -3).count());
+        assertEquals(Integer.MAX_VALUE, Linq.range(Integer.MAX_VALUE, 1).max());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRange_BeyondIntMax_Throws() {
+        Linq.range(Integer.MAX_VALUE, 2);
+    }
+
+    @Test
+    public void testRangeLong_HandlesValuesBeyondInt() {
+        LongSequence sequence = Linq.rangeLong(Integer.MAX_VALUE, 3);
+
+        assertArrayEquals(new long[]{2147483647L, 2147483648L, 2147483649L}, sequence.toArray());
+        assertEquals(3L * Integer.MAX_VALUE + 3, sequence.sum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRangeLong_BeyondLongMax_Throws() {
+        Linq.rangeLong(Long.MAX_VALUE - 1, 3);
+    }
+
+    @Test
+    public void testRepeatAndGenerate() {
+        assertArrayEquals(new int[]{7, 7, 7}, Linq.repeat(7, 3).toArray());
+        assertArrayEquals(new long[]{9L, 9L}, Linq.repeat(9L, 2).toArray());
+        assertEquals(1.5, Linq.repeat(0.5, 3).sum(), 0.0);
+        assertArrayEquals(new int[]{0, 1, 4, 9}, Linq.generate(4, i -> i * i).toArray());
+        assertArrayEquals(new long[]{0L, 1L << 40}, Linq.generateLong(2, i -> (long) i << 40).toArray());
+        assertArrayEquals(new double[]{0.0, 0.5, 1.0}, Linq.generateDouble(3, i -> i / 2.0).toArray(), 0.0);
+    }
+
+    // Pruebas para operaciones perezosas
+    @Test
+    public void testIntSequence_IsLazyAndReusable() {
+        AtomicInteger calls = new AtomicInteger();
+        IntSequence evens = Linq.range(1, 10).where(i -> {
+            calls.incrementAndGet();
+            return i % 2 == 0;
+        });
+
+        assertEquals(0, calls.get());
+        assertEquals(30, evens.sum());
+        assertEquals(10, calls.get());
+        assertEquals(5, evens.count());
+        assertArrayEquals(new int[]{2, 4}, evens.take(2).toArray());
+    }
+
+    @Test
+    public void testIntSequence_OperatorsMatchLinq() {
+        List<Integer> boxed = Linq.range(1, 20).toList();
+        IntSequence sequence = Linq.range(1, 20).select(i -> i * 3).where(i -> i % 2 == 1).skip(2);
+
+        List<Integer> expected = Linq.skip(Linq.where(Linq.select(boxed, i -> i * 3), i -> i % 2 == 1), 2);
+        assertEquals(expected, sequence.toList());
+        assertEquals(Linq.sum(expected), sequence.sum(), 0.0);
+        assertEquals(Linq.min(expected), sequence.min(), 0.0);
+        assertEquals(Linq.max(expected), sequence.max(), 0.0);
+        assertEquals(Linq.average(expected), sequence.average(), 1e-9);
+    }
+
+    @Test
+    public void testIntSequence_SumDoesNotOverflow() {
+        assertEquals(3L * Integer.MAX_VALUE, Linq.repeat(Integer.MAX_VALUE, 3).sum());
+    }
+
+    @Test
+    public void testEmptySequences_ReturnZero() {
+        IntSequence empty = Linq.range(0, 10).where(i -> i > 100);
+
+        assertEquals(0, empty.min());
+        assertEquals(0, empty.max());
+        assertEquals(0L, empty.sum());
+        assertEquals(0.0, empty.average(), 0.0);
+        assertEquals(0L, Linq.rangeLong(0, 0).max());
+        assertEquals(0.0, Linq.generateDouble(0, i -> 1.0).min(), 0.0);
+    }
+
+    @Test
+    public void testConversionsBetweenSequences() {
+        DoubleSequence halves = Linq.range(1, 4).selectDouble(i -> i / 2.0);
+        assertEquals(5.0, halves.sum(), 1e-9);
+
+        LongSequence squares = Linq.range(100_000, 2).selectLong(i -> (long) i * i);
+        assertArrayEquals(new long[]{10_000_000_000L, 10_000_200_001L}, squares.toArray());
+
+        assertEquals(6.0, Linq.range(1, 3).asDoubleSequence().sum(), 0.0);
+        assertEquals(6L, Linq.range(1, 3).asLongSequence().sum());
+        assertEquals(2.5, Linq.rangeLong(1, 4).asDoubleSequence().average(), 0.0);
+        assertArrayEquals(new double[]{4.0, 9.0}, Linq.rangeLong(2, 2).selectDouble(n -> n * n).toArray(), 0.0);
+    }
+
+    // Pruebas para el puente a secuencias de objetos
+    @Test
+    public void testBoxed_BridgesToLinqOperators() {
+        Iterable<Integer> boxed = Linq.range(1, 5).boxed();
+
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5"), Linq.select(boxed, String::valueOf));
+        assertEquals(2, Linq.count(boxed, i -> i > 3));
+        assertEquals(Arrays.asList(10L, 11L), Linq.take(Linq.rangeLong(10, 100).boxed(), 2));
+        assertEquals(Arrays.asList(0.25, 0.25), Linq.repeat(0.25, 2).toList());
+    }
+
+    @Test
+    public void testForEach_VisitsValuesInOrder() {
+        StringBuilder out = new StringBuilder();
+        Linq.range(1, 3).forEach(out::append);
+        Linq.range(1, 3).forEach(null);
+
+        assertEquals("123", out.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWhere_WithNullPredicate_Throws() {
+        Linq.range(0, 3).where(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGenerate_WithNullGenerator_Throws() {
+        Linq.generate(3, null);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.linq;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class QueryTest {
+
+    private List<Person> people;
+
+    @Before
+    public void setUp() {
+        people = Arrays.asList(
+                new Person("Ana", 34, "Lima"),
+                new Person("Luis", 19, "Quito"),
+                new Person("Eva", 34, "Lima"),
+                new Person("Juan", 52, "Bogotá"),
+                new Person("Sofía", 27, "Quito"),
+                new Person("Pedro", 19, "Lima"),
+                new Person("Marta", 41, "Bogotá")
+        );
+    }
+
+    // Pruebas para pushdown de predicados
+    @Test
+    public void testWhereAfterOrderBy_IsPushedBelowSort() {
+        CountingPredicate adults = new CountingPredicate(p -> p.getAge() >= 30);
+        Query<Person> query = Linq.query(people).orderBy(Person::getAge).where(adults);
+
+        List<Person> expected = Linq.where(Linq.orderBy(people, Person::getAge), p -> p.getAge() >= 30);
+
+        assertEquals(expected, query.toList());
+        assertEquals(people.size(), adults.calls);
+        assertTrue(query.explain().contains("Sort[orderBy#1]\n    Filter[where#2]"));
+        assertTrue(query.explain().contains(QueryPlanner.RULE_PREDICATE_PUSHDOWN));
+    }
+
+    // Pruebas para top-K
+    @Test
+    public void testOrderByThenTake_UsesStableTopK() {
+        Query<Person> query = Linq.query(people).orderBy(Person::getAge).take(3);
+
+        assertEquals(Linq.take(Linq.orderBy(people, Person::getAge), 3), query.toList());
+        assertTrue(query.explain().contains("TopK(k=3)[orderBy#1]"));
+        assertFalse(query.explain().contains("Limit"));
+    }
+
+    @Test
+    public void testOrderByDescendingSkipTake_MatchesLinqChain() {
+        Query<Person> query = Linq.query(people).orderByDescending(Person::getAge).skip(2).take(3);
+
+        List<Person> expected = Linq.take(Linq.skip(Linq.orderByDescending(people, Person::getAge), 2), 3);
+
+        assertEquals(expected, query.toList());
+        assertTrue(query.explain().contains("Offset(2)[skip#2]\n    TopK(k=5)[orderByDescending#1]"));
+    }
+
+    @Test
+    public void testFirstOrDefault_AfterOrderBy_UsesTopOne() {
+        Query<Person> query = Linq.query(people).where(p -> p.getCity().equals("Lima")).orderBy(Person::getAge);
+
+        assertEquals("Pedro", query.firstOrDefault().getName());
+        assertTrue(query.explain(Query.Terminal.FIRST).contains("TopK(k=1)[orderBy#2]"));
+        assertNull(query.where(p -> p.getAge() > 100).firstOrDefault());
+    }
+
+    // Pruebas para eliminación de ordenaciones y poda de proyecciones
+    @Test
+    public void testCountAfterOrderBy_SkipsSortAndProjection() {
+        CountingFunction<Person, String> name = new CountingFunction<>(Person::getName);
+        Query<String> query = Linq.query(people).orderBy(Person::getName).where(p -> p.getAge() < 40).select(name);
+
+        assertEquals(Linq.count(people, p -> p.getAge() < 40), query.count());
+        assertEquals(0, name.calls);
+        String plan = query.explain(Query.Terminal.COUNT);
+        assertFalse(plan.contains("Sort"));
+        assertFalse(plan.contains("Project"));
+        assertTrue(plan.contains(QueryPlanner.RULE_SORT_ELIMINATION));
+        assertTrue(plan.contains(QueryPlanner.RULE_PROJECTION_PRUNING));
+    }
+
+    @Test
+    public void testSortBeforeTake_IsKeptForOrderInsensitiveTerminal() {
+        Query<Person> query = Linq.query(people).orderBy(Person::getAge).take(2);
+
+        assertEquals(Linq.sum(Linq.take(Linq.orderBy(people, Person::getAge), 2), Person::getAge),
+                query.sum(Person::getAge), 0.0);
+        assertTrue(query.explain(Query.Terminal.SUM).contains("TopK(k=2)"));
+    }
+
+    // Pruebas para proyección tardía
+    @Test
+    public void testSelectThenTake_ProjectsOnlyTakenRows() {
+        CountingFunction<Person, String> name = new CountingFunction<>(Person::getName);
+        Query<Integer> query = Linq.query(people).select(name).select(String::length).take(2);
+
+        assertEquals(Arrays.asList(3, 4), query.toList());
+        assertEquals(2, name.calls);
+        String plan = query.explain();
+        assertTrue(plan.startsWith("ToList\n  Project[select#1+select#2]\n    Limit(2)[take#3]"));
+        assertTrue(plan.contains(QueryPlanner.RULE_LATE_PROJECTION));
+        assertTrue(plan.contains(QueryPlanner.RULE_PROJECTION_FUSION));
+    }
+
+    // Pruebas para resultados equivalentes a Linq
+    @Test
+    public void testDistinctAndAggregates_MatchLinq() {
+        Query<String> cities = Linq.query(people).select(Person::getCity).distinct();
+
+        assertEquals(Linq.distinct(Linq.select(people, Person::getCity)), cities.toList());
+        assertEquals(Linq.average(people, Person::getAge), Linq.query(people).average(Person::getAge), 1e-9);
+        assertEquals(19.0, Linq.query(people).min(Person::getAge), 0.0);
+        assertEquals(52.0, Linq.query(people).max(Person::getAge), 0.0);
+        assertTrue(Linq.query(people).where(p -> p.getAge() > 50).any());
+    }
+
+    @Test
+    public void testAnyStopsAtFirstMatch() {
+        CountingPredicate predicate = new CountingPredicate(p -> p.getAge() == 34);
+
+        assertTrue(Linq.query(people).where(predicate).any());
+        assertEquals(1, predicate.calls);
+    }
+
+    @Test
+    public void testQuery_IsImmutableAndReusable() {
+        Query<Person> base = Linq.query(people).where(p -> p.getAge() > 20);
+        Query<Person> limited = base.take(1);
+
+        assertEquals(5, base.count());
+        assertEquals(1, limited.count());
+        assertEquals(5, base.toList().size());
+    }
+
+    @Test
+    public void testQuery_WithNullSource_IsEmpty() {
+        Query<Person> query = Linq.query((List<Person>) null).orderBy(Person::getAge);
+
+        assertTrue(query.toList().isEmpty());
+        assertEquals(0, query.count());
+        assertEquals(0.0, query.sum(Person::getAge), 0.0);
+        assertNull(query.firstOrDefault());
+    }
+
+    @Test
+    public void testExplain_WithoutRewrites() {
+        List<Person> source = new ArrayList<>(people);
+        String plan = Linq.query(source).where(p -> p.getAge() > 20).explain();
+
+        assertEquals("ToList\n  Filter[where#1]\n    Scan(ArrayList, 7 filas)\nReglas aplicadas: ninguna", plan);
+    }
+
+    static class Person {
+        private final String name;
+        private final int age;
+        private final String city;
+
+        Person(String name, int age, String city) {
+            this.name = name;
+            this.age = age;
+            this.city = city;
+        }
+
+        String getName() { return name; }
+        int getAge() { return age; }
+        String getCity() { return city; }
+    }
+
+    static class CountingPredicate implements Predicate<Person> {
+        private final Predicate<Person> delegate;
+        int calls;
+
+        CountingPredicate(Predicate<Person> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean test(Person person) {
+            calls++;
+            return delegate.test(person);
+        }
+    }
+
+    static class CountingFunction<T, R> implements Function<T, R> {
+        private final Function<T, R> delegate;
+        int calls;
+
+        CountingFunction(Function<T, R> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public R apply(T value) {
+            calls++;
+            return delegate.apply(value);
+        }
+    }
+}
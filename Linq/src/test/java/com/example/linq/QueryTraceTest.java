@@ -0,0 +1,173 @@
+package com.example.linq;
+
+import com.example.linq.QueryTest.Person;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class QueryTraceTest {
+
+    private List<Person> people;
+    private List<String[]> capitals;
+
+    @Before
+    public void setUp() {
+        people = Arrays.asList(
+                new Person("Ana", 34, "Lima"),
+                new Person("Luis", 19, "Quito"),
+                new Person("Eva", 34, "Lima"),
+                new Person("Juan", 52, "Bogotá"),
+                new Person("Sofía", 27, "Quito"),
+                new Person("Pedro", 19, "Lima"),
+                new Person("Marta", 41, "Bogotá")
+        );
+        capitals = Arrays.asList(
+                new String[]{"Lima", "Perú"},
+                new String[]{"Quito", "Ecuador"},
+                new String[]{"Caracas", "Venezuela"}
+        );
+    }
+
+    // Pruebas para filas por etapa
+    @Test
+    public void testTrace_RecordsRowsPerStage() {
+        QueryTrace trace = new QueryTrace();
+        List<String> names = Linq.query(people).traced(trace)
+                .where(p -> p.getAge() > 20)
+                .orderBy(Person::getAge)
+                .select(Person::getName)
+                .toList();
+
+        assertEquals(Arrays.asList("Sofía", "Ana", "Eva", "Marta", "Juan"), names);
+        List<QueryTrace.Stage> stages = trace.stages();
+        assertEquals(5, stages.size());
+        assertEquals("Scan(ArrayList, 7 filas)", stages.get(0).operator());
+        assertEquals(7, stages.get(0).rowsOut());
+        assertEquals(7, trace.stage("Filter").rowsIn());
+        assertEquals(5, trace.stage("Filter").rowsOut());
+        assertEquals(5, trace.stage("Sort").rowsIn());
+        assertEquals(5, trace.stage("Project").rowsOut());
+        assertEquals("ToList", stages.get(4).operator());
+        assertEquals(5, stages.get(4).rowsOut());
+    }
+
+    @Test
+    public void testTrace_EarlyTermination_ShowsRowsPulledFromSource() {
+        QueryTrace trace = new QueryTrace();
+        Linq.query(people).traced(trace).where(p -> p.getCity().equals("Lima")).take(2).toList();
+
+        assertEquals(7, trace.stages().get(0).rowsIn());
+        assertEquals(3, trace.stages().get(0).rowsOut());
+        assertEquals(2, trace.stage("Limit").rowsOut());
+    }
+
+    // Pruebas para comparaciones y tablas hash
+    @Test
+    public void testTrace_SortAndTopK_CountComparisons() {
+        QueryTrace trace = new QueryTrace();
+        Linq.query(people).traced(trace).orderBy(Person::getName).toList();
+        assertTrue(trace.stage("Sort").details().get("comparaciones") > 0);
+
+        Linq.query(people).traced(trace).orderBy(Person::getAge).take(2).toList();
+        Map<String, Long> topK = trace.stage("TopK").details();
+        assertTrue(topK.get("comparaciones") > 0);
+        assertEquals(2L, (long) topK.get("montículo"));
+        assertNull(trace.stage("Sort"));
+    }
+
+    @Test
+    public void testTrace_Join_ReportsHashTableSize() {
+        QueryTrace trace = new QueryTrace();
+        List<String> pairs = Linq.query(people).traced(trace)
+                .join(capitals, Person::getCity, c -> c[0], (p, c) -> p.getName() + "-" + c[1])
+                .toList();
+
+        List<String> expected = Linq.join(people, capitals, Person::getCity, c -> c[0],
+                (p, c) -> p.getName() + "-" + c[1]);
+        assertEquals(expected, pairs);
+        QueryTrace.Stage join = trace.stage("HashJoin");
+        assertEquals(7, join.rowsIn());
+        assertEquals(5, join.rowsOut());
+        assertEquals(3L, (long) join.details().get("claves"));
+        assertEquals(3L, (long) join.details().get("filas internas"));
+    }
+
+    @Test
+    public void testTrace_GroupJoin_MatchesLinq() {
+        QueryTrace trace = new QueryTrace();
+        List<String> countries = Arrays.asList("Lima", "Quito", "Bogotá", "Santiago");
+        List<Integer> sizes = Linq.query(countries).traced(trace)
+                .groupJoin(people, c -> c, Person::getCity, (c, residents) -> residents.size())
+                .toList();
+
+        assertEquals(Linq.groupJoin(countries, people, c -> c, Person::getCity, (c, residents) -> residents.size()),
+                sizes);
+        assertEquals(Arrays.asList(3, 2, 2, 0), sizes);
+        assertEquals(3L, (long) trace.stage("HashGroupJoin").details().get("claves"));
+    }
+
+    @Test
+    public void testTrace_GroupBy_ReportsGroupsInFirstAppearanceOrder() {
+        QueryTrace trace = new QueryTrace();
+        List<Map.Entry<String, List<Person>>> groups = Linq.query(people).traced(trace)
+                .groupBy(Person::getCity)
+                .toList();
+
+        assertEquals(Arrays.asList("Lima", "Quito", "Bogotá"), Linq.select(groups, Map.Entry::getKey));
+        assertEquals(Linq.groupBy(people, Person::getCity).get("Lima"), groups.get(0).getValue());
+        QueryTrace.Stage groupBy = trace.stage("HashAggregate");
+        assertEquals(7, groupBy.rowsIn());
+        assertEquals(3, groupBy.rowsOut());
+        assertEquals(3L, (long) groupBy.details().get("grupos"));
+    }
+
+    @Test
+    public void testGroupBy_KeepsSortForOrderInsensitiveTerminal() {
+        Query<Integer> firstAges = Linq.query(people).orderBy(Person::getAge)
+                .groupBy(Person::getCity)
+                .select(g -> g.getValue().get(0).getAge());
+
+        assertEquals(19 + 19 + 41, firstAges.sum(n -> n), 0.0);
+        assertTrue(firstAges.explain(Query.Terminal.SUM).contains("Sort[orderBy#1]"));
+    }
+
+    // Pruebas para el reporte
+    @Test
+    public void testRender_ShowsTreeWithStatistics() {
+        QueryTrace trace = new QueryTrace();
+        assertEquals("", trace.render());
+
+        Linq.query(new ArrayList<>(people)).traced(trace).where(p -> p.getAge() > 30).count();
+
+        String report = trace.render();
+        assertTrue(report.startsWith("Count (entrada=4, salida=1, "));
+        assertTrue(report.contains("\n  Filter[where#1] (entrada=7, salida=4, "));
+        assertTrue(report.contains("\n    Scan(ArrayList, 7 filas) (entrada=7, salida=7, "));
+        assertTrue(report.contains("Reglas aplicadas: ninguna\nTiempo total: "));
+        assertTrue(trace.totalNanos() >= trace.stage("Filter").nanos());
+    }
+
+    @Test
+    public void testTrace_IsReplacedOnEachExecution() {
+        QueryTrace trace = new QueryTrace();
+        Query<Person> query = Linq.query(people).traced(trace).orderBy(Person::getAge);
+
+        query.toList();
+        assertNotNull(trace.stage("Sort"));
+        query.count();
+        assertNull(trace.stage("Sort"));
+        assertEquals(Arrays.asList(QueryPlanner.RULE_SORT_ELIMINATION), trace.rules());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTraced_WithNullTrace_Throws() {
+        Linq.query(people).traced(null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.linq;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SortedIndexTest {
+
+    private List<Order> orders;
+    private SortedIndex<Integer, Order> byDay;
+
+    @Before
+    public void setUp() {
+        orders = Arrays.asList(
+                new Order("o1", 5),
+                new Order("o2", 1),
+                new Order("o3", 9),
+                new Order("o4", 5),
+                new Order("o5", 3),
+                new Order("o6", 7)
+        );
+        byDay = Linq.sortedIndex(orders, Order::getDay);
+    }
+
+    // Pruebas para range y countBetween
+    @Test
+    public void testRange_MatchesLinearWhere() {
+        List<Order> expected = Linq.orderBy(Linq.where(orders, o -> o.getDay() >= 3 && o.getDay() < 9), Order::getDay);
+
+        assertEquals(expected, byDay.range(3, 9));
+        assertEquals(4, byDay.countBetween(3, 9));
+    }
+
+    @Test
+    public void testRange_WithInclusiveBoundsAndOpenEnds() {
+        assertEquals(Arrays.asList("o1", "o4", "o6", "o3"), names(byDay.range(5, true, null, false)));
+        assertEquals(Arrays.asList("o2", "o5"), names(byDay.range(null, true, 5, false)));
+        assertEquals(Arrays.asList("o6"), names(byDay.range(5, false, 7, true)));
+        assertTrue(byDay.range(8, 4).isEmpty());
+        assertEquals(0, byDay.countBetween(8, 4));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRange_ReturnsReadOnlyView() {
+        byDay.range(1, 10).clear();
+    }
+
+    // Pruebas para floor y ceiling
+    @Test
+    public void testFloorAndCeiling() {
+        assertEquals("o4", byDay.floor(6).getId());
+        assertEquals("o6", byDay.ceiling(6).getId());
+        assertEquals("o1", byDay.ceiling(5).getId());
+        assertNull(byDay.floor(0));
+        assertNull(byDay.ceiling(10));
+    }
+
+    // Pruebas para pageAfter
+    @Test
+    public void testPageAfter_ContinuesAfterLastSeenKey() {
+        SortedIndex<String, Order> byId = Linq.sortedIndex(orders, Order::getId);
+
+        List<Order> first = byId.pageAfter(null, 4);
+        List<Order> second = byId.pageAfter(first.get(first.size() - 1).getId(), 4);
+
+        assertEquals(Arrays.asList("o1", "o2", "o3", "o4"), names(first));
+        assertEquals(Arrays.asList("o5", "o6"), names(second));
+        assertTrue(byId.pageAfter("o6", 4).isEmpty());
+        assertTrue(byId.pageAfter(null, 0).isEmpty());
+    }
+
+    @Test
+    public void testSortedIndex_WithNullSource_IsEmpty() {
+        SortedIndex<Integer, Order> empty = Linq.sortedIndex(null, Order::getDay);
+
+        assertEquals(0, empty.size());
+        assertTrue(empty.range(null, null).isEmpty());
+        assertNull(empty.floor(3));
+    }
+
+    private static List<String> names(List<Order> orders) {
+        return Linq.select(orders, Order::getId);
+    }
+
+    static class Order {
+        private final String id;
+        private final int day;
+
+        Order(String id, int day) {
+            this.id = id;
+            this.day = day;
+        }
+
+        String getId() { return id; }
+        int getDay() { return day; }
+    }
+}
@@ -0,0 +1,37 @@
+plugins {
+    id("java-library")
+    alias(libs.plugins.jmh)
+}
+
+// Los benchmarks corren en la JVM de escritorio: se compilan las mismas fuentes de :Linq
+// (que es un módulo Android) junto a un stub de android.os.Build que sólo se usa al compilar.
+val shim by sourceSets.creating
+
+sourceSets {
+    main {
+        java.srcDir("../Linq/src/main/java")
+    }
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    compileOnly(shim.output)
+    compileOnly(libs.androidx.annotation)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    jvmArgs.addAll("-Xms2g", "-Xmx8g")
+
+    // ./gradlew :linq-benchmarks:jmh -Pjmh.includes=FilterBenchmark -Pjmh.sizes=10,1000
+    findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+    findProperty("jmh.sizes")?.let { sizes ->
+        benchmarkParameters.put("size", objects.listProperty<String>().value(sizes.toString().split(",")))
+    }
+}
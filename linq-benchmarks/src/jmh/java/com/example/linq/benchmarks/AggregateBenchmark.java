@@ -0,0 +1,175 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * count, sum, min, max y average, con selector sobre los elementos y sin selector sobre los valores
+ * ya proyectados.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregateBenchmark {
+
+    @Benchmark
+    public int countLinq(SourceState s) {
+        return Linq.count(s.items);
+    }
+
+    @Benchmark
+    public int countLoop(SourceState s) {
+        int count = 0;
+        for (Object ignored : s.items) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long countStream(SourceState s) {
+        return s.stream().count();
+    }
+
+    @Benchmark
+    public double sumLinq(SourceState s) {
+        return Linq.sum(s.items, s.workload.value);
+    }
+
+    @Benchmark
+    public double sumLoop(SourceState s) {
+        double sum = 0;
+        for (Object item : s.items) {
+            sum += Workload.toDouble(s.workload.value.apply(item));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumStream(SourceState s) {
+        return s.stream().map(s.workload.value).mapToDouble(Workload::toDouble).sum();
+    }
+
+    @Benchmark
+    public double sumNoSelectorLinq(SourceState s) {
+        return Linq.sum(s.values);
+    }
+
+    @Benchmark
+    public double sumNoSelectorLoop(SourceState s) {
+        double sum = 0;
+        for (Object value : s.values) {
+            sum += Workload.toDouble(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumNoSelectorStream(SourceState s) {
+        return s.valueStream().mapToDouble(Workload::toDouble).sum();
+    }
+
+    @Benchmark
+    public double minLinq(SourceState s) {
+        return Linq.min(s.items, s.workload.value);
+    }
+
+    @Benchmark
+    public double minLoop(SourceState s) {
+        double min = Double.POSITIVE_INFINITY;
+        boolean any = false;
+        for (Object item : s.items) {
+            min = Math.min(min, Workload.toDouble(s.workload.value.apply(item)));
+            any = true;
+        }
+        return any ? min : 0.0;
+    }
+
+    @Benchmark
+    public double minStream(SourceState s) {
+        return s.stream().map(s.workload.value).mapToDouble(Workload::toDouble).min().orElse(0.0);
+    }
+
+    @Benchmark
+    public double minNoSelectorLinq(SourceState s) {
+        return Linq.min(s.values);
+    }
+
+    @Benchmark
+    public double minNoSelectorStream(SourceState s) {
+        return s.valueStream().mapToDouble(Workload::toDouble).min().orElse(0.0);
+    }
+
+    @Benchmark
+    public double maxLinq(SourceState s) {
+        return Linq.max(s.items, s.workload.value);
+    }
+
+    @Benchmark
+    public double maxLoop(SourceState s) {
+        double max = Double.NEGATIVE_INFINITY;
+        boolean any = false;
+        for (Object item : s.items) {
+            max = Math.max(max, Workload.toDouble(s.workload.value.apply(item)));
+            any = true;
+        }
+        return any ? max : 0.0;
+    }
+
+    @Benchmark
+    public double maxStream(SourceState s) {
+        return s.stream().map(s.workload.value).mapToDouble(Workload::toDouble).max().orElse(0.0);
+    }
+
+    @Benchmark
+    public double maxNoSelectorLinq(SourceState s) {
+        return Linq.max(s.values);
+    }
+
+    @Benchmark
+    public double maxNoSelectorStream(SourceState s) {
+        return s.valueStream().mapToDouble(Workload::toDouble).max().orElse(0.0);
+    }
+
+    @Benchmark
+    public double averageLinq(SourceState s) {
+        return Linq.average(s.items, s.workload.value);
+    }
+
+    @Benchmark
+    public double averageLoop(SourceState s) {
+        double sum = 0;
+        int count = 0;
+        for (Object item : s.items) {
+            sum += Workload.toDouble(s.workload.value.apply(item));
+            count++;
+        }
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    @Benchmark
+    public double averageStream(SourceState s) {
+        return s.stream().map(s.workload.value).mapToDouble(Workload::toDouble).average().orElse(0.0);
+    }
+
+    @Benchmark
+    public double averageNoSelectorLinq(SourceState s) {
+        return Linq.average(s.values);
+    }
+
+    @Benchmark
+    public double averageNoSelectorStream(SourceState s) {
+        return s.valueStream().mapToDouble(Workload::toDouble).average().orElse(0.0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.ConcurrentGroupCounter;
+import com.example.linq.ConcurrentStats;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ocho hilos sumando valores y contando claves a la vez: ConcurrentStats y ConcurrentGroupCounter frente a
+ * los mismos acumuladores protegidos por un bloqueo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcurrentAggregateBenchmark {
+
+    private final ConcurrentStats stats = new ConcurrentStats();
+    private final ConcurrentGroupCounter<Integer> counter = new ConcurrentGroupCounter<>();
+
+    private final Object lock = new Object();
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final Map<Integer, Long> counts = new HashMap<>();
+
+    @Benchmark
+    public void statsConcurrent() {
+        stats.add(ThreadLocalRandom.current().nextInt(1000));
+    }
+
+    @Benchmark
+    public void statsLocked() {
+        double value = ThreadLocalRandom.current().nextInt(1000);
+        synchronized (lock) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    @Benchmark
+    public void counterConcurrent() {
+        counter.increment(ThreadLocalRandom.current().nextInt(Workload.GROUPS));
+    }
+
+    @Benchmark
+    public void counterLocked() {
+        Integer key = ThreadLocalRandom.current().nextInt(Workload.GROUPS);
+        synchronized (lock) {
+            counts.merge(key, 1L, Long::sum);
+        }
+    }
+}
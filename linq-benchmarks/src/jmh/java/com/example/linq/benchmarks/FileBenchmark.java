@@ -0,0 +1,128 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.CsvSchema;
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * lines y csv sobre un archivo temporal, contra BufferedReader y Files.lines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CsvFile {
+        @Param({"10", "1000", "100000", "1000000"})
+        public int rows;
+
+        File file;
+        CsvSchema schema;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = File.createTempFile("linq-bench", ".csv");
+            Random random = new Random(42);
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                writer.write("nombre;categoria;precio\n");
+                for (int i = 0; i < rows; i++) {
+                    writer.write(String.format(Locale.US, "producto-%d;%d;%.2f\n",
+                            i, random.nextInt(Workload.GROUPS), random.nextInt(500_000) / 100.0));
+                }
+            }
+            schema = CsvSchema.builder()
+                    .delimiter(';')
+                    .skipHeader(true)
+                    .column("precio", 2, CsvSchema.Type.DOUBLE)
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public int linesCountLinq(CsvFile f) {
+        return Linq.count(Linq.lines(f.file));
+    }
+
+    @Benchmark
+    public int linesCountLoop(CsvFile f) throws IOException {
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(f.file), StandardCharsets.UTF_8))) {
+            while (reader.readLine() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long linesCountStream(CsvFile f) throws IOException {
+        try (Stream<String> lines = Files.lines(f.file.toPath())) {
+            return lines.count();
+        }
+    }
+
+    @Benchmark
+    public double csvSumLinq(CsvFile f) {
+        return Linq.csv(f.file, f.schema).sum("precio");
+    }
+
+    @Benchmark
+    public double csvSumLoop(CsvFile f) throws IOException {
+        double sum = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(f.file), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sum += Double.parseDouble(line.substring(line.lastIndexOf(';') + 1));
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double csvSumStream(CsvFile f) throws IOException {
+        try (Stream<String> lines = Files.lines(f.file.toPath())) {
+            return lines.skip(1).mapToDouble(line -> Double.parseDouble(line.split(";")[2])).sum();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * where, whereInto, firstOrDefault, any, all, findIndex y count con predicado.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    /**
+     * Búfer reutilizado entre invocaciones, como el de un bucle por fotograma.
+     */
+    @State(Scope.Thread)
+    public static class Buffer {
+        final List<Object> target = new ArrayList<>();
+    }
+
+    @Benchmark
+    public List<Object> whereLinq(SourceState s) {
+        return Linq.where(s.items, s.workload.filter);
+    }
+
+    @Benchmark
+    public List<Object> whereIntoLinq(SourceState s, Buffer buffer) {
+        return Linq.whereInto(s.items, s.workload.filter, buffer.target);
+    }
+
+    @Benchmark
+    public List<Object> whereLoop(SourceState s) {
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            if (s.workload.filter.test(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> whereStream(SourceState s) {
+        return s.stream().filter(s.workload.filter).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object firstOrDefaultLinq(SourceState s) {
+        return Linq.firstOrDefault(s.items, s.workload.isLast);
+    }
+
+    @Benchmark
+    public Object firstOrDefaultLoop(SourceState s) {
+        for (Object item : s.items) {
+            if (s.workload.isLast.test(item)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object firstOrDefaultStream(SourceState s) {
+        return s.stream().filter(s.workload.isLast).findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public Object firstOrDefaultNoPredicateLinq(SourceState s) {
+        return Linq.firstOrDefault(s.items);
+    }
+
+    @Benchmark
+    public Object firstOrDefaultNoPredicateLoop(SourceState s) {
+        for (Object item : s.items) {
+            return item;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object firstOrDefaultNoPredicateStream(SourceState s) {
+        return s.stream().findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public boolean anyLinq(SourceState s) {
+        return Linq.any(s.items, s.workload.isLast);
+    }
+
+    @Benchmark
+    public boolean anyLoop(SourceState s) {
+        for (Object item : s.items) {
+            if (s.workload.isLast.test(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean anyStream(SourceState s) {
+        return s.stream().anyMatch(s.workload.isLast);
+    }
+
+    @Benchmark
+    public boolean anyNoPredicateLinq(SourceState s) {
+        return Linq.any(s.items);
+    }
+
+    @Benchmark
+    public boolean anyNoPredicateLoop(SourceState s) {
+        return s.items.iterator().hasNext();
+    }
+
+    @Benchmark
+    public boolean anyNoPredicateStream(SourceState s) {
+        return s.stream().findAny().isPresent();
+    }
+
+    @Benchmark
+    public boolean allLinq(SourceState s) {
+        return Linq.all(s.items, s.workload.isLast.negate());
+    }
+
+    @Benchmark
+    public boolean allLoop(SourceState s) {
+        for (Object item : s.items) {
+            if (s.workload.isLast.test(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean allStream(SourceState s) {
+        return s.stream().allMatch(s.workload.isLast.negate());
+    }
+
+    @Benchmark
+    public int findIndexLinq(SourceState s) {
+        return Linq.findIndex(s.items, s.workload.isLast);
+    }
+
+    @Benchmark
+    public int findIndexLoop(SourceState s) {
+        int index = 0;
+        for (Object item : s.items) {
+            if (s.workload.isLast.test(item)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int findIndexStream(SourceState s) {
+        int[] index = {-1};
+        int[] position = {0};
+        s.stream().filter(item -> {
+            int current = position[0]++;
+            if (s.workload.isLast.test(item)) {
+                index[0] = current;
+                return true;
+            }
+            return false;
+        }).findFirst();
+        return index[0];
+    }
+
+    @Benchmark
+    public int countPredicateLinq(SourceState s) {
+        return Linq.count(s.items, s.workload.filter);
+    }
+
+    @Benchmark
+    public int countPredicateLoop(SourceState s) {
+        int count = 0;
+        for (Object item : s.items) {
+            if (s.workload.filter.test(item)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long countPredicateStream(SourceState s) {
+        return s.stream().filter(s.workload.filter).count();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+import com.example.linq.LinqFlow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * where + select y selectMany + groupBy en ventanas sobre un publicador síncrono que emite según la demanda,
+ * frente a los mismos operadores de Linq sobre una lista, para medir el costo de la contrapresión.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlowBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** Publicador de 0..count-1 que emite en el hilo del pedido. */
+    static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int count;
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int next;
+                private long demand;
+                private boolean emitting;
+                private boolean cancelled;
+
+                @Override
+                public void request(long n) {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && next < count && !cancelled) {
+                        demand--;
+                        subscriber.onNext(next++);
+                    }
+                    if (next == count && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /** Suscriptor que pide todo y cuenta lo que recibe. */
+    static final class Counter<T> implements Flow.Subscriber<T> {
+        long count;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            count++;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private List<Integer> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+    }
+
+    @Benchmark
+    public long whereSelectFlow() {
+        Counter<Integer> counter = new Counter<>();
+        LinqFlow.from(new RangePublisher(size)).where(n -> n % 3 == 0).select(n -> n * 2).subscribe(counter);
+        return counter.count;
+    }
+
+    @Benchmark
+    public int whereSelectLinq() {
+        return Linq.select(Linq.where(items, n -> n % 3 == 0), n -> n * 2).size();
+    }
+
+    @Benchmark
+    public long selectManyWindowsFlow() {
+        Counter<Map<Integer, List<Integer>>> counter = new Counter<>();
+        LinqFlow.from(new RangePublisher(size))
+                .selectMany(n -> Arrays.asList(n, n + 1))
+                .groupBy(n -> n & (Workload.GROUPS - 1), 1000)
+                .subscribe(counter);
+        return counter.count;
+    }
+}
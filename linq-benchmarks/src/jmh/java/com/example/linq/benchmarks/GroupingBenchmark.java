@@ -0,0 +1,170 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Aggregators;
+import com.example.linq.Linq;
+import com.example.linq.Lookup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * groupBy, groupByAggregate, groupByLazy, join y groupJoin contra las {@link Workload#GROUPS} claves de grupo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupingBenchmark {
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupByLinq(SourceState s) {
+        return Linq.groupBy(s.items, s.workload.groupKey);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupByLoop(SourceState s) {
+        Map<Integer, List<Object>> groups = new HashMap<>();
+        for (Object item : s.items) {
+            groups.computeIfAbsent(s.workload.groupKey.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> groupByStream(SourceState s) {
+        return s.stream().collect(Collectors.groupingBy(s.workload.groupKey));
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupByElementLinq(SourceState s) {
+        return Linq.groupBy(s.items, s.workload.groupKey, s.workload.name);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupByElementStream(SourceState s) {
+        return s.stream().collect(Collectors.groupingBy(s.workload.groupKey,
+                Collectors.mapping(s.workload.name, Collectors.toList())));
+    }
+
+    @Benchmark
+    public int sparseGetGroupBy(SourceState s) {
+        Map<Integer, List<Object>> groups = Linq.groupBy(s.items, s.workload.groupKey);
+        return groups.getOrDefault(1, Collections.emptyList()).size()
+                + groups.getOrDefault(2, Collections.emptyList()).size();
+    }
+
+    @Benchmark
+    public int sparseGetIndexed(SourceState s) {
+        Lookup<Integer, Object> lookup = Linq.groupByLazy(s.items, s.workload.groupKey);
+        return lookup.get(1).size() + lookup.get(2).size();
+    }
+
+    @Benchmark
+    public int sparseGetDeferred(SourceState s) {
+        Lookup<Integer, Object> lookup = Linq.groupByLazy(s.items, s.workload.groupKey, Lookup.Mode.DEFERRED);
+        return lookup.get(1).size() + lookup.get(2).size();
+    }
+
+    @Benchmark
+    public Map<Integer, Long> countByAggregate(SourceState s) {
+        return Linq.groupByAggregate(s.items, s.workload.groupKey, Aggregators.count());
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> countByGroupBy(SourceState s) {
+        Map<Integer, List<Object>> groups = Linq.groupBy(s.items, s.workload.groupKey);
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Map.Entry<Integer, List<Object>> group : groups.entrySet()) {
+            counts.put(group.getKey(), group.getValue().size());
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<Integer, Long> countByStream(SourceState s) {
+        return s.stream().collect(Collectors.groupingBy(s.workload.groupKey, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Object>> statsByAggregate(SourceState s) {
+        return Linq.groupByAggregate(s.items, s.workload.groupKey, Aggregators.allOf(
+                Aggregators.count(),
+                Aggregators.average(item -> s.workload.sortKey.apply(item)),
+                Aggregators.max(item -> s.workload.sortKey.apply(item))));
+    }
+
+    @Benchmark
+    public List<Object> joinLinq(SourceState s) {
+        return Linq.join(s.items, s.groupKeys, s.workload.groupKey, Function.identity(), (item, key) -> item);
+    }
+
+    @Benchmark
+    public List<Object> joinLoop(SourceState s) {
+        Map<Integer, List<Integer>> lookup = new HashMap<>();
+        for (Integer key : s.groupKeys) {
+            lookup.computeIfAbsent(key, k -> new ArrayList<>()).add(key);
+        }
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            List<Integer> matches = lookup.get(s.workload.groupKey.apply(item));
+            if (matches != null) {
+                for (int i = 0; i < matches.size(); i++) {
+                    result.add(item);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> joinStream(SourceState s) {
+        Map<Integer, List<Integer>> lookup = s.groupKeys.stream().collect(Collectors.groupingBy(Function.identity()));
+        return s.stream()
+                .flatMap(item -> lookup.getOrDefault(s.workload.groupKey.apply(item), Collections.emptyList())
+                        .stream()
+                        .map(key -> item))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> groupJoinLinq(SourceState s) {
+        return Linq.groupJoin(s.groupKeys, s.items, Function.identity(), s.workload.groupKey,
+                (key, matches) -> matches.size());
+    }
+
+    @Benchmark
+    public List<Integer> groupJoinLoop(SourceState s) {
+        Map<Integer, List<Object>> lookup = new HashMap<>();
+        for (Object item : s.items) {
+            lookup.computeIfAbsent(s.workload.groupKey.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        List<Integer> result = new ArrayList<>(s.groupKeys.size());
+        for (Integer key : s.groupKeys) {
+            result.add(lookup.getOrDefault(key, Collections.emptyList()).size());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> groupJoinStream(SourceState s) {
+        Map<Integer, List<Object>> lookup = s.stream().collect(Collectors.groupingBy(s.workload.groupKey));
+        return s.groupKeys.stream()
+                .map(key -> lookup.getOrDefault(key, Collections.emptyList()).size())
+                .collect(Collectors.toList());
+    }
+}
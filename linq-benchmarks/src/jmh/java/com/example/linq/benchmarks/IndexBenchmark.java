@@ -0,0 +1,135 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.HashIndex;
+import com.example.linq.Linq;
+import com.example.linq.ObservableList;
+import com.example.linq.SortedIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * index, whereKey, whereKeyIn, keyEquals y sortedIndex: construcción de los índices y consultas
+ * contra el recorrido lineal equivalente.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final Integer KEY = 7;
+    private static final List<Integer> KEYS = Arrays.asList(3, 7, 11);
+
+    @State(Scope.Benchmark)
+    public static class Indexes {
+        Function<Object, Integer> groupKey;
+        Function<Object, Integer> sortKey;
+        ObservableList<Object> observable;
+        HashIndex<Integer, Object> hash;
+        SortedIndex<Integer, Object> sorted;
+        int rangeLo;
+        int rangeHi;
+
+        @Setup(Level.Trial)
+        public void setUp(SourceState s) {
+            // Se guardan los selectores para que keyEquals encuentre el índice por identidad
+            groupKey = s.workload.groupKey;
+            sortKey = s.workload.sortKey;
+            observable = new ObservableList<>(Linq.select(s.items, Function.identity()));
+            hash = Linq.index(observable, groupKey);
+            sorted = Linq.sortedIndex(s.items, sortKey);
+            int max = s.element == SourceState.ElementKind.INTEGER ? s.size : 1_000;
+            rangeLo = max / 4;
+            rangeHi = rangeLo + Math.max(1, max / 100);
+        }
+    }
+
+    @Benchmark
+    public HashIndex<Integer, Object> indexBuild(SourceState s) {
+        return Linq.index(s.items, s.workload.groupKey);
+    }
+
+    @Benchmark
+    public SortedIndex<Integer, Object> sortedIndexBuild(SourceState s) {
+        return Linq.sortedIndex(s.items, s.workload.sortKey);
+    }
+
+    @Benchmark
+    public List<Object> whereKeyLinq(Indexes i) {
+        return Linq.whereKey(i.hash, KEY);
+    }
+
+    @Benchmark
+    public List<Object> whereKeyEqualsLinq(Indexes i) {
+        return Linq.where(i.observable, Linq.keyEquals(i.groupKey, KEY));
+    }
+
+    @Benchmark
+    public List<Object> whereKeyLoop(SourceState s) {
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            if (KEY.equals(s.workload.groupKey.apply(item))) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> whereKeyStream(SourceState s) {
+        return s.stream().filter(item -> KEY.equals(s.workload.groupKey.apply(item))).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> whereKeyInLinq(Indexes i) {
+        return Linq.whereKeyIn(i.hash, KEYS);
+    }
+
+    @Benchmark
+    public List<Object> whereKeyInStream(SourceState s) {
+        return s.stream().filter(item -> KEYS.contains(s.workload.groupKey.apply(item))).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> rangeLinq(Indexes i) {
+        return i.sorted.range(i.rangeLo, i.rangeHi);
+    }
+
+    @Benchmark
+    public List<Object> rangeLoop(SourceState s, Indexes i) {
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            int key = s.workload.sortKey.apply(item);
+            if (key >= i.rangeLo && key < i.rangeHi) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> rangeStream(SourceState s, Indexes i) {
+        return s.stream().filter(item -> {
+            int key = s.workload.sortKey.apply(item);
+            return key >= i.rangeLo && key < i.rangeHi;
+        }).collect(Collectors.toList());
+    }
+}
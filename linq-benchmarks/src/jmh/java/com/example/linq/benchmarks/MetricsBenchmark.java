@@ -0,0 +1,64 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+import com.example.linq.LinqMetrics;
+import com.example.linq.MetricsAggregator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de LinqMetrics: el mismo operador sin listener y con el {@link MetricsAggregator} registrado.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Enabled {
+        @Setup(Level.Trial)
+        public void setUp() {
+            LinqMetrics.setListener(new MetricsAggregator());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            LinqMetrics.setListener(null);
+        }
+    }
+
+    @Benchmark
+    public boolean anyMetricsDisabled(SourceState s) {
+        return Linq.any(s.items);
+    }
+
+    @Benchmark
+    public boolean anyMetricsEnabled(SourceState s, Enabled enabled) {
+        return Linq.any(s.items);
+    }
+
+    @Benchmark
+    public int countMetricsDisabled(SourceState s) {
+        return Linq.count(s.items, s.workload.filter);
+    }
+
+    @Benchmark
+    public int countMetricsEnabled(SourceState s, Enabled enabled) {
+        return Linq.count(s.items, s.workload.filter);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * take, skip, orderBy y orderByDescending, y minBy/maxBy frente a ordenar para quedarse con el primero.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderingBenchmark {
+
+    @Benchmark
+    public List<Object> takeLinq(SourceState s) {
+        return Linq.take(s.items, s.size / 10);
+    }
+
+    @Benchmark
+    public List<Object> takeLoop(SourceState s) {
+        int count = s.size / 10;
+        List<Object> result = new ArrayList<>(count);
+        for (Object item : s.items) {
+            if (result.size() >= count) {
+                break;
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> takeStream(SourceState s) {
+        return s.stream().limit(s.size / 10).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> skipLinq(SourceState s) {
+        return Linq.skip(s.items, s.size / 2);
+    }
+
+    @Benchmark
+    public List<Object> skipLoop(SourceState s) {
+        int toSkip = s.size / 2;
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> skipStream(SourceState s) {
+        return s.stream().skip(s.size / 2).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> orderByLinq(SourceState s) {
+        return Linq.orderBy(s.items, s.workload.sortKey);
+    }
+
+    @Benchmark
+    public List<Object> orderByLoop(SourceState s) {
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            result.add(item);
+        }
+        result.sort(Comparator.comparing(s.workload.sortKey));
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> orderByStream(SourceState s) {
+        return s.stream().sorted(Comparator.comparing(s.workload.sortKey)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> orderByDescendingLinq(SourceState s) {
+        return Linq.orderByDescending(s.items, s.workload.sortKey);
+    }
+
+    @Benchmark
+    public List<Object> orderByDescendingStream(SourceState s) {
+        return s.stream()
+                .sorted(Comparator.comparing(s.workload.sortKey).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Comparable<Object>> orderByNaturalLinq(SourceState s) {
+        return Linq.orderBy(comparableValues(s));
+    }
+
+    @Benchmark
+    public List<Comparable<Object>> orderByNaturalStream(SourceState s) {
+        return s.valueStream().map(OrderingBenchmark::comparable).sorted().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object minByLinq(SourceState s) {
+        return Linq.minBy(s.items, s.workload.sortKey);
+    }
+
+    @Benchmark
+    public Object minByOrderByFirst(SourceState s) {
+        return Linq.firstOrDefault(Linq.orderBy(s.items, s.workload.sortKey));
+    }
+
+    @Benchmark
+    public Object minByStream(SourceState s) {
+        return s.stream().min(Comparator.comparing(s.workload.sortKey)).orElse(null);
+    }
+
+    @Benchmark
+    public Object maxByIntLinq(SourceState s) {
+        return Linq.maxByInt(s.items, s.workload.sortKey::apply);
+    }
+
+    @Benchmark
+    public Object maxByIntStream(SourceState s) {
+        return s.stream().max(Comparator.comparingInt(s.workload.sortKey::apply)).orElse(null);
+    }
+
+    // Los valores son Integer o String según el tipo de elemento; ambos son Comparable.
+    @SuppressWarnings("unchecked")
+    private static Iterable<Comparable<Object>> comparableValues(SourceState s) {
+        return (Iterable<Comparable<Object>>) (Iterable<?>) s.values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) value;
+    }
+}
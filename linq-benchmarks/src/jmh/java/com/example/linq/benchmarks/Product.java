@@ -0,0 +1,44 @@
+package com.example.linq.benchmarks;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Elemento de prueba con el precio como texto ("$1,234.50"), de modo que los agregados ejercitan
+ * la conversión numérica de {@code Linq} igual que con datos leídos de JSON o CSV.
+ */
+public final class Product {
+
+    private final String name;
+    private final int category;
+    private final int quantity;
+    private final String price;
+
+    Product(String name, int category, int quantity, String price) {
+        this.name = name;
+        this.category = category;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    static Product random(int index, Random random) {
+        String price = String.format(Locale.US, "$%,.2f", random.nextInt(500_000) / 100.0);
+        return new Product("producto-" + index, random.nextInt(Workload.GROUPS), random.nextInt(1_000), price);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.DoubleList;
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * select, selectDouble, selectMany y distinct.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Benchmark
+    public List<String> selectLinq(SourceState s) {
+        return Linq.select(s.items, s.workload.name);
+    }
+
+    @Benchmark
+    public List<String> selectLoop(SourceState s) {
+        List<String> result = new ArrayList<>();
+        for (Object item : s.items) {
+            result.add(s.workload.name.apply(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> selectStream(SourceState s) {
+        return s.stream().map(s.workload.name).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public DoubleList selectDoubleLinq(SourceState s) {
+        return Linq.selectDouble(s.items, item -> Workload.toDouble(s.workload.value.apply(item)));
+    }
+
+    @Benchmark
+    public List<Double> selectDoubleBoxedLinq(SourceState s) {
+        return Linq.select(s.items, item -> Workload.toDouble(s.workload.value.apply(item)));
+    }
+
+    @Benchmark
+    public double[] selectDoubleStream(SourceState s) {
+        return s.stream().mapToDouble(item -> Workload.toDouble(s.workload.value.apply(item))).toArray();
+    }
+
+    @Benchmark
+    public List<Object> selectManyLinq(SourceState s) {
+        return Linq.selectMany(s.items, item -> Arrays.asList(item, s.workload.value.apply(item)));
+    }
+
+    @Benchmark
+    public List<Object> selectManyLoop(SourceState s) {
+        List<Object> result = new ArrayList<>();
+        for (Object item : s.items) {
+            result.addAll(Arrays.asList(item, s.workload.value.apply(item)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> selectManyStream(SourceState s) {
+        return s.stream()
+                .flatMap(item -> Arrays.asList(item, s.workload.value.apply(item)).stream())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Object> distinctLinq(SourceState s) {
+        return Linq.distinct(s.values);
+    }
+
+    @Benchmark
+    public List<Object> distinctLoop(SourceState s) {
+        Set<Object> seen = new LinkedHashSet<>();
+        for (Object value : s.values) {
+            seen.add(value);
+        }
+        return new ArrayList<>(seen);
+    }
+
+    @Benchmark
+    public List<Object> distinctStream(SourceState s) {
+        return s.valueStream().distinct().collect(Collectors.toList());
+    }
+}
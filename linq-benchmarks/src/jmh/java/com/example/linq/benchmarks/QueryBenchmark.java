@@ -0,0 +1,105 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.CompiledQuery;
+import com.example.linq.Linq;
+import com.example.linq.QueryTrace;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * query: la consulta planificada contra la misma cadena de llamadas a {@code Linq} ejecutada en el orden escrito,
+ * y la misma consulta compilada una vez y ejecutada con el límite como parámetro.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final int TOP = 10;
+
+    /**
+     * Consulta compilada una sola vez por ensayo; el límite llega como parámetro en cada ejecución.
+     */
+    @State(Scope.Benchmark)
+    public static class Compiled {
+        CompiledQuery<Integer, Object, List<Object>> topFiltered;
+
+        @Setup
+        public void setUp(SourceState s) {
+            topFiltered = Linq.<Integer, Object>compile()
+                    .orderBy(s.workload.sortKey)
+                    .where((item, top) -> s.workload.filter.test(item))
+                    .take(top -> top)
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    public List<Object> topFilteredQuery(SourceState s) {
+        return Linq.query(s.items).orderBy(s.workload.sortKey).where(s.workload.filter).take(TOP).toList();
+    }
+
+    @Benchmark
+    public List<Object> topFilteredQueryTraced(SourceState s) {
+        return Linq.query(s.items).traced(new QueryTrace())
+                .orderBy(s.workload.sortKey).where(s.workload.filter).take(TOP).toList();
+    }
+
+    @Benchmark
+    public List<Object> topFilteredCompiled(SourceState s, Compiled compiled) {
+        return compiled.topFiltered.run(s.items, TOP);
+    }
+
+    @Benchmark
+    public List<Object> topFilteredLinq(SourceState s) {
+        return Linq.take(Linq.where(Linq.orderBy(s.items, s.workload.sortKey), s.workload.filter), TOP);
+    }
+
+    @Benchmark
+    public List<Object> topFilteredLoop(SourceState s) {
+        List<Object> matches = new ArrayList<>();
+        for (Object item : s.items) {
+            if (s.workload.filter.test(item)) {
+                matches.add(item);
+            }
+        }
+        matches.sort(Comparator.comparing(s.workload.sortKey));
+        return new ArrayList<>(matches.subList(0, Math.min(TOP, matches.size())));
+    }
+
+    @Benchmark
+    public List<Object> topFilteredStream(SourceState s) {
+        return s.stream()
+                .sorted(Comparator.comparing(s.workload.sortKey))
+                .filter(s.workload.filter)
+                .limit(TOP)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int countSortedQuery(SourceState s) {
+        return Linq.query(s.items).orderBy(s.workload.sortKey).select(s.workload.name).count();
+    }
+
+    @Benchmark
+    public int countSortedLinq(SourceState s) {
+        return Linq.count(Linq.select(Linq.orderBy(s.items, s.workload.sortKey), s.workload.name));
+    }
+}
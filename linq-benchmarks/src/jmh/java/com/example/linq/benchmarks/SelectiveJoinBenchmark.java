@@ -0,0 +1,135 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * join, semiJoin y antiJoin cuando sólo el 5% de las filas externas tiene pareja, con y sin el prefiltro de
+ * Bloom, frente a un bucle sobre un HashSet; y leftJoin y fullOuterJoin frente a un bucle que guarda las claves
+ * internas con pareja en un segundo HashSet.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectiveJoinBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Long> outer;
+    private List<Long> inner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        outer = new ArrayList<>(size);
+        inner = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Claves pares en la tabla interna; sólo el 5% de las externas es par
+            inner.add(2L * i);
+            long key = random.nextInt(size);
+            outer.add(random.nextInt(20) == 0 ? 2 * key : 2 * key + 1);
+        }
+        Collections.shuffle(inner, random);
+    }
+
+    @Benchmark
+    public List<Long> joinLinq() {
+        return Linq.join(outer, inner, Function.identity(), Function.identity(), (a, b) -> a);
+    }
+
+    @Benchmark
+    public List<Long> joinPrefiltered() {
+        return Linq.join(outer, inner, Function.identity(), Function.identity(), (a, b) -> a, true);
+    }
+
+    @Benchmark
+    public List<Long> semiJoinLinq() {
+        return Linq.semiJoin(outer, inner, Function.identity(), Function.identity());
+    }
+
+    @Benchmark
+    public List<Long> semiJoinPrefiltered() {
+        return Linq.semiJoin(outer, inner, Function.identity(), Function.identity(), true);
+    }
+
+    @Benchmark
+    public List<Long> antiJoinPrefiltered() {
+        return Linq.antiJoin(outer, inner, Function.identity(), Function.identity(), true);
+    }
+
+    @Benchmark
+    public List<Long> semiJoinLoop() {
+        Set<Long> keys = new HashSet<>(inner);
+        List<Long> result = new ArrayList<>();
+        for (Long key : outer) {
+            if (keys.contains(key)) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Long> leftJoinLinq() {
+        return Linq.leftJoin(outer, inner, Function.identity(), Function.identity(), (a, b) -> a);
+    }
+
+    @Benchmark
+    public List<Long> fullOuterJoinLinq() {
+        return Linq.fullOuterJoin(outer, inner, Function.identity(), Function.identity(), (a, b) -> a != null ? a : b);
+    }
+
+    @Benchmark
+    public List<Long> fullOuterJoinLoop() {
+        Map<Long, List<Long>> lookup = new HashMap<>();
+        for (Long key : inner) {
+            lookup.computeIfAbsent(key, k -> new ArrayList<>()).add(key);
+        }
+        Set<Long> matched = new HashSet<>();
+        List<Long> result = new ArrayList<>();
+        for (Long key : outer) {
+            List<Long> rows = lookup.get(key);
+            if (rows == null) {
+                result.add(key);
+                continue;
+            }
+            matched.add(key);
+            for (Long row : rows) {
+                result.add(row);
+            }
+        }
+        for (Long key : inner) {
+            if (!matched.contains(key)) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * range: suma de los pares de un rango con IntSequence, con una List&lt;Integer&gt; y los operadores de Linq,
+ * con un bucle y con IntStream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequenceBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Benchmark
+    public long evenSumSequence() {
+        return Linq.range(0, size).where(i -> i % 2 == 0).sum();
+    }
+
+    @Benchmark
+    public double evenSumBoxed() {
+        List<Integer> range = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            range.add(i);
+        }
+        return Linq.sum(Linq.where(range, i -> i % 2 == 0));
+    }
+
+    @Benchmark
+    public long evenSumLoop() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                sum += i;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long evenSumStream() {
+        return IntStream.range(0, size).filter(i -> i % 2 == 0).asLongStream().sum();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Linq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * except e intersect: conciliación de dos listas de identificadores ordenados con la estrategia hash, con la
+ * mezcla ordenada ({@code asSorted}), con un bucle sobre un HashSet y con Streams.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SetBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    /** Identificadores crecientes; cerca del 10% de {@code left} no está en {@code right} y viceversa. */
+    private List<Long> left;
+    private List<Long> right;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        left = new ArrayList<>(size);
+        right = new ArrayList<>(size);
+        long id = 0;
+        while (left.size() < size || right.size() < size) {
+            id += 1 + random.nextInt(3);
+            int side = random.nextInt(10);
+            if (side != 0 && left.size() < size) {
+                left.add(id);
+            }
+            if (side != 1 && right.size() < size) {
+                right.add(id);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Long> exceptHash() {
+        return Linq.except(left, right);
+    }
+
+    @Benchmark
+    public List<Long> exceptSorted() {
+        return Linq.except(Linq.asSorted(left, null), Linq.asSorted(right, null));
+    }
+
+    @Benchmark
+    public List<Long> exceptLoop() {
+        Set<Long> exclude = new HashSet<>(right);
+        List<Long> result = new ArrayList<>();
+        for (Long item : left) {
+            if (exclude.add(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Long> exceptStream() {
+        Set<Long> exclude = new HashSet<>(right);
+        return left.stream().distinct().filter(item -> !exclude.contains(item)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Long> intersectHash() {
+        return Linq.intersect(left, right);
+    }
+
+    @Benchmark
+    public List<Long> intersectSorted() {
+        return Linq.intersect(Linq.asSorted(left, null), Linq.asSorted(right, null));
+    }
+}
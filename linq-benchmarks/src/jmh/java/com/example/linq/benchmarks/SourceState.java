@@ -0,0 +1,151 @@
+package com.example.linq.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Datos compartidos por los benchmarks: la misma secuencia de elementos en cada combinación de tamaño,
+ * tipo de fuente y tipo de elemento. Los datos se generan con una semilla fija para que las
+ * ejecuciones sean comparables.
+ */
+@State(Scope.Benchmark)
+public class SourceState {
+
+    /**
+     * Tipo de colección que recibe cada operador.
+     */
+    public enum SourceKind {
+        ARRAY_LIST,
+        LINKED_LIST,
+        /**
+         * Secuencia perezosa que no es {@link java.util.Collection} (como {@code Linq.lines}): no conoce su
+         * tamaño y cada recorrido vuelve a generar los elementos. Puede recorrerse varias veces, así que mide las
+         * rutas de los operadores para fuentes sin tamaño, no el rechazo de un segundo recorrido de
+         * {@code Linq.fromIterator}.
+         */
+        LAZY;
+
+        Iterable<Object> wrap(List<Object> data) {
+            switch (this) {
+                case ARRAY_LIST:
+                    return new ArrayList<>(data);
+                case LINKED_LIST:
+                    return new LinkedList<>(data);
+                default:
+                    return new LazyIterable(data.toArray());
+            }
+        }
+    }
+
+    /**
+     * Tipo de los elementos de la secuencia.
+     */
+    public enum ElementKind {
+        /** Enteros en caja; los selectores devuelven el propio valor. */
+        INTEGER,
+        /** Objetos {@link Product} con precio en texto, como los que llegan de JSON o CSV. */
+        PRODUCT
+    }
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"ARRAY_LIST", "LINKED_LIST", "LAZY"})
+    public SourceKind source;
+
+    @Param({"INTEGER", "PRODUCT"})
+    public ElementKind element;
+
+    /** Los elementos en el tipo de fuente del parámetro {@code source}. */
+    public Iterable<Object> items;
+
+    /** El resultado de {@link Workload#value} para cada elemento, en el mismo tipo de fuente. */
+    public Iterable<Object> values;
+
+    /** Las claves de grupo posibles (0..63), para join y groupJoin. */
+    public List<Integer> groupKeys;
+
+    public Workload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Object> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (element == ElementKind.INTEGER) {
+                data.add(random.nextInt(size));
+            } else {
+                data.add(Product.random(i, random));
+            }
+        }
+        workload = element == ElementKind.INTEGER
+                ? Workload.forIntegers(data.get(size - 1))
+                : Workload.forProducts(data.get(size - 1));
+
+        List<Object> projected = new ArrayList<>(size);
+        for (Object item : data) {
+            projected.add(workload.value.apply(item));
+        }
+        items = source.wrap(data);
+        values = source.wrap(projected);
+
+        groupKeys = new ArrayList<>(Workload.GROUPS);
+        for (int i = 0; i < Workload.GROUPS; i++) {
+            groupKeys.add(i);
+        }
+    }
+
+    /**
+     * Crea un Stream secuencial sobre los elementos, como lo haría código escrito a mano con Streams.
+     */
+    public Stream<Object> stream() {
+        return StreamSupport.stream(items.spliterator(), false);
+    }
+
+    /**
+     * Crea un Stream secuencial sobre los valores proyectados.
+     */
+    public Stream<Object> valueStream() {
+        return StreamSupport.stream(values.spliterator(), false);
+    }
+
+    static final class LazyIterable implements Iterable<Object> {
+        private final Object[] elements;
+
+        LazyIterable(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new Iterator<Object>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < elements.length;
+                }
+
+                @Override
+                public Object next() {
+                    if (index >= elements.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return elements[index++];
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Aggregators;
+import com.example.linq.Linq;
+import com.example.linq.SpillSerializer;
+import com.example.linq.SpilledGroups;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conteo por clave con una clave distinta cada dos elementos: groupByAggregate en memoria frente a
+ * groupByAggregateSpilling (límite de una décima parte de las claves) y groupBySpilling (límite de una
+ * décima parte de los elementos).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpillBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private List<Long> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add((long) random.nextInt(size / 2));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Long> countInMemory() {
+        return Linq.groupByAggregate(items, n -> n, Aggregators.count());
+    }
+
+    @Benchmark
+    public long countSpilling() {
+        try (SpilledGroups<Long, Long> groups = Linq.groupByAggregateSpilling(items, n -> n, Aggregators.count(),
+                SpillSerializer.longs(), size / 20, null)) {
+            long total = 0;
+            for (Map.Entry<Long, Long> group : groups) {
+                total += group.getValue();
+            }
+            return total;
+        }
+    }
+
+    @Benchmark
+    public long groupSpilling() {
+        try (SpilledGroups<Long, List<Long>> groups = Linq.groupBySpilling(items, n -> n, SpillSerializer.longs(),
+                size / 10, null)) {
+            long total = 0;
+            for (Map.Entry<Long, List<Long>> group : groups) {
+                total += group.getValue().size();
+            }
+            return total;
+        }
+    }
+}
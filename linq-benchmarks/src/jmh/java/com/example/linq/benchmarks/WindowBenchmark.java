@@ -0,0 +1,76 @@
+package com.example.linq.benchmarks;
+
+import com.example.linq.Aggregators;
+import com.example.linq.Linq;
+import com.example.linq.Stats;
+import com.example.linq.TimeWindow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estadísticas por clave y minuto sobre eventos casi ordenados (hasta 5 s de desorden): groupByWindow, que
+ * emite y descarta cada ventana al cerrarse, frente a agruparlo todo con groupBy por (minuto, clave).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WindowBenchmark {
+
+    private static final long MINUTE = 60_000;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    /** {clave, milisegundos, valor}. */
+    private List<long[]> events;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long millis = i * 100L + random.nextInt(5_000);
+            events.add(new long[]{random.nextInt(Workload.GROUPS), millis, random.nextInt(1000)});
+        }
+    }
+
+    @Benchmark
+    public long statsByWindow() {
+        long total = 0;
+        for (TimeWindow<Long, Stats> window : Linq.groupByWindow(events, e -> e[0], e -> e[1], MINUTE, 5_000,
+                Aggregators.stats(e -> e[2]))) {
+            total += window.results().size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long statsByGroupBy() {
+        Map<Long, List<long[]>> groups = Linq.groupBy(events, e -> (e[1] / MINUTE) * Workload.GROUPS + e[0]);
+        long total = 0;
+        for (List<long[]> group : groups.values()) {
+            total += Linq.aggregateStats(group, e -> e[2]).count() > 0 ? 1 : 0;
+        }
+        return total;
+    }
+}
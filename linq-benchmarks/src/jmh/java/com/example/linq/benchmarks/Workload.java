@@ -0,0 +1,81 @@
+package com.example.linq.benchmarks;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Funciones que reciben los operadores para cada tipo de elemento. Las variantes con {@code Linq}, con
+ * bucles escritos a mano y con Streams usan exactamente las mismas funciones, por lo que la diferencia
+ * medida es el costo propio de cada forma de recorrer la secuencia.
+ */
+public final class Workload {
+
+    /** Número de grupos distintos que produce {@link #groupKey}. */
+    public static final int GROUPS = 64;
+
+    /** Se cumple para aproximadamente la mitad de los elementos. */
+    public final Predicate<Object> filter;
+
+    /** Se cumple sólo para el último elemento, para medir recorridos completos con salida anticipada. */
+    public final Predicate<Object> isLast;
+
+    /** Clave de agrupación con {@link #GROUPS} valores. */
+    public final Function<Object, Integer> groupKey;
+
+    /** Clave de ordenación. */
+    public final Function<Object, Integer> sortKey;
+
+    /** Valor numérico para los agregados: el entero o el precio en texto. */
+    public final Function<Object, Object> value;
+
+    /** Proyección a texto. */
+    public final Function<Object, String> name;
+
+    private Workload(Predicate<Object> filter, Predicate<Object> isLast, Function<Object, Integer> groupKey,
+                     Function<Object, Integer> sortKey, Function<Object, Object> value,
+                     Function<Object, String> name) {
+        this.filter = filter;
+        this.isLast = isLast;
+        this.groupKey = groupKey;
+        this.sortKey = sortKey;
+        this.value = value;
+        this.name = name;
+    }
+
+    static Workload forIntegers(Object last) {
+        return new Workload(
+                o -> ((Integer) o & 1) == 0,
+                o -> o == last,
+                o -> (Integer) o & (GROUPS - 1),
+                o -> (Integer) o,
+                o -> o,
+                String::valueOf);
+    }
+
+    static Workload forProducts(Object last) {
+        return new Workload(
+                o -> (((Product) o).getQuantity() & 1) == 0,
+                o -> o == last,
+                o -> ((Product) o).getCategory(),
+                o -> ((Product) o).getQuantity(),
+                o -> ((Product) o).getPrice(),
+                o -> ((Product) o).getName());
+    }
+
+    /**
+     * La misma conversión que aplican los agregados de {@code Linq}, para las variantes escritas a mano.
+     */
+    public static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value == null) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(value.toString().trim().replace("$", "").replace(",", ""));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
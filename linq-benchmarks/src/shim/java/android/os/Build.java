@@ -0,0 +1,20 @@
+package android.os;
+
+/**
+ * Stub de compilación para las anotaciones {@code @RequiresApi} de :Linq. Las constantes se copian
+ * en el código que las usa, por lo que esta clase no se necesita al ejecutar los benchmarks.
+ */
+public final class Build {
+
+    private Build() {
+    }
+
+    public static final class VERSION_CODES {
+        public static final int N = 24;
+        public static final int O = 26;
+        public static final int R = 30;
+
+        private VERSION_CODES() {
+        }
+    }
+}
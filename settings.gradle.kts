@@ -22,6 +22,7 @@ dependencyResolutionManagement {
 
 rootProject.name = "SRLinq"
 include(":Linq")
+include(":linq-benchmarks")
 
 // Evita incluir el módulo :app cuando se construye en JitPack
 val skipApp = System.getenv("SKIP_APP")